@@ -0,0 +1,207 @@
+package edu.utsa.cs3443.coincontrol;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Trace;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+import edu.utsa.cs3443.coincontrol.model.LedgerExecutor;
+import edu.utsa.cs3443.coincontrol.model.LedgerMetrics;
+import edu.utsa.cs3443.coincontrol.model.LedgerRepository;
+import edu.utsa.cs3443.coincontrol.model.LedgerStore;
+import edu.utsa.cs3443.coincontrol.model.MonthPrefetcher;
+import edu.utsa.cs3443.coincontrol.model.MonthSession;
+import edu.utsa.cs3443.coincontrol.model.RecurringEngine;
+
+/**
+ * The CoinControlApplication class sets up the objects shared by every screen of the CoinControl
+ * app. It forbids ledger I/O on the main looper and owns the LedgerExecutor that runs that I/O, and
+ * journal compaction, in the background and posts the results back to the UI thread. It also
+ * picks the LedgerStore the screens read and write: the month files by default, or a SQLite
+ * database when the {@code use_sqlite_store} resource is set, and the RecurringEngine that adds
+ * recurring entries to that store. Last, it holds the MonthSession of the month the screens are
+ * showing, so they share what was read of it, and the MonthPrefetcher that reads a month while it
+ * is being selected. The ledger operations LedgerMetrics measures are also shown as trace sections.
+ */
+public class CoinControlApplication extends Application {
+
+    /** Executor that runs ledger I/O off the main thread. */
+    private LedgerExecutor ledgerExecutor;
+
+    /** Store that holds the ledger. */
+    private LedgerStore ledgerStore;
+
+    /** Engine that adds recurring entries to the store. */
+    private RecurringEngine recurringEngine;
+
+    /** Session of the month the screens are showing, or null until a month is opened. */
+    private MonthSession monthSession;
+
+    /** Prefetcher that reads the month being selected. */
+    private MonthPrefetcher monthPrefetcher;
+
+    /**
+     * Called when the application is starting, before any activity is created.
+     */
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        LedgerRepository.setMainThread(Looper.getMainLooper().getThread());
+
+        // Show each measured ledger operation as a section of system traces
+        LedgerMetrics.setTracer(new LedgerMetrics.Tracer() {
+            @Override
+            public void begin(String section) {
+                Trace.beginSection(section);
+            }
+
+            @Override
+            public void end() {
+                Trace.endSection();
+            }
+        });
+
+        final Handler mainHandler = new Handler(Looper.getMainLooper());
+        ledgerExecutor = new LedgerExecutor(new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                mainHandler.post(runnable);
+            }
+        });
+
+        // Fold month journals back into their month files on the same background thread, and keep
+        // the months in the memory-mapped binary format
+        final LedgerRepository repository = LedgerRepository.getInstance(getFilesDir());
+        repository.setCompactionExecutor(ledgerExecutor);
+        repository.setBinaryFormat(true);
+
+        // Move the flat month files of earlier versions into year partitions before any screen
+        // reads them; the executor runs this first
+        ledgerExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    repository.migrateFlatMonths();
+                } catch (IOException e) {
+                    // The flat files stay where they are; the next start tries again
+                    e.printStackTrace();
+                }
+            }
+        });
+
+        if (!getResources().getBoolean(R.bool.use_sqlite_store)) {
+            ledgerStore = repository;
+            recurringEngine = new RecurringEngine(ledgerStore, getFilesDir());
+            monthPrefetcher = new MonthPrefetcher(ledgerStore, recurringEngine, ledgerExecutor);
+            return;
+        }
+
+        // Copy the months of the files into the database once, after the migration, before any
+        // screen reads the database; the executor runs tasks in order
+        final SqliteLedgerStore database = SqliteLedgerStore.getInstance(this);
+        ledgerStore = database;
+        recurringEngine = new RecurringEngine(ledgerStore, getFilesDir());
+        monthPrefetcher = new MonthPrefetcher(ledgerStore, recurringEngine, ledgerExecutor);
+        ledgerExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    database.importFrom(repository);
+                } catch (IOException e) {
+                    // Months not imported yet are imported on the next start
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the LedgerExecutor shared by the screens.
+     *
+     * @param context Any context of the app.
+     * @return The shared LedgerExecutor.
+     */
+    public static LedgerExecutor getLedgerExecutor(Context context) {
+        return ((CoinControlApplication) context.getApplicationContext()).ledgerExecutor;
+    }
+
+    /**
+     * Gets the LedgerStore shared by the screens.
+     *
+     * @param context Any context of the app.
+     * @return The shared LedgerStore.
+     */
+    public static LedgerStore getLedgerStore(Context context) {
+        return ((CoinControlApplication) context.getApplicationContext()).ledgerStore;
+    }
+
+    /**
+     * Gets the RecurringEngine shared by the screens.
+     *
+     * @param context Any context of the app.
+     * @return The shared RecurringEngine.
+     */
+    public static RecurringEngine getRecurringEngine(Context context) {
+        return ((CoinControlApplication) context.getApplicationContext()).recurringEngine;
+    }
+
+    /**
+     * Gets the session of the month the screens are showing.
+     *
+     * @param context Any context of the app.
+     * @return The session, or null if no month was opened.
+     */
+    public static MonthSession getMonthSession(Context context) {
+        return ((CoinControlApplication) context.getApplicationContext()).monthSession;
+    }
+
+    /**
+     * Starts reading a month in the background while the user selects it, unless it is already
+     * open. The month read before is dropped if it was not opened.
+     *
+     * @param context   Any context of the app.
+     * @param monthName The name of the month, such as "April".
+     * @param year      The year of the month.
+     */
+    public static void prefetchMonth(Context context, String monthName, int year) {
+        CoinControlApplication app = (CoinControlApplication) context.getApplicationContext();
+        if (app.monthSession != null && app.monthSession.isMonth(monthName, year)) {
+            app.monthPrefetcher.cancel();
+            return;
+        }
+        app.monthPrefetcher.prefetch(monthName, year);
+    }
+
+    /**
+     * Stops reading the month being selected, and drops it, if it was not opened.
+     *
+     * @param context Any context of the app.
+     */
+    public static void cancelPrefetch(Context context) {
+        ((CoinControlApplication) context.getApplicationContext()).monthPrefetcher.cancel();
+    }
+
+    /**
+     * Opens a month for the screens to show. The session of that month is kept if it is already
+     * open, or taken from the prefetcher if the month was read while it was selected; the session
+     * of any other month is dropped with what it read.
+     *
+     * @param context   Any context of the app.
+     * @param monthName The name of the month, such as "April".
+     * @param year      The year of the month.
+     * @return The session of the month.
+     */
+    public static MonthSession openMonth(Context context, String monthName, int year) {
+        CoinControlApplication app = (CoinControlApplication) context.getApplicationContext();
+        if (app.monthSession == null || !app.monthSession.isMonth(monthName, year)) {
+            MonthSession prefetched = app.monthPrefetcher.take(monthName, year);
+            app.monthSession = prefetched != null ? prefetched
+                    : new MonthSession(app.ledgerStore, app.recurringEngine, monthName, year);
+        }
+        return app.monthSession;
+    }
+}
@@ -1,102 +1,98 @@
 package edu.utsa.cs3443.coincontrol;
 
-import androidx.appcompat.app.AppCompatActivity;
+import androidx.fragment.app.Fragment;
 
-import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
 
 /**
  * @author Jonathan Berndt
- * The Create class is an activity that allows the user to create expenses, earnings, or view results.
+ * The Create class is a screen that allows the user to create expenses, earnings, or view results.
  * It implements View.OnClickListener to handle button clicks.
  */
-public class Create extends AppCompatActivity implements View.OnClickListener {
+public class Create extends Fragment implements View.OnClickListener {
 
-    /** The selected month for which the user is creating expenses or earnings. */
-    private String selectedMonth;
+    /**
+     * Constructs the Create screen with its layout.
+     */
+    public Create() {
+        super(R.layout.activity_create);
+    }
 
     /**
-     * Called when the activity is starting. Responsible for initializing the activity, such as
-     * setting up the user interface and retrieving the selected month from the intent.
+     * Called once the screen's views are created. Responsible for initializing the screen, such as
+     * associating click events for its buttons.
      *
-     * @param savedInstanceState If the activity is being re-initialized after previously being
-     *                           shut down, this Bundle contains the data it most recently supplied
-     *                           in onSaveInstanceState(Bundle).
+     * @param view               The root view of the screen.
+     * @param savedInstanceState The state the screen saved last, or null.
      */
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_create);
+    public void onViewCreated(View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
 
         // Array of button IDs to set up click listeners for
         int[] buttonIds = {R.id.addExpense_button, R.id.addEarning_button, R.id.create_done_button, R.id.create_return_button};
 
         // Set up click listeners for each button
         for (int i : buttonIds) {
-            setupButton(i);
+            setupButton(view, i);
         }
-
-        // Retrieve selected month from the intent
-        selectedMonth = getIntent().getStringExtra("SELECTED_MONTH");
     }
 
     /**
      * Sets up a click listener for the specified button ID.
      *
+     * @param view     The root view of the screen.
      * @param buttonId The resource ID of the button to set up with a click listener.
      */
-    private void setupButton(int buttonId) {
-        Button button = findViewById(buttonId);
+    private void setupButton(View view, int buttonId) {
+        Button button = view.findViewById(buttonId);
         button.setOnClickListener(this);
     }
 
     /**
-     * Called when a button is clicked. Handles button clicks and launches corresponding activities.
+     * Called when a button is clicked. Handles button clicks and shows the corresponding screens.
      *
      * @param view The view that was clicked.
      */
     @Override
     public void onClick(View view) {
         if (view.getId() == R.id.addExpense_button) {
-            launchActivity("expense");
+            showScreen("expense");
         }
         if (view.getId() == R.id.addEarning_button) {
-            launchActivity("earning");
+            showScreen("earning");
         }
         if (view.getId() == R.id.create_done_button) {
-            launchActivity("done");
+            showScreen("done");
         }
         if (view.getId() == R.id.create_return_button){
-            launchActivity("return");
+            showScreen("return");
         }
     }
 
     /**
-     * Launches the appropriate activity based on the user's choice.
+     * Shows the appropriate screen based on the user's choice. "Done" shows the results of the
+     * month on top of the Menu, and "Return" goes back to the Menu.
      *
-     * @param choice The user's choice, which can be "expense", "earning", or "done".
+     * @param choice The user's choice, which can be "expense", "earning", "done", or "return".
      */
-    private void launchActivity(String choice) {
-        Intent intent = null;
+    private void showScreen(String choice) {
+        MainActivity host = MainActivity.of(this);
         switch (choice) {
             case "expense":
-                intent = new Intent(this, CreateExpense.class);
+                host.show(new CreateExpense());
                 break;
             case "earning":
-                intent = new Intent(this, CreateEarning.class);
+                host.show(new CreateEarning());
                 break;
             case "done":
-                intent = new Intent(this, Results.class);
+                host.showFromMenu(new Results());
                 break;
             case "return":
-                intent = new Intent(this, Menu.class);
+                host.back();
                 break;
         }
-        if (intent != null) {
-            intent.putExtra("SELECTED_MONTH", selectedMonth);
-            startActivity(intent);
-        }
     }
 }
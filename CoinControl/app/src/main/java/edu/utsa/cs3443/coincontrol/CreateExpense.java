@@ -1,46 +1,62 @@
 package edu.utsa.cs3443.coincontrol;
 
-import androidx.appcompat.app.AppCompatActivity;
-import android.content.Intent;
+import androidx.fragment.app.Fragment;
+import android.content.Context;
 import android.os.Bundle;
 import android.view.View;
+import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.EditText;
+import android.widget.Spinner;
 import android.widget.Toast;
-import java.io.BufferedReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.FileReader;
+import java.util.Collections;
+
+import edu.utsa.cs3443.coincontrol.model.EntryDate;
+import edu.utsa.cs3443.coincontrol.model.FinancialEntry;
+import edu.utsa.cs3443.coincontrol.model.LedgerCallback;
+import edu.utsa.cs3443.coincontrol.model.LedgerStore;
+import edu.utsa.cs3443.coincontrol.model.LedgerTask;
+import edu.utsa.cs3443.coincontrol.model.Money;
+import edu.utsa.cs3443.coincontrol.model.MonthSession;
+import edu.utsa.cs3443.coincontrol.model.RecurringEngine;
+import edu.utsa.cs3443.coincontrol.model.RecurringRule;
 
 /**
  * @author Makala Roberson
  * @author Jonathan Berndt
- * The CreateExpense class is an activity that allows the user to create a new expense entry for a specific month.
- * It provides functionality to save the expense entry to a CSV file and navigate back to the Create activity.
+ * The CreateExpense class is a screen that allows the user to create a new expense entry for a specific month.
+ * It provides functionality to save the expense entry to a CSV file and go back to the Create screen.
  */
-public class CreateExpense extends AppCompatActivity implements View.OnClickListener {
+public class CreateExpense extends Fragment implements View.OnClickListener {
 
-    /** The selected month for which the user is creating an expense entry. */
-    private String selectedMonth;
+    /** Spinner for choosing whether and how often the expense repeats. */
+    private Spinner repeatSpinner;
 
     /**
-     * Called when the activity is starting. Responsible for initializing the activity, such as
+     * Constructs the CreateExpense screen with its layout.
+     */
+    public CreateExpense() {
+        super(R.layout.activity_create_expense);
+    }
+
+    /**
+     * Called once the screen's views are created. Responsible for initializing the screen, such as
      * setting up the user interface and displaying a toast message for user guidance.
      *
-     * @param savedInstanceState If the activity is being re-initialized after previously being
-     *                           shut down, this Bundle contains the data it most recently supplied
-     *                           in onSaveInstanceState(Bundle).
+     * @param view               The root view of the screen.
+     * @param savedInstanceState The state the screen saved last, or null.
      */
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_create_expense);
+    public void onViewCreated(View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
 
         // Set up click listener for the "Done" button
-        setupButton(R.id.done_button);
+        setupButton(view, R.id.done_button);
+        setupRepeatSpinner(view);
 
         // Display a toast message with instructions for the user
-        Toast.makeText(this, "Please enter both expense name and amount (NO COMMAS)", Toast.LENGTH_SHORT).show();
+        Toast.makeText(requireContext(), "Please enter both expense name and amount (NO COMMAS)", Toast.LENGTH_SHORT).show();
     }
 
     /**
@@ -52,103 +68,155 @@ public class CreateExpense extends AppCompatActivity implements View.OnClickList
     public void onClick(View view) {
         if (view.getId() == R.id.done_button) {
             saveExpense();
-            launchActivity();
+            returnToCreate();
         }
     }
 
     /**
-     * Saves the entered expense information to a CSV file for the selected month.
+     * Saves the entered expense information to the selected month's CSV file in the background.
      * Displays appropriate toast messages for success or failure.
      */
     private void saveExpense() {
         // Retrieve references to the UI elements
-        EditText expenseNameEditText = findViewById(R.id.createExpenseName_editText);
-        EditText expenseAmountEditText = findViewById(R.id.createExpenseAmount_editText);
-        selectedMonth = getIntent().getStringExtra("SELECTED_MONTH");
+        View root = requireView();
+        EditText expenseNameEditText = root.findViewById(R.id.createExpenseName_editText);
+        EditText expenseAmountEditText = root.findViewById(R.id.createExpenseAmount_editText);
+        EditText expenseCategoryEditText = root.findViewById(R.id.createExpenseCategory_editText);
+        EditText expenseDateEditText = root.findViewById(R.id.createExpenseDate_editText);
+        MonthSession session = CoinControlApplication.getMonthSession(requireContext());
+        String selectedMonth = session.getMonthName();
+        int selectedYear = session.getYear();
 
         // Retrieve user input from the UI elements
         String expenseName = expenseNameEditText.getText().toString().trim();
         String expenseAmountStr = expenseAmountEditText.getText().toString().trim();
+        String expenseCategory = expenseCategoryEditText.getText().toString().trim();
+        String expenseDateStr = expenseDateEditText.getText().toString().trim();
 
         // Validate user input
         if (expenseName.isEmpty() || expenseAmountStr.isEmpty()) {
-            Toast.makeText(this, "Please enter both expense name and amount", Toast.LENGTH_SHORT).show();
+            Toast.makeText(requireContext(), "Please enter both expense name and amount", Toast.LENGTH_SHORT).show();
             return;
         }
 
+        // Parse the expense amount and create the entry
+        long expenseAmount;
         try {
-            // Parse the expense amount and create a CSV line
-            double expenseAmount = Double.parseDouble(expenseAmountStr);
-            char sign = '-';
-            String csvLine = expenseName + "," + sign + "," + expenseAmount + "\n";
-
-            // Define the file path for the CSV file
-            String filePath = getFilesDir() + "/" + selectedMonth.toLowerCase() + ".csv";
-
-            // Check if the entry already exists in the CSV file
-            if (!entryExists(filePath, expenseName)) {
-                // Append the CSV line to the file and display a success message
-                FileWriter fileWriter = new FileWriter(filePath, true);
-                fileWriter.append(csvLine);
-                fileWriter.close();
-                Toast.makeText(this, "Expense saved successfully", Toast.LENGTH_SHORT).show();
-            } else {
-                // Display a message if the expense name already exists
-                Toast.makeText(this, "Expense with this name already exists", Toast.LENGTH_SHORT).show();
-            }
-
+            expenseAmount = Money.parse(expenseAmountStr);
         } catch (NumberFormatException e) {
             // Display a message for an invalid amount format
-            Toast.makeText(this, "Invalid amount format", Toast.LENGTH_SHORT).show();
-        } catch (IOException e) {
-            // Display a message for an error while saving the expense
-            Toast.makeText(this, "Error saving expense", Toast.LENGTH_SHORT).show();
-            e.printStackTrace();
+            Toast.makeText(requireContext(), "Invalid amount format", Toast.LENGTH_SHORT).show();
+            return;
         }
+        final String month = session.getKey();
+
+        // Date the entry today, or on the typed date, which must fall in the selected month
+        int expenseDate = EntryDate.defaultFor(month, EntryDate.today());
+        if (!expenseDateStr.isEmpty()) {
+            try {
+                expenseDate = EntryDate.parse(expenseDateStr);
+            } catch (IllegalArgumentException e) {
+                Toast.makeText(requireContext(), "Invalid date format", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            if (!EntryDate.monthKey(expenseDate).equals(month)) {
+                Toast.makeText(requireContext(), "Date must be in " + selectedMonth + " " + selectedYear, Toast.LENGTH_SHORT).show();
+                return;
+            }
+        }
+        final FinancialEntry entry = new FinancialEntry(expenseName, "-", expenseAmount, expenseCategory, expenseDate);
+        final LedgerStore store = CoinControlApplication.getLedgerStore(requireContext());
+        final RecurringEngine recurring = CoinControlApplication.getRecurringEngine(requireContext());
+        final Context appContext = requireContext().getApplicationContext();
+
+        // A repeating expense is stored as a rule, which adds this month's entry once it is due
+        int repeat = repeatSpinner.getSelectedItemPosition();
+        final RecurringRule rule = repeat <= 0 ? null : new RecurringRule(expenseName, FinancialEntry.EXPENSE,
+                expenseAmount, expenseCategory, RecurringRule.Frequency.values()[repeat - 1], expenseDate, Integer.MAX_VALUE);
+
+        // Check for a duplicate and append the entry on the background I/O thread
+        CoinControlApplication.getLedgerExecutor(requireContext()).submit(new LedgerTask<Boolean>() {
+            @Override
+            public Boolean run() throws IOException {
+                // Another screen or a background job may add the same name between the check and
+                // the write; the write is then refused and the check runs again
+                long version;
+                do {
+                    version = store.getVersion(month);
+                    if (store.entryExists(month, entry.getName())) {
+                        return false;
+                    }
+                    if (rule != null) {
+                        if (!recurring.addRule(rule)) {
+                            return false;
+                        }
+                        recurring.materialize(month, EntryDate.today());
+                        return true;
+                    }
+                } while (!store.addEntries(month, Collections.singletonList(entry), version));
+                return true;
+            }
+        }, new LedgerCallback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean saved) {
+                if (saved) {
+                    // Display a success message
+                    Toast.makeText(appContext, "Expense saved successfully", Toast.LENGTH_SHORT).show();
+                } else {
+                    // Display a message if the expense name already exists
+                    Toast.makeText(appContext, "Expense with this name already exists", Toast.LENGTH_SHORT).show();
+                }
+            }
+
+            @Override
+            public void onError(IOException e) {
+                // Display a message for an error while saving the expense
+                Toast.makeText(appContext, "Error saving expense", Toast.LENGTH_SHORT).show();
+                e.printStackTrace();
+            }
+        });
     }
 
     /**
-     * Checks if an entry with the specified name already exists in the given CSV file.
-     *
-     * @param filePath   The path to the CSV file.
-     * @param entryName  The name of the entry to check.
-     * @return True if the entry exists, false otherwise.
+     * Goes back to the Create screen to allow the user to continue creating entries.
      */
-    private boolean entryExists(String filePath, String entryName) {
-        try {
-            // Check if the entry name already exists in the CSV file
-            BufferedReader br = new BufferedReader(new FileReader(filePath));
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length > 0 && parts[0].equals(entryName)) {
-                    br.close();
-                    return true;
-                }
-            }
-            br.close();
-            return false;
-        } catch (IOException e) {
-            return false;
-        }
+    private void returnToCreate() {
+        MainActivity.of(this).back();
     }
 
     /**
-     * Launches the Create activity to allow the user to continue creating entries.
+     * Called when the screen's views are dropped. Lets go of the repeat spinner.
      */
-    private void launchActivity() {
-        Intent intent = new Intent(this, Create.class);
-        intent.putExtra("SELECTED_MONTH", selectedMonth);
-        startActivity(intent);
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        repeatSpinner = null;
+    }
+
+    /**
+     * Fills the repeat spinner with "Does not repeat" followed by every frequency, in order.
+     *
+     * @param view The root view of the screen.
+     */
+    private void setupRepeatSpinner(View view) {
+        repeatSpinner = view.findViewById(R.id.createExpenseRepeat_spinner);
+        ArrayAdapter<String> repeats = new ArrayAdapter<>(requireContext(), android.R.layout.simple_spinner_item);
+        repeats.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        repeats.add("Does not repeat");
+        for (RecurringRule.Frequency frequency : RecurringRule.Frequency.values()) {
+            repeats.add(frequency.getLabel());
+        }
+        repeatSpinner.setAdapter(repeats);
     }
 
     /**
      * Sets up a click listener for the specified button ID.
      *
+     * @param view     The root view of the screen.
      * @param buttonID The resource ID of the button to set up with a click listener.
      */
-    private void setupButton(int buttonID) {
-        Button button = findViewById(buttonID);
+    private void setupButton(View view, int buttonID) {
+        Button button = view.findViewById(buttonID);
         button.setOnClickListener(this);
     }
 }
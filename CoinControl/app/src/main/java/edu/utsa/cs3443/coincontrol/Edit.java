@@ -1,101 +1,97 @@
 package edu.utsa.cs3443.coincontrol;
 
-import androidx.appcompat.app.AppCompatActivity;
-import android.content.Intent;
+import androidx.fragment.app.Fragment;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
 
 /**
  * @author Jonathan Berndt
- * The Edit class is an activity that allows the user to edit existing expense or earning entries,
+ * The Edit class is a screen that allows the user to edit existing expense or earning entries,
  * or view the results for a selected month. It implements View.OnClickListener to handle button clicks.
  */
-public class Edit extends AppCompatActivity implements View.OnClickListener {
+public class Edit extends Fragment implements View.OnClickListener {
 
-    /** The selected month for which the user is editing entries or viewing results. */
-    private String selectedMonth;
+    /**
+     * Constructs the Edit screen with its layout.
+     */
+    public Edit() {
+        super(R.layout.activity_edit);
+    }
 
     /**
-     * Called when the activity is starting. Responsible for initializing the activity, such as
-     * setting up the user interface and retrieving the selected month from the intent.
+     * Called once the screen's views are created. Responsible for initializing the screen, such as
+     * associating click events for its buttons.
      *
-     * @param savedInstanceState If the activity is being re-initialized after previously being
-     *                           shut down, this Bundle contains the data it most recently supplied
-     *                           in onSaveInstanceState(Bundle).
+     * @param view               The root view of the screen.
+     * @param savedInstanceState The state the screen saved last, or null.
      */
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_edit);
+    public void onViewCreated(View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
 
         // Array of button IDs to set up click listeners for
         int[] buttonIds = {R.id.editExpense_button, R.id.editEarning_button, R.id.edit_done_button, R.id.edit_return_button};
 
         // Set up click listeners for each button
         for (int i : buttonIds) {
-            setupButton(i);
+            setupButton(view, i);
         }
     }
 
     /**
      * Sets up a click listener for the specified button ID.
      *
+     * @param view     The root view of the screen.
      * @param ButtonId The resource ID of the button to set up with a click listener.
      */
-    private void setupButton(int ButtonId) {
-        Button button = findViewById(ButtonId);
+    private void setupButton(View view, int ButtonId) {
+        Button button = view.findViewById(ButtonId);
         button.setOnClickListener(this);
     }
 
     /**
-     * Called when a button is clicked. Handles button clicks and launches corresponding activities.
+     * Called when a button is clicked. Handles button clicks and shows the corresponding screens.
      *
      * @param view The view that was clicked.
      */
     @Override
     public void onClick(View view) {
         if (view.getId() == R.id.editExpense_button) {
-            launchActivity("expense");
+            showScreen("expense");
         }
         if (view.getId() == R.id.editEarning_button) {
-            launchActivity("earning");
+            showScreen("earning");
         }
         if (view.getId() == R.id.edit_done_button) {
-            launchActivity("done");
+            showScreen("done");
         }
         if (view.getId() == R.id.edit_return_button){
-            launchActivity("return");
+            showScreen("return");
         }
     }
 
     /**
-     * Launches the appropriate activity based on the user's choice.
+     * Shows the appropriate screen based on the user's choice. "Done" shows the results of the
+     * month on top of the Menu, and "Return" goes back to the Menu.
      *
-     * @param choice The user's choice, which can be "expense", "earning", or "done".
+     * @param choice The user's choice, which can be "expense", "earning", "done", or "return".
      */
-    private void launchActivity(String choice) {
-        // Retrieve the selected month from the intent
-        selectedMonth = getIntent().getStringExtra("SELECTED_MONTH");
-        Intent intent = null;
+    private void showScreen(String choice) {
+        MainActivity host = MainActivity.of(this);
         switch (choice) {
             case "expense":
-                intent = new Intent(this, EditExpense.class);
+                host.show(new EditExpense());
                 break;
             case "earning":
-                intent = new Intent(this, EditEarning.class);
+                host.show(new EditEarning());
                 break;
             case "done":
-                intent = new Intent(this, Results.class);
+                host.showFromMenu(new Results());
                 break;
             case "return":
-                intent = new Intent(this, Menu.class);
+                host.back();
                 break;
         }
-        if (intent != null) {
-            // Pass the selected month to the next activity and start the intent
-            intent.putExtra("SELECTED_MONTH", selectedMonth);
-            startActivity(intent);
-        }
     }
 }
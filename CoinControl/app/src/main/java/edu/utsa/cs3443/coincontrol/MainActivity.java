@@ -1,21 +1,39 @@
 package edu.utsa.cs3443.coincontrol;
 
 import androidx.appcompat.app.AppCompatActivity;
-import android.content.Intent;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
 import android.os.Bundle;
-import android.view.View;
-import android.widget.Button;
+
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
+
+import edu.utsa.cs3443.coincontrol.model.LedgerMetrics;
+import edu.utsa.cs3443.coincontrol.model.MonthSession;
 
 /**
  * @author Carolina Pindter
  * The MainActivity class represents the main activity of the CoinControl app.
- * It serves as the entry point and provides a button to start the app by navigating to the SelectMonth activity.
+ * It serves as the entry point and the only activity: every screen is a fragment shown in its
+ * container, starting with the Welcome screen. Moving forward adds a screen to the back stack, and
+ * "Done" and "Return" buttons pop back to the screen below instead of starting a new one, so the
+ * stack never grows past the few screens between the Welcome screen and a form. Its dump, read
+ * with {@code adb shell dumpsys activity}, ends with the report of LedgerMetrics.
  */
-public class MainActivity extends AppCompatActivity implements View.OnClickListener {
+public class MainActivity extends AppCompatActivity {
+
+    /** Name of the back stack entry that shows the Menu. */
+    private static final String MENU = "menu";
+
+    /** Key of the saved month name. */
+    private static final String SELECTED_MONTH = "SELECTED_MONTH";
+
+    /** Key of the saved year. */
+    private static final String SELECTED_YEAR = "SELECTED_YEAR";
 
     /**
      * Called when the activity is starting. Responsible for initializing the activity, such as
-     * setting up the user interface and associating the click event for the start button.
+     * setting up the screen container and showing the Welcome screen.
      *
      * @param savedInstanceState If the activity is being re-initialized after previously being
      *                           shut down, this Bundle contains the data it most recently supplied
@@ -23,40 +41,114 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        // Open the month again before the restored screens ask for it
+        if (savedInstanceState != null && savedInstanceState.getString(SELECTED_MONTH) != null) {
+            CoinControlApplication.openMonth(this, savedInstanceState.getString(SELECTED_MONTH),
+                    savedInstanceState.getInt(SELECTED_YEAR));
+        }
         super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_main);
+        setContentView(R.layout.activity_host);
 
-        // Set up the start button
-        setupButton(R.id.main_start_button);
+        if (savedInstanceState == null) {
+            getSupportFragmentManager().beginTransaction()
+                    .add(R.id.host_container, new Welcome())
+                    .commit();
+        }
     }
 
     /**
-     * Called when a view has been clicked. Handles button clicks and invokes corresponding methods.
+     * Saves the open month, so the screens can be restored if the app is shut down.
      *
-     * @param view The view that was clicked.
+     * @param outState The Bundle to save to.
      */
     @Override
-    public void onClick(View view) {
-        if (view.getId() == R.id.main_start_button) {
-            launchActivity();
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        MonthSession session = CoinControlApplication.getMonthSession(this);
+        if (session != null) {
+            outState.putString(SELECTED_MONTH, session.getMonthName());
+            outState.putInt(SELECTED_YEAR, session.getYear());
         }
     }
 
     /**
-     * Launches the SelectMonth activity to start the CoinControl app.
+     * Prints the state of the activity, then the ledger operations measured so far.
+     *
+     * @param prefix The prefix of each line.
+     * @param fd     The raw file descriptor of the dump.
+     * @param writer The writer to print to.
+     * @param args   The arguments of the dump request.
+     */
+    @Override
+    public void dump(String prefix, FileDescriptor fd, PrintWriter writer, String[] args) {
+        super.dump(prefix, fd, writer, args);
+        writer.print(prefix);
+        writer.println("Ledger metrics:");
+        for (String line : LedgerMetrics.report().split("\n")) {
+            writer.print(prefix);
+            writer.print("  ");
+            writer.println(line);
+        }
+    }
+
+    /**
+     * Gets the activity that hosts a screen.
+     *
+     * @param screen A screen shown by the MainActivity.
+     * @return The MainActivity.
+     */
+    static MainActivity of(Fragment screen) {
+        return (MainActivity) screen.requireActivity();
+    }
+
+    /**
+     * Shows a screen on top of the current one.
+     *
+     * @param screen The screen to show.
+     */
+    public void show(Fragment screen) {
+        show(screen, null);
+    }
+
+    /**
+     * Shows a screen on top of the current one as a named back stack entry.
+     *
+     * @param screen The screen to show.
+     * @param name   The name of the back stack entry, or null.
+     */
+    private void show(Fragment screen, String name) {
+        getSupportFragmentManager().beginTransaction()
+                .setReorderingAllowed(true)
+                .replace(R.id.host_container, screen)
+                .addToBackStack(name)
+                .commit();
+    }
+
+    /**
+     * Goes back to the screen below the current one.
+     */
+    public void back() {
+        getSupportFragmentManager().popBackStack();
+    }
+
+    /**
+     * Opens a month for every screen to share and shows its Menu.
+     *
+     * @param monthName The name of the month, such as "April".
+     * @param year      The year of the month.
      */
-    private void launchActivity() {
-        Intent intent = new Intent(this, SelectMonth.class);
-        startActivity(intent);
+    public void openMonth(String monthName, int year) {
+        CoinControlApplication.openMonth(this, monthName, year);
+        show(new Menu(), MENU);
     }
 
     /**
-     * Sets up a button with the specified ID and associates it with the click event.
+     * Goes back to the Menu, then shows a screen on top of it.
      *
-     * @param buttonID The resource ID of the button to set up.
+     * @param screen The screen to show.
      */
-    private void setupButton(int buttonID) {
-        Button button = findViewById(buttonID);
-        button.setOnClickListener(this);
+    public void showFromMenu(Fragment screen) {
+        getSupportFragmentManager().popBackStack(MENU, 0);
+        show(screen);
     }
 }
@@ -1,52 +1,100 @@
 package edu.utsa.cs3443.coincontrol;
 
-import androidx.appcompat.app.AppCompatActivity;
-import android.content.Intent;
+import androidx.activity.result.ActivityResultCallback;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.fragment.app.Fragment;
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.net.Uri;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
+import android.widget.Toast;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+
+import edu.utsa.cs3443.coincontrol.model.LedgerCallback;
+import edu.utsa.cs3443.coincontrol.model.LedgerExporter;
+import edu.utsa.cs3443.coincontrol.model.LedgerImporter;
+import edu.utsa.cs3443.coincontrol.model.LedgerStore;
+import edu.utsa.cs3443.coincontrol.model.LedgerTask;
 
 /**
  * @author Carolina Pindter
  * @author Keanu Anderson-Pola
  * The Menu class represents the main menu of the CoinControl app.
- * It provides options for creating, editing, viewing results, and accessing records for a selected month.
+ * It provides options for creating, editing, viewing results, and accessing records for a selected month,
+ * for importing a CSV file, such as a bank export, into it, and for exporting every month to a CSV file.
+ * Debug builds also get a button to the Metrics screen.
  */
-public class Menu extends AppCompatActivity implements View.OnClickListener {
+public class Menu extends Fragment implements View.OnClickListener {
+
+    /** Document picker that chooses the CSV file to import. */
+    private final ActivityResultLauncher<String[]> importPicker = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), new ActivityResultCallback<Uri>() {
+                @Override
+                public void onActivityResult(Uri uri) {
+                    if (uri != null) {
+                        importFile(uri);
+                    }
+                }
+            });
 
-    /** The selected month for which the user is navigating the menu. */
-    private String selectedMonth;
+    /** Document picker that creates the CSV file to export to. */
+    private final ActivityResultLauncher<String> exportPicker = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument("text/csv"), new ActivityResultCallback<Uri>() {
+                @Override
+                public void onActivityResult(Uri uri) {
+                    if (uri != null) {
+                        exportFile(uri);
+                    }
+                }
+            });
 
     /**
-     * Called when the activity is starting. Responsible for initializing the activity, such as
-     * setting up the user interface, associating click events for menu buttons, and retrieving the selected month.
+     * Constructs the Menu screen with its layout.
+     */
+    public Menu() {
+        super(R.layout.activity_menu);
+    }
+
+    /**
+     * Called once the screen's views are created. Responsible for initializing the screen, such as
+     * associating click events for menu buttons.
      *
-     * @param savedInstanceState If the activity is being re-initialized after previously being
-     *                           shut down, this Bundle contains the data it most recently supplied
-     *                           in onSaveInstanceState(Bundle).
+     * @param view               The root view of the screen.
+     * @param savedInstanceState The state the screen saved last, or null.
      */
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_menu);
+    public void onViewCreated(View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
 
         // Set up menu buttons
-        int[] buttonIds = {R.id.menu_create_button, R.id.menu_edit_button, R.id.menu_results_button, R.id.menu_records_button, R.id.menu_return_button};
+        int[] buttonIds = {R.id.menu_create_button, R.id.menu_edit_button, R.id.menu_results_button, R.id.menu_records_button, R.id.menu_return_button, R.id.menu_import_button, R.id.menu_export_button};
         for (int i : buttonIds) {
-            setupButton(i);
+            setupButton(view, i);
         }
 
-        // Retrieve the selected month from the intent
-        selectedMonth = getIntent().getStringExtra("SELECTED_MONTH");
+        // Only debug builds show the metrics of the ledger operations
+        if ((requireContext().getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            setupButton(view, R.id.menu_metrics_button);
+            view.findViewById(R.id.menu_metrics_button).setVisibility(View.VISIBLE);
+        }
     }
 
     /**
      * Sets up a button with the specified ID and associates it with the click event.
      *
+     * @param view     The root view of the screen.
      * @param buttonID The resource ID of the button to set up.
      */
-    private void setupButton(int buttonID) {
-        Button button = findViewById(buttonID);
+    private void setupButton(View view, int buttonID) {
+        Button button = view.findViewById(buttonID);
         button.setOnClickListener(this);
     }
 
@@ -58,46 +106,125 @@ public class Menu extends AppCompatActivity implements View.OnClickListener {
     @Override
     public void onClick(View view) {
         if (view.getId() == R.id.menu_create_button) {
-            launchActivity("create");
+            showScreen("create");
         } else if (view.getId() == R.id.menu_edit_button) {
-            launchActivity("edit");
+            showScreen("edit");
         } else if (view.getId() == R.id.menu_results_button) {
-            launchActivity("results");
+            showScreen("results");
         } else if (view.getId() == R.id.menu_records_button) {
-            launchActivity("records");
+            showScreen("records");
         }
         else if (view.getId() == R.id.menu_return_button){
-            launchActivity("return");
+            showScreen("return");
+        } else if (view.getId() == R.id.menu_import_button) {
+            importPicker.launch(new String[] {"text/*"});
+        } else if (view.getId() == R.id.menu_export_button) {
+            exportPicker.launch("coincontrol.csv");
+        } else if (view.getId() == R.id.menu_metrics_button) {
+            showScreen("metrics");
         }
     }
 
     /**
-     * Launches the corresponding activity based on the user's menu choice.
+     * Imports a CSV file into the selected month on the background I/O thread and reports how
+     * many rows were imported, and how fast.
+     *
+     * @param uri The file chosen in the document picker.
+     */
+    private void importFile(final Uri uri) {
+        final Context appContext = requireContext().getApplicationContext();
+        final LedgerImporter importer = new LedgerImporter(CoinControlApplication.getLedgerStore(appContext));
+        final String month = CoinControlApplication.getMonthSession(appContext).getKey();
+        CoinControlApplication.getLedgerExecutor(appContext).submit(new LedgerTask<LedgerImporter.Report>() {
+            @Override
+            public LedgerImporter.Report run() throws IOException {
+                InputStream in = appContext.getContentResolver().openInputStream(uri);
+                if (in == null) {
+                    throw new IOException("Could not open " + uri);
+                }
+                Reader reader = new InputStreamReader(in, "UTF-8");
+                try {
+                    return importer.importCsv(reader, month);
+                } finally {
+                    reader.close();
+                }
+            }
+        }, new LedgerCallback<LedgerImporter.Report>() {
+            @Override
+            public void onSuccess(LedgerImporter.Report report) {
+                Toast.makeText(appContext, report.toString(), Toast.LENGTH_LONG).show();
+            }
+
+            @Override
+            public void onError(IOException e) {
+                Toast.makeText(appContext, "Error importing file", Toast.LENGTH_SHORT).show();
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Exports every month to a CSV file on the background I/O thread, streaming one month at a time.
      *
-     * @param choice The menu choice indicating the activity to launch.
+     * @param uri The file created in the document picker.
      */
-    private void launchActivity(String choice) {
-        Intent intent = null;
+    private void exportFile(final Uri uri) {
+        final Context appContext = requireContext().getApplicationContext();
+        final LedgerStore store = CoinControlApplication.getLedgerStore(appContext);
+        CoinControlApplication.getLedgerExecutor(appContext).submit(new LedgerTask<Long>() {
+            @Override
+            public Long run() throws IOException {
+                OutputStream out = appContext.getContentResolver().openOutputStream(uri);
+                if (out == null) {
+                    throw new IOException("Could not open " + uri);
+                }
+                try {
+                    return new LedgerExporter(store).export(store.getPartitions(), LedgerExporter.Format.CSV, false, out);
+                } finally {
+                    out.close();
+                }
+            }
+        }, new LedgerCallback<Long>() {
+            @Override
+            public void onSuccess(Long rows) {
+                Toast.makeText(appContext, "Exported " + rows + " entries", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onError(IOException e) {
+                Toast.makeText(appContext, "Error exporting file", Toast.LENGTH_SHORT).show();
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Shows the screen of the user's menu choice for the open month, or goes back to the
+     * SelectMonth screen.
+     *
+     * @param choice The menu choice indicating the screen to show.
+     */
+    private void showScreen(String choice) {
+        MainActivity host = MainActivity.of(this);
         switch (choice) {
             case "create":
-                intent = new Intent(this, Create.class);
+                host.show(new Create());
                 break;
             case "edit":
-                intent = new Intent(this, Edit.class);
+                host.show(new Edit());
                 break;
             case "results":
-                intent = new Intent(this, Results.class);
+                host.show(new Results());
                 break;
             case "records":
-                intent = new Intent(this, Records.class);
+                host.show(new Records());
+                break;
+            case "metrics":
+                host.show(new Metrics());
                 break;
             case "return":
-                intent = new Intent(this, SelectMonth.class);
+                host.back();
                 break;
         }
-        if (intent != null) {
-            intent.putExtra("SELECTED_MONTH", selectedMonth);
-            startActivity(intent);
-        }
     }
 }
@@ -0,0 +1,94 @@
+package edu.utsa.cs3443.coincontrol;
+
+import androidx.fragment.app.Fragment;
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+import android.widget.TextView;
+
+import edu.utsa.cs3443.coincontrol.model.LedgerMetrics;
+
+/**
+ * The Metrics class represents the debug screen that shows how many ledger operations the app ran
+ * since it started, how many bytes they read or wrote, and how long they took, from the report of
+ * LedgerMetrics. The report can be reset, to measure one flow at a time, such as opening a month.
+ * It is reached from the Menu in debug builds only.
+ */
+public class Metrics extends Fragment implements View.OnClickListener {
+
+    /** TextView that shows the report. */
+    private TextView reportTextView;
+
+    /**
+     * Constructs the Metrics screen with its layout.
+     */
+    public Metrics() {
+        super(R.layout.activity_metrics);
+    }
+
+    /**
+     * Called once the screen's views are created. Responsible for initializing the screen, such as
+     * associating click events for buttons.
+     *
+     * @param view               The root view of the screen.
+     * @param savedInstanceState The state the screen saved last, or null.
+     */
+    @Override
+    public void onViewCreated(View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        reportTextView = view.findViewById(R.id.metricsReport_textView);
+        setupButton(view, R.id.metrics_reset_button);
+        setupButton(view, R.id.metrics_return_button);
+    }
+
+    /**
+     * Called when the screen is shown again. Shows the latest report.
+     */
+    @Override
+    public void onResume() {
+        super.onResume();
+        showReport();
+    }
+
+    /**
+     * Called when the screen's views are dropped.
+     */
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        reportTextView = null;
+    }
+
+    /**
+     * Called when a view has been clicked. Handles button clicks and invokes corresponding methods.
+     *
+     * @param view The view that was clicked.
+     */
+    @Override
+    public void onClick(View view) {
+        if (view.getId() == R.id.metrics_reset_button) {
+            LedgerMetrics.reset();
+            showReport();
+        } else if (view.getId() == R.id.metrics_return_button) {
+            MainActivity.of(this).back();
+        }
+    }
+
+    /**
+     * Shows the report of the operations recorded so far.
+     */
+    private void showReport() {
+        reportTextView.setText(LedgerMetrics.report());
+    }
+
+    /**
+     * Sets up a button with the specified ID and associates it with the click event.
+     *
+     * @param view     The root view of the screen.
+     * @param buttonID The resource ID of the button to set up.
+     */
+    private void setupButton(View view, int buttonID) {
+        Button button = view.findViewById(buttonID);
+        button.setOnClickListener(this);
+    }
+}
@@ -1,78 +1,107 @@
 package edu.utsa.cs3443.coincontrol;
 
-import androidx.appcompat.app.AppCompatActivity;
-import android.content.Intent;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
 import android.widget.TextView;
-import java.io.BufferedReader;
-import java.io.FileReader;
+import android.widget.Toast;
 import java.io.IOException;
-import java.util.ArrayList;
 
-import edu.utsa.cs3443.coincontrol.model.FinancialEntry;
+import edu.utsa.cs3443.coincontrol.model.LedgerCallback;
+import edu.utsa.cs3443.coincontrol.model.LedgerPager;
+import edu.utsa.cs3443.coincontrol.model.LedgerTask;
+import edu.utsa.cs3443.coincontrol.model.MonthSession;
 
 /**
  * @author Keanu Anderson-Pola
  * @author Jonathan Berndt
- * The Records class represents the activity for displaying financial records (earnings and expenses)
- * for a selected month in the CoinControl app.
+ * The Records class represents the screen for displaying financial records (earnings and expenses)
+ * for a selected month in the CoinControl app. The entries are shown in a recycled list that reads
+ * them from the LedgerStore a page at a time, so a month of any length opens at once. The pages
+ * read are kept by the month's session, so coming back to the records reads nothing unless the
+ * month changed.
  */
-public class Records extends AppCompatActivity implements View.OnClickListener {
+public class Records extends Fragment implements View.OnClickListener {
 
-    /** The selected month for which the financial records are displayed. */
-    private String selectedMonth;
+    /** Session of the month for which the financial records are displayed. */
+    private MonthSession session;
 
-    /** List of financial entries representing earnings for the selected month. */
-    private ArrayList<FinancialEntry> earnings;
+    /** Adapter of the list of entries, or null until the first page is loaded. */
+    private RecordsAdapter adapter;
 
-    /** List of financial entries representing expenses for the selected month. */
-    private ArrayList<FinancialEntry> expenses;
+    /** List that shows the earnings and expenses. */
+    private RecyclerView recordsList;
 
-    /** TextView for displaying earnings in the UI. */
-    private TextView earningsTextView;
+    /** TextView for displaying the loading state or an empty month. */
+    private TextView statusTextView;
 
-    /** TextView for displaying expenses in the UI. */
-    private TextView expensesTextView;
+    /**
+     * Constructs the Records screen with its layout.
+     */
+    public Records() {
+        super(R.layout.activity_records);
+    }
 
     /**
-     * Called when the activity is starting. Responsible for initializing the activity, such as
-     * setting up the user interface, associating click events for buttons, and retrieving the selected month.
+     * Called once the screen's views are created. Responsible for initializing the screen, such as
+     * setting up the user interface, associating click events for buttons, and loading the records.
      *
-     * @param savedInstanceState If the activity is being re-initialized after previously being
-     *                           shut down, this Bundle contains the data it most recently supplied
-     *                           in onSaveInstanceState(Bundle).
+     * @param view               The root view of the screen.
+     * @param savedInstanceState The state the screen saved last, or null.
      */
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_records);
-
-        // Initialize ArrayLists
-        earnings = new ArrayList<>();
-        expenses = new ArrayList<>();
+    public void onViewCreated(View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
 
         // Set up UI components
-        setupButton(R.id.records_done_button);
-        setupTextViews();
+        session = CoinControlApplication.getMonthSession(requireContext());
+        setupButton(view, R.id.records_done_button);
+        setupTextViews(view);
+
+        // Show a loading state while the financial entries are read in the background
+        statusTextView.setText("Loading...");
+        recordsList.setLayoutManager(new LinearLayoutManager(requireContext()));
+        recordsList.setHasFixedSize(true);
+        loadFinances();
+    }
 
-        // Load financial entries from the CSV file
-        setupArrayLists();
+    /**
+     * Called when the user comes back to the records, such as from another app. Updates the rows
+     * that changed.
+     */
+    @Override
+    public void onResume() {
+        super.onResume();
+        if (adapter != null) {
+            adapter.refresh();
+        }
+    }
 
-        // Display financial entries in the UI
-        printFinances();
+    /**
+     * Called when the screen's views are dropped. Lets go of the list and its adapter; the pages
+     * they showed stay in the session.
+     */
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        adapter = null;
+        recordsList = null;
+        statusTextView = null;
     }
 
     /**
      * Sets up TextViews for displaying earnings, expenses, and the selected month in the UI.
+     *
+     * @param view The root view of the screen.
      */
-    private void setupTextViews() {
-        selectedMonth = getIntent().getStringExtra("SELECTED_MONTH");
-        earningsTextView = findViewById(R.id.recordsEarnings_textView);
-        expensesTextView = findViewById(R.id.recordsExpenses_textView);
-        TextView monthTextView = findViewById(R.id.recordsMonth_textView);
-        monthTextView.setText(selectedMonth);
+    private void setupTextViews(View view) {
+        statusTextView = view.findViewById(R.id.recordsStatus_textView);
+        recordsList = view.findViewById(R.id.records_recyclerView);
+        TextView monthTextView = view.findViewById(R.id.recordsMonth_textView);
+        monthTextView.setText(session.getMonthName() + " " + session.getYear());
     }
 
     /**
@@ -83,68 +112,62 @@ public class Records extends AppCompatActivity implements View.OnClickListener {
     @Override
     public void onClick(View view) {
         if (view.getId() == R.id.records_done_button) {
-            launchActivity();
+            returnToMenu();
         }
     }
 
     /**
-     * Sets up ArrayLists for earnings and expenses by reading data from the CSV file.
+     * Loads the month's counts and first page of entries from its session on the background I/O
+     * thread, then shows them in the list. Later pages are loaded as the list scrolls. If the month
+     * has not changed since the records were last shown, the pages read then are shown again
+     * without reading anything. Recurring entries due in the month are added first, the first time
+     * the month is opened after they fall due.
      */
-    public void setupArrayLists() {
-        selectedMonth = getIntent().getStringExtra("SELECTED_MONTH");
-        String filePath = getFilesDir() + "/" + selectedMonth.toLowerCase() + ".csv";
-        try {
-            BufferedReader br = new BufferedReader(new FileReader(filePath));
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] tokens = line.split(",");
-                FinancialEntry record = new FinancialEntry(tokens[0], tokens[1], Double.parseDouble(tokens[2]));
-                if (record.isEarning()) {
-                    earnings.add(record);
-                } else if (record.isExpense()) {
-                    expenses.add(record);
+    private void loadFinances() {
+        final MonthSession month = session;
+        CoinControlApplication.getLedgerExecutor(requireContext()).submit(new LedgerTask<LedgerPager>() {
+            @Override
+            public LedgerPager run() throws IOException {
+                return month.getPager();
+            }
+        }, new LedgerCallback<LedgerPager>() {
+            @Override
+            public void onSuccess(LedgerPager pager) {
+                if (getView() == null) {
+                    // The user already left the screen
+                    return;
                 }
+                statusTextView.setText(pager.size() == 0 ? "No entries" : "");
+                adapter = new RecordsAdapter(month, CoinControlApplication.getLedgerExecutor(requireContext()), pager);
+                recordsList.setAdapter(adapter);
             }
-            br.close();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    /**
-     * Displays earnings and expenses in the UI.
-     */
-    private void printFinances() {
-        String earningList = "Earnings:\n";
-        String expenseList = "Expenses:\n";
-
-        for (int i = 0; i < earnings.size(); ++i) {
-            earningList = earningList.concat(earnings.get(i).getName() + ": $" + earnings.get(i).getAmount() + "\n");
-        }
-        earningsTextView.setText(earningList);
 
-        for (int i = 0; i < expenses.size(); ++i) {
-            expenseList = expenseList.concat(expenses.get(i).getName() + ": $" + expenses.get(i).getAmount() + "\n");
-        }
-        expensesTextView.setText(expenseList);
+            @Override
+            public void onError(IOException e) {
+                if (getView() == null) {
+                    return;
+                }
+                statusTextView.setText("");
+                Toast.makeText(requireContext(), "Error loading records", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     /**
-     * Launches the Menu activity.
+     * Goes back to the Menu.
      */
-    private void launchActivity() {
-        Intent intent = new Intent(this, Menu.class);
-        intent.putExtra("SELECTED_MONTH", selectedMonth);
-        startActivity(intent);
+    private void returnToMenu() {
+        MainActivity.of(this).back();
     }
 
     /**
      * Sets up a button with the specified ID and associates it with the click event.
      *
+     * @param view     The root view of the screen.
      * @param buttonID The resource ID of the button to set up.
      */
-    private void setupButton(int buttonID) {
-        Button button = findViewById(buttonID);
+    private void setupButton(View view, int buttonID) {
+        Button button = view.findViewById(buttonID);
         button.setOnClickListener(this);
     }
 }
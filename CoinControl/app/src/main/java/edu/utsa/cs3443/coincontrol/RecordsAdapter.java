@@ -0,0 +1,245 @@
+package edu.utsa.cs3443.coincontrol;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.io.IOException;
+import java.util.List;
+
+import edu.utsa.cs3443.coincontrol.model.FinancialEntry;
+import edu.utsa.cs3443.coincontrol.model.LedgerCallback;
+import edu.utsa.cs3443.coincontrol.model.LedgerExecutor;
+import edu.utsa.cs3443.coincontrol.model.LedgerPager;
+import edu.utsa.cs3443.coincontrol.model.LedgerStore;
+import edu.utsa.cs3443.coincontrol.model.LedgerTask;
+import edu.utsa.cs3443.coincontrol.model.MonthLedger;
+import edu.utsa.cs3443.coincontrol.model.MonthSession;
+import edu.utsa.cs3443.coincontrol.model.ReportFormatter;
+
+/**
+ * The RecordsAdapter class feeds a month's entries to the Records list one page at a time. Only
+ * the rows on screen are bound; a row whose page is not loaded yet shows a placeholder while the
+ * page is read on the background I/O thread, and the next page is requested before the user
+ * scrolls into it. A refresh reloads the counts and the loaded pages through the month's session
+ * and applies only the rows that changed, through DiffUtil.
+ */
+public class RecordsAdapter extends RecyclerView.Adapter<RecordsAdapter.ViewHolder> {
+
+    /** Number of rows before the end of a page at which the next page is requested. */
+    private static final int PREFETCH_DISTANCE = 10;
+
+    /** Session of the month shown, which reads its pages. */
+    private final MonthSession session;
+
+    /** Store the pages are read from. */
+    private final LedgerStore store;
+
+    /** Executor that reads the pages off the main thread. */
+    private final LedgerExecutor executor;
+
+    /** Partition key of the month shown. */
+    private final String month;
+
+    /** Pages of the month loaded so far. */
+    private LedgerPager pager;
+
+    /**
+     * Constructs a new RecordsAdapter.
+     *
+     * @param session  The session of the month shown.
+     * @param executor The executor that reads the pages off the main thread.
+     * @param pager    The month's pager from the session, usually holding its first page.
+     */
+    public RecordsAdapter(MonthSession session, LedgerExecutor executor, LedgerPager pager) {
+        this.session = session;
+        this.store = session.getStore();
+        this.executor = executor;
+        this.month = session.getKey();
+        this.pager = pager;
+    }
+
+    /**
+     * Creates a row view.
+     *
+     * @param parent   The list the row will be added to.
+     * @param viewType The type of the row; every row has the same type.
+     * @return A new view holder.
+     */
+    @Override
+    public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_record, parent, false);
+        return new ViewHolder(view);
+    }
+
+    /**
+     * Shows the entry at a position in a row, requesting its page if it is not loaded yet.
+     *
+     * @param holder   The row to fill.
+     * @param position The position of the entry.
+     */
+    @Override
+    public void onBindViewHolder(ViewHolder holder, int position) {
+        boolean earning = pager.getSign(position) == FinancialEntry.EARNING;
+        if (pager.isSectionStart(position)) {
+            holder.header.setVisibility(View.VISIBLE);
+            holder.header.setText(earning ? "Earnings:" : "Expenses:");
+        } else {
+            holder.header.setVisibility(View.GONE);
+        }
+        String name = pager.getName(position);
+        if (name == null) {
+            holder.entry.setText("...");
+            load(pager.pageToLoad(position));
+        } else {
+            holder.entry.setText(holder.line.entryLine(name, pager.getAmount(position)));
+        }
+        // Read the next page before the user reaches it
+        if (position % pager.getPageSize() == pager.getPageSize() - PREFETCH_DISTANCE) {
+            load(pager.pageToLoad(position + PREFETCH_DISTANCE));
+        }
+    }
+
+    /**
+     * Gets the number of entries in the month.
+     *
+     * @return The number of rows.
+     */
+    @Override
+    public int getItemCount() {
+        return pager.size();
+    }
+
+    /**
+     * Reloads the month's counts and every loaded page, then updates only the rows that changed.
+     */
+    public void refresh() {
+        final LedgerPager old = pager;
+        final List<Integer> loaded = old.getLoadedPages();
+        executor.submit(new LedgerTask<LedgerPager>() {
+            @Override
+            public LedgerPager run() throws IOException {
+                return session.reload(loaded);
+            }
+        }, new LedgerCallback<LedgerPager>() {
+            @Override
+            public void onSuccess(LedgerPager fresh) {
+                if (pager != old) {
+                    return;
+                }
+                DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new PagerDiff(old, fresh), false);
+                pager = fresh;
+                diff.dispatchUpdatesTo(RecordsAdapter.this);
+            }
+
+            @Override
+            public void onError(IOException e) {
+                // Keep showing the rows already loaded
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Reads a page on the background I/O thread and rebinds its rows once it arrives.
+     *
+     * @param page The page number, or -1 to do nothing.
+     */
+    private void load(final int page) {
+        if (page < 0) {
+            return;
+        }
+        final LedgerPager requested = pager;
+        final int start = page * requested.getPageSize();
+        executor.submit(new LedgerTask<MonthLedger>() {
+            @Override
+            public MonthLedger run() throws IOException {
+                return store.getPage(month, start, requested.getPageSize());
+            }
+        }, new LedgerCallback<MonthLedger>() {
+            @Override
+            public void onSuccess(MonthLedger rows) {
+                requested.putPage(page, rows);
+                if (pager == requested) {
+                    notifyItemRangeChanged(start, Math.min(requested.getPageSize(), requested.size() - start));
+                }
+            }
+
+            @Override
+            public void onError(IOException e) {
+                requested.abandonPage(page);
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Compares the rows of two pagers of the same month. Rows whose pages are loaded in both are
+     * compared by name and amount; rows not loaded in one of them are matched by position.
+     */
+    private static class PagerDiff extends DiffUtil.Callback {
+
+        /** The pager shown so far. */
+        private final LedgerPager oldPager;
+
+        /** The reloaded pager. */
+        private final LedgerPager newPager;
+
+        PagerDiff(LedgerPager oldPager, LedgerPager newPager) {
+            this.oldPager = oldPager;
+            this.newPager = newPager;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldPager.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newPager.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            String oldName = oldPager.getName(oldPosition);
+            String newName = newPager.getName(newPosition);
+            if (oldName == null || newName == null) {
+                return oldPosition == newPosition;
+            }
+            return oldName.equals(newName) && oldPager.getSign(oldPosition) == newPager.getSign(newPosition);
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            return oldPager.isLoaded(oldPosition) == newPager.isLoaded(newPosition)
+                    && oldPager.getAmount(oldPosition) == newPager.getAmount(newPosition)
+                    && oldPager.isSectionStart(oldPosition) == newPager.isSectionStart(newPosition);
+        }
+    }
+
+    /**
+     * Holds the views of one row.
+     */
+    public static class ViewHolder extends RecyclerView.ViewHolder {
+
+        /** Section heading, shown above the first earning and the first expense. */
+        final TextView header;
+
+        /** Name and amount of the entry. */
+        final TextView entry;
+
+        /** Formatter reused for the row's text. */
+        final ReportFormatter line = new ReportFormatter(48);
+
+        ViewHolder(View view) {
+            super(view);
+            header = view.findViewById(R.id.recordHeader_textView);
+            entry = view.findViewById(R.id.record_textView);
+        }
+    }
+}
@@ -1,162 +1,198 @@
 package edu.utsa.cs3443.coincontrol;
 
 // Import the required libraries
-import androidx.appcompat.app.AppCompatActivity;
-import android.content.Intent;
+import androidx.fragment.app.Fragment;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
 import android.widget.TextView;
+import android.widget.Toast;
 import org.eazegraph.lib.charts.PieChart;
 import org.eazegraph.lib.models.PieModel;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
 
+import edu.utsa.cs3443.coincontrol.model.ChartSlices;
 import edu.utsa.cs3443.coincontrol.model.FinancialEntry;
+import edu.utsa.cs3443.coincontrol.model.LedgerCallback;
+import edu.utsa.cs3443.coincontrol.model.LedgerMetrics;
+import edu.utsa.cs3443.coincontrol.model.LedgerTask;
+import edu.utsa.cs3443.coincontrol.model.Money;
+import edu.utsa.cs3443.coincontrol.model.MonthSession;
+import edu.utsa.cs3443.coincontrol.model.MonthTotals;
+import edu.utsa.cs3443.coincontrol.model.ReportFormatter;
 
 /**
  * @author Jonathan Berndt
- * The Results class represents the activity for displaying spending results
- * (visualized in a pie chart) for a selected month in the CoinControl app.
+ * The Results class represents the screen for displaying spending results
+ * (visualized in a pie chart) for a selected month in the CoinControl app. The totals come from
+ * the month's session, so showing the results again reads nothing unless the month changed.
  */
-public class Results extends AppCompatActivity implements View.OnClickListener {
+public class Results extends Fragment implements View.OnClickListener {
 
-    /** The selected month for which the spending results are displayed. */
-    private String selectedMonth;
+    /** Session of the month for which the spending results are displayed. */
+    private MonthSession session;
 
-    /** List of financial entries representing earnings for the selected month. */
-    private ArrayList<FinancialEntry> earnings;
+    /** Running totals of the selected month, or null until they are loaded. */
+    private MonthTotals totals;
 
-    /** List of financial entries representing expenses for the selected month. */
-    private ArrayList<FinancialEntry> expenses;
-
-    /** PieChart for visualizing expenses in the UI. */
+    /** PieChart for visualizing expenses in the UI, or null while the screen has no views. */
     private PieChart pieChart;
 
-    /** List of colors for styling the pie chart. */
-    private ArrayList<String> colors;
+    /** Number of expense names given their own slice; the rest are summed into "Other". */
+    private static final int TOP_SLICES = 6;
+
+    /** Names of the pie chart colors, as shown in the legend. "Other" is always gray. */
+    private static final String[] COLOR_NAMES = {"Yellow", "Green", "Red", "Blue", "Orange", "Purple", "Gray"};
+
+    /** Pie chart colors, parsed once. */
+    private static final int[] SLICE_COLORS = {
+            Color.parseColor("#F4D03F"),
+            Color.parseColor("#1E8449"),
+            Color.parseColor("#A93226"),
+            Color.parseColor("#2471A3"),
+            Color.parseColor("#CA6F1E"),
+            Color.parseColor("#6C3483"),
+            Color.parseColor("#808B96")
+    };
+
+    /** Slices of the pie chart, or null until the totals are loaded. */
+    private ChartSlices slices;
+
+    /** Expense categories of the month, or null if no expense has a category. */
+    private List<String> categories;
+
+    /** Formatter that renders the legend and the expense details. */
+    private final ReportFormatter formatter = new ReportFormatter(256);
 
     /**
-     * Called when the activity is starting. Responsible for initializing the activity, such as
-     * setting up the user interface, associating click events for buttons, and retrieving the selected month.
+     * Constructs the Results screen with its layout.
+     */
+    public Results() {
+        super(R.layout.activity_results);
+    }
+
+    /**
+     * Called once the screen's views are created. Responsible for initializing the screen, such as
+     * setting up the user interface, associating click events for buttons, and loading the results.
      *
-     * @param savedInstanceState If the activity is being re-initialized after previously being
-     *                           shut down, this Bundle contains the data it most recently supplied
-     *                           in onSaveInstanceState(Bundle).
+     * @param view               The root view of the screen.
+     * @param savedInstanceState The state the screen saved last, or null.
      */
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_results);
-
-        // Initialize ArrayLists and colors
-        colors = new ArrayList<>();
-        colors.add("Yellow");
-        colors.add("Green");
-        colors.add("Red");
-        colors.add("Blue");
-        colors.add("Orange");
-        colors.add("Purple");
-
-        // Initialize ArrayLists
-        earnings = new ArrayList<>();
-        expenses = new ArrayList<>();
+    public void onViewCreated(View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
 
         // Set up UI components
-        setupTextViews();
-        setupArrayLists();
-        pieChart = findViewById(R.id.piechart);
-
-        // Create pie chart data and set it
-        setData();
+        session = CoinControlApplication.getMonthSession(requireContext());
+        setupTextViews(view);
+        pieChart = view.findViewById(R.id.piechart);
+        setupButton(view, R.id.results_done_button);
+
+        // Show a loading state while the financial entries are read in the background
+        TextView expenseText = view.findViewById(R.id.resultsExpenses_textView);
+        expenseText.setText("Loading...");
+        loadFinances();
+    }
 
-        // Display expense details and set up button click event
-        setExpenseText();
-        setupButton(R.id.results_done_button);
+    /**
+     * Called when the screen's views are dropped. Lets go of the pie chart.
+     */
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        pieChart = null;
     }
 
     /**
      * Sets up TextViews for displaying the selected month in the UI.
+     *
+     * @param view The root view of the screen.
      */
-    private void setupTextViews() {
-        selectedMonth = getIntent().getStringExtra("SELECTED_MONTH");
-        TextView monthTextView = findViewById(R.id.resultsMonth_textView);
-        monthTextView.setText("Spending Results for " + selectedMonth);
+    private void setupTextViews(View view) {
+        TextView monthTextView = view.findViewById(R.id.resultsMonth_textView);
+        monthTextView.setText("Spending Results for " + session.getMonthName() + " " + session.getYear());
     }
 
     /**
-     * Sets up ArrayLists for earnings and expenses by reading data from the CSV file.
+     * Loads the month's running totals from its session on the background I/O thread, then
+     * fills in the pie chart and the expense details. The store keeps the totals up to date on
+     * every write or sums them with an indexed query, and the session keeps them until the month
+     * changes, so no entries are summed here. Recurring entries due in the month are added first,
+     * as on the Records screen.
      */
-    public void setupArrayLists() {
-        selectedMonth = getIntent().getStringExtra("SELECTED_MONTH");
-        String filePath = getFilesDir() + "/" + selectedMonth.toLowerCase() + ".csv";
-        try {
-            BufferedReader br = new BufferedReader(new FileReader(filePath));
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] tokens = line.split(",");
-                FinancialEntry record = new FinancialEntry(tokens[0], tokens[1], Double.parseDouble(tokens[2]));
-                if (record.isEarning()) {
-                    earnings.add(record);
-                } else if (record.isExpense()) {
-                    expenses.add(record);
+    private void loadFinances() {
+        final MonthSession month = session;
+        CoinControlApplication.getLedgerExecutor(requireContext()).submit(new LedgerTask<MonthTotals>() {
+            @Override
+            public MonthTotals run() throws IOException {
+                return month.getTotals();
+            }
+        }, new LedgerCallback<MonthTotals>() {
+            @Override
+            public void onSuccess(MonthTotals loaded) {
+                if (getView() == null) {
+                    // The user already left the screen
+                    return;
+                }
+                long start = LedgerMetrics.begin(LedgerMetrics.Operation.CHART);
+                try {
+                    totals = loaded;
+                    categories = totals.getCategories(FinancialEntry.EXPENSE);
+                    boolean categorized = categories.size() > 1
+                            || (categories.size() == 1 && !categories.get(0).isEmpty());
+                    if (!categorized) {
+                        categories = null;
+                    }
+                    slices = categorized
+                            ? ChartSlices.topCategories(totals, FinancialEntry.EXPENSE, TOP_SLICES)
+                            : ChartSlices.top(totals, FinancialEntry.EXPENSE, TOP_SLICES);
+
+                    // Create pie chart data and set it
+                    setData();
+
+                    // Display expense details
+                    setExpenseText();
+                } finally {
+                    LedgerMetrics.end(LedgerMetrics.Operation.CHART, start, 0);
                 }
             }
-            br.close();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+
+            @Override
+            public void onError(IOException e) {
+                if (getView() == null) {
+                    return;
+                }
+                TextView expenseText = getView().findViewById(R.id.resultsExpenses_textView);
+                expenseText.setText("");
+                Toast.makeText(requireContext(), "Error loading results", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     /**
      * Displays expense details in the UI.
      */
     public void setExpenseText() {
-        TextView legendText = findViewById(R.id.resultsLegend_textView);
-        TextView expenseText = findViewById(R.id.resultsExpenses_textView);
-        String expenseList = "\n";
-        String legendList = "\n";
-        double expenseTotal = 0;
-        double earningTotal = 0;
-        for (int i = 0; i < expenses.size(); ++i) {
-            expenseTotal = expenseTotal + expenses.get(i).getAmount();
-        }
-        for (int i = 0; i < expenses.size(); ++i) {
-            legendList = legendList.concat(expenses.get(i).getName() + ": (" + colors.get(i % 6) + ")\n");
-            expenseList = expenseList.concat(expenses.get(i).getName() + "          " +
-                    String.format("%.2f", ((expenses.get(i).getAmount() / expenseTotal) * 100)) + "%\n");
-        }
-        for (int i = 0; i < earnings.size(); ++i) {
-            earningTotal = earningTotal + earnings.get(i).getAmount();
-        }
-        expenseList = expenseList.concat("\n You spent $" + expenseTotal + " out of $" + earningTotal +
-                " total. (This is " + String.format("%.2f", ((expenseTotal / earningTotal) * 100)) + "% of total earnings.");
-        expenseText.setText(expenseList);
-        legendText.setText(legendList);
+        TextView legendText = requireView().findViewById(R.id.resultsLegend_textView);
+        TextView expenseText = requireView().findViewById(R.id.resultsExpenses_textView);
+        legendText.setText(formatter.legend(slices.getLabels(), COLOR_NAMES));
+        expenseText.setText(categories != null
+                ? formatter.categoryBreakdown(totals, categories)
+                : formatter.expenseBreakdown(totals, totals.getNames(FinancialEntry.EXPENSE)));
     }
 
     /**
-     * Creates data for the pie chart and sets it.
+     * Creates data for the pie chart and sets it. The chart gets at most TOP_SLICES named slices
+     * and an "Other" slice, so drawing and animating it takes the same time for any month. Once any
+     * expense has a category, the slices are categories instead of names.
      */
     private void setData() {
-        ArrayList<String> color = new ArrayList<>();
-
-        color.add("#F4D03F");
-        color.add("#1E8449");
-        color.add("#A93226");
-        color.add("#2471A3");
-        color.add("#CA6F1E");
-        color.add("#6C3483");
-
-        // Set the data and color to the pie chart
-        for (int i = 0; i < expenses.size(); ++i) {
-            pieChart.addPieSlice(
-                    new PieModel(expenses.get(i).getName(), (float) expenses.get(i).getAmount(),
-                            Color.parseColor(color.get(i % 6))));
+        for (int i = 0; i < slices.size(); ++i) {
+            pieChart.addPieSlice(new PieModel(slices.getLabel(i), (float) Money.toDouble(slices.getValue(i)),
+                    SLICE_COLORS[i % SLICE_COLORS.length]));
         }
 
         // To animate the pie chart
@@ -166,10 +202,11 @@ public class Results extends AppCompatActivity implements View.OnClickListener {
     /**
      * Sets up a button with the specified ID and associates it with the click event.
      *
+     * @param view     The root view of the screen.
      * @param buttonID The resource ID of the button to set up.
      */
-    private void setupButton(int buttonID) {
-        Button button = findViewById(buttonID);
+    private void setupButton(View view, int buttonID) {
+        Button button = view.findViewById(buttonID);
         button.setOnClickListener(this);
     }
 
@@ -181,16 +218,14 @@ public class Results extends AppCompatActivity implements View.OnClickListener {
     @Override
     public void onClick(View view) {
         if (view.getId() == R.id.results_done_button) {
-            launchActivity();
+            returnToMenu();
         }
     }
 
     /**
-     * Launches the Menu activity.
+     * Goes back to the Menu.
      */
-    private void launchActivity() {
-        Intent intent = new Intent(this, Menu.class);
-        intent.putExtra("SELECTED_MONTH", selectedMonth);
-        startActivity(intent);
+    private void returnToMenu() {
+        MainActivity.of(this).back();
     }
 }
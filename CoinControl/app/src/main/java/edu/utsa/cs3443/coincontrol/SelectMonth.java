@@ -1,68 +1,188 @@
 package edu.utsa.cs3443.coincontrol;
 
-import androidx.appcompat.app.AppCompatActivity;
+import androidx.fragment.app.Fragment;
 
-import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.Spinner;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.utsa.cs3443.coincontrol.model.LedgerCallback;
+import edu.utsa.cs3443.coincontrol.model.LedgerStore;
+import edu.utsa.cs3443.coincontrol.model.LedgerTask;
+import edu.utsa.cs3443.coincontrol.model.PartitionIndex;
+
 /**
  * @author Keanu Anderson-Pola
- * The SelectMonth class represents the activity for selecting a month in the CoinControl app.
+ * The SelectMonth class represents the screen for selecting a month in the CoinControl app.
  * Users can choose a specific month from a spinner and proceed to view financial information for that month.
+ * A second spinner picks the year, offering every year that already holds entries. The month is
+ * read in the background as soon as it is selected, so its screens open without waiting.
  */
-public class SelectMonth extends AppCompatActivity implements View.OnClickListener {
+public class SelectMonth extends Fragment implements View.OnClickListener, AdapterView.OnItemSelectedListener {
 
     /** Spinner for selecting a month. */
     private Spinner monthSpinner;
 
+    /** Spinner for selecting a year. */
+    private Spinner yearSpinner;
+
+    /** Years offered by the year spinner, newest first. */
+    private ArrayAdapter<Integer> years;
+
+    /**
+     * Constructs the SelectMonth screen with its layout.
+     */
+    public SelectMonth() {
+        super(R.layout.activity_select_month);
+    }
+
+    /**
+     * Called once the screen's views are created. Responsible for initializing the screen, such as
+     * setting up the spinners and associating click events for buttons.
+     *
+     * @param view               The root view of the screen.
+     * @param savedInstanceState The state the screen saved last, or null.
+     */
+    @Override
+    public void onViewCreated(View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        monthSpinner = view.findViewById(R.id.monthSpinner);
+        setupYearSpinner(view);
+        setupButton(view, R.id.month_done_button);
+
+        // Start reading the selected month while the user is still choosing
+        monthSpinner.setOnItemSelectedListener(this);
+        yearSpinner.setOnItemSelectedListener(this);
+    }
+
+    /**
+     * Called when a month or a year is selected, including the first selection of each spinner.
+     * Starts reading the selected month in the background, and stops reading the month selected
+     * before.
+     *
+     * @param parent   The spinner.
+     * @param view     The view of the selected item.
+     * @param position The position of the selected item.
+     * @param id       The row id of the selected item.
+     */
+    @Override
+    public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+        Object month = monthSpinner.getSelectedItem();
+        Object year = yearSpinner.getSelectedItem();
+        if (month != null && year != null) {
+            CoinControlApplication.prefetchMonth(requireContext(), month.toString(), (Integer) year);
+        }
+    }
+
     /**
-     * Called when the activity is starting. Responsible for initializing the activity, such as
-     * setting up the user interface and associating click events for buttons.
+     * Called when the selection of a spinner disappears. Nothing is read until the next selection.
      *
-     * @param savedInstanceState If the activity is being re-initialized after previously being
-     *                           shut down, this Bundle contains the data it most recently supplied
-     *                           in onSaveInstanceState(Bundle).
+     * @param parent The spinner.
      */
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_select_month);
-        monthSpinner = findViewById(R.id.monthSpinner);
-        setupButton(R.id.month_done_button);
+    public void onNothingSelected(AdapterView<?> parent) {
+    }
+
+    /**
+     * Called when the screen's views are dropped, such as when the Menu is shown on top of it.
+     * Lets go of the views, which are created again if the user comes back, and of a month read
+     * ahead that was not opened.
+     */
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        CoinControlApplication.cancelPrefetch(requireContext());
+        monthSpinner = null;
+        yearSpinner = null;
+        years = null;
+    }
+
+    /**
+     * Sets up the year spinner with the current and previous years, then adds the years found in
+     * the partition index once it has been read in the background.
+     *
+     * @param view The root view of the screen.
+     */
+    private void setupYearSpinner(View view) {
+        final int currentYear = PartitionIndex.currentYear();
+        yearSpinner = view.findViewById(R.id.yearSpinner);
+        years = new ArrayAdapter<>(requireContext(), android.R.layout.simple_spinner_item, new ArrayList<Integer>());
+        years.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        years.add(currentYear);
+        years.add(currentYear - 1);
+        yearSpinner.setAdapter(years);
+
+        final LedgerStore store = CoinControlApplication.getLedgerStore(requireContext());
+        CoinControlApplication.getLedgerExecutor(requireContext()).submit(new LedgerTask<List<Integer>>() {
+            @Override
+            public List<Integer> run() throws IOException {
+                return store.getYears();
+            }
+        }, new LedgerCallback<List<Integer>>() {
+            @Override
+            public void onSuccess(List<Integer> indexed) {
+                if (years == null) {
+                    // The user already left the screen
+                    return;
+                }
+                List<Integer> all = new ArrayList<>(indexed);
+                if (!all.contains(currentYear)) {
+                    all.add(currentYear);
+                }
+                if (!all.contains(currentYear - 1)) {
+                    all.add(currentYear - 1);
+                }
+                Collections.sort(all, Collections.<Integer>reverseOrder());
+                Object selected = yearSpinner.getSelectedItem();
+                years.clear();
+                years.addAll(all);
+                yearSpinner.setSelection(Math.max(0, all.indexOf(selected)));
+            }
+
+            @Override
+            public void onError(IOException e) {
+                // Keep offering the current and previous years
+            }
+        });
     }
 
     /**
      * Handles click events for the "Done" button. Invoked when the button is clicked,
-     * triggering the launch of the Menu activity for the selected month.
+     * opening the selected month and showing its Menu.
      *
      * @param view The view that was clicked.
      */
     public void onClick(View view) {
         if (view.getId() == R.id.month_done_button) {
-            launchActivity();
+            showMenu();
         }
     }
 
     /**
-     * Launches the Menu activity for the selected month.
+     * Opens the selected month for every screen to share and shows its Menu.
      */
-    private void launchActivity() {
+    private void showMenu() {
         String selectedMonth = monthSpinner.getSelectedItem().toString();
-        Intent intent = new Intent(this, Menu.class);
-        intent.putExtra("SELECTED_MONTH", selectedMonth);
-        startActivity(intent);
+        int selectedYear = (Integer) yearSpinner.getSelectedItem();
+        MainActivity.of(this).openMonth(selectedMonth, selectedYear);
     }
 
     /**
      * Sets up a button with the specified ID and associates it with the click event.
      *
+     * @param view     The root view of the screen.
      * @param buttonID The resource ID of the button to set up.
      */
-    private void setupButton(int buttonID){
-        Button button = findViewById(buttonID);
+    private void setupButton(View view, int buttonID){
+        Button button = view.findViewById(buttonID);
         button.setOnClickListener(this);
     }
 }
@@ -0,0 +1,605 @@
+package edu.utsa.cs3443.coincontrol;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+
+import edu.utsa.cs3443.coincontrol.model.EntryDate;
+import edu.utsa.cs3443.coincontrol.model.FinancialEntry;
+import edu.utsa.cs3443.coincontrol.model.LedgerRepository;
+import edu.utsa.cs3443.coincontrol.model.LedgerStore;
+import edu.utsa.cs3443.coincontrol.model.MonthLedger;
+import edu.utsa.cs3443.coincontrol.model.MonthTotals;
+import edu.utsa.cs3443.coincontrol.model.NamePool;
+import edu.utsa.cs3443.coincontrol.model.PartitionIndex;
+
+/**
+ * The SqliteLedgerStore class keeps the ledger in a SQLite database with one row per entry. Rows
+ * are found through an index on (month, name), so existence checks, edits and deletes touch a
+ * single row, and month totals are {@code SUM} queries over an index on (month, sign, amount)
+ * instead of a scan of the month's file. Category sums come from a grouped query over an index on
+ * (month, sign, category, amount), and date ranges are read through an index on (month, date). The
+ * statements used on every write are compiled once and
+ * reused, and batches of entries are inserted in one transaction.
+ *
+ * <p>Every method is synchronized on the store. Version stamps of the months are kept in memory,
+ * since only this process writes the database, and a month gets a new one with every write.
+ *
+ * <p>Rows keep the order they were added in, by their row id, so screens list them as the month
+ * files would. {@link #importFrom(LedgerRepository)} copies the months of the file-based store
+ * into the database once per month.
+ */
+public class SqliteLedgerStore extends SQLiteOpenHelper implements LedgerStore {
+
+    /** Name of the database file. */
+    public static final String DATABASE_NAME = "ledger.db";
+
+    /** Version of the database schema. Version 2 added the category column, version 3 the date. */
+    private static final int VERSION = 3;
+
+    /** The shared store instance used by the app. */
+    private static SqliteLedgerStore instance;
+
+    /** Dictionary of entry names shared by the ledgers this store builds. */
+    private final NamePool names = new NamePool();
+
+    /** Inserts one entry, or null until first used. */
+    private SQLiteStatement insert;
+
+    /** Changes the amount of the first entry with a name, or null until first used. */
+    private SQLiteStatement update;
+
+    /** Deletes the first entry with a name, or null until first used. */
+    private SQLiteStatement delete;
+
+    /** Checks whether a month has an entry with a name, or null until first used. */
+    private SQLiteStatement exists;
+
+    /** Version stamp of each month read or written since the store was opened, by lower-case key. */
+    private final HashMap<String, Long> versions = new HashMap<>();
+
+    /** Last version stamp handed out. */
+    private long lastVersion;
+
+    /**
+     * Constructs a new SqliteLedgerStore over a database file of the app.
+     *
+     * @param context Any context of the app.
+     * @param name    The name of the database file, or null for an in-memory database.
+     */
+    public SqliteLedgerStore(Context context, String name) {
+        super(context, name, null, VERSION);
+    }
+
+    /**
+     * Gets the shared store of the app, creating it on first use.
+     *
+     * @param context Any context of the app.
+     * @return The shared SqliteLedgerStore.
+     */
+    public static synchronized SqliteLedgerStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new SqliteLedgerStore(context.getApplicationContext(), DATABASE_NAME);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates the tables and indexes of a new database.
+     *
+     * @param db The database being created.
+     */
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE entries (id INTEGER PRIMARY KEY, month TEXT NOT NULL, "
+                + "name TEXT NOT NULL, sign INTEGER NOT NULL, amount INTEGER NOT NULL, "
+                + "category TEXT NOT NULL DEFAULT '', date INTEGER NOT NULL DEFAULT 0)");
+        db.execSQL("CREATE INDEX entries_month_name ON entries (month, name)");
+        db.execSQL("CREATE INDEX entries_month_sign ON entries (month, sign, amount)");
+        createCategoryIndex(db);
+        createDateIndex(db);
+        db.execSQL("CREATE TABLE imports (month TEXT PRIMARY KEY)");
+    }
+
+    /**
+     * Upgrades the database schema. Rows of a version 1 database get no category, and rows of a
+     * version 1 or 2 database get no date.
+     *
+     * @param db         The database being upgraded.
+     * @param oldVersion The version on disk.
+     * @param newVersion The version of this code.
+     */
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            db.execSQL("ALTER TABLE entries ADD COLUMN category TEXT NOT NULL DEFAULT ''");
+            createCategoryIndex(db);
+        }
+        if (oldVersion < 3) {
+            db.execSQL("ALTER TABLE entries ADD COLUMN date INTEGER NOT NULL DEFAULT 0");
+            createDateIndex(db);
+        }
+    }
+
+    /**
+     * Creates the index that serves category sums.
+     *
+     * @param db The database being created or upgraded.
+     */
+    private static void createCategoryIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX entries_month_category ON entries (month, sign, category, amount)");
+    }
+
+    /**
+     * Creates the index that serves date ranges.
+     *
+     * @param db The database being created or upgraded.
+     */
+    private static void createDateIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX entries_month_date ON entries (month, date)");
+    }
+
+    /**
+     * Gets all financial entries recorded for a month, in the order they were added.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return A copy of the month's entries. Empty if the month has no entries.
+     * @throws IOException If the database cannot be read.
+     */
+    @Override
+    public List<FinancialEntry> getEntries(String month) throws IOException {
+        return getLedger(month).toEntries();
+    }
+
+    /**
+     * Reads a month's rows into a new ledger.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return A new ledger with the month's rows. Empty if the month has no entries.
+     * @throws IOException If the database cannot be read.
+     */
+    @Override
+    public synchronized MonthLedger getLedger(String month) throws IOException {
+        LedgerRepository.checkNotMainThread();
+        try {
+            MonthLedger ledger = readRows(getReadableDatabase().rawQuery(
+                    "SELECT name, sign, amount, category, date FROM entries WHERE month = ? ORDER BY id",
+                    new String[] {month.toLowerCase()}));
+            ledger.setVersion(versionOf(month.toLowerCase()));
+            return ledger;
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Reads a month's rows for a single pass. The store keeps no months in memory, so this is the
+     * same read as {@link #getLedger(String)}.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return A new ledger with the month's rows. Empty if the month has no entries.
+     * @throws IOException If the database cannot be read.
+     */
+    @Override
+    public MonthLedger readLedger(String month) throws IOException {
+        return getLedger(month);
+    }
+
+    /**
+     * Gets the version stamp of a month, handing out a new one for a month not seen yet.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's current version stamp.
+     */
+    @Override
+    public synchronized long getVersion(String month) {
+        return versionOf(month.toLowerCase());
+    }
+
+    /**
+     * Reads one page of a month's rows with a {@code LIMIT} query.
+     *
+     * @param month  The partition key, such as "2026/april", in any case.
+     * @param offset The position of the first entry of the page, earnings first.
+     * @param limit  The largest number of entries to return.
+     * @return A new ledger with at most limit rows. Empty past the last entry.
+     * @throws IOException If the database cannot be read.
+     */
+    @Override
+    public synchronized MonthLedger getPage(String month, int offset, int limit) throws IOException {
+        LedgerRepository.checkNotMainThread();
+        try {
+            // '+' sorts before '-', so earnings come first
+            return readRows(getReadableDatabase().rawQuery(
+                    "SELECT name, sign, amount, category, date FROM entries WHERE month = ? "
+                            + "ORDER BY sign, id LIMIT ? OFFSET ?",
+                    new String[] {month.toLowerCase(), Integer.toString(limit), Integer.toString(offset)}));
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Reads the rows of a month dated within a range through the (month, date) index. Undated rows
+     * have date 0, so they sort first, and are included when the first day of the month is in the
+     * range.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @param from  The first date of the range, in days since 1970-01-01.
+     * @param to    The last date of the range, inclusive.
+     * @return A new ledger with the matching rows, in date order. Empty if none match.
+     * @throws IOException If the database cannot be read.
+     */
+    @Override
+    public synchronized MonthLedger getRange(String month, int from, int to) throws IOException {
+        LedgerRepository.checkNotMainThread();
+        int undated = EntryDate.firstDayOf(month);
+        try {
+            return readRows(getReadableDatabase().rawQuery(
+                    "SELECT name, sign, amount, category, date FROM entries WHERE month = ? "
+                            + "AND (date BETWEEN ? AND ? OR date = 0 AND ?) ORDER BY date, id",
+                    new String[] {month.toLowerCase(), Integer.toString(from), Integer.toString(to),
+                            undated >= from && undated <= to ? "1" : "0"}));
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Reads the rows of a query into a new ledger and closes the cursor.
+     *
+     * @param cursor The result of a query selecting name, sign, amount, category and date.
+     * @return A new ledger with the rows, in the order of the query.
+     */
+    private MonthLedger readRows(Cursor cursor) {
+        try {
+            MonthLedger ledger = new MonthLedger(names, cursor.getCount());
+            while (cursor.moveToNext()) {
+                ledger.add(cursor.getString(0), (byte) cursor.getInt(1), cursor.getLong(2), cursor.getString(3),
+                        cursor.getInt(4));
+            }
+            return ledger;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Sums a month's entries by sign and name, then by sign and category, with two grouped queries
+     * over the month's indexes.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return New totals of the month, with names and categories in the order they were first added.
+     * @throws IOException If the database cannot be read.
+     */
+    @Override
+    public synchronized MonthTotals getTotals(String month) throws IOException {
+        LedgerRepository.checkNotMainThread();
+        try {
+            String[] args = {month.toLowerCase()};
+            MonthTotals totals = new MonthTotals();
+            Cursor cursor = getReadableDatabase().rawQuery(
+                    "SELECT name, sign, SUM(amount), COUNT(*) FROM entries WHERE month = ? "
+                            + "GROUP BY name, sign ORDER BY MIN(id)", args);
+            try {
+                while (cursor.moveToNext()) {
+                    totals.addGroup(cursor.getString(0), (byte) cursor.getInt(1), cursor.getLong(2), cursor.getInt(3));
+                }
+            } finally {
+                cursor.close();
+            }
+            cursor = getReadableDatabase().rawQuery(
+                    "SELECT category, sign, SUM(amount), COUNT(*) FROM entries WHERE month = ? "
+                            + "GROUP BY category, sign ORDER BY MIN(id)", args);
+            try {
+                while (cursor.moveToNext()) {
+                    totals.addCategoryGroup(cursor.getString(0), (byte) cursor.getInt(1), cursor.getLong(2),
+                            cursor.getInt(3));
+                }
+            } finally {
+                cursor.close();
+            }
+            return totals;
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Checks if an entry with the specified name already exists in a month.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to check.
+     * @return True if the entry exists, false otherwise.
+     * @throws IOException If the database cannot be read.
+     */
+    @Override
+    public synchronized boolean entryExists(String month, String entryName) throws IOException {
+        LedgerRepository.checkNotMainThread();
+        try {
+            if (exists == null) {
+                exists = getWritableDatabase().compileStatement(
+                        "SELECT EXISTS (SELECT 1 FROM entries WHERE month = ? AND name = ?)");
+            }
+            exists.bindString(1, month.toLowerCase());
+            exists.bindString(2, entryName);
+            return exists.simpleQueryForLong() != 0;
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Adds a new entry to a month as a row of its own, even if the month already holds its name.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @param entry The entry to add.
+     * @throws IOException If the database cannot be written.
+     */
+    @Override
+    public void addEntry(String month, FinancialEntry entry) throws IOException {
+        addEntries(month, Collections.singletonList(entry));
+    }
+
+    /**
+     * Adds several entries to a month in one transaction.
+     *
+     * @param month   The partition key, such as "2026/april", in any case.
+     * @param entries The entries to add, in order.
+     * @throws IOException If the database cannot be written; no entry is added then.
+     */
+    @Override
+    public synchronized void addEntries(String month, List<FinancialEntry> entries) throws IOException {
+        LedgerRepository.checkNotMainThread();
+        try {
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                insertAll(db, month.toLowerCase(), entries);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Adds several entries to a month in one transaction if the month is still at a version stamp.
+     *
+     * @param month   The partition key, such as "2026/april", in any case.
+     * @param entries The entries to add, in order.
+     * @param version The version stamp of the ledger the entries were chosen from.
+     * @return True if the entries were added, false if the month has changed since.
+     * @throws IOException If the database cannot be written; no entry is added then.
+     */
+    @Override
+    public synchronized boolean addEntries(String month, List<FinancialEntry> entries, long version)
+            throws IOException {
+        if (versionOf(month.toLowerCase()) != version) {
+            return false;
+        }
+        addEntries(month, entries);
+        return true;
+    }
+
+    /**
+     * Updates the amount of the first entry with a name, as a single-row update.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to update.
+     * @param amount    The new amount of the entry, in cents.
+     * @return True if the entry was found and updated, false otherwise.
+     * @throws IOException If the database cannot be written.
+     */
+    @Override
+    public synchronized boolean updateAmount(String month, String entryName, long amount) throws IOException {
+        LedgerRepository.checkNotMainThread();
+        try {
+            if (update == null) {
+                update = getWritableDatabase().compileStatement("UPDATE entries SET amount = ? WHERE id = "
+                        + "(SELECT id FROM entries WHERE month = ? AND name = ? ORDER BY id LIMIT 1)");
+            }
+            update.bindLong(1, amount);
+            update.bindString(2, month.toLowerCase());
+            update.bindString(3, entryName);
+            if (update.executeUpdateDelete() == 0) {
+                return false;
+            }
+            touch(month.toLowerCase());
+            return true;
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Updates the amount of the first entry with a name if the month is still at a version stamp.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to update.
+     * @param amount    The new amount of the entry, in cents.
+     * @param version   The version stamp of the ledger the amount was computed from.
+     * @return True if the entry was updated, false if the month has changed since or the entry
+     * does not exist.
+     * @throws IOException If the database cannot be written.
+     */
+    @Override
+    public synchronized boolean updateAmount(String month, String entryName, long amount, long version)
+            throws IOException {
+        return versionOf(month.toLowerCase()) == version && updateAmount(month, entryName, amount);
+    }
+
+    /**
+     * Deletes the first entry with a name, as a single-row delete.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to delete.
+     * @return True if the entry was found and deleted, false otherwise.
+     * @throws IOException If the database cannot be written.
+     */
+    @Override
+    public synchronized boolean deleteEntry(String month, String entryName) throws IOException {
+        LedgerRepository.checkNotMainThread();
+        try {
+            if (delete == null) {
+                delete = getWritableDatabase().compileStatement("DELETE FROM entries WHERE id = "
+                        + "(SELECT id FROM entries WHERE month = ? AND name = ? ORDER BY id LIMIT 1)");
+            }
+            delete.bindString(1, month.toLowerCase());
+            delete.bindString(2, entryName);
+            if (delete.executeUpdateDelete() == 0) {
+                return false;
+            }
+            touch(month.toLowerCase());
+            return true;
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Gets the keys of every month that holds entries, oldest first.
+     *
+     * @return A new list of partition keys, such as "2026/april".
+     * @throws IOException If the database cannot be read.
+     */
+    @Override
+    public synchronized List<String> getPartitions() throws IOException {
+        LedgerRepository.checkNotMainThread();
+        TreeSet<String> keys = new TreeSet<>(PartitionIndex.CHRONOLOGICAL);
+        try {
+            Cursor cursor = getReadableDatabase().rawQuery("SELECT DISTINCT month FROM entries", null);
+            try {
+                while (cursor.moveToNext()) {
+                    String key = cursor.getString(0);
+                    if (PartitionIndex.yearOf(key) != 0 && PartitionIndex.monthOf(key) >= 0) {
+                        keys.add(key);
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Gets the years that hold entries, oldest first.
+     *
+     * @return A new list of years.
+     * @throws IOException If the database cannot be read.
+     */
+    @Override
+    public List<Integer> getYears() throws IOException {
+        TreeSet<Integer> years = new TreeSet<>();
+        for (String key : getPartitions()) {
+            years.add(PartitionIndex.yearOf(key));
+        }
+        return new ArrayList<>(years);
+    }
+
+    /**
+     * Copies every month of a file-based store into the database. Each month is copied in one
+     * transaction together with a record that it was imported, so a month is never imported
+     * twice, and an import that was interrupted starts that month over on the next run.
+     *
+     * @param repository The file-based store to import from.
+     * @return The number of months imported.
+     * @throws IOException If a month cannot be read or the database cannot be written.
+     */
+    public synchronized int importFrom(LedgerRepository repository) throws IOException {
+        LedgerRepository.checkNotMainThread();
+        int imported = 0;
+        try {
+            SQLiteDatabase db = getWritableDatabase();
+            for (String month : repository.getPartitions()) {
+                String key = month.toLowerCase();
+                if (DatabaseUtils.queryNumEntries(db, "imports", "month = ?", new String[] {key}) > 0) {
+                    continue;
+                }
+                List<FinancialEntry> entries = repository.getEntries(month);
+                db.beginTransaction();
+                try {
+                    insertAll(db, key, entries);
+                    ContentValues done = new ContentValues();
+                    done.put("month", key);
+                    db.insertOrThrow("imports", null, done);
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+                ++imported;
+            }
+        } catch (SQLiteException e) {
+            throw new IOException(e);
+        }
+        return imported;
+    }
+
+    /**
+     * Gets the version stamp of a month, handing out a new one for a month not seen yet.
+     *
+     * @param month The lower-case partition key.
+     * @return The month's current version stamp.
+     */
+    private long versionOf(String month) {
+        Long version = versions.get(month);
+        if (version == null) {
+            version = ++lastVersion;
+            versions.put(month, version);
+        }
+        return version;
+    }
+
+    /**
+     * Gives a month a new version stamp after a write.
+     *
+     * @param month The lower-case partition key.
+     */
+    private void touch(String month) {
+        versions.put(month, ++lastVersion);
+    }
+
+    /**
+     * Inserts entries with the reused insert statement. The caller holds the transaction. A month
+     * that gets entries gets a new version stamp.
+     *
+     * @param db      The writable database.
+     * @param month   The lower-case partition key.
+     * @param entries The entries to insert, in order.
+     */
+    private void insertAll(SQLiteDatabase db, String month, List<FinancialEntry> entries) {
+        if (insert == null) {
+            insert = db.compileStatement(
+                    "INSERT INTO entries (month, name, sign, amount, category, date) VALUES (?, ?, ?, ?, ?, ?)");
+        }
+        for (FinancialEntry entry : entries) {
+            insert.bindString(1, month);
+            insert.bindString(2, entry.getName());
+            insert.bindLong(3, entry.getSign().charAt(0));
+            insert.bindLong(4, entry.getAmount());
+            insert.bindString(5, entry.getCategory());
+            insert.bindLong(6, entry.getDate());
+            insert.executeInsert();
+        }
+        if (!entries.isEmpty()) {
+            touch(month);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.utsa.cs3443.coincontrol;
+
+import androidx.fragment.app.Fragment;
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+
+/**
+ * The Welcome class represents the title screen of the CoinControl app, the first screen the
+ * MainActivity shows. It provides a button to start the app by moving on to the SelectMonth screen.
+ */
+public class Welcome extends Fragment implements View.OnClickListener {
+
+    /**
+     * Constructs the Welcome screen with its layout.
+     */
+    public Welcome() {
+        super(R.layout.activity_main);
+    }
+
+    /**
+     * Called once the screen's views are created. Associates the click event for the start button.
+     *
+     * @param view               The root view of the screen.
+     * @param savedInstanceState The state the screen saved last, or null.
+     */
+    @Override
+    public void onViewCreated(View view, Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        Button button = view.findViewById(R.id.main_start_button);
+        button.setOnClickListener(this);
+    }
+
+    /**
+     * Called when a view has been clicked. Shows the SelectMonth screen when the start button is
+     * clicked.
+     *
+     * @param view The view that was clicked.
+     */
+    @Override
+    public void onClick(View view) {
+        if (view.getId() == R.id.main_start_button) {
+            MainActivity.of(this).show(new SelectMonth());
+        }
+    }
+}
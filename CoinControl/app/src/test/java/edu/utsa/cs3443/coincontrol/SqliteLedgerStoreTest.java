@@ -0,0 +1,178 @@
+package edu.utsa.cs3443.coincontrol;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.utsa.cs3443.coincontrol.model.EntryDate;
+import edu.utsa.cs3443.coincontrol.model.FinancialEntry;
+import edu.utsa.cs3443.coincontrol.model.LedgerAggregator;
+import edu.utsa.cs3443.coincontrol.model.LedgerRepository;
+import edu.utsa.cs3443.coincontrol.model.LedgerStore;
+import edu.utsa.cs3443.coincontrol.model.MonthLedger;
+import edu.utsa.cs3443.coincontrol.model.MonthTotals;
+
+import static org.junit.Assert.*;
+
+/**
+ * The SQLite ledger store and its import from the month files, against Robolectric's SQLite.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class SqliteLedgerStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SqliteLedgerStore store;
+
+    @Before
+    public void setUp() {
+        store = new SqliteLedgerStore(RuntimeEnvironment.getApplication(), null);
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void writes_areReadBackInOrder() throws IOException {
+        store.addEntries("2026/april", Arrays.asList(
+                new FinancialEntry("Pay", "+", 300000),
+                new FinancialEntry("Rent", "-", 120000),
+                new FinancialEntry("Food", "-", 30000)));
+        assertTrue(store.updateAmount("2026/april", "Rent", 125000));
+        assertTrue(store.deleteEntry("2026/april", "Food"));
+        assertFalse(store.updateAmount("2026/april", "Food", 1));
+
+        List<FinancialEntry> entries = store.getEntries("2026/April");
+        assertEquals(2, entries.size());
+        assertEquals("Pay", entries.get(0).getName());
+        assertEquals(125000, entries.get(1).getAmount());
+        assertTrue(store.entryExists("2026/april", "Rent"));
+        assertFalse(store.entryExists("2026/may", "Rent"));
+    }
+
+    @Test
+    public void addEntry_onExistingName_addsARowAsTheFileStoreDoes() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        for (LedgerStore each : Arrays.<LedgerStore>asList(store, repository)) {
+            each.addEntry("2026/april", new FinancialEntry("Rent", "-", 120000));
+            each.addEntry("2026/april", new FinancialEntry("Rent", "-", 125000));
+            assertTrue(each.updateAmount("2026/april", "Rent", 121000));
+        }
+        assertEquals(repository.getEntries("2026/april").size(), store.getEntries("2026/april").size());
+        assertEquals(2, store.getEntries("2026/april").size());
+        assertEquals(121000, store.getEntries("2026/april").get(0).getAmount());
+        assertEquals(246000, repository.getTotals("2026/april").getTotal(FinancialEntry.EXPENSE));
+        assertEquals(246000, store.getTotals("2026/april").getTotal(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void aggregator_readsTheDatabase() throws IOException {
+        store.addEntry("2026/april", new FinancialEntry("Rent", "-", 120000));
+        store.addEntry("2026/may", new FinancialEntry("Rent", "-", 125000));
+        LedgerAggregator aggregator = new LedgerAggregator(store);
+
+        assertEquals(245000, aggregator.aggregateYear(2026).getTotal(FinancialEntry.EXPENSE));
+        store.updateAmount("2026/may", "Rent", 130000);
+        assertEquals(250000, aggregator.aggregateYear(2026).getTotal(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void getTotals_sumsBySignAndName() throws IOException {
+        store.addEntry("2026/april", new FinancialEntry("Pay", "+", 300000));
+        store.addEntry("2026/april", new FinancialEntry("Rent", "-", 120000));
+        store.addEntry("2026/april", new FinancialEntry("Food", "-", 30000));
+        store.addEntry("2026/may", new FinancialEntry("Rent", "-", 99999));
+
+        MonthTotals totals = store.getTotals("2026/april");
+        assertEquals(300000, totals.getTotal(FinancialEntry.EARNING));
+        assertEquals(150000, totals.getTotal(FinancialEntry.EXPENSE));
+        assertEquals(2, totals.getCount(FinancialEntry.EXPENSE));
+        assertEquals(Arrays.asList("Rent", "Food"), totals.getNames(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void getTotals_sumsByCategory() throws IOException {
+        store.addEntries("2026/april", Arrays.asList(
+                new FinancialEntry("Rent", "-", 120000, "Housing"),
+                new FinancialEntry("Market", "-", 8000, "Groceries"),
+                new FinancialEntry("Bakery", "-", 2000, "Groceries"),
+                new FinancialEntry("Gift", "-", 5000)));
+
+        MonthTotals totals = store.getTotals("2026/april");
+        assertEquals(Arrays.asList("Housing", "Groceries", ""), totals.getCategories(FinancialEntry.EXPENSE));
+        assertEquals(10000, totals.getCategorySum(FinancialEntry.EXPENSE, "Groceries"));
+        assertEquals("Groceries", store.getEntries("2026/april").get(2).getCategory());
+    }
+
+    @Test
+    public void getRange_readsDatedRowsInDateOrder() throws IOException {
+        int first = EntryDate.of(2026, 4, 1);
+        store.addEntries("2026/april", Arrays.asList(
+                new FinancialEntry("Rent", "-", 120000, "Housing", first + 9),
+                new FinancialEntry("Old", "-", 100),
+                new FinancialEntry("Pay", "+", 300000, "", first + 2)));
+
+        MonthLedger range = store.getRange("2026/april", first, first + 9);
+        assertEquals(3, range.size());
+        assertEquals("Old", range.getName(0));
+        assertEquals("Pay", range.getName(1));
+        assertEquals(first + 9, range.getDate(2));
+        assertEquals("Housing", range.getCategory(2));
+        assertEquals(1, store.getRange("2026/april", first + 1, first + 5).size());
+    }
+
+    @Test
+    public void conditionalWrites_areRefusedOnceTheMonthChanged() throws IOException {
+        store.addEntry("2026/april", new FinancialEntry("Rent", "-", 120000));
+        MonthLedger read = store.getLedger("2026/april");
+        assertEquals(store.getVersion("2026/april"), read.getVersion());
+
+        store.addEntry("2026/april", new FinancialEntry("Food", "-", 30000));
+        assertFalse(store.updateAmount("2026/april", "Rent", 1, read.getVersion()));
+        assertFalse(store.addEntries("2026/april", Arrays.asList(new FinancialEntry("Gas", "-", 1)),
+                read.getVersion()));
+        assertEquals(120000, store.getEntries("2026/april").get(0).getAmount());
+        assertEquals(2, store.getEntries("2026/april").size());
+
+        long current = store.getVersion("2026/april");
+        assertTrue(store.updateAmount("2026/april", "Rent", 125000, current));
+        assertTrue(store.getVersion("2026/april") > current);
+    }
+
+    @Test
+    public void partitions_areListedChronologically() throws IOException {
+        store.addEntry("2026/january", new FinancialEntry("Rent", "-", 1));
+        store.addEntry("2025/december", new FinancialEntry("Rent", "-", 1));
+        store.addEntry("2025/april", new FinancialEntry("Rent", "-", 1));
+
+        assertEquals(Arrays.asList("2025/april", "2025/december", "2026/january"), store.getPartitions());
+        assertEquals(Arrays.asList(2025, 2026), store.getYears());
+    }
+
+    @Test
+    public void importFrom_copiesEachMonthOnce() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2026/april", new FinancialEntry("Pay", "+", 300000));
+        repository.addEntry("2026/april", new FinancialEntry("Rent", "-", 120000));
+        repository.addEntry("2025/december", new FinancialEntry("Gifts", "-", 50000));
+
+        assertEquals(2, store.importFrom(repository));
+        assertEquals(0, store.importFrom(repository));
+        assertEquals(2, store.getEntries("2026/april").size());
+        assertEquals(50000, store.getTotals("2025/december").getTotal(FinancialEntry.EXPENSE));
+    }
+}
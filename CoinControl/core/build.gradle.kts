@@ -0,0 +1,23 @@
+// The ledger logic of the app as a plain Java library, so it is tested and benchmarked on the JVM
+// without Android. Run the benchmarks with ./gradlew :core:jmh
+plugins {
+    id("java-library")
+    id("me.champeau.jmh")
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    testImplementation("junit:junit:4.13.2")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // The ledger suite by default; pass -PjmhInclude=<regex> to run other benchmarks
+    includes.set(listOf((findProperty("jmhInclude") as String?) ?: "LedgerCoreBenchmark"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
@@ -0,0 +1,110 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of opening a month from its CSV file and from its binary file, at 100k and 1M
+ * rows. Every invocation starts from a fresh NamePool, as after a process start; the files
+ * themselves stay in the OS page cache. Run the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class BinaryMonthFileBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private File csv;
+    private File binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] names = {"Rent", "Groceries", "Gas", "Coffee", "Payroll", "Internet", "Dining", "Gym"};
+        Random random = new Random(42);
+        csv = File.createTempFile("month", ".csv");
+        binary = File.createTempFile("month", ".ccm");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(csv), "UTF-8");
+        StringBuilder line = new StringBuilder(64);
+        for (int i = 0; i < rows; ++i) {
+            int n = random.nextInt(names.length);
+            line.setLength(0);
+            line.append(names[n]).append(i % 500).append(',').append(n == 4 ? '+' : '-').append(',');
+            Money.appendTo(line, random.nextInt(100000)).append('\n');
+            writer.append(line);
+        }
+        writer.close();
+        BinaryMonthFile.convert(csv, binary, new NamePool());
+    }
+
+    @TearDown
+    public void tearDown() {
+        csv.delete();
+        binary.delete();
+    }
+
+    @Benchmark
+    public MonthLedger csvOpen() throws IOException {
+        NamePool names = new NamePool();
+        final MonthLedger ledger = new MonthLedger(names);
+        Reader reader = new InputStreamReader(new FileInputStream(csv), "UTF-8");
+        try {
+            new FinancialEntryParser(names).parse(reader, new FinancialEntryParser.Handler() {
+                @Override
+                public void onEntry(String name, byte sign, long amount, String category, int date) {
+                    ledger.add(name, sign, amount, category);
+                }
+            });
+        } finally {
+            reader.close();
+        }
+        return ledger;
+    }
+
+    @Benchmark
+    public MonthLedger binaryOpen() throws IOException {
+        return MappedMonth.open(binary).toLedger(new NamePool());
+    }
+
+    @Benchmark
+    public long binaryExpenseTotal() throws IOException {
+        return MappedMonth.open(binary).total(FinancialEntry.EXPENSE);
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(BinaryMonthFileBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
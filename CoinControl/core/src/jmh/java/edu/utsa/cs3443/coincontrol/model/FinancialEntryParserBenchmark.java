@@ -0,0 +1,91 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of FinancialEntryParser with the {@code split(",")} and {@code Double.parseDouble}
+ * loop the activities used to run, on a synthetic multi-million-row ledger. Run the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class FinancialEntryParserBenchmark {
+
+    @Param({"2000000"})
+    public int rows;
+
+    private String ledger;
+
+    @Setup
+    public void setUp() {
+        String[] names = {"Rent", "Groceries", "Gas", "Coffee", "Payroll", "Internet", "Dining", "Gym"};
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(rows * 20);
+        for (int i = 0; i < rows; ++i) {
+            int n = random.nextInt(names.length);
+            sb.append(names[n]).append(i % 500).append(',')
+                    .append(n == 4 ? '+' : '-').append(',')
+                    .append(random.nextInt(100000) / 100.0).append('\n');
+        }
+        ledger = sb.toString();
+    }
+
+    @Benchmark
+    public void splitPath(Blackhole blackhole) throws IOException {
+        BufferedReader br = new BufferedReader(new StringReader(ledger));
+        String line;
+        while ((line = br.readLine()) != null) {
+            String[] tokens = line.split(",");
+            blackhole.consume(new FinancialEntry(tokens[0], tokens[1], Math.round(Double.parseDouble(tokens[2]) * 100)));
+        }
+    }
+
+    @Benchmark
+    public void charBufferParser(final Blackhole blackhole) throws IOException {
+        new FinancialEntryParser().parse(new StringReader(ledger), new FinancialEntryParser.Handler() {
+            @Override
+            public void onEntry(String name, byte sign, long amount, String category, int date) {
+                blackhole.consume(name);
+                blackhole.consume(sign);
+                blackhole.consume(amount);
+            }
+        });
+    }
+
+    @Benchmark
+    public void charBufferParserToEntries(Blackhole blackhole) throws IOException {
+        blackhole.consume(new FinancialEntryParser().parse(new StringReader(ledger)));
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(FinancialEntryParserBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH suite over the ledger core for months of 1k, 100k and 10M rows: parsing the month's CSV
+ * file, checking whether a name exists, editing an amount and rewriting the month file to fold the
+ * edit in, and building what the Results screen shows from the month's totals. The rows come from
+ * a fixed seed, so every run measures the same month. Run ./gradlew :core:jmh, which writes the
+ * results to core/build/results/jmh/results.json, or the main method. The 10M-row month needs the
+ * 6 GB heap the fork is given.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms6g", "-Xmx6g"})
+public class LedgerCoreBenchmark {
+
+    private static final String MONTH = "2026/april";
+    private static final String[] CATEGORIES = {"Housing", "Groceries", "Transport", "Dining",
+            "Utilities", "Health", "Fun", "Gifts"};
+    private static final String[] COLORS = {"Red", "Blue", "Green", "Yellow", "Purple", "Orange"};
+    private static final int TOP_SLICES = 8;
+
+    @Param({"1000", "100000", "10000000"})
+    public int rows;
+
+    private String csv;
+    private File directory;
+    private LedgerRepository repository;
+    private String[] probes;
+    private int probe;
+    private int edit;
+    private ReportFormatter formatter;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(rows * 32);
+        for (int i = 0; i < rows; ++i) {
+            boolean earning = i % 50 == 0;
+            sb.append("Entry").append(i).append(',').append(earning ? '+' : '-').append(',');
+            Money.appendTo(sb, 100 + random.nextInt(100000));
+            sb.append(',').append(earning ? "Payroll" : CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .append('\n');
+        }
+        csv = sb.toString();
+
+        directory = Files.createTempDirectory("ledger-benchmark").toFile();
+        repository = new LedgerRepository(directory);
+        File file = repository.getFile(MONTH);
+        if (!file.getParentFile().mkdirs()) {
+            throw new IOException("Could not create " + file.getParentFile());
+        }
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(csv);
+        } finally {
+            writer.close();
+        }
+        repository.getLedger(MONTH);
+
+        // Half hits spread over the month, half misses
+        probes = new String[1024];
+        for (int i = 0; i < probes.length; ++i) {
+            probes[i] = i % 2 == 0 ? "Entry" + (long) i * 7919 % rows : "Missing" + i;
+        }
+        formatter = new ReportFormatter(256);
+    }
+
+    @TearDown
+    public void tearDown() {
+        delete(directory);
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @Benchmark
+    public int parse(final Blackhole blackhole) throws IOException {
+        return new FinancialEntryParser().parse(new StringReader(csv), new FinancialEntryParser.Handler() {
+            @Override
+            public void onEntry(String name, byte sign, long amount, String category, int date) {
+                blackhole.consume(name);
+                blackhole.consume(amount);
+                blackhole.consume(category);
+            }
+        });
+    }
+
+    @Benchmark
+    public boolean entryExists() throws IOException {
+        return repository.entryExists(MONTH, probes[probe++ & (probes.length - 1)]);
+    }
+
+    @Benchmark
+    public boolean editAndRewrite() throws IOException {
+        int row = edit++ % rows;
+        boolean updated = repository.updateAmount(MONTH, "Entry" + row, 100 + edit % 100000);
+        repository.compact(MONTH);
+        return updated;
+    }
+
+    @Benchmark
+    public String results() throws IOException {
+        MonthTotals totals = repository.getTotals(MONTH);
+        List<String> categories = totals.getCategories(FinancialEntry.EXPENSE);
+        ChartSlices slices = ChartSlices.topCategories(totals, FinancialEntry.EXPENSE, TOP_SLICES);
+        return formatter.legend(slices.getLabels(), COLORS) + formatter.categoryBreakdown(totals, categories);
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(LedgerCoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
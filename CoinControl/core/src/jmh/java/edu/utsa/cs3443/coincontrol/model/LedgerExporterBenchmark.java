@@ -0,0 +1,100 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of exporting a synthetic year of twelve 100k-row months, 1.2M rows in all, to
+ * CSV and JSON files, plain and gzipped. The months are cached by the repository, so the numbers
+ * are formatting, encoding, compression and file writes. Run the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class LedgerExporterBenchmark {
+
+    @Param({"CSV", "JSON"})
+    public LedgerExporter.Format format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private File directory;
+    private File out;
+    private LedgerRepository repository;
+    private List<String> months;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] names = {"Rent", "Groceries", "Gas", "Coffee", "Payroll", "Internet", "Dining", "Gym"};
+        Random random = new Random(42);
+        directory = Files.createTempDirectory("ledger").toFile();
+        out = new File(directory, "export");
+        repository = new LedgerRepository(directory);
+        months = LedgerAggregator.rollingWindow(2026, "December", 12);
+        for (String month : months) {
+            List<FinancialEntry> entries = new ArrayList<>(100000);
+            for (int i = 0; i < 100000; ++i) {
+                int n = random.nextInt(names.length);
+                entries.add(new FinancialEntry(names[n] + " " + i, n == 4 ? "+" : "-", random.nextInt(100000)));
+            }
+            repository.addEntries(month, entries);
+            repository.compact(month);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                File[] children = file.listFiles();
+                if (children != null) {
+                    for (File child : children) {
+                        child.delete();
+                    }
+                }
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        return new LedgerExporter(repository).export(months, format, gzip, out);
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(LedgerExporterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
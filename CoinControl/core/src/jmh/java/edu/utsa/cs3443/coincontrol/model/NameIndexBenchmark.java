@@ -0,0 +1,83 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of NameIndex existence checks against the linear scan they replaced, for months
+ * of 10 to 1,000,000 entries. Lookup cost through the index should stay flat while the scan grows
+ * with the month. Run the main method, or ./gradlew :core:jmh -PjmhInclude=NameIndex.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameIndexBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private List<FinancialEntry> entries;
+    private NameIndex index;
+    private String[] probes;
+    private int probe;
+
+    @Setup
+    public void setUp() {
+        entries = new ArrayList<>(size);
+        index = new NameIndex(size);
+        for (int i = 0; i < size; ++i) {
+            FinancialEntry entry = new FinancialEntry("Entry" + i, i % 2 == 0 ? "-" : "+", i);
+            entries.add(entry);
+            index.put(entry.getName(), i);
+        }
+        probes = new String[1024];
+        for (int i = 0; i < probes.length; ++i) {
+            // Half hits spread over the month, half misses
+            probes[i] = i % 2 == 0 ? "Entry" + (long) i * 7919 % size : "Missing" + i;
+        }
+    }
+
+    @Benchmark
+    public boolean index() {
+        return index.contains(probes[probe++ & (probes.length - 1)]);
+    }
+
+    @Benchmark
+    public boolean scan() {
+        String name = probes[probe++ & (probes.length - 1)];
+        for (FinancialEntry entry : entries) {
+            if (entry.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(NameIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
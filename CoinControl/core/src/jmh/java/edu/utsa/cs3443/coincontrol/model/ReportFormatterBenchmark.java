@@ -0,0 +1,105 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of rendering the Results expense breakdown for 1k to 100k expense names with
+ * ReportFormatter, against the concat and String.format loop it replaced. The formatter's time per
+ * report should grow linearly with the rows; the old loop grows quadratically, so it is only run
+ * up to 10k rows. Run the main method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportFormatterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Rows {
+
+        @Param({"1000", "10000", "100000"})
+        public int rows;
+
+        MonthTotals totals;
+        List<String> names;
+        ReportFormatter formatter;
+
+        @Setup
+        public void setUp() {
+            totals = totalsOf(rows);
+            names = totals.getNames(FinancialEntry.EXPENSE);
+            formatter = new ReportFormatter(256);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LegacyRows {
+
+        @Param({"1000", "3000", "10000"})
+        public int rows;
+
+        MonthTotals totals;
+        List<String> names;
+
+        @Setup
+        public void setUp() {
+            totals = totalsOf(rows);
+            names = totals.getNames(FinancialEntry.EXPENSE);
+        }
+    }
+
+    private static MonthTotals totalsOf(int rows) {
+        MonthTotals totals = new MonthTotals();
+        totals.add("Payroll", FinancialEntry.EARNING, 100000000);
+        for (int i = 0; i < rows; ++i) {
+            totals.add("Expense " + i, FinancialEntry.EXPENSE, 100 + i * 37 % 50000);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public String formatter(Rows state) {
+        return state.formatter.expenseBreakdown(state.totals, state.names);
+    }
+
+    @Benchmark
+    public String concat(LegacyRows state) {
+        MonthTotals totals = state.totals;
+        List<String> names = state.names;
+        long expenseTotal = totals.getTotal(FinancialEntry.EXPENSE);
+        long earningTotal = totals.getTotal(FinancialEntry.EARNING);
+        String expenseList = "\n";
+        for (int i = 0; i < names.size(); ++i) {
+            double share = totals.getSum(FinancialEntry.EXPENSE, names.get(i)) * 100.0 / expenseTotal;
+            expenseList = expenseList.concat(names.get(i) + "          " + String.format("%.2f", share) + "%\n");
+        }
+        return expenseList.concat("\n You spent $" + String.format("%.2f", expenseTotal / 100.0) + " out of $"
+                + String.format("%.2f", earningTotal / 100.0) + " total.");
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ReportFormatterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
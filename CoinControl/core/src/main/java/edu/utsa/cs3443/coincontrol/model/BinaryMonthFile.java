@@ -0,0 +1,201 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * The BinaryMonthFile class writes the binary month format, an alternative to the month CSV file
+ * that is read through a memory map instead of being decoded as text. All numbers are
+ * little-endian. The file is laid out as:
+ *
+ * <pre>
+ * header      magic "CCML", version (short), record size (short), row count (int),
+ *             name count (int), dictionary offset (long)            24 bytes
+ * records     amount in cents (long), name id (int), sign (byte),
+ *             category id + 1 (3 bytes, 0 for none), date (int)     20 bytes each
+ * dictionary  byte length (int) and UTF-8 bytes of each name and category, by id
+ * </pre>
+ *
+ * Version 1 and 2 files have 16-byte records without the date, so they read as undated entries.
+ * Version 1 files also left the category bytes as zero padding, so they read as entries without a
+ * category. MappedMonth accepts all three versions.
+ *
+ * MappedMonth reads the format. Rows keep the order of the CSV file they came from, so converting
+ * a CSV file and reading it back gives the same ledger as parsing the CSV file.
+ */
+public final class BinaryMonthFile {
+
+    /** First four bytes of every binary month file, "CCML". */
+    public static final int MAGIC = 0x4C4D4343;
+
+    /** Format version written by this class. */
+    public static final short VERSION = 3;
+
+    /** Format version written before dates existed. */
+    static final short VERSION_WITHOUT_DATES = 2;
+
+    /** Oldest format version MappedMonth still reads, written before categories existed. */
+    static final short VERSION_WITHOUT_CATEGORIES = 1;
+
+    /** Size of the header, in bytes. */
+    static final int HEADER_SIZE = 24;
+
+    /** Size of one record, in bytes. */
+    static final int RECORD_SIZE = 20;
+
+    /** Size of one record in files before version 3, in bytes. */
+    static final int UNDATED_RECORD_SIZE = 16;
+
+    /** Offset of the name id within a record. */
+    static final int NAME_OFFSET = 8;
+
+    /** Offset of the sign within a record. */
+    static final int SIGN_OFFSET = 12;
+
+    /** Offset of the 3-byte category id within a record. */
+    static final int CATEGORY_OFFSET = 13;
+
+    /** Offset of the date within a record. */
+    static final int DATE_OFFSET = 16;
+
+    /** Largest category id + 1 that fits in a record. */
+    static final int MAX_CATEGORY = 0xFFFFFF;
+
+    /** Byte order of every number in the file. */
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /** Encoding of the names in the dictionary. */
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private BinaryMonthFile() {
+    }
+
+    /**
+     * Writes a ledger in the binary month format and syncs it to disk.
+     *
+     * @param ledger The ledger to write.
+     * @param file   The file to create or replace.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    public static void write(MonthLedger ledger, File file) throws IOException {
+        int rows = ledger.size();
+        HashMap<String, Integer> ids = new HashMap<>();
+        String[] dictionary = new String[Math.max(2, rows)];
+
+        FileOutputStream out = new FileOutputStream(file, false);
+        try {
+            FileChannel channel = out.getChannel();
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ORDER);
+            buffer.position(HEADER_SIZE);
+            for (int row = 0; row < rows; ++row) {
+                if (ids.size() + 2 > dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+                }
+                int id = idOf(ids, dictionary, ledger.getName(row));
+                String category = ledger.getCategory(row);
+                int categoryId = category.isEmpty() ? 0 : idOf(ids, dictionary, category) + 1;
+                if (categoryId > MAX_CATEGORY) {
+                    throw new IOException("Too many names for a binary month file: " + file);
+                }
+                if (buffer.remaining() < RECORD_SIZE) {
+                    drain(channel, buffer);
+                }
+                buffer.putLong(ledger.getAmount(row)).putInt(id).put(ledger.getSign(row))
+                        .put((byte) categoryId).put((byte) (categoryId >>> 8)).put((byte) (categoryId >>> 16))
+                        .putInt(ledger.getDate(row));
+            }
+            for (int id = 0; id < ids.size(); ++id) {
+                byte[] bytes = dictionary[id].getBytes(UTF_8);
+                if (buffer.remaining() < 4 + bytes.length) {
+                    drain(channel, buffer);
+                }
+                if (buffer.remaining() < 4 + bytes.length) {
+                    buffer = ByteBuffer.allocate(4 + bytes.length).order(ORDER);
+                }
+                buffer.putInt(bytes.length).put(bytes);
+            }
+            drain(channel, buffer);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putInt(rows)
+                    .putInt(ids.size()).putLong(HEADER_SIZE + (long) rows * RECORD_SIZE);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Converts a month CSV file to the binary month format without losing any row. Every valid
+     * line of the CSV file becomes one record, in file order, with its amount in exact cents.
+     *
+     * @param csv    The CSV file to read.
+     * @param binary The binary file to create or replace.
+     * @param names  The dictionary used to pool names while reading.
+     * @return The number of rows written.
+     * @throws IOException If an I/O error occurs while reading or writing.
+     */
+    public static int convert(File csv, File binary, NamePool names) throws IOException {
+        final MonthLedger ledger = new MonthLedger(names);
+        Reader reader = new InputStreamReader(new FileInputStream(csv), UTF_8);
+        try {
+            new FinancialEntryParser(names).parse(reader, new FinancialEntryParser.Handler() {
+                @Override
+                public void onEntry(String name, byte sign, long amount, String category, int date) {
+                    ledger.add(name, sign, amount, category, date);
+                }
+            });
+        } finally {
+            reader.close();
+        }
+        write(ledger, binary);
+        return ledger.size();
+    }
+
+    /**
+     * Gets the dictionary id of a name or category, adding it on first use.
+     *
+     * @param ids        The id of each string added so far.
+     * @param dictionary The strings by id; it must have room for one more.
+     * @param text       The name or category.
+     * @return The id of the string.
+     */
+    private static int idOf(HashMap<String, Integer> ids, String[] dictionary, String text) {
+        Integer id = ids.get(text);
+        if (id == null) {
+            id = ids.size();
+            ids.put(text, id);
+            dictionary[id] = text;
+        }
+        return id;
+    }
+
+    /**
+     * Writes out the filled part of a buffer and clears it.
+     *
+     * @param channel The channel to write to.
+     * @param buffer  The buffer to drain.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,192 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The ChartSlices class holds the slices of the Results pie chart: the largest entry names or
+ * categories of a month, largest first, and an "Other" slice with the sum of the rest. The sums
+ * come from MonthTotals, which keeps them per name and per category as entries are written. The
+ * largest ones are picked with a heap bounded to the slice count, in O(keys log n) time and O(n)
+ * memory, so the chart draws a fixed number of slices however many entries the month has.
+ */
+public class ChartSlices {
+
+    /** Label of the slice that sums every name outside the largest ones. */
+    public static final String OTHER = "Other";
+
+    /** Orders candidates smallest first, and among equal sums the later name first. */
+    private static final Comparator<Slice> SMALLEST_FIRST = new Comparator<Slice>() {
+        @Override
+        public int compare(Slice a, Slice b) {
+            if (a.value != b.value) {
+                return a.value < b.value ? -1 : 1;
+            }
+            return Integer.compare(b.order, a.order);
+        }
+    };
+
+    /** Label of each slice, largest first, then "Other" if any name was folded. */
+    private final List<String> labels;
+
+    /** Value of each slice, in cents. */
+    private final long[] values;
+
+    /** Whether the last slice is the "Other" slice. */
+    private final boolean hasOther;
+
+    /**
+     * Constructs a new ChartSlices.
+     *
+     * @param labels   The label of each slice.
+     * @param values   The value of each slice, in cents.
+     * @param hasOther Whether the last slice is the "Other" slice.
+     */
+    private ChartSlices(List<String> labels, long[] values, boolean hasOther) {
+        this.labels = labels;
+        this.values = values;
+        this.hasOther = hasOther;
+    }
+
+    /**
+     * Picks the largest names of one sign of a month. Names whose sum is zero or less are left out.
+     *
+     * @param totals The totals of the month.
+     * @param sign   {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param count  The largest number of named slices, at least 1.
+     * @return The slices, with an "Other" slice if more names had a positive sum.
+     */
+    public static ChartSlices top(MonthTotals totals, byte sign, int count) {
+        return top(totals, sign, count, false);
+    }
+
+    /**
+     * Picks the largest categories of one sign of a month. Entries without a category form a
+     * slice labeled {@link FinancialEntry#UNCATEGORIZED}.
+     *
+     * @param totals The totals of the month.
+     * @param sign   {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param count  The largest number of named slices, at least 1.
+     * @return The slices, with an "Other" slice if more categories had a positive sum.
+     */
+    public static ChartSlices topCategories(MonthTotals totals, byte sign, int count) {
+        return top(totals, sign, count, true);
+    }
+
+    /**
+     * Picks the largest names or categories of one sign of a month.
+     *
+     * @param totals     The totals of the month.
+     * @param sign       {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param count      The largest number of named slices, at least 1.
+     * @param categories True to slice by category, false by name.
+     * @return The slices.
+     */
+    private static ChartSlices top(MonthTotals totals, byte sign, int count, boolean categories) {
+        count = Math.max(1, count);
+        PriorityQueue<Slice> heap = new PriorityQueue<>(count + 1, SMALLEST_FIRST);
+        long other = 0;
+        boolean folded = false;
+        List<String> keys = categories ? totals.getCategories(sign) : totals.getNames(sign);
+        for (int i = 0; i < keys.size(); ++i) {
+            String key = keys.get(i);
+            long value = categories ? totals.getCategorySum(sign, key) : totals.getSum(sign, key);
+            if (value <= 0) {
+                continue;
+            }
+            heap.add(new Slice(categories ? FinancialEntry.labelOf(key) : key, value, i));
+            if (heap.size() > count) {
+                other += heap.poll().value;
+                folded = true;
+            }
+        }
+
+        int slices = heap.size() + (folded ? 1 : 0);
+        String[] labels = new String[slices];
+        long[] values = new long[slices];
+        for (int i = heap.size() - 1; i >= 0; --i) {
+            Slice slice = heap.poll();
+            labels[i] = slice.name;
+            values[i] = slice.value;
+        }
+        if (folded) {
+            labels[slices - 1] = OTHER;
+            values[slices - 1] = other;
+        }
+        List<String> labelList = new ArrayList<>(slices);
+        for (String label : labels) {
+            labelList.add(label);
+        }
+        return new ChartSlices(labelList, values, folded);
+    }
+
+    /**
+     * Gets the number of slices.
+     *
+     * @return The number of slices, including "Other".
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Gets the label of a slice.
+     *
+     * @param slice The slice, from 0 to size() - 1.
+     * @return The entry name, or "Other".
+     */
+    public String getLabel(int slice) {
+        return labels.get(slice);
+    }
+
+    /**
+     * Gets the value of a slice.
+     *
+     * @param slice The slice, from 0 to size() - 1.
+     * @return The sum of the slice, in cents.
+     */
+    public long getValue(int slice) {
+        return values[slice];
+    }
+
+    /**
+     * Gets the labels of every slice, in order.
+     *
+     * @return The labels. The list must not be changed.
+     */
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    /**
+     * Checks if the last slice sums the names outside the largest ones.
+     *
+     * @return True if there is an "Other" slice.
+     */
+    public boolean hasOther() {
+        return hasOther;
+    }
+
+    /**
+     * One candidate slice in the heap.
+     */
+    private static class Slice {
+
+        /** Label of the slice: a name or a category. */
+        final String name;
+
+        /** Sum of the entries, in cents. */
+        final long value;
+
+        /** Position of the name in first-seen order, to break ties. */
+        final int order;
+
+        Slice(String name, long value, int order) {
+            this.name = name;
+            this.value = value;
+            this.order = order;
+        }
+    }
+}
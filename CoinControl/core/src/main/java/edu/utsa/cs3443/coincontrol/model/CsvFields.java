@@ -0,0 +1,120 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.util.List;
+
+/**
+ * The CsvFields class splits and writes comma-separated records the way spreadsheets and bank
+ * exports do: a field may be wrapped in double quotes so it can hold commas, line breaks and, by
+ * doubling them, quotes. Fields without special characters are written as they are, so month
+ * files without such names read exactly as before.
+ */
+public final class CsvFields {
+
+    private CsvFields() {
+    }
+
+    /**
+     * Splits a record into its fields, removing the quotes around quoted fields and undoing
+     * doubled quotes inside them.
+     *
+     * @param record The record, without its trailing line break.
+     * @param fields The list to fill. It is cleared first.
+     * @return True if the record was well formed, false if a quoted field was never closed or
+     *         was followed by something other than a comma.
+     */
+    public static boolean split(String record, List<String> fields) {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        int length = record.length();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < length && record.charAt(i) == '"') {
+                // Quoted field: read to the closing quote
+                ++i;
+                while (true) {
+                    if (i >= length) {
+                        return false;
+                    }
+                    char c = record.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < length && record.charAt(i) == '"') {
+                        field.append('"');
+                        ++i;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < length && record.charAt(i) != ',') {
+                    return false;
+                }
+            } else {
+                int comma = record.indexOf(',', i);
+                int end = comma < 0 ? length : comma;
+                field.append(record, i, end);
+                i = end;
+            }
+            fields.add(field.toString());
+            if (i >= length) {
+                return true;
+            }
+            // Skip the comma
+            ++i;
+        }
+    }
+
+    /**
+     * Checks whether a record ends inside a quoted field, so its next line belongs to it.
+     *
+     * @param record The record read so far.
+     * @return True if a quoted field is still open.
+     */
+    public static boolean isOpen(CharSequence record) {
+        boolean open = false;
+        for (int i = 0; i < record.length(); ++i) {
+            if (record.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Appends a field to a record, quoting it only if it holds a comma, a quote or a line break.
+     *
+     * @param out   The builder to append to.
+     * @param field The field to append.
+     * @return The builder, for chaining.
+     */
+    public static StringBuilder append(StringBuilder out, String field) {
+        if (!needsQuotes(field)) {
+            return out.append(field);
+        }
+        out.append('"');
+        for (int i = 0; i < field.length(); ++i) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Checks whether a field must be quoted to be read back as one field.
+     *
+     * @param field The field to check.
+     * @return True if the field holds a comma, a quote or a line break.
+     */
+    private static boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); ++i) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The DateRangeQuery class finds the entries dated within a range of days, such as this week or
+ * the last 30 days, across as many months as the range spans. Only the partitions that overlap the
+ * range and hold data are read, and within each month the store finds the range by binary search
+ * over the rows sorted by date, so a query costs a few lookups plus the rows it returns rather than
+ * a scan of every month.
+ */
+public class DateRangeQuery {
+
+    /** Store the months are read from. */
+    private final LedgerStore store;
+
+    /**
+     * Constructs a new DateRangeQuery over a store.
+     *
+     * @param store The store the months are read from.
+     */
+    public DateRangeQuery(LedgerStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Gets the entries dated within a range, oldest first.
+     *
+     * @param from The first date of the range, in days since 1970-01-01.
+     * @param to   The last date of the range, inclusive.
+     * @return A new ledger with the matching entries. Empty if none match or from is after to.
+     * @throws IOException If an I/O error occurs while reading a month.
+     */
+    public MonthLedger between(int from, int to) throws IOException {
+        List<String> months = getMonths(from, to);
+        if (months.size() == 1) {
+            return store.getRange(months.get(0), from, to);
+        }
+        MonthLedger range = new MonthLedger(new NamePool());
+        for (String month : months) {
+            range.addAll(store.getRange(month, from, to));
+        }
+        return range;
+    }
+
+    /**
+     * Gets the entries dated within the last days up to and including a day.
+     *
+     * @param today The last day of the range, usually {@link EntryDate#today()}.
+     * @param days  The number of days in the range, such as 30.
+     * @return A new ledger with the matching entries, oldest first.
+     * @throws IOException If an I/O error occurs while reading a month.
+     */
+    public MonthLedger lastDays(int today, int days) throws IOException {
+        return between(today - days + 1, today);
+    }
+
+    /**
+     * Gets the entries dated within the week, from Monday, that holds a day.
+     *
+     * @param today A day of the week, usually {@link EntryDate#today()}.
+     * @return A new ledger with the matching entries, oldest first.
+     * @throws IOException If an I/O error occurs while reading a month.
+     */
+    public MonthLedger week(int today) throws IOException {
+        int monday = EntryDate.startOfWeek(today);
+        return between(monday, monday + 6);
+    }
+
+    /**
+     * Gets the partitions a range touches: the months it overlaps that hold data.
+     *
+     * @param from The first date of the range, in days since 1970-01-01.
+     * @param to   The last date of the range, inclusive.
+     * @return A new list of partition keys, oldest first. Empty if from is after to.
+     * @throws IOException If an I/O error occurs while listing the partitions.
+     */
+    public List<String> getMonths(int from, int to) throws IOException {
+        List<String> months = new ArrayList<>();
+        for (String month : store.getPartitions()) {
+            // Partitions are listed oldest first
+            if (EntryDate.firstDayOf(month) > to) {
+                break;
+            }
+            if (EntryDate.lastDayOf(month) >= from) {
+                months.add(month);
+            }
+        }
+        return months;
+    }
+}
@@ -0,0 +1,261 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.util.Calendar;
+
+/**
+ * The EntryDate class holds the date arithmetic of the CoinControl app. A date is stored as an
+ * {@code int} count of days since 1970-01-01, so a ledger keeps it in a primitive column and
+ * compares it without allocating, and it is written to the month files as {@code yyyy-MM-dd}.
+ * Entries recorded before dates existed hold {@link #NO_DATE}; range queries treat them as dated on
+ * the first day of their month.
+ */
+public final class EntryDate {
+
+    /** Date of an entry that was not given one. It is 1970-01-01, which no entry is dated on. */
+    public static final int NO_DATE = 0;
+
+    /** Number of characters in a written date, such as "2026-04-03". */
+    public static final int LENGTH = 10;
+
+    private EntryDate() {
+    }
+
+    /**
+     * Gets a date from its calendar fields.
+     *
+     * @param year  The year, such as 2026.
+     * @param month The month, from 1 for January to 12 for December.
+     * @param day   The day of the month, from 1.
+     * @return The date, in days since 1970-01-01.
+     */
+    public static int of(int year, int month, int day) {
+        // Count from March so the leap day ends the year
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Gets today's date in the device's time zone.
+     *
+     * @return Today, in days since 1970-01-01.
+     */
+    public static int today() {
+        Calendar now = Calendar.getInstance();
+        return of(now.get(Calendar.YEAR), now.get(Calendar.MONTH) + 1, now.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * Gets the year of a date.
+     *
+     * @param date The date, in days since 1970-01-01.
+     * @return The year, such as 2026.
+     */
+    public static int yearOf(int date) {
+        return fields(date)[0];
+    }
+
+    /**
+     * Gets the month of a date.
+     *
+     * @param date The date, in days since 1970-01-01.
+     * @return The month, from 1 for January to 12 for December.
+     */
+    public static int monthOf(int date) {
+        return fields(date)[1];
+    }
+
+    /**
+     * Gets the day of the month of a date.
+     *
+     * @param date The date, in days since 1970-01-01.
+     * @return The day of the month, from 1.
+     */
+    public static int dayOf(int date) {
+        return fields(date)[2];
+    }
+
+    /**
+     * Gets the Monday that starts the week of a date.
+     *
+     * @param date The date, in days since 1970-01-01.
+     * @return The Monday on or before the date.
+     */
+    public static int startOfWeek(int date) {
+        // 1970-01-01 was a Thursday, three days after a Monday
+        return date - Math.floorMod(date + 3, 7);
+    }
+
+    /**
+     * Gets the key of the partition that holds a date.
+     *
+     * @param date The date, in days since 1970-01-01.
+     * @return The partition key, such as "2026/april".
+     */
+    public static String monthKey(int date) {
+        int[] fields = fields(date);
+        return PartitionIndex.key(fields[0], LedgerAggregator.MONTHS.get(fields[1] - 1));
+    }
+
+    /**
+     * Gets the first day of the month a partition holds.
+     *
+     * @param key The partition key, such as "2026/april".
+     * @return The first day of the month, or {@link #NO_DATE} if the key names no year and month.
+     */
+    public static int firstDayOf(String key) {
+        int month = PartitionIndex.monthOf(key);
+        int year = PartitionIndex.yearOf(key);
+        return month < 0 || year == 0 ? NO_DATE : of(year, month + 1, 1);
+    }
+
+    /**
+     * Gets the last day of the month a partition holds.
+     *
+     * @param key The partition key, such as "2026/april".
+     * @return The last day of the month, or {@link #NO_DATE} if the key names no year and month.
+     */
+    public static int lastDayOf(String key) {
+        int month = PartitionIndex.monthOf(key);
+        int year = PartitionIndex.yearOf(key);
+        if (month < 0 || year == 0) {
+            return NO_DATE;
+        }
+        return month == 11 ? of(year + 1, 1, 1) - 1 : of(year, month + 2, 1) - 1;
+    }
+
+    /**
+     * Gets the date to give a new entry of a month that the user did not date.
+     *
+     * @param key   The partition key of the month, such as "2026/april".
+     * @param today Today, usually {@link #today()}.
+     * @return Today if it falls in the month, otherwise the first day of the month.
+     */
+    public static int defaultFor(String key, int today) {
+        int first = firstDayOf(key);
+        return today >= first && today <= lastDayOf(key) ? today : first;
+    }
+
+    /**
+     * Parses a date written as {@code yyyy-MM-dd}.
+     *
+     * @param date The text of the date.
+     * @return The date, in days since 1970-01-01.
+     * @throws IllegalArgumentException If the text is not a date.
+     */
+    public static int parse(String date) {
+        char[] chars = date.trim().toCharArray();
+        int parsed = parse(chars, 0, chars.length);
+        if (parsed == NO_DATE) {
+            throw new IllegalArgumentException("Invalid date: " + date);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses a date written as {@code yyyy-MM-dd} straight from a char buffer, without creating a
+     * String.
+     *
+     * @param buf   The buffer holding the date.
+     * @param start The index of the date's first character.
+     * @param end   The index just past the date's last character.
+     * @return The date, or {@link #NO_DATE} if the characters are not a valid date.
+     */
+    public static int parse(char[] buf, int start, int end) {
+        if (end - start != LENGTH || buf[start + 4] != '-' || buf[start + 7] != '-') {
+            return NO_DATE;
+        }
+        int year = digits(buf, start, start + 4);
+        int month = digits(buf, start + 5, start + 7);
+        int day = digits(buf, start + 8, start + 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return NO_DATE;
+        }
+        int date = of(year, month, day);
+        // Reject days past the end of the month, such as February 30
+        return monthOf(date) == month ? date : NO_DATE;
+    }
+
+    /**
+     * Appends a date as {@code yyyy-MM-dd}.
+     *
+     * @param sb   The builder to append to.
+     * @param date The date, in days since 1970-01-01.
+     * @return The builder, for chaining.
+     */
+    public static StringBuilder append(StringBuilder sb, int date) {
+        int[] fields = fields(date);
+        pad(sb, fields[0], 4).append('-');
+        pad(sb, fields[1], 2).append('-');
+        return pad(sb, fields[2], 2);
+    }
+
+    /**
+     * Formats a date as {@code yyyy-MM-dd}.
+     *
+     * @param date The date, in days since 1970-01-01.
+     * @return The formatted date, such as "2026-04-03".
+     */
+    public static String format(int date) {
+        return append(new StringBuilder(LENGTH), date).toString();
+    }
+
+    /**
+     * Splits a date into its calendar fields.
+     *
+     * @param date The date, in days since 1970-01-01.
+     * @return The year, the month from 1 and the day of the month from 1.
+     */
+    private static int[] fields(int date) {
+        int z = date + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return new int[] {year, month, day};
+    }
+
+    /**
+     * Reads a run of decimal digits.
+     *
+     * @param buf   The buffer holding the digits.
+     * @param start The index of the first digit.
+     * @param end   The index just past the last digit.
+     * @return The number, or -1 if a character is not a digit.
+     */
+    private static int digits(char[] buf, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; ++i) {
+            char c = buf[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Appends a number padded with leading zeros.
+     *
+     * @param sb     The builder to append to.
+     * @param value  The number, not negative.
+     * @param digits The smallest number of digits to write.
+     * @return The builder, for chaining.
+     */
+    private static StringBuilder pad(StringBuilder sb, int value, int digits) {
+        for (int limit = 10, i = 1; i < digits; ++i, limit *= 10) {
+            if (value < limit) {
+                sb.append('0');
+            }
+        }
+        return sb.append(value);
+    }
+}
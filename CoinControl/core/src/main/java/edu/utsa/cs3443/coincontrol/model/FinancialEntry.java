@@ -0,0 +1,211 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+/**
+ * @author Keanu Anderson-Pola
+ * @author Jonathan Berndt
+ * The FinancialEntry class represents a financial record, which can be an expense or an earning,
+ * in the CoinControl app.
+ */
+public class FinancialEntry {
+
+    /** Sign byte of an earning, as stored in the month file. */
+    public static final byte EARNING = '+';
+
+    /** Sign byte of an expense, as stored in the month file. */
+    public static final byte EXPENSE = '-';
+
+    /** Category of an entry that was not given one, as stored in the month file. */
+    public static final String NO_CATEGORY = "";
+
+    /** Label shown for entries without a category. */
+    public static final String UNCATEGORIZED = "Uncategorized";
+
+    /** Name of the expense/earning. */
+    private String name;
+
+    /** Sign indicating whether it's an expense ("-") or an earning ("+"). */
+    private String sign;
+
+    /** Amount of the expense/earning, in cents. */
+    private long amount;
+
+    /** Category of the expense/earning, such as "Groceries", or {@link #NO_CATEGORY}. */
+    private String category;
+
+    /** Date of the expense/earning, in days since 1970-01-01, or {@link EntryDate#NO_DATE}. */
+    private int date;
+
+    /**
+     * Constructs a new FinancialEntry with the specified name, sign, and amount and no category.
+     *
+     * @param name   The name of the expense/earning.
+     * @param sign   The sign indicating whether it's an expense ("-") or an earning ("+").
+     * @param amount The amount of the expense/earning, in cents.
+     */
+    public FinancialEntry(String name, String sign, long amount) {
+        this(name, sign, amount, NO_CATEGORY);
+    }
+
+    /**
+     * Constructs a new FinancialEntry with the specified name, sign, amount and category.
+     *
+     * @param name     The name of the expense/earning.
+     * @param sign     The sign indicating whether it's an expense ("-") or an earning ("+").
+     * @param amount   The amount of the expense/earning, in cents.
+     * @param category The category of the expense/earning, or {@link #NO_CATEGORY}.
+     */
+    public FinancialEntry(String name, String sign, long amount, String category) {
+        this(name, sign, amount, category, EntryDate.NO_DATE);
+    }
+
+    /**
+     * Constructs a new FinancialEntry with the specified name, sign, amount, category and date.
+     *
+     * @param name     The name of the expense/earning.
+     * @param sign     The sign indicating whether it's an expense ("-") or an earning ("+").
+     * @param amount   The amount of the expense/earning, in cents.
+     * @param category The category of the expense/earning, or {@link #NO_CATEGORY}.
+     * @param date     The date of the expense/earning, in days since 1970-01-01, or
+     *                 {@link EntryDate#NO_DATE}.
+     */
+    public FinancialEntry(String name, String sign, long amount, String category, int date) {
+        this.name = name;
+        this.sign = sign;
+        this.amount = amount;
+        this.category = category == null ? NO_CATEGORY : category;
+        this.date = date;
+    }
+
+    /**
+     * Gets the name of the expense/earning.
+     *
+     * @return The name of the expense/earning.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the expense/earning.
+     *
+     * @param name The new name of the expense/earning.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the sign indicating whether it's an expense ("-") or an earning ("+").
+     *
+     * @return The sign of the expense/earning.
+     */
+    public String getSign() {
+        return sign;
+    }
+
+    /**
+     * Sets the sign indicating whether it's an expense ("-") or an earning ("+").
+     *
+     * @param sign The new sign of the expense/earning.
+     */
+    public void setSign(String sign) {
+        this.sign = sign;
+    }
+
+    /**
+     * Gets the amount of the expense/earning.
+     *
+     * @return The amount of the expense/earning, in cents.
+     */
+    public long getAmount() {
+        return amount;
+    }
+
+    /**
+     * Sets the amount of the expense/earning.
+     *
+     * @param amount The new amount of the expense/earning, in cents.
+     */
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * Gets the category of the expense/earning.
+     *
+     * @return The category, or {@link #NO_CATEGORY} if it has none.
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Sets the category of the expense/earning.
+     *
+     * @param category The new category, or {@link #NO_CATEGORY}.
+     */
+    public void setCategory(String category) {
+        this.category = category == null ? NO_CATEGORY : category;
+    }
+
+    /**
+     * Gets the date of the expense/earning.
+     *
+     * @return The date, in days since 1970-01-01, or {@link EntryDate#NO_DATE} if it has none.
+     */
+    public int getDate() {
+        return date;
+    }
+
+    /**
+     * Sets the date of the expense/earning.
+     *
+     * @param date The new date, in days since 1970-01-01, or {@link EntryDate#NO_DATE}.
+     */
+    public void setDate(int date) {
+        this.date = date;
+    }
+
+    /**
+     * Checks if the financial entry is an expense.
+     *
+     * @return True if it's an expense, false otherwise.
+     */
+    public boolean isExpense() {
+        return sign.equals("-");
+    }
+
+    /**
+     * Checks if the financial entry is an earning.
+     *
+     * @return True if it's an earning, false otherwise.
+     */
+    public boolean isEarning() {
+        return sign.equals("+");
+    }
+
+    /**
+     * Gets the shared sign string for a sign byte, so parsers do not allocate one per entry.
+     *
+     * @param sign The sign byte, {@link #EARNING} or {@link #EXPENSE}.
+     * @return "+" for an earning, "-" for an expense, or null for any other byte.
+     */
+    public static String signOf(byte sign) {
+        if (sign == EARNING) {
+            return "+";
+        } else if (sign == EXPENSE) {
+            return "-";
+        }
+        return null;
+    }
+
+    /**
+     * Gets the label to show for a category.
+     *
+     * @param category The category, or {@link #NO_CATEGORY}.
+     * @return The category, or {@link #UNCATEGORIZED} if it is empty.
+     */
+    public static String labelOf(String category) {
+        return category.isEmpty() ? UNCATEGORIZED : category;
+    }
+}
@@ -0,0 +1,311 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+
+/**
+ * The FinancialEntryParser class reads month files in the
+ * {@code name,sign,amount[,category[,date]]} format. It scans
+ * a reusable char buffer once per line instead of calling {@code String.split} and
+ * {@code Double.parseDouble}: the sign is read as a byte, the amount is accumulated digit by digit
+ * into cents by {@link Money#parse(char[], int, int)}, and names come from a NamePool so a repeated
+ * name does not allocate. A name that holds commas is wrapped in double quotes, as
+ * {@link CsvFields#append(StringBuilder, String)} writes it, and so is a category. Files written
+ * before categories existed have three columns; their entries get
+ * {@link FinancialEntry#NO_CATEGORY}, and entries without a fifth column or whose fifth column is
+ * not a {@code yyyy-MM-dd} date get {@link EntryDate#NO_DATE}. Lines that do not hold a name, a
+ * '+' or '-' sign and a number are skipped; columns after the date are ignored.
+ */
+public class FinancialEntryParser {
+
+    /**
+     * The Handler interface receives every entry the parser reads.
+     */
+    public interface Handler {
+
+        /**
+         * Called once for each valid line, in file order.
+         *
+         * @param name     The pooled, trimmed name of the entry.
+         * @param sign     The sign byte, {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+         * @param amount   The amount of the entry, in cents.
+         * @param category The pooled, trimmed category, or {@link FinancialEntry#NO_CATEGORY}.
+         * @param date     The date of the entry, in days since 1970-01-01, or {@link EntryDate#NO_DATE}.
+         */
+        void onEntry(String name, byte sign, long amount, String category, int date);
+    }
+
+    /** Pool that shares name Strings between lines and files. */
+    private final NamePool names;
+
+    /** Read buffer; grows only if a single line does not fit. */
+    private char[] buffer = new char[8192];
+
+    /**
+     * Constructs a new FinancialEntryParser with its own NamePool.
+     */
+    public FinancialEntryParser() {
+        this(new NamePool());
+    }
+
+    /**
+     * Constructs a new FinancialEntryParser that shares names through the given pool.
+     *
+     * @param names The pool used to reuse name Strings.
+     */
+    public FinancialEntryParser(NamePool names) {
+        this.names = names;
+    }
+
+    /**
+     * Parses every line of a month file into a list of financial entries.
+     *
+     * @param reader The month file to read. It is not closed.
+     * @return The parsed entries, in file order.
+     * @throws IOException If an I/O error occurs while reading.
+     */
+    public ArrayList<FinancialEntry> parse(Reader reader) throws IOException {
+        final ArrayList<FinancialEntry> entries = new ArrayList<>();
+        parse(reader, new Handler() {
+            @Override
+            public void onEntry(String name, byte sign, long amount, String category, int date) {
+                entries.add(new FinancialEntry(name, FinancialEntry.signOf(sign), amount, category, date));
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * Parses every line of a month file and hands each entry to a handler.
+     *
+     * @param reader  The month file to read. It is not closed.
+     * @param handler The handler that receives the entries.
+     * @return The number of entries read.
+     * @throws IOException If an I/O error occurs while reading.
+     */
+    public int parse(Reader reader, Handler handler) throws IOException {
+        char[] buf = buffer;
+        int count = 0;
+        int filled = 0;
+        int lineStart = 0;
+        int n;
+        while ((n = reader.read(buf, filled, buf.length - filled)) >= 0) {
+            int scan = filled;
+            filled += n;
+            for (int i = scan; i < filled; ++i) {
+                if (buf[i] == '\n') {
+                    if (parseLine(buf, lineStart, i, handler)) {
+                        ++count;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            // Keep the unfinished line at the front of the buffer
+            if (lineStart > 0) {
+                System.arraycopy(buf, lineStart, buf, 0, filled - lineStart);
+                filled -= lineStart;
+                lineStart = 0;
+            }
+            if (filled == buf.length) {
+                char[] larger = new char[buf.length * 2];
+                System.arraycopy(buf, 0, larger, 0, filled);
+                buf = larger;
+                buffer = larger;
+            }
+        }
+        if (filled > 0 && parseLine(buf, 0, filled, handler)) {
+            ++count;
+        }
+        return count;
+    }
+
+    /**
+     * Parses one line, without its newline, and hands the entry to the handler.
+     *
+     * @param buf     The buffer holding the line.
+     * @param start   The index of the line's first character.
+     * @param end     The index just past the line's last character.
+     * @param handler The handler that receives the entry.
+     * @return True if the line held a valid entry, false if it was skipped.
+     */
+    boolean parseLine(char[] buf, int start, int end, Handler handler) {
+        if (end > start && buf[end - 1] == '\r') {
+            --end;
+        }
+
+        // Name: up to the first comma, trimmed, or a quoted field
+        int nameStart = skipSpaces(buf, start, end);
+        String name = null;
+        int nameEnd;
+        if (nameStart < end && buf[nameStart] == '"') {
+            int close = closingQuote(buf, nameStart + 1, end);
+            if (close < 0) {
+                return false;
+            }
+            name = unquote(buf, nameStart + 1, close);
+            nameEnd = indexOf(buf, close + 1, end, ',');
+        } else {
+            nameEnd = indexOf(buf, start, end, ',');
+        }
+        if (nameEnd < 0) {
+            return false;
+        }
+
+        // Sign: a single '+' or '-' byte
+        int signEnd = indexOf(buf, nameEnd + 1, end, ',');
+        if (signEnd < 0) {
+            return false;
+        }
+        int signStart = skipSpaces(buf, nameEnd + 1, signEnd);
+        if (trimEnd(buf, signStart, signEnd) != signStart + 1) {
+            return false;
+        }
+        byte sign = (byte) buf[signStart];
+        if (sign != FinancialEntry.EARNING && sign != FinancialEntry.EXPENSE) {
+            return false;
+        }
+
+        // Amount: up to the next comma or the end of the line
+        int amountEnd = indexOf(buf, signEnd + 1, end, ',');
+        if (amountEnd < 0) {
+            amountEnd = end;
+        }
+        int amountStart = skipSpaces(buf, signEnd + 1, amountEnd);
+        long amount = Money.parse(buf, amountStart, trimEnd(buf, amountStart, amountEnd));
+        if (amount == Money.INVALID) {
+            return false;
+        }
+
+        // Category: an optional fourth column, possibly quoted
+        String category = FinancialEntry.NO_CATEGORY;
+        int categoryEnd = end;
+        if (amountEnd < end) {
+            int categoryStart = skipSpaces(buf, amountEnd + 1, end);
+            if (categoryStart < end && buf[categoryStart] == '"') {
+                int close = closingQuote(buf, categoryStart + 1, end);
+                if (close < 0) {
+                    return false;
+                }
+                category = unquote(buf, categoryStart + 1, close);
+                categoryEnd = indexOf(buf, close + 1, end, ',');
+            } else {
+                categoryEnd = indexOf(buf, categoryStart, end, ',');
+                int textEnd = trimEnd(buf, categoryStart, categoryEnd < 0 ? end : categoryEnd);
+                if (textEnd > categoryStart) {
+                    category = names.get(buf, categoryStart, textEnd - categoryStart);
+                }
+            }
+            if (categoryEnd < 0) {
+                categoryEnd = end;
+            }
+        }
+
+        // Date: an optional fifth column
+        int date = EntryDate.NO_DATE;
+        if (categoryEnd < end) {
+            int dateEnd = indexOf(buf, categoryEnd + 1, end, ',');
+            int dateStart = skipSpaces(buf, categoryEnd + 1, dateEnd < 0 ? end : dateEnd);
+            date = EntryDate.parse(buf, dateStart, trimEnd(buf, dateStart, dateEnd < 0 ? end : dateEnd));
+        }
+
+        if (name == null) {
+            name = names.get(buf, nameStart, trimEnd(buf, nameStart, nameEnd) - nameStart);
+        }
+        handler.onEntry(name, sign, amount, category, date);
+        return true;
+    }
+
+    /**
+     * Finds the quote that closes a quoted field, stepping over doubled quotes.
+     *
+     * @param buf   The buffer holding the field.
+     * @param start The index just past the opening quote.
+     * @param end   The index just past the end of the line.
+     * @return The index of the closing quote, or -1 if the field is not closed.
+     */
+    private static int closingQuote(char[] buf, int start, int end) {
+        for (int i = start; i < end; ++i) {
+            if (buf[i] == '"') {
+                if (i + 1 < end && buf[i + 1] == '"') {
+                    ++i;
+                } else {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the pooled text of a quoted field, undoing doubled quotes.
+     *
+     * @param buf   The buffer holding the field.
+     * @param start The index just past the opening quote.
+     * @param end   The index of the closing quote.
+     * @return The pooled name.
+     */
+    private String unquote(char[] buf, int start, int end) {
+        if (indexOf(buf, start, end, '"') < 0) {
+            return names.get(buf, start, end - start);
+        }
+        char[] chars = new char[end - start];
+        int length = 0;
+        for (int i = start; i < end; ++i) {
+            chars[length++] = buf[i];
+            if (buf[i] == '"') {
+                // Skip the second quote of the pair
+                ++i;
+            }
+        }
+        return names.get(chars, 0, length);
+    }
+
+    /**
+     * Finds a character in a range of the buffer.
+     *
+     * @param buf   The buffer to search.
+     * @param start The first index to search.
+     * @param end   The index just past the last index to search.
+     * @param c     The character to find.
+     * @return The index of the character, or -1 if it is not in the range.
+     */
+    private static int indexOf(char[] buf, int start, int end, char c) {
+        for (int i = start; i < end; ++i) {
+            if (buf[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skips leading spaces in a range of the buffer.
+     *
+     * @param buf   The buffer holding the range.
+     * @param start The first index of the range.
+     * @param end   The index just past the range.
+     * @return The index of the first non-space character, or end.
+     */
+    private static int skipSpaces(char[] buf, int start, int end) {
+        while (start < end && buf[start] <= ' ') {
+            ++start;
+        }
+        return start;
+    }
+
+    /**
+     * Drops trailing spaces from a range of the buffer.
+     *
+     * @param buf   The buffer holding the range.
+     * @param start The first index of the range.
+     * @param end   The index just past the range.
+     * @return The index just past the last non-space character, or start.
+     */
+    private static int trimEnd(char[] buf, int start, int end) {
+        while (end > start && buf[end - 1] <= ' ') {
+            --end;
+        }
+        return end;
+    }
+}
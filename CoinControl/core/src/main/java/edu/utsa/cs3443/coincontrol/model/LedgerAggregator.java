@@ -0,0 +1,220 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The LedgerAggregator class computes totals, per-name sums and the savings rate over any range of
+ * month partitions, such as a whole year or a rolling window across years. The range is split
+ * across a ForkJoinPool, one leaf per month, and the partial aggregates are merged pairwise on the
+ * way back up.
+ *
+ * <p>The months are read from any LedgerStore, the month files or the SQLite database. Each
+ * month's partial aggregate is cached together with the month's version stamp, so a repeated query
+ * only reloads the months that were written since; the others cost one version check each.
+ */
+public class LedgerAggregator {
+
+    /** The months of the year, in order, as the month spinner lists them. */
+    public static final List<String> MONTHS = Collections.unmodifiableList(Arrays.asList(
+            "January", "February", "March", "April", "May", "June",
+            "July", "August", "September", "October", "November", "December"));
+
+    /** Store the month totals are read from. */
+    private final LedgerStore store;
+
+    /** Pool the months are aggregated on. */
+    private final ForkJoinPool pool;
+
+    /** Cached partial aggregate of each month, keyed by lower-case partition key. */
+    private final ConcurrentHashMap<String, Partial> partials = new ConcurrentHashMap<>();
+
+    /** Number of month aggregates read from the store, for tests and diagnostics. */
+    private final AtomicInteger reloads = new AtomicInteger();
+
+    /**
+     * Constructs a new LedgerAggregator on the common ForkJoinPool.
+     *
+     * @param store The store the month totals are read from.
+     */
+    public LedgerAggregator(LedgerStore store) {
+        this(store, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new LedgerAggregator on the given pool.
+     *
+     * @param store The store the month totals are read from.
+     * @param pool  The pool the months are aggregated on.
+     */
+    public LedgerAggregator(LedgerStore store, ForkJoinPool pool) {
+        this.store = store;
+        this.pool = pool;
+    }
+
+    /**
+     * Aggregates a range of months. Must not be called on the main thread.
+     *
+     * @param months The partition keys of the months, such as "2026/april".
+     * @return New totals for the whole range.
+     * @throws IOException If an I/O error occurs while reading a month.
+     */
+    public MonthTotals aggregate(List<String> months) throws IOException {
+        if (months.isEmpty()) {
+            return new MonthTotals();
+        }
+        try {
+            return pool.invoke(new RangeTask(months, 0, months.size())).copy();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Aggregates all twelve months of a year.
+     *
+     * @param year The year, such as 2026.
+     * @return New totals for the year.
+     * @throws IOException If an I/O error occurs while reading a month.
+     */
+    public MonthTotals aggregateYear(int year) throws IOException {
+        List<String> months = new ArrayList<>(MONTHS.size());
+        for (String month : MONTHS) {
+            months.add(PartitionIndex.key(year, month));
+        }
+        return aggregate(months);
+    }
+
+    /**
+     * Lists the partitions of a rolling window that ends with the given month, reaching back into
+     * earlier years as needed.
+     *
+     * @param year      The year of the last month.
+     * @param lastMonth The last month of the window, in any case.
+     * @param count     The number of months in the window, at least 1.
+     * @return The partition keys, oldest first.
+     * @throws IllegalArgumentException If the month is unknown or the count is not positive.
+     */
+    public static List<String> rollingWindow(int year, String lastMonth, int count) {
+        int last = PartitionIndex.monthOf(lastMonth);
+        if (last < 0 || count < 1) {
+            throw new IllegalArgumentException("Invalid window: " + count + " months to " + lastMonth);
+        }
+        List<String> window = new ArrayList<>(count);
+        int first = year * MONTHS.size() + last - (count - 1);
+        for (int i = 0; i < count; ++i) {
+            int month = first + i;
+            window.add(PartitionIndex.key(month / MONTHS.size(), MONTHS.get(month % MONTHS.size())));
+        }
+        return window;
+    }
+
+    /**
+     * Drops every cached partial aggregate.
+     */
+    public void clearCache() {
+        partials.clear();
+    }
+
+    /**
+     * Gets the number of month aggregates read from the store so far.
+     *
+     * @return The number of cache misses.
+     */
+    int getReloadCount() {
+        return reloads.get();
+    }
+
+    /**
+     * Gets the partial aggregate of a month, reading it from the store only if the month's version
+     * changed since it was cached. The version is read before the totals, so a write racing with
+     * the read leaves a stale version and is picked up on the next query.
+     *
+     * @param month The partition key of the month.
+     * @return The month's totals. They are shared and must not be changed.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    private MonthTotals partial(String month) throws IOException {
+        String key = month.toLowerCase();
+        long version = store.getVersion(month);
+        Partial cached = partials.get(key);
+        if (cached != null && cached.version == version) {
+            return cached.totals;
+        }
+        reloads.incrementAndGet();
+        MonthTotals totals = store.getTotals(month);
+        partials.put(key, new Partial(version, totals));
+        return totals;
+    }
+
+    /**
+     * A month's partial aggregate and the version of the month it was computed from.
+     */
+    private static class Partial {
+
+        /** Version stamp of the month when the totals were read. */
+        final long version;
+
+        /** Totals of the month. */
+        final MonthTotals totals;
+
+        Partial(long version, MonthTotals totals) {
+            this.version = version;
+            this.totals = totals;
+        }
+    }
+
+    /**
+     * Aggregates a slice of the month list, splitting it in half until one month remains. Tasks are
+     * never serialized.
+     */
+    @SuppressWarnings("serial")
+    private class RangeTask extends RecursiveTask<MonthTotals> {
+
+        /** The months being aggregated. */
+        private final List<String> months;
+
+        /** Index of the first month of the slice. */
+        private final int from;
+
+        /** Index just past the last month of the slice. */
+        private final int to;
+
+        RangeTask(List<String> months, int from, int to) {
+            this.months = months;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Aggregates the slice.
+         *
+         * @return The totals of the slice; for a single month, its shared cached totals.
+         */
+        @Override
+        protected MonthTotals compute() {
+            if (to - from == 1) {
+                try {
+                    return partial(months.get(from));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(months, from, middle);
+            left.fork();
+            MonthTotals right = new RangeTask(months, middle, to).compute();
+            MonthTotals merged = left.join().copy();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.IOException;
+
+/**
+ * The LedgerCallback interface receives the outcome of a LedgerTask. Its methods are always called
+ * through the LedgerExecutor's callback executor, which is the UI thread in the app.
+ *
+ * @param <T> The type of the task's result.
+ */
+public interface LedgerCallback<T> {
+
+    /**
+     * Called when the task finished successfully.
+     *
+     * @param result The value returned by the task.
+     */
+    void onSuccess(T result);
+
+    /**
+     * Called when the task failed with an I/O error.
+     *
+     * @param e The error thrown by the task.
+     */
+    void onError(IOException e);
+}
@@ -0,0 +1,106 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The LedgerExecutor class runs ledger I/O on a single background thread and delivers the results
+ * through a callback executor, which the app points at the UI thread. Because there is only one I/O
+ * thread, tasks run in submission order: a read submitted after a write always sees that write.
+ * A task that fails with an unchecked exception has a bug; the exception is rethrown on the
+ * callback executor, so it crashes the app there instead of being lost in the task's Future.
+ */
+public class LedgerExecutor implements Executor {
+
+    /** Name of the background I/O thread. */
+    public static final String THREAD_NAME = "ledger-io";
+
+    /** Single background thread that runs every ledger task. */
+    private final ExecutorService ioExecutor;
+
+    /** Executor that delivers callbacks, usually the UI thread. */
+    private final Executor callbackExecutor;
+
+    /**
+     * Constructs a new LedgerExecutor with its own background I/O thread.
+     *
+     * @param callbackExecutor The executor used to deliver results, usually the UI thread.
+     */
+    public LedgerExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        this.ioExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Runs a task on the background I/O thread and delivers its result to the callback. An
+     * unchecked exception thrown by the task is rethrown on the callback executor, whether or not
+     * there is a callback.
+     *
+     * @param task     The ledger I/O to run.
+     * @param callback The callback that receives the result, or null if the caller does not need it.
+     * @param <T>      The type of the task's result.
+     * @return A Future that completes once the task has run.
+     */
+    public <T> Future<?> submit(final LedgerTask<T> task, final LedgerCallback<T> callback) {
+        return ioExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final T result = task.run();
+                    if (callback != null) {
+                        callbackExecutor.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                callback.onSuccess(result);
+                            }
+                        });
+                    }
+                } catch (final IOException e) {
+                    if (callback != null) {
+                        callbackExecutor.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                callback.onError(e);
+                            }
+                        });
+                    }
+                } catch (final RuntimeException e) {
+                    callbackExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            throw e;
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs a plain runnable on the background I/O thread, after the already submitted tasks.
+     *
+     * @param runnable The work to run.
+     */
+    @Override
+    public void execute(Runnable runnable) {
+        ioExecutor.execute(runnable);
+    }
+
+    /**
+     * Stops the background I/O thread once the already submitted tasks have run.
+     */
+    public void shutdown() {
+        ioExecutor.shutdown();
+    }
+}
@@ -0,0 +1,287 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The LedgerExporter class writes months of a LedgerStore out as CSV or JSON, optionally gzipped.
+ * It streams: one month's columnar ledger is read at a time with
+ * {@link LedgerStore#readLedger(String)}, which keeps it out of the store's cache, each row is
+ * formatted into a reused StringBuilder and encoded straight into a fixed direct ByteBuffer, and
+ * the buffer is written to the channel whenever it fills. Memory therefore stays at one month plus
+ * the buffer, whether one month or every month is exported, and no FinancialEntry objects are
+ * created.
+ *
+ * <p>The CSV form has a {@code name,sign,amount,category,date,month} header and quotes names and
+ * categories as {@link CsvFields} does; the columns a month file has come first, so
+ * {@link LedgerImporter} reads an exported month back. The JSON form is an array of
+ * {@code {"month":..,"name":..,"sign":..,"amount":..,"category":..,"date":..}} objects with the
+ * amount as a number of dollars. Dates are written as {@code yyyy-MM-dd}; an undated entry has an
+ * empty date column, or a null date in JSON.
+ */
+public class LedgerExporter {
+
+    /**
+     * The Format enum lists the formats a ledger can be exported in.
+     */
+    public enum Format {
+
+        /** Comma-separated values with a header line. */
+        CSV,
+
+        /** A JSON array of entry objects. */
+        JSON
+    }
+
+    /** Size of the output buffer, in bytes. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Encoding of the exported text. */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /** Store the months are read from. */
+    private final LedgerStore store;
+
+    /**
+     * Constructs a new LedgerExporter.
+     *
+     * @param store The store the months are read from.
+     */
+    public LedgerExporter(LedgerStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Exports every month that holds data, oldest first, to a file.
+     *
+     * @param format The format to write.
+     * @param gzip   True to gzip the file.
+     * @param file   The file to create or replace.
+     * @return The number of entries exported.
+     * @throws IOException If an I/O error occurs while reading the store or writing the file.
+     */
+    public long exportAll(Format format, boolean gzip, File file) throws IOException {
+        return export(store.getPartitions(), format, gzip, file);
+    }
+
+    /**
+     * Exports months to a file. The file is written under a temporary name, renamed when complete
+     * and deleted if the export fails, so a failed export never leaves a truncated file behind.
+     *
+     * @param months The partition keys of the months, in the order to write them.
+     * @param format The format to write.
+     * @param gzip   True to gzip the file.
+     * @param file   The file to create or replace.
+     * @return The number of entries exported.
+     * @throws IOException If an I/O error occurs while reading the store or writing the file.
+     */
+    public long export(List<String> months, Format format, boolean gzip, File file) throws IOException {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        boolean done = false;
+        try {
+            long rows;
+            OutputStream out = new FileOutputStream(temp, false);
+            try {
+                rows = export(months, format, gzip, out);
+            } finally {
+                out.close();
+            }
+            if (!temp.renameTo(file)) {
+                throw new IOException("Could not replace " + file);
+            }
+            done = true;
+            return rows;
+        } finally {
+            if (!done) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Exports months to a stream, such as one a document provider opened.
+     *
+     * @param months The partition keys of the months, in the order to write them.
+     * @param format The format to write.
+     * @param gzip   True to gzip the output.
+     * @param out    The stream to write to. It is flushed but not closed.
+     * @return The number of entries exported.
+     * @throws IOException If an I/O error occurs while reading the store or writing the stream.
+     */
+    public long export(List<String> months, Format format, boolean gzip, OutputStream out) throws IOException {
+        if (!gzip) {
+            long rows = export(months, format, Channels.newChannel(out));
+            out.flush();
+            return rows;
+        }
+        GZIPOutputStream compressed = new GZIPOutputStream(out, BUFFER_SIZE);
+        long rows = export(months, format, Channels.newChannel(compressed));
+        compressed.finish();
+        compressed.flush();
+        return rows;
+    }
+
+    /**
+     * Exports months to a channel.
+     *
+     * @param months  The partition keys of the months, in the order to write them.
+     * @param format  The format to write.
+     * @param channel The channel to write to. It is not closed.
+     * @return The number of entries exported.
+     * @throws IOException If an I/O error occurs while reading the store or writing the channel.
+     */
+    public long export(List<String> months, Format format, WritableByteChannel channel) throws IOException {
+        Output output = new Output(channel);
+        StringBuilder row = new StringBuilder(128);
+        long rows = 0;
+        output.write(format == Format.CSV ? "name,sign,amount,category,date,month\n" : "[");
+        for (String month : months) {
+            MonthLedger ledger = store.readLedger(month);
+            String key = month.toLowerCase();
+            for (int i = 0; i < ledger.size(); ++i) {
+                row.setLength(0);
+                if (format == Format.CSV) {
+                    CsvFields.append(row, ledger.getName(i)).append(',').append((char) ledger.getSign(i)).append(',');
+                    Money.appendTo(row, ledger.getAmount(i)).append(',');
+                    CsvFields.append(row, ledger.getCategory(i)).append(',');
+                    if (ledger.getDate(i) != EntryDate.NO_DATE) {
+                        EntryDate.append(row, ledger.getDate(i));
+                    }
+                    row.append(',').append(key).append('\n');
+                } else {
+                    row.append(rows == 0 ? "\n" : ",\n").append("{\"month\":");
+                    appendJsonString(row, key).append(",\"name\":");
+                    appendJsonString(row, ledger.getName(i)).append(",\"sign\":\"").append((char) ledger.getSign(i))
+                            .append("\",\"amount\":");
+                    Money.appendTo(row, ledger.getAmount(i)).append(",\"category\":");
+                    appendJsonString(row, ledger.getCategory(i)).append(",\"date\":");
+                    if (ledger.getDate(i) == EntryDate.NO_DATE) {
+                        row.append("null}");
+                    } else {
+                        EntryDate.append(row.append('"'), ledger.getDate(i)).append("\"}");
+                    }
+                }
+                output.write(row);
+                ++rows;
+            }
+        }
+        if (format == Format.JSON) {
+            output.write(rows == 0 ? "]\n" : "\n]\n");
+        }
+        output.flush();
+        return rows;
+    }
+
+    /**
+     * Appends a string as a quoted JSON string.
+     *
+     * @param out   The builder to append to.
+     * @param value The string to append.
+     * @return The builder, for chaining.
+     */
+    static StringBuilder appendJsonString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append("\\u00");
+                        out.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Encodes text into a fixed byte buffer and drains it to a channel whenever it fills.
+     */
+    private static class Output {
+
+        /** Channel the bytes are written to. */
+        private final WritableByteChannel channel;
+
+        /** Encoder reused for every write. */
+        private final CharsetEncoder encoder = UTF_8.newEncoder();
+
+        /** Bytes waiting to be written. */
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Output(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Encodes text into the buffer, draining it as often as needed.
+         *
+         * @param text The text to write.
+         * @throws IOException If an I/O error occurs while writing the channel.
+         */
+        void write(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isUnderflow()) {
+                    return;
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        /**
+         * Writes every buffered byte to the channel.
+         *
+         * @throws IOException If an I/O error occurs while writing the channel.
+         */
+        void flush() throws IOException {
+            encoder.encode(CharBuffer.allocate(0), buffer, true);
+            encoder.flush(buffer);
+            drain();
+        }
+
+        /**
+         * Empties the buffer into the channel.
+         *
+         * @throws IOException If an I/O error occurs while writing the channel.
+         */
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The LedgerImporter class imports CSV files, such as bank exports, into a month of a LedgerStore.
+ * The import runs as a pipeline of three stages joined by small bounded queues:
+ * <ol>
+ * <li>a reader thread splits the file into records, joining lines that continue a quoted field;</li>
+ * <li>a parser thread turns each record into a FinancialEntry, or rejects it;</li>
+ * <li>the calling thread drops names the month already holds, checked against the store's name
+ * index, and commits each batch with {@link LedgerStore#addEntries(String, List)}.</li>
+ * </ol>
+ * At most a few batches are in flight at once, so memory stays bounded however long the file is.
+ *
+ * <p>A record is either {@code name,sign,amount[,category[,date]]}, as in the month files and
+ * exports, or {@code name,amount} with a signed amount, negative for an expense, as banks export
+ * them. Fields
+ * may be quoted, so names may hold commas, and amounts may carry a dollar sign, thousands
+ * separators or parentheses for a negative amount. Exports written before categories existed had
+ * the month in the fourth column; a fourth column that is a partition key is not taken as a
+ * category, and a fifth column that is not a {@code yyyy-MM-dd} date leaves the entry undated.
+ * A record dated outside the month being imported is rejected, as the entry screens refuse such a
+ * date, since no date range of the month would find it.
+ * Columns past these are ignored; a header line is rejected like any other record that
+ * does not hold an entry.
+ */
+public class LedgerImporter {
+
+    /** Number of records in a batch, unless another size is given. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Number of batches each queue holds before its producer waits. */
+    private static final int QUEUE_CAPACITY = 4;
+
+    /** Longest record, in characters; a quoted field left open stops growing at this length. */
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    /** Marks the end of the records queue. */
+    private static final List<String> END_OF_RECORDS = Collections.emptyList();
+
+    /** Marks the end of the entries queue. */
+    private static final List<FinancialEntry> END_OF_ENTRIES = Collections.emptyList();
+
+    /** Store the entries are imported into. */
+    private final LedgerStore store;
+
+    /** Number of records read, parsed and committed together. */
+    private final int batchSize;
+
+    /**
+     * Constructs a new LedgerImporter with the default batch size.
+     *
+     * @param store The store the entries are imported into.
+     */
+    public LedgerImporter(LedgerStore store) {
+        this(store, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a new LedgerImporter.
+     *
+     * @param store     The store the entries are imported into.
+     * @param batchSize The number of records read, parsed and committed together, at least 1.
+     */
+    public LedgerImporter(LedgerStore store, int batchSize) {
+        this.store = store;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Imports a CSV file into a month. Entries whose name the month already holds, or that
+     * appear earlier in the file, are skipped, and entries dated outside the month are rejected.
+     * Batches committed before an error stay imported.
+     * Must not be called on the main thread.
+     *
+     * @param in    The CSV file. It is read to the end but not closed.
+     * @param month The partition key of the month, such as "2026/april".
+     * @return What was imported, and how fast.
+     * @throws IOException If an I/O error occurs while reading the file or writing the store.
+     */
+    public Report importCsv(final Reader in, final String month) throws IOException {
+        long start = System.nanoTime();
+        final BlockingQueue<List<String>> records = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        final BlockingQueue<List<FinancialEntry>> batches = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final AtomicInteger read = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    try {
+                        readRecords(in, records);
+                    } catch (IOException | RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                    records.put(END_OF_RECORDS);
+                } catch (InterruptedException e) {
+                    // The writer stopped early; nothing reads the queue any more
+                }
+            }
+        }, "ledger-import-read");
+        Thread parser = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    try {
+                        List<String> chunk;
+                        while ((chunk = records.take()) != END_OF_RECORDS) {
+                            read.addAndGet(chunk.size());
+                            batches.put(parseRecords(chunk, month, rejected));
+                        }
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                    batches.put(END_OF_ENTRIES);
+                } catch (InterruptedException e) {
+                    // The writer stopped early; nothing reads the queue any more
+                }
+            }
+        }, "ledger-import-parse");
+        reader.setDaemon(true);
+        parser.setDaemon(true);
+        reader.start();
+        parser.start();
+
+        int imported = 0;
+        int duplicates = 0;
+        try {
+            HashSet<String> seen = new HashSet<>();
+            List<FinancialEntry> fresh = new ArrayList<>(batchSize);
+            List<FinancialEntry> batch;
+            while ((batch = take(batches)) != END_OF_ENTRIES) {
+                long version;
+                do {
+                    // A write to the month between the checks and the batch makes the batch check again
+                    version = store.getVersion(month);
+                    seen.clear();
+                    fresh.clear();
+                    for (FinancialEntry entry : batch) {
+                        if (seen.add(entry.getName()) && !store.entryExists(month, entry.getName())) {
+                            fresh.add(entry);
+                        }
+                    }
+                } while (!store.addEntries(month, fresh, version));
+                duplicates += batch.size() - fresh.size();
+                imported += fresh.size();
+            }
+        } finally {
+            reader.interrupt();
+            parser.interrupt();
+            join(reader);
+            join(parser);
+        }
+
+        Exception e = failure.get();
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        } else if (e != null) {
+            throw (RuntimeException) e;
+        }
+        return new Report(read.get(), imported, duplicates, rejected.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the category column of a {@code name,sign,amount,category} record.
+     *
+     * @param fields The fields of the record.
+     * @return The trimmed category, or {@link FinancialEntry#NO_CATEGORY} if there is none.
+     */
+    private static String categoryOf(List<String> fields) {
+        if (fields.size() < 4) {
+            return FinancialEntry.NO_CATEGORY;
+        }
+        String category = fields.get(3).trim();
+        if (category.indexOf('\n') >= 0 || category.indexOf('\r') >= 0
+                || (PartitionIndex.yearOf(category) != 0 && PartitionIndex.monthOf(category) >= 0)) {
+            return FinancialEntry.NO_CATEGORY;
+        }
+        return category;
+    }
+
+    /**
+     * Gets the date column of a {@code name,sign,amount,category,date} record.
+     *
+     * @param fields The fields of the record.
+     * @return The date, or {@link EntryDate#NO_DATE} if there is none.
+     */
+    private static int dateOf(List<String> fields) {
+        if (fields.size() < 5) {
+            return EntryDate.NO_DATE;
+        }
+        char[] date = fields.get(4).trim().toCharArray();
+        return EntryDate.parse(date, 0, date.length);
+    }
+
+    /**
+     * Parses one CSV record into an entry.
+     *
+     * @param record The record, without its trailing line break.
+     * @param fields A scratch list for the record's fields.
+     * @return The entry, or null if the record does not hold a valid entry.
+     */
+    static FinancialEntry parseRecord(String record, List<String> fields) {
+        if (!CsvFields.split(record, fields) || fields.size() < 2) {
+            return null;
+        }
+        String name = fields.get(0).trim();
+        if (name.isEmpty() || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+            return null;
+        }
+        String sign = fields.size() >= 3 ? fields.get(1).trim() : "";
+        if (sign.length() == 1 && (sign.charAt(0) == FinancialEntry.EARNING || sign.charAt(0) == FinancialEntry.EXPENSE)) {
+            long amount = parseAmount(fields.get(2));
+            return amount == Money.INVALID || amount < 0 ? null
+                    : new FinancialEntry(name, sign, amount, categoryOf(fields), dateOf(fields));
+        }
+        long amount = parseAmount(fields.get(1));
+        if (amount == Money.INVALID) {
+            return null;
+        }
+        return amount < 0
+                ? new FinancialEntry(name, FinancialEntry.signOf(FinancialEntry.EXPENSE), -amount)
+                : new FinancialEntry(name, FinancialEntry.signOf(FinancialEntry.EARNING), amount);
+    }
+
+    /**
+     * Parses an amount as banks export it, ignoring spaces, dollar signs and thousands separators
+     * and reading parentheses as a minus sign.
+     *
+     * @param field The amount field.
+     * @return The amount in cents, or {@link Money#INVALID} if the field is not an amount.
+     */
+    private static long parseAmount(String field) {
+        char[] chars = new char[field.length() + 1];
+        int length = 0;
+        boolean parenthesized = false;
+        for (int i = 0; i < field.length(); ++i) {
+            char c = field.charAt(i);
+            if (c == '(' && length == 0 && !parenthesized) {
+                parenthesized = true;
+                chars[length++] = '-';
+            } else if (c == ')' && parenthesized) {
+                parenthesized = false;
+            } else if (c != '$' && c != ',' && c > ' ') {
+                chars[length++] = c;
+            }
+        }
+        return parenthesized ? Money.INVALID : Money.parse(chars, 0, length);
+    }
+
+    /**
+     * Reads the file into chunks of records and queues them for the parser.
+     *
+     * @param in      The CSV file.
+     * @param records The queue the chunks are put on.
+     * @throws IOException          If an I/O error occurs while reading.
+     * @throws InterruptedException If the import was stopped.
+     */
+    private void readRecords(Reader in, BlockingQueue<List<String>> records)
+            throws IOException, InterruptedException {
+        BufferedReader lines = new BufferedReader(in);
+        List<String> chunk = new ArrayList<>(batchSize);
+        StringBuilder record = new StringBuilder();
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (record.length() > 0) {
+                record.append('\n');
+            }
+            record.append(line);
+            if (CsvFields.isOpen(record) && record.length() < MAX_RECORD_LENGTH) {
+                continue;
+            }
+            if (record.length() > 0) {
+                chunk.add(record.toString());
+            }
+            record.setLength(0);
+            if (chunk.size() == batchSize) {
+                records.put(chunk);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (record.length() > 0) {
+            chunk.add(record.toString());
+        }
+        if (!chunk.isEmpty()) {
+            records.put(chunk);
+        }
+    }
+
+    /**
+     * Parses a chunk of records into entries for a month.
+     *
+     * @param chunk    The records.
+     * @param month    The partition key of the month the entries are imported into.
+     * @param rejected Counter of the records that did not hold an entry, or were dated outside the
+     *                 month.
+     * @return The entries, in file order.
+     */
+    private static List<FinancialEntry> parseRecords(List<String> chunk, String month, AtomicInteger rejected) {
+        String key = month.toLowerCase();
+        List<FinancialEntry> entries = new ArrayList<>(chunk.size());
+        List<String> fields = new ArrayList<>();
+        for (String record : chunk) {
+            FinancialEntry entry = parseRecord(record, fields);
+            if (entry == null
+                    || (entry.getDate() != EntryDate.NO_DATE && !EntryDate.monthKey(entry.getDate()).equals(key))) {
+                rejected.incrementAndGet();
+            } else {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Takes the next batch for the writer.
+     *
+     * @param batches The queue of parsed batches.
+     * @return The next batch, or {@link #END_OF_ENTRIES} after the last one.
+     * @throws InterruptedIOException If the calling thread is interrupted while waiting.
+     */
+    private static List<FinancialEntry> take(BlockingQueue<List<FinancialEntry>> batches)
+            throws InterruptedIOException {
+        try {
+            return batches.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        }
+    }
+
+    /**
+     * Waits for a pipeline thread to finish, keeping the caller's interrupt status.
+     *
+     * @param thread The thread to wait for.
+     */
+    private static void join(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The Report class describes a finished import.
+     */
+    public static class Report {
+
+        /** Number of records read from the file. */
+        private final int read;
+
+        /** Number of entries added to the month. */
+        private final int imported;
+
+        /** Number of entries skipped because their name was already in the month. */
+        private final int duplicates;
+
+        /** Number of records that did not hold a valid entry. */
+        private final int rejected;
+
+        /** Time the import took, in nanoseconds. */
+        private final long elapsedNanos;
+
+        /**
+         * Constructs a new Report.
+         *
+         * @param read         The number of records read from the file.
+         * @param imported     The number of entries added to the month.
+         * @param duplicates   The number of entries skipped as duplicates.
+         * @param rejected     The number of records that did not hold a valid entry.
+         * @param elapsedNanos The time the import took, in nanoseconds.
+         */
+        Report(int read, int imported, int duplicates, int rejected, long elapsedNanos) {
+            this.read = read;
+            this.imported = imported;
+            this.duplicates = duplicates;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Gets the number of records read from the file.
+         *
+         * @return The number of records.
+         */
+        public int getRead() {
+            return read;
+        }
+
+        /**
+         * Gets the number of entries added to the month.
+         *
+         * @return The number of entries.
+         */
+        public int getImported() {
+            return imported;
+        }
+
+        /**
+         * Gets the number of entries skipped because their name was already in the month.
+         *
+         * @return The number of duplicates.
+         */
+        public int getDuplicates() {
+            return duplicates;
+        }
+
+        /**
+         * Gets the number of records that did not hold a valid entry.
+         *
+         * @return The number of rejected records.
+         */
+        public int getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Gets the time the import took.
+         *
+         * @return The time, in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Gets the import throughput.
+         *
+         * @return The records read per second.
+         */
+        public long getRowsPerSecond() {
+            return elapsedNanos <= 0 ? 0 : read * 1_000_000_000L / elapsedNanos;
+        }
+
+        /**
+         * Describes the import for the user.
+         *
+         * @return A one-line summary.
+         */
+        @Override
+        public String toString() {
+            return "Imported " + imported + " of " + read + " rows (" + duplicates + " duplicates, "
+                    + rejected + " rejected) at " + getRowsPerSecond() + " rows/s";
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * The LedgerJournal class is the append-only write-ahead journal of one month. Every create, update
+ * or delete is appended as a single line, so an edit costs O(1) I/O instead of a rewrite of the
+ * month file. The operations are replayed on top of the month's CSV file when it is loaded, and
+ * LedgerRepository compacts them back into the CSV file once the journal grows.
+ *
+ * <p>Each line is one operation:
+ * <pre>
+ * C,name,sign,amount            create an entry without a category
+ * K,category,name,sign,amount   create an entry in a category
+ * A,date,category,name,sign,amount
+ *                               create a dated entry, in a category or not
+ * U,name,amount                 update the amount of the first entry with a name
+ * D,name                        delete the first entry with a name
+ * F,length,lastModified         mark the operations before it as folded into a base file
+ * </pre>
+ * The fields after the name are read from the end of the line, so a name may hold commas. A
+ * category is written as a CSV field, quoted if it holds a comma, and a date as
+ * {@code yyyy-MM-dd}. Journals written before categories or dates existed only hold C or K lines
+ * and replay unchanged.
+ * A create always adds a row, even for a name the month already holds, so a journal must not be
+ * replayed on top of a base file it was already folded into. Compaction appends an F line with the
+ * length and modification time of the new base file before putting it in place, and replay skips
+ * everything up to an F line that matches the base file, so a crash before the journal is deleted
+ * does not add the entries twice. A line without its trailing newline was torn by a crash
+ * mid-write; it is ignored and cut off.
+ */
+public class LedgerJournal {
+
+    /** Operation code for creating an entry. */
+    public static final char CREATE = 'C';
+
+    /** Operation code for creating an entry in a category. */
+    public static final char CREATE_IN_CATEGORY = 'K';
+
+    /** Operation code for creating a dated entry. */
+    public static final char CREATE_DATED = 'A';
+
+    /** Operation code for updating the amount of an entry. */
+    public static final char UPDATE = 'U';
+
+    /** Operation code for deleting an entry. */
+    public static final char DELETE = 'D';
+
+    /** Operation code for marking the operations before it as folded into a base file. */
+    public static final char FOLDED = 'F';
+
+    /** Charset of the journal file. */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /** The journal file. */
+    private final File file;
+
+    /**
+     * Constructs a new LedgerJournal backed by the given file.
+     *
+     * @param file The journal file. It is created on the first append.
+     */
+    public LedgerJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Gets the journal file.
+     *
+     * @return The journal file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Appends a create operation.
+     *
+     * @param entry The entry to create.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public int appendCreate(FinancialEntry entry) throws IOException {
+        return write(appendCreateLine(new StringBuilder(48), entry).toString());
+    }
+
+    /**
+     * Appends a create operation for each entry, syncing the journal to disk once for the batch.
+     *
+     * @param entries The entries to create, in order.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public int appendCreates(List<FinancialEntry> entries) throws IOException {
+        StringBuilder lines = new StringBuilder(entries.size() * 32);
+        for (FinancialEntry entry : entries) {
+            appendCreateLine(lines, entry);
+        }
+        return write(lines.toString());
+    }
+
+    /**
+     * Formats the create operation of an entry: an A line with its date and category if it is
+     * dated, otherwise a K line if it has a category, or a C line if it has neither.
+     *
+     * @param line  The builder to append to.
+     * @param entry The entry to create.
+     * @return The builder, ending with the line's newline.
+     */
+    private static StringBuilder appendCreateLine(StringBuilder line, FinancialEntry entry) {
+        if (entry.getDate() != EntryDate.NO_DATE) {
+            EntryDate.append(line.append(CREATE_DATED).append(','), entry.getDate()).append(',');
+            CsvFields.append(line, entry.getCategory()).append(',');
+        } else if (entry.getCategory().isEmpty()) {
+            line.append(CREATE).append(',');
+        } else {
+            line.append(CREATE_IN_CATEGORY).append(',');
+            CsvFields.append(line, entry.getCategory()).append(',');
+        }
+        line.append(entry.getName()).append(',').append(entry.getSign()).append(',');
+        return Money.appendTo(line, entry.getAmount()).append('\n');
+    }
+
+    /**
+     * Appends an update operation.
+     *
+     * @param name   The name of the entry to update.
+     * @param amount The new amount of the entry, in cents.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public int appendUpdate(String name, long amount) throws IOException {
+        return append(UPDATE + "," + name + "," + Money.format(amount));
+    }
+
+    /**
+     * Appends a delete operation.
+     *
+     * @param name The name of the entry to delete.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public int appendDelete(String name) throws IOException {
+        return append(DELETE + "," + name);
+    }
+
+    /**
+     * Appends the mark that the operations so far were folded into a new base file, before that
+     * file replaces the month's base file. Renaming the file keeps its length and modification
+     * time, so replay recognizes it afterwards.
+     *
+     * @param base The new base file, written in full.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public int appendFolded(File base) throws IOException {
+        return append(foldedLine(base));
+    }
+
+    /**
+     * Formats the F line that marks a journal as folded into a base file.
+     *
+     * @param base The base file.
+     * @return The operation, without the trailing newline.
+     */
+    private static String foldedLine(File base) {
+        return FOLDED + "," + base.length() + "," + base.lastModified();
+    }
+
+    /**
+     * Appends one operation line and syncs it to disk before returning.
+     *
+     * @param line The operation, without the trailing newline.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    private int append(String line) throws IOException {
+        return write(line + "\n");
+    }
+
+    /**
+     * Appends complete operation lines and syncs them to disk before returning.
+     *
+     * @param lines The operations, each with its trailing newline.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    private int write(String lines) throws IOException {
+        byte[] bytes = lines.getBytes(UTF_8);
+        FileOutputStream out = new FileOutputStream(file, true);
+        try {
+            out.write(bytes);
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+        return bytes.length;
+    }
+
+    /**
+     * Replays the whole journal on top of a month's ledger that has no base file.
+     *
+     * @param ledger The ledger to replay onto; updated in place.
+     * @return The number of complete operations in the journal.
+     * @throws IOException If an I/O error occurs while reading the journal.
+     */
+    public int replay(MonthLedger ledger) throws IOException {
+        return replay(ledger, null);
+    }
+
+    /**
+     * Replays the journal on top of a month's ledger read from its base file. Operations up to an
+     * F line that matches the base file are already in it and are skipped. A torn last line left by
+     * a crash is ignored and cut off the file so that later appends start on a fresh line.
+     *
+     * @param ledger The ledger read from the base file; updated in place.
+     * @param base   The month's base file, or null to replay every operation.
+     * @return The number of complete operations replayed.
+     * @throws IOException If an I/O error occurs while reading the journal.
+     */
+    public int replay(MonthLedger ledger, File base) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = readFully(file);
+        } catch (FileNotFoundException e) {
+            return 0;
+        }
+
+        int operations = 0;
+        int start = base == null ? 0 : foldedEnd(bytes, foldedLine(base).getBytes(UTF_8));
+        for (int i = start; i < bytes.length; ++i) {
+            if (bytes[i] == '\n') {
+                if (apply(ledger, new String(bytes, start, i - start, UTF_8))) {
+                    ++operations;
+                }
+                start = i + 1;
+            }
+        }
+        if (start < bytes.length) {
+            truncate(start);
+        }
+        return operations;
+    }
+
+    /**
+     * Finds the end of the last F line that matches a base file.
+     *
+     * @param bytes The journal.
+     * @param mark  The F line of the base file, without the trailing newline.
+     * @return The index just past the line, or 0 if no line matches.
+     */
+    private static int foldedEnd(byte[] bytes, byte[] mark) {
+        int end = 0;
+        int start = 0;
+        for (int i = 0; i < bytes.length; ++i) {
+            if (bytes[i] == '\n') {
+                if (i - start == mark.length && bytes[start] == FOLDED && matches(bytes, start, mark)) {
+                    end = i + 1;
+                }
+                start = i + 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Checks whether a journal holds a line at an index.
+     *
+     * @param bytes The journal.
+     * @param start The index the line starts at.
+     * @param line  The line, without the trailing newline.
+     * @return True if the bytes at the index are the line.
+     */
+    private static boolean matches(byte[] bytes, int start, byte[] line) {
+        for (int i = 0; i < line.length; ++i) {
+            if (bytes[start + i] != line[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the journal file, typically after it was compacted into the month's CSV file.
+     *
+     * @throws IOException If the journal exists but cannot be deleted.
+     */
+    public void delete() throws IOException {
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Could not delete " + file);
+        }
+    }
+
+    /**
+     * Applies one operation line to a month's ledger.
+     *
+     * @param ledger The ledger to update in place.
+     * @param line   The operation line, without the trailing newline.
+     * @return True if the line was a valid operation, false if it was skipped.
+     */
+    static boolean apply(MonthLedger ledger, String line) {
+        if (line.length() < 2 || line.charAt(1) != ',') {
+            return false;
+        }
+        int amountComma = line.lastIndexOf(',');
+        try {
+            switch (line.charAt(0)) {
+                case CREATE:
+                case CREATE_IN_CATEGORY:
+                case CREATE_DATED: {
+                    int nameStart = 2;
+                    String category = FinancialEntry.NO_CATEGORY;
+                    int date = EntryDate.NO_DATE;
+                    if (line.charAt(0) == CREATE_DATED) {
+                        nameStart += EntryDate.LENGTH + 1;
+                        if (line.length() < nameStart || line.charAt(nameStart - 1) != ',') {
+                            return false;
+                        }
+                        date = EntryDate.parse(line.substring(2, nameStart - 1));
+                    }
+                    if (line.charAt(0) != CREATE) {
+                        int categoryEnd = categoryEnd(line, nameStart);
+                        if (categoryEnd < 0) {
+                            return false;
+                        }
+                        category = line.charAt(nameStart) == '"'
+                                ? line.substring(nameStart + 1, categoryEnd - 1).replace("\"\"", "\"")
+                                : line.substring(nameStart, categoryEnd);
+                        nameStart = categoryEnd + 1;
+                    }
+                    int signComma = line.lastIndexOf(',', amountComma - 1);
+                    if (signComma < nameStart || amountComma - signComma != 2) {
+                        return false;
+                    }
+                    String name = line.substring(nameStart, signComma);
+                    byte sign = (byte) line.charAt(signComma + 1);
+                    long amount = Money.parse(line.substring(amountComma + 1));
+                    ledger.add(name, sign, amount, category, date);
+                    return true;
+                }
+                case UPDATE: {
+                    if (amountComma <= 1) {
+                        return false;
+                    }
+                    long amount = Money.parse(line.substring(amountComma + 1));
+                    int row = ledger.indexOf(line.substring(2, amountComma));
+                    if (row >= 0) {
+                        ledger.setAmount(row, amount);
+                    }
+                    return true;
+                }
+                case DELETE: {
+                    int row = ledger.indexOf(line.substring(2));
+                    if (row >= 0) {
+                        ledger.remove(row);
+                    }
+                    return true;
+                }
+                default:
+                    return false;
+            }
+        } catch (IllegalArgumentException e) {
+            // A malformed amount or date
+            return false;
+        }
+    }
+
+    /**
+     * Finds the end of the category field of a K or A line.
+     *
+     * @param line  The operation line.
+     * @param start The index the category field starts at.
+     * @return The index of the comma after the category, or -1 if the field is malformed.
+     */
+    private static int categoryEnd(String line, int start) {
+        if (line.length() > start && line.charAt(start) == '"') {
+            for (int i = start + 1; i < line.length(); ++i) {
+                if (line.charAt(i) == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        ++i;
+                    } else {
+                        return i + 1 < line.length() && line.charAt(i + 1) == ',' ? i + 1 : -1;
+                    }
+                }
+            }
+            return -1;
+        }
+        return line.indexOf(',', start);
+    }
+
+    /**
+     * Cuts the journal file off at the given length.
+     *
+     * @param length The new length of the file, in bytes.
+     * @throws IOException If an I/O error occurs while truncating the file.
+     */
+    private void truncate(long length) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(length);
+            raf.getFD().sync();
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Reads a whole file into memory.
+     *
+     * @param file The file to read.
+     * @return The file's bytes.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    private static byte[] readFully(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            byte[] bytes = new byte[(int) file.length()];
+            int read = 0;
+            while (read < bytes.length) {
+                int n = in.read(bytes, read, bytes.length - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            if (read < bytes.length) {
+                byte[] shorter = new byte[read];
+                System.arraycopy(bytes, 0, shorter, 0, read);
+                return shorter;
+            }
+            return bytes;
+        } finally {
+            in.close();
+        }
+    }
+}
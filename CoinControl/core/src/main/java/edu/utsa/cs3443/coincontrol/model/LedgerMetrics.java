@@ -0,0 +1,350 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * The LedgerMetrics class counts the ledger operations the app runs on real data and how long
+ * they take: for each kind of operation, how many ran, how many bytes they read or wrote, and a
+ * histogram of their latencies. Recording costs two clock reads and a few uncontended adds, so it
+ * stays on in every build; the numbers are read from the debug screen or dumped as a text report.
+ *
+ * <p>Latencies fall into buckets that double in width, from under a microsecond to over a minute,
+ * so a percentile is known to within a factor of two whatever the spread. Every operation is also
+ * reported to a {@link Tracer}, which the app points at Android's trace sections so operations show
+ * up in system traces.
+ *
+ * <p>The class is thread-safe. Operations are timed with {@link #begin(Operation)} and
+ * {@link #end(Operation, long, long)} on the thread that runs them.
+ */
+public final class LedgerMetrics {
+
+    /**
+     * The Operation enum lists the kinds of ledger operations that are measured.
+     */
+    public enum Operation {
+
+        /** Reading a month's files into memory: parsing or mapping, then replaying the journal. */
+        LOAD("Load month"),
+
+        /** Reading a month's running totals. */
+        TOTALS("Read totals"),
+
+        /** Checking whether a month holds a name. */
+        EXISTS("Check name"),
+
+        /** Appending new entries. */
+        APPEND("Append entries"),
+
+        /** Updating the amount of an entry. */
+        UPDATE("Update amount"),
+
+        /** Deleting an entry. */
+        DELETE("Delete entry"),
+
+        /** Folding a month's journal back into its base file. */
+        COMPACT("Compact month"),
+
+        /** Building the Results chart and breakdown from the totals. */
+        CHART("Build chart");
+
+        /** Label shown in the report and used as the trace section name. */
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Gets the label shown in the report.
+         *
+         * @return The label, such as "Load month".
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * The Tracer interface marks the start and end of each operation for a profiler.
+     */
+    public interface Tracer {
+
+        /**
+         * Called when an operation starts.
+         *
+         * @param section The label of the operation.
+         */
+        void begin(String section);
+
+        /**
+         * Called when the operation last begun on this thread ends.
+         */
+        void end();
+    }
+
+    /** Number of latency buckets. Bucket i holds latencies below 2^i nanoseconds. */
+    static final int BUCKETS = 40;
+
+    /** Recorders, one per operation, in operation order. */
+    private static final Recorder[] RECORDERS = new Recorder[Operation.values().length];
+
+    static {
+        for (int i = 0; i < RECORDERS.length; ++i) {
+            RECORDERS[i] = new Recorder();
+        }
+    }
+
+    /** Tracer told about every operation, or null. */
+    private static volatile Tracer tracer;
+
+    private LedgerMetrics() {
+    }
+
+    /**
+     * Sets the tracer told about every operation.
+     *
+     * @param newTracer The tracer, or null to trace nothing.
+     */
+    public static void setTracer(Tracer newTracer) {
+        tracer = newTracer;
+    }
+
+    /**
+     * Marks the start of an operation.
+     *
+     * @param operation The kind of operation.
+     * @return The start time, to pass to {@link #end(Operation, long, long)}.
+     */
+    public static long begin(Operation operation) {
+        Tracer current = tracer;
+        if (current != null) {
+            current.begin(operation.label);
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of an operation and records it.
+     *
+     * @param operation The kind of operation, as passed to {@link #begin(Operation)}.
+     * @param start     The start time returned by {@link #begin(Operation)}.
+     * @param bytes     The number of bytes the operation read or wrote, or 0.
+     */
+    public static void end(Operation operation, long start, long bytes) {
+        long nanos = System.nanoTime() - start;
+        Tracer current = tracer;
+        if (current != null) {
+            current.end();
+        }
+        RECORDERS[operation.ordinal()].record(nanos, bytes);
+    }
+
+    /**
+     * Gets the number of operations of a kind recorded since the last reset.
+     *
+     * @param operation The kind of operation.
+     * @return The count.
+     */
+    public static long getCount(Operation operation) {
+        return RECORDERS[operation.ordinal()].count.sum();
+    }
+
+    /**
+     * Gets the number of bytes operations of a kind read or wrote since the last reset.
+     *
+     * @param operation The kind of operation.
+     * @return The number of bytes.
+     */
+    public static long getBytes(Operation operation) {
+        return RECORDERS[operation.ordinal()].bytes.sum();
+    }
+
+    /**
+     * Gets a percentile of the latencies of a kind of operation, rounded up to the top of its
+     * bucket, so the true value is at most that and more than half of it.
+     *
+     * @param operation The kind of operation.
+     * @param fraction  The percentile as a fraction, such as 0.99.
+     * @return The latency in nanoseconds, or 0 if none was recorded.
+     */
+    public static long getPercentile(Operation operation, double fraction) {
+        return RECORDERS[operation.ordinal()].percentile(fraction);
+    }
+
+    /**
+     * Gets the longest latency of a kind of operation.
+     *
+     * @param operation The kind of operation.
+     * @return The latency in nanoseconds, or 0 if none was recorded.
+     */
+    public static long getMax(Operation operation) {
+        return RECORDERS[operation.ordinal()].max.get();
+    }
+
+    /**
+     * Forgets every recorded operation.
+     */
+    public static void reset() {
+        for (Recorder recorder : RECORDERS) {
+            recorder.reset();
+        }
+    }
+
+    /**
+     * Writes a text report with one line per kind of operation that was recorded: its count,
+     * bytes, mean, median, 90th and 99th percentiles and maximum latency.
+     *
+     * @return The report, one line per operation after a header line.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder(128 * (RECORDERS.length + 1));
+        report.append(String.format(Locale.US, "%-15s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Operation", "Count", "Bytes", "Mean", "p50", "p90", "p99", "Max"));
+        for (Operation operation : Operation.values()) {
+            Recorder recorder = RECORDERS[operation.ordinal()];
+            long count = recorder.count.sum();
+            if (count == 0) {
+                continue;
+            }
+            report.append(String.format(Locale.US, "%-15s %7d %9s %9s %9s %9s %9s %9s%n",
+                    operation.label, count, bytes(recorder.bytes.sum()),
+                    duration(recorder.nanos.sum() / count), duration(recorder.percentile(0.5)),
+                    duration(recorder.percentile(0.9)), duration(recorder.percentile(0.99)),
+                    duration(recorder.max.get())));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Formats a number of bytes in the largest unit that keeps it at 1 or more.
+     *
+     * @param bytes The number of bytes.
+     * @return The formatted size, such as "512 B" or "3.4 MB".
+     */
+    static String bytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.US, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.US, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * Formats a latency in the largest unit that keeps it at 1 or more.
+     *
+     * @param nanos The latency in nanoseconds.
+     * @return The formatted latency, such as "850 ns", "12.5 us" or "3.2 ms".
+     */
+    static String duration(long nanos) {
+        if (nanos < 1000) {
+            return nanos + " ns";
+        }
+        if (nanos < 1000000) {
+            return String.format(Locale.US, "%.1f us", nanos / 1e3);
+        }
+        if (nanos < 1000000000) {
+            return String.format(Locale.US, "%.1f ms", nanos / 1e6);
+        }
+        return String.format(Locale.US, "%.2f s", nanos / 1e9);
+    }
+
+    /**
+     * Gets the latency bucket of a duration.
+     *
+     * @param nanos The duration in nanoseconds.
+     * @return The index of the lowest bucket whose top is above the duration.
+     */
+    static int bucketOf(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    /**
+     * Holds the counters of one kind of operation. Adders spread concurrent updates over cells,
+     * so threads recording at once do not contend on one counter.
+     */
+    private static final class Recorder {
+
+        /** Number of operations. */
+        final LongAdder count = new LongAdder();
+
+        /** Bytes read or written. */
+        final LongAdder bytes = new LongAdder();
+
+        /** Sum of the latencies, in nanoseconds. */
+        final LongAdder nanos = new LongAdder();
+
+        /** Longest latency, in nanoseconds. */
+        final LongAccumulator max = new LongAccumulator(new LongBinaryOperator() {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return Math.max(left, right);
+            }
+        }, 0);
+
+        /** Number of operations in each latency bucket. */
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        /**
+         * Records one operation.
+         *
+         * @param latency The latency in nanoseconds.
+         * @param read    The bytes read or written.
+         */
+        void record(long latency, long read) {
+            count.increment();
+            if (read > 0) {
+                bytes.add(read);
+            }
+            nanos.add(latency);
+            max.accumulate(latency);
+            histogram.incrementAndGet(bucketOf(latency));
+        }
+
+        /**
+         * Gets a percentile of the latencies, as the top of the bucket that holds it.
+         *
+         * @param fraction The percentile as a fraction.
+         * @return The latency in nanoseconds, or 0 if none was recorded.
+         */
+        long percentile(double fraction) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; ++i) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(fraction * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; ++i) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    // Never report more than the longest latency seen
+                    return Math.min(i == 0 ? 0 : 1L << i, max.get());
+                }
+            }
+            return max.get();
+        }
+
+        /**
+         * Forgets every recorded operation.
+         */
+        void reset() {
+            count.reset();
+            bytes.reset();
+            nanos.reset();
+            max.reset();
+            for (int i = 0; i < BUCKETS; ++i) {
+                histogram.set(i, 0);
+            }
+        }
+    }
+}
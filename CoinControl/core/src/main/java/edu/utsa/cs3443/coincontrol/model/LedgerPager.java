@@ -0,0 +1,205 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The LedgerPager class holds the pages of a month that a scrolling list has loaded. Positions run
+ * over the earnings first and then the expenses, as {@link LedgerStore#getPage(String, int, int)}
+ * returns them, so the section of a position is known from the month's counts before its page is
+ * loaded. At most a fixed number of pages are kept, the least recently used one is dropped first,
+ * so memory stays flat however long the month is.
+ *
+ * <p>The pager is not thread-safe; the Records screen only uses it on the main thread.
+ */
+public class LedgerPager {
+
+    /** Number of entries in a page, unless another size is given. */
+    public static final int PAGE_SIZE = 50;
+
+    /** Number of pages kept in memory, unless another number is given. */
+    public static final int MAX_PAGES = 8;
+
+    /** Number of earnings in the month. */
+    private final int earningCount;
+
+    /** Number of entries in the month. */
+    private final int size;
+
+    /** Number of entries in a page. */
+    private final int pageSize;
+
+    /** Loaded pages, keyed by page number, least recently used first. */
+    private final LinkedHashMap<Integer, MonthLedger> pages;
+
+    /** Pages requested but not loaded yet. */
+    private final List<Integer> loading = new ArrayList<>();
+
+    /**
+     * Constructs a new LedgerPager with the default page size and page count.
+     *
+     * @param totals The totals of the month, which give its entry counts.
+     */
+    public LedgerPager(MonthTotals totals) {
+        this(totals, PAGE_SIZE, MAX_PAGES);
+    }
+
+    /**
+     * Constructs a new LedgerPager.
+     *
+     * @param totals   The totals of the month, which give its entry counts.
+     * @param pageSize The number of entries in a page, at least 1.
+     * @param maxPages The number of pages kept in memory, at least 1.
+     */
+    public LedgerPager(MonthTotals totals, int pageSize, final int maxPages) {
+        this.earningCount = totals.getCount(FinancialEntry.EARNING);
+        this.size = earningCount + totals.getCount(FinancialEntry.EXPENSE);
+        this.pageSize = Math.max(1, pageSize);
+        this.pages = new LinkedHashMap<Integer, MonthLedger>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, MonthLedger> eldest) {
+                return size() > Math.max(1, maxPages);
+            }
+        };
+    }
+
+    /**
+     * Gets the number of entries in the month.
+     *
+     * @return The number of positions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of entries in a page.
+     *
+     * @return The page size.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets the page that holds a position.
+     *
+     * @param position The position.
+     * @return The page number.
+     */
+    public int pageOf(int position) {
+        return position / pageSize;
+    }
+
+    /**
+     * Gets the sign of the entry at a position, which is known whether or not its page is loaded.
+     *
+     * @param position The position.
+     * @return {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     */
+    public byte getSign(int position) {
+        return position < earningCount ? FinancialEntry.EARNING : FinancialEntry.EXPENSE;
+    }
+
+    /**
+     * Checks whether a position starts the earnings or the expenses.
+     *
+     * @param position The position.
+     * @return True if the list should show a section heading above the position.
+     */
+    public boolean isSectionStart(int position) {
+        return position == 0 || position == earningCount;
+    }
+
+    /**
+     * Checks whether the page holding a position is loaded.
+     *
+     * @param position The position.
+     * @return True if its name and amount can be read.
+     */
+    public boolean isLoaded(int position) {
+        return pageAt(position) != null;
+    }
+
+    /**
+     * Gets the name of the entry at a position.
+     *
+     * @param position The position.
+     * @return The name, or null if its page is not loaded.
+     */
+    public String getName(int position) {
+        MonthLedger page = pageAt(position);
+        return page == null ? null : page.getName(position % pageSize);
+    }
+
+    /**
+     * Gets the amount of the entry at a position.
+     *
+     * @param position The position.
+     * @return The amount in cents, or 0 if its page is not loaded.
+     */
+    public long getAmount(int position) {
+        MonthLedger page = pageAt(position);
+        return page == null ? 0 : page.getAmount(position % pageSize);
+    }
+
+    /**
+     * Claims the page holding a position for loading, unless it is loaded or already being loaded.
+     *
+     * @param position The position.
+     * @return The page number to load, or -1 if there is nothing to load.
+     */
+    public int pageToLoad(int position) {
+        if (position < 0 || position >= size) {
+            return -1;
+        }
+        Integer page = pageOf(position);
+        if (pages.containsKey(page) || loading.contains(page)) {
+            return -1;
+        }
+        loading.add(page);
+        return page;
+    }
+
+    /**
+     * Stores a loaded page.
+     *
+     * @param page The page number.
+     * @param rows The rows of the page, from {@link LedgerStore#getPage(String, int, int)}.
+     */
+    public void putPage(int page, MonthLedger rows) {
+        loading.remove(Integer.valueOf(page));
+        pages.put(page, rows);
+    }
+
+    /**
+     * Gives up on a page that could not be loaded, so it is requested again when next shown.
+     *
+     * @param page The page number.
+     */
+    public void abandonPage(int page) {
+        loading.remove(Integer.valueOf(page));
+    }
+
+    /**
+     * Gets the numbers of the loaded pages, least recently used first.
+     *
+     * @return A new list of page numbers.
+     */
+    public List<Integer> getLoadedPages() {
+        return new ArrayList<>(pages.keySet());
+    }
+
+    /**
+     * Gets the loaded page holding a position, marking it as recently used.
+     *
+     * @param position The position.
+     * @return The page, or null if it is not loaded.
+     */
+    private MonthLedger pageAt(int position) {
+        MonthLedger page = pages.get(pageOf(position));
+        return page != null && position % pageSize < page.size() ? page : null;
+    }
+}
@@ -0,0 +1,1237 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The LedgerRepository class owns the month CSV files of the CoinControl app. It loads, caches and
+ * writes a columnar MonthLedger for each month so that every activity shares a single parsed copy.
+ * Months are partitioned by year: every method takes a partition key such as {@code 2026/april},
+ * built with {@link PartitionIndex#key(int, String)}, and the files live in a directory per year.
+ * Only the partitions a screen asks for are loaded, and at most {@link #MAX_CACHED_MONTHS} stay
+ * cached, so memory does not grow with years of history.
+ * A month file is only parsed again when it changes on disk behind the repository's back, and
+ * each cached month keeps a NameIndex so existence checks and edits do not scan the entries.
+ * Names are pooled across months in one NamePool.
+ * Every method that may touch the disk refuses to run on the main thread; callers go through the
+ * LedgerExecutor instead.
+ *
+ * <p>The repository is thread-safe without one lock for everything. Loads and writes of a month
+ * hold one of {@link #LOCK_STRIPES} locks picked by the month's key, so writers to different
+ * months run in parallel and writers to the same month take turns. Reads take no month lock: each
+ * cached month publishes a frozen MonthLedger snapshot, rebuilt on the first read after a write,
+ * which readers share for as long as the month's files are unchanged. Every load and write of a
+ * month gives it a new version stamp, carried by its snapshots; a caller that read a snapshot and
+ * writes something computed from it passes the stamp to a conditional write, which is refused if
+ * another writer got there first, so the caller reads again and retries instead of losing that
+ * writer's update.
+ *
+ * <p>Writes never rewrite the month file. They are appended to the month's LedgerJournal and
+ * compacted back into the CSV file, in the background, once the journal holds
+ * {@link #COMPACTION_THRESHOLD} operations.
+ *
+ * <p>With {@link #setBinaryFormat(boolean)} on, months are stored in the BinaryMonthFile format
+ * instead: a CSV file is converted the first time its month is loaded, compaction writes the
+ * binary file, and loads read it through a memory map. Whichever base file exists is read, the
+ * binary one first, so the setting can be switched at any time.
+ *
+ * <p>Each month's MonthTotals are saved to a {@code .totals} file after writes, stamped with the
+ * state of the CSV file and journal they describe, so {@link #getTotals(String)} can answer from
+ * that small file without parsing the month when nothing has changed since.
+ *
+ * <p>The repository is the app's default {@link LedgerStore}.
+ */
+public class LedgerRepository implements LedgerStore {
+
+    /** Number of journal operations after which a month is compacted into its CSV file. */
+    public static final int COMPACTION_THRESHOLD = 64;
+
+    /** Number of parsed months kept in memory; the least recently used one is dropped first. */
+    public static final int MAX_CACHED_MONTHS = 12;
+
+    /** Number of locks the months are spread over; a power of two. */
+    public static final int LOCK_STRIPES = 16;
+
+    /** Version stamp that matches every version, for the unconditional writes. */
+    private static final long ANY_VERSION = -1;
+
+    /** The shared repository instance used by the activities. */
+    private static LedgerRepository instance;
+
+    /** Thread on which ledger I/O is forbidden, or null if no thread is guarded. */
+    private static volatile Thread mainThread;
+
+    /** Directory that holds the month CSV files. */
+    private final File directory;
+
+    /** Parsed month files, keyed by lower-case month name. Guarded by its own monitor. */
+    private final Map<String, CachedMonth> cache =
+            new LinkedHashMap<String, CachedMonth>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedMonth> eldest) {
+                    return size() > MAX_CACHED_MONTHS;
+                }
+            };
+
+    /** Index of the year-and-month partitions that hold data. Guarded by its own monitor. */
+    private final PartitionIndex partitions;
+
+    /** Locks that serialize the loads and writes of a month, picked by the hash of its key. */
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+
+    /** Source of version stamps; each load and write of a month takes the next one. */
+    private final AtomicLong versions = new AtomicLong();
+
+    /** Dictionary of entry names shared by every month. */
+    private final NamePool names = new NamePool();
+
+    /** Executor that runs journal compaction, or null to compact on the writing thread. */
+    private volatile Executor compactionExecutor;
+
+    /** Whether months are converted to and compacted into the binary month format. */
+    private volatile boolean binaryFormat;
+
+    /**
+     * Constructs a new LedgerRepository reading and writing month files in the given directory.
+     *
+     * @param directory The directory that holds the month CSV files.
+     */
+    public LedgerRepository(File directory) {
+        this.directory = directory;
+        this.partitions = new PartitionIndex(directory);
+        for (int i = 0; i < stripes.length; ++i) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Gets the shared repository for the given directory, creating it on first use.
+     *
+     * @param directory The directory that holds the month CSV files (usually getFilesDir()).
+     * @return The shared LedgerRepository.
+     */
+    public static synchronized LedgerRepository getInstance(File directory) {
+        if (instance == null || !instance.directory.equals(directory)) {
+            instance = new LedgerRepository(directory);
+        }
+        return instance;
+    }
+
+    /**
+     * Sets the thread on which ledger I/O is forbidden. The app passes its main looper thread so
+     * that blocking reads and writes fail fast instead of dropping frames.
+     *
+     * @param thread The thread to guard, or null to allow I/O on any thread.
+     */
+    public static void setMainThread(Thread thread) {
+        mainThread = thread;
+    }
+
+    /**
+     * Sets the executor that compacts journals in the background.
+     *
+     * @param executor The executor to run compaction on, or null to compact on the writing thread.
+     */
+    public void setCompactionExecutor(Executor executor) {
+        compactionExecutor = executor;
+    }
+
+    /**
+     * Sets whether months are stored in the binary month format. CSV files are converted as their
+     * months are loaded; turning the setting off writes CSV files again on the next compaction.
+     *
+     * @param enabled True to store months in the binary format, false for CSV files.
+     */
+    public void setBinaryFormat(boolean enabled) {
+        binaryFormat = enabled;
+    }
+
+    /**
+     * Gets all financial entries recorded for a month, in file order.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return A copy of the month's entries. Empty if the month has no file yet.
+     * @throws IOException If an I/O error occurs while reading the CSV file.
+     */
+    public List<FinancialEntry> getEntries(String month) throws IOException {
+        return read(month).toEntries();
+    }
+
+    /**
+     * Gets the month's current snapshot, for screens that read many rows or totals. It is frozen
+     * and shared with other readers, so it costs no copy; call {@link MonthLedger#snapshot()} on it
+     * for a copy that can be changed.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return A read-only snapshot of the month's ledger, with its version stamp. Empty if the
+     * month has no file yet.
+     * @throws IOException If an I/O error occurs while reading the CSV file.
+     */
+    public MonthLedger getLedger(String month) throws IOException {
+        return read(month);
+    }
+
+    /**
+     * Reads a month's ledger for a single pass, such as an export. A cached month is served from
+     * its snapshot; any other month is read from its files into a ledger with its own name pool,
+     * and is not cached, so the months in use stay in the cache and their names stay in the shared
+     * pool.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's ledger. It must not be changed. Empty if the month has no file yet.
+     * @throws IOException If an I/O error occurs while reading the base file or journal.
+     */
+    public MonthLedger readLedger(String month) throws IOException {
+        checkNotMainThread();
+        MonthLedger current = published(month);
+        if (current != null) {
+            return current;
+        }
+        synchronized (lockFor(month)) {
+            File file = getBaseFile(month);
+            CachedMonth cached = cached(month);
+            if (cached != null && cached.isCurrent(file)) {
+                return cached.publish();
+            }
+            File journal = getJournalFile(month);
+            long start = LedgerMetrics.begin(LedgerMetrics.Operation.LOAD);
+            try {
+                NamePool pool = new NamePool();
+                MonthLedger ledger = file.equals(getBinaryFile(month))
+                        ? MappedMonth.open(file).toLedger(pool) : parse(file, pool);
+                new LedgerJournal(journal).replay(ledger, file);
+                return ledger;
+            } finally {
+                LedgerMetrics.end(LedgerMetrics.Operation.LOAD, start, file.length() + journal.length());
+            }
+        }
+    }
+
+    /**
+     * Gets the version stamp of a month. It changes whenever the month is written or read again
+     * from its files, and never goes back to an earlier value.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's current version stamp.
+     * @throws IOException If an I/O error occurs while reading the CSV file.
+     */
+    public long getVersion(String month) throws IOException {
+        checkNotMainThread();
+        MonthLedger current = published(month);
+        if (current != null) {
+            return current.getVersion();
+        }
+        synchronized (lockFor(month)) {
+            return load(month).version;
+        }
+    }
+
+    /**
+     * Copies one page of a month's ledger, earnings first and then expenses. The cached month keeps
+     * the rows of each sign listed between calls, so a page costs its own rows at any offset.
+     *
+     * @param month  The partition key, such as "2026/april", in any case.
+     * @param offset The position of the first entry of the page in that order.
+     * @param limit  The largest number of entries to return.
+     * @return A new ledger with at most limit rows. Empty past the last entry.
+     * @throws IOException If an I/O error occurs while reading the CSV file.
+     */
+    public MonthLedger getPage(String month, int offset, int limit) throws IOException {
+        return read(month).page(offset, limit);
+    }
+
+    /**
+     * Copies the entries of a month dated within a range, in date order. The cached month keeps its
+     * rows sorted by date between calls, so a range costs a binary search plus the rows copied.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @param from  The first date of the range, in days since 1970-01-01.
+     * @param to    The last date of the range, inclusive.
+     * @return A new ledger with the matching rows. Empty if none match.
+     * @throws IOException If an I/O error occurs while reading the CSV file.
+     */
+    public MonthLedger getRange(String month, int from, int to) throws IOException {
+        return read(month).range(from, to, EntryDate.firstDayOf(month));
+    }
+
+    /**
+     * Gets the running totals of a month. If the month is not cached, the saved totals are used
+     * when they still match the month's files, so the CSV file is not parsed.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return A copy of the month's totals.
+     * @throws IOException If an I/O error occurs while reading the files.
+     */
+    public MonthTotals getTotals(String month) throws IOException {
+        checkNotMainThread();
+        long start = LedgerMetrics.begin(LedgerMetrics.Operation.TOTALS);
+        try {
+            MonthLedger current = published(month);
+            if (current != null) {
+                return current.getTotals().copy();
+            }
+            synchronized (lockFor(month)) {
+                CachedMonth cached = cached(month);
+                if (cached == null || !cached.isCurrent(getBaseFile(month))) {
+                    MonthTotals saved = readTotals(month);
+                    if (saved != null) {
+                        return saved;
+                    }
+                    cached = load(month);
+                    saveTotals(month, cached);
+                }
+                return cached.ledger.getTotals().copy();
+            }
+        } finally {
+            LedgerMetrics.end(LedgerMetrics.Operation.TOTALS, start, 0);
+        }
+    }
+
+    /**
+     * Checks if an entry with the specified name already exists in a month.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to check.
+     * @return True if the entry exists, false otherwise.
+     * @throws IOException If an I/O error occurs while reading the CSV file.
+     */
+    public boolean entryExists(String month, String entryName) throws IOException {
+        checkNotMainThread();
+        long start = LedgerMetrics.begin(LedgerMetrics.Operation.EXISTS);
+        try {
+            MonthLedger current = published(month);
+            if (current != null) {
+                return current.contains(entryName);
+            }
+            // A check between writes, as in an import, should not pay for a new snapshot
+            synchronized (lockFor(month)) {
+                return load(month).ledger.contains(entryName);
+            }
+        } finally {
+            LedgerMetrics.end(LedgerMetrics.Operation.EXISTS, start, 0);
+        }
+    }
+
+    /**
+     * Adds a new entry to a month by appending a create operation to its journal. An entry whose
+     * name the month already holds is added as a row of its own, as the month files always held
+     * them. If the append fails, the cached month is dropped and read again on next use.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @param entry The entry to add.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public void addEntry(String month, FinancialEntry entry) throws IOException {
+        synchronized (lockFor(month)) {
+            appendEntries(month, load(month), Collections.singletonList(entry));
+        }
+    }
+
+    /**
+     * Adds several entries to a month by appending their create operations to its journal in one
+     * write, synced to disk once. If the append fails, the cached month is dropped and read again
+     * on next use, so it shows exactly the operations that reached the journal.
+     *
+     * @param month   The partition key, such as "2026/april", in any case.
+     * @param entries The entries to add, in order.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public void addEntries(String month, List<FinancialEntry> entries) throws IOException {
+        addEntries(month, entries, ANY_VERSION);
+    }
+
+    /**
+     * Adds several entries to a month as {@link #addEntries(String, List)} does, but only if the
+     * month is still at a version stamp, so entries chosen from a snapshot, such as those whose
+     * names the snapshot did not hold, are not added on top of a month that changed since.
+     *
+     * @param month   The partition key, such as "2026/april", in any case.
+     * @param entries The entries to add, in order.
+     * @param version The version stamp of the snapshot the entries were chosen from.
+     * @return True if the entries were added, false if the month has changed since; nothing is
+     * written then.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public boolean addEntries(String month, List<FinancialEntry> entries, long version) throws IOException {
+        synchronized (lockFor(month)) {
+            CachedMonth cached = load(month);
+            if (version != ANY_VERSION && cached.version != version) {
+                return false;
+            }
+            if (!entries.isEmpty()) {
+                appendEntries(month, cached, entries);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Appends the create operations of several entries to a month's journal and applies them to
+     * the cached month. Must be called with the month's lock held.
+     *
+     * @param month   The partition key, such as "2026/april", in any case.
+     * @param cached  The loaded month.
+     * @param entries The entries to add, in order; not empty.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    private void appendEntries(String month, CachedMonth cached, List<FinancialEntry> entries) throws IOException {
+        openPartition(month);
+        long start = LedgerMetrics.begin(LedgerMetrics.Operation.APPEND);
+        long written = 0;
+        try {
+            written = cached.journal.appendCreates(entries);
+        } catch (IOException e) {
+            drop(month);
+            throw e;
+        } finally {
+            LedgerMetrics.end(LedgerMetrics.Operation.APPEND, start, written);
+        }
+        for (FinancialEntry entry : entries) {
+            cached.ledger.add(entry.getName(), (byte) entry.getSign().charAt(0), entry.getAmount(),
+                    entry.getCategory(), entry.getDate());
+        }
+        afterWrite(month, cached, entries.size());
+    }
+
+    /**
+     * Drops a month from the cache after a failed journal append, which may have reached the file
+     * in part, so the month is read again from its files on next use. Must be called with the
+     * month's lock held.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     */
+    private void drop(String month) {
+        synchronized (cache) {
+            cache.remove(month.toLowerCase());
+        }
+    }
+
+    /**
+     * Updates the amount of an existing entry by appending an update operation to the month's journal.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to update.
+     * @param amount    The new amount of the entry, in cents.
+     * @return True if the entry was found and updated, false otherwise.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public boolean updateAmount(String month, String entryName, long amount) throws IOException {
+        return updateAmount(month, entryName, amount, ANY_VERSION);
+    }
+
+    /**
+     * Updates the amount of an existing entry only if the month is still at a version stamp. A
+     * caller that computed the amount from a snapshot, such as adding to the old amount, passes
+     * the snapshot's stamp; if another writer changed the month in between, the update is refused
+     * and the caller reads the month again and retries, instead of overwriting that writer's update.
+     * If the append fails, the cached month is dropped and read again on next use.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to update.
+     * @param amount    The new amount of the entry, in cents.
+     * @param version   The version stamp of the snapshot the amount was computed from.
+     * @return True if the entry was updated, false if the month has changed since or the entry
+     * does not exist.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public boolean updateAmount(String month, String entryName, long amount, long version) throws IOException {
+        synchronized (lockFor(month)) {
+            CachedMonth cached = load(month);
+            int row = cached.ledger.indexOf(entryName);
+            if (row < 0 || version != ANY_VERSION && cached.version != version) {
+                return false;
+            }
+            long start = LedgerMetrics.begin(LedgerMetrics.Operation.UPDATE);
+            long written = 0;
+            try {
+                written = cached.journal.appendUpdate(entryName, amount);
+            } catch (IOException e) {
+                drop(month);
+                throw e;
+            } finally {
+                LedgerMetrics.end(LedgerMetrics.Operation.UPDATE, start, written);
+            }
+            cached.ledger.setAmount(row, amount);
+            afterWrite(month, cached, 1);
+            return true;
+        }
+    }
+
+    /**
+     * Deletes an existing entry by appending a delete operation to the month's journal. If the
+     * append fails, the cached month is dropped and read again on next use.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to delete.
+     * @return True if the entry was found and deleted, false otherwise.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public boolean deleteEntry(String month, String entryName) throws IOException {
+        synchronized (lockFor(month)) {
+            CachedMonth cached = load(month);
+            int row = cached.ledger.indexOf(entryName);
+            if (row < 0) {
+                return false;
+            }
+            long start = LedgerMetrics.begin(LedgerMetrics.Operation.DELETE);
+            long written = 0;
+            try {
+                written = cached.journal.appendDelete(entryName);
+            } catch (IOException e) {
+                drop(month);
+                throw e;
+            } finally {
+                LedgerMetrics.end(LedgerMetrics.Operation.DELETE, start, written);
+            }
+            cached.ledger.remove(row);
+            afterWrite(month, cached, 1);
+            return true;
+        }
+    }
+
+    /**
+     * Folds a month's journal back into its base file, CSV or binary. The file is written to a
+     * temporary file, marked as folded in the journal and renamed over the old one, so a crash
+     * leaves either the old file plus the journal or the new file plus a journal whose operations
+     * replay skips; either gives the same entries.
+     * Compaction does not change the entries, so the month keeps its version stamp.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @throws IOException If an I/O error occurs while writing the base file.
+     */
+    public void compact(String month) throws IOException {
+        synchronized (lockFor(month)) {
+            CachedMonth cached = load(month);
+            if (cached.operations == 0) {
+                return;
+            }
+            boolean binary = binaryFormat;
+            File file = binary ? getBinaryFile(month) : getFile(month);
+            File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+            long start = LedgerMetrics.begin(LedgerMetrics.Operation.COMPACT);
+            try {
+                if (binary) {
+                    BinaryMonthFile.write(cached.ledger, temp);
+                } else {
+                    writeCsv(cached.ledger, temp);
+                }
+            } finally {
+                LedgerMetrics.end(LedgerMetrics.Operation.COMPACT, start, temp.length());
+            }
+            cached.journal.appendFolded(temp);
+            if (!temp.renameTo(file)) {
+                throw new IOException("Could not replace " + file);
+            }
+            // The other format is now out of date
+            File other = binary ? getFile(month) : getBinaryFile(month);
+            if (other.exists() && !other.delete()) {
+                throw new IOException("Could not delete " + other);
+            }
+            cached.journal.delete();
+            cached.operations = 0;
+            cached.stamp(file);
+            saveTotals(month, cached);
+        }
+    }
+
+    /**
+     * Gets the keys of every partition that holds data, oldest first.
+     *
+     * @return A new list of partition keys, such as "2026/april".
+     * @throws IOException If an I/O error occurs while reading the partition index.
+     */
+    public List<String> getPartitions() throws IOException {
+        checkNotMainThread();
+        synchronized (partitions) {
+            return partitions.getKeys();
+        }
+    }
+
+    /**
+     * Gets the years that hold data, oldest first.
+     *
+     * @return A new list of years.
+     * @throws IOException If an I/O error occurs while reading the partition index.
+     */
+    public List<Integer> getYears() throws IOException {
+        checkNotMainThread();
+        synchronized (partitions) {
+            return partitions.getYears();
+        }
+    }
+
+    /**
+     * Moves the flat month files of earlier versions, such as {@code april.csv}, into year
+     * partitions. A flat file has no year of its own, so each month goes to the year its files were
+     * last modified in. A month whose partition already exists is left where it is. Running the
+     * migration again does nothing.
+     *
+     * @return The number of months moved.
+     * @throws IOException If a file cannot be moved.
+     */
+    public int migrateFlatMonths() throws IOException {
+        checkNotMainThread();
+        int moved = 0;
+        for (String month : LedgerAggregator.MONTHS) {
+            if (migrateFlatMonth(month)) {
+                ++moved;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Moves one flat month into its year partition, holding the locks of both keys. They are taken
+     * in stripe order, so two threads that each need two stripes cannot wait on each other.
+     *
+     * @param month The month name, such as "April".
+     * @return True if the month was moved.
+     * @throws IOException If a file cannot be moved.
+     */
+    private boolean migrateFlatMonth(String month) throws IOException {
+        String flat = month.toLowerCase();
+        File[] files = {getFile(flat), getBinaryFile(flat), getJournalFile(flat), getTotalsFile(flat)};
+        long lastModified = 0;
+        for (File file : files) {
+            lastModified = Math.max(lastModified, file.lastModified());
+        }
+        if (lastModified == 0) {
+            return false;
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(lastModified);
+        String key = PartitionIndex.key(calendar.get(Calendar.YEAR), month);
+        int first = Math.min(stripeOf(flat), stripeOf(key));
+        int second = Math.max(stripeOf(flat), stripeOf(key));
+        synchronized (stripes[first]) {
+            synchronized (stripes[second]) {
+                if (getBaseFile(key).exists() || getJournalFile(key).exists()) {
+                    return false;
+                }
+                File[] targets = {getFile(key), getBinaryFile(key), getJournalFile(key), getTotalsFile(key)};
+                openPartition(key);
+                for (int i = 0; i < files.length; ++i) {
+                    if (files[i].exists() && !files[i].renameTo(targets[i])) {
+                        throw new IOException("Could not move " + files[i] + " to " + targets[i]);
+                    }
+                }
+                synchronized (cache) {
+                    cache.remove(flat);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drops every cached month so the next access parses the files again.
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Gets a stamp of a month's files that changes whenever the month is written or compacted, or
+     * its files are changed on disk. It only reads file metadata and takes no lock.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's current stamp.
+     */
+    public String getStamp(String month) {
+        File file = getBaseFile(month);
+        return CachedMonth.stampLine(file.lastModified(), file.length(), getJournalFile(month).length());
+    }
+
+    /**
+     * Gets the CSV file backing a month.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's CSV file.
+     */
+    public File getFile(String month) {
+        return new File(directory, month.toLowerCase() + ".csv");
+    }
+
+    /**
+     * Gets the binary file backing a month when the binary format is used.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's binary file.
+     */
+    public File getBinaryFile(String month) {
+        return new File(directory, month.toLowerCase() + ".ccm");
+    }
+
+    /**
+     * Gets the journal file of a month.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's journal file.
+     */
+    public File getJournalFile(String month) {
+        return new File(directory, month.toLowerCase() + ".journal");
+    }
+
+    /**
+     * Gets the file holding the saved totals of a month.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's totals file.
+     */
+    public File getTotalsFile(String month) {
+        return new File(directory, month.toLowerCase() + ".totals");
+    }
+
+    /**
+     * Creates a partition's year directory and records the partition in the index, before its
+     * first file is written.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @throws IOException If the directory or the index cannot be written.
+     */
+    private void openPartition(String month) throws IOException {
+        File parent = getFile(month).getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        synchronized (partitions) {
+            partitions.add(month);
+        }
+    }
+
+    /**
+     * Gets the file the month is currently stored in: the binary file if there is one, the CSV
+     * file otherwise.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's base file, which may not exist yet.
+     */
+    private File getBaseFile(String month) {
+        File binary = getBinaryFile(month);
+        return binary.exists() ? binary : getFile(month);
+    }
+
+    /**
+     * Gets the lock that serializes the loads and writes of a month.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's lock stripe.
+     */
+    private Object lockFor(String month) {
+        return stripes[stripeOf(month)];
+    }
+
+    /**
+     * Gets the stripe a month's lock is in.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The index of the stripe, from 0 to {@link #LOCK_STRIPES} - 1.
+     */
+    private static int stripeOf(String month) {
+        int hash = month.toLowerCase().hashCode();
+        // Spread the high bits, since keys of one year differ mostly in their last characters
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Gets the cached month for a key, if it is cached.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The cached month, or null.
+     */
+    private CachedMonth cached(String month) {
+        synchronized (cache) {
+            return cache.get(month.toLowerCase());
+        }
+    }
+
+    /**
+     * Gets the published snapshot of a month without taking its lock, if the month is cached, has
+     * been read since its last write and its files have not changed since.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The frozen snapshot, or null if the month has to be loaded or published first.
+     */
+    private MonthLedger published(String month) {
+        CachedMonth cached = cached(month);
+        if (cached == null) {
+            return null;
+        }
+        Snapshot snapshot = cached.snapshot;
+        if (snapshot == null || !snapshot.isCurrent(getBaseFile(month), cached.journal.getFile())) {
+            return null;
+        }
+        return snapshot.ledger;
+    }
+
+    /**
+     * Gets the current snapshot of a month: the published one without a lock when it is current,
+     * otherwise a new one built with the month's lock held.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The frozen snapshot of the month.
+     * @throws IOException If an I/O error occurs while reading the base file or journal.
+     */
+    private MonthLedger read(String month) throws IOException {
+        checkNotMainThread();
+        MonthLedger current = published(month);
+        if (current != null) {
+            return current;
+        }
+        synchronized (lockFor(month)) {
+            return load(month).publish();
+        }
+    }
+
+    /**
+     * Returns the cached entries of a month, reading the base file and replaying the journal if the
+     * month is not cached yet or either file has changed since it was last read. In binary mode a
+     * CSV base file is converted first. A month read again gets a new version stamp. Must be called
+     * with the month's lock held.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The cached month.
+     * @throws IOException If an I/O error occurs while reading the base file or journal.
+     */
+    private CachedMonth load(String month) throws IOException {
+        checkNotMainThread();
+        String key = month.toLowerCase();
+        File file = getBaseFile(month);
+        CachedMonth cached = cached(key);
+        if (cached != null && cached.isCurrent(file)) {
+            return cached;
+        }
+        if (binaryFormat && file.equals(getFile(month)) && file.exists()) {
+            file = convertToBinary(month);
+        }
+        File journal = getJournalFile(month);
+        long start = LedgerMetrics.begin(LedgerMetrics.Operation.LOAD);
+        try {
+            MonthLedger ledger = file.equals(getBinaryFile(month))
+                    ? MappedMonth.open(file).toLedger(names) : parse(file, names);
+            cached = new CachedMonth(ledger, new LedgerJournal(journal));
+            cached.operations = cached.journal.replay(cached.ledger, file);
+        } finally {
+            // A missing file has length 0
+            LedgerMetrics.end(LedgerMetrics.Operation.LOAD, start, file.length() + journal.length());
+        }
+        cached.version = versions.incrementAndGet();
+        cached.stamp(file);
+        synchronized (cache) {
+            cache.put(key, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Gives a month a new version stamp and drops its snapshot after a journal append, records the
+     * new file state, then schedules compaction when the journal has grown past the threshold, or a
+     * save of the updated totals otherwise.
+     *
+     * @param month      The partition key, such as "2026/april", in any case.
+     * @param cached     The month that was written.
+     * @param operations The number of operations appended.
+     * @throws IOException If compaction or the totals save runs on this thread and fails.
+     */
+    private void afterWrite(String month, CachedMonth cached, int operations) throws IOException {
+        cached.operations += operations;
+        cached.version = versions.incrementAndGet();
+        cached.snapshot = null;
+        cached.stamp(getBaseFile(month));
+        if (cached.operations >= COMPACTION_THRESHOLD && !cached.compactionPending) {
+            scheduleCompaction(month, cached);
+        } else {
+            scheduleTotalsSave(month, cached);
+        }
+    }
+
+    /**
+     * Compacts a month now, or on the compaction executor if there is one.
+     *
+     * @param month  The partition key, such as "2026/april", in any case.
+     * @param cached The month to compact.
+     * @throws IOException If compaction runs on this thread and fails.
+     */
+    private void scheduleCompaction(final String month, CachedMonth cached) throws IOException {
+        if (compactionExecutor == null) {
+            compact(month);
+            return;
+        }
+        cached.compactionPending = true;
+        final CachedMonth scheduled = cached;
+        compactionExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (lockFor(month)) {
+                    scheduled.compactionPending = false;
+                    try {
+                        compact(month);
+                    } catch (IOException e) {
+                        // The journal is still intact; the next write will try again.
+                        e.printStackTrace();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Saves a month's totals now, or on the compaction executor if there is one. Writes that
+     * arrive before a scheduled save runs are folded into it.
+     *
+     * @param month  The partition key, such as "2026/april", in any case.
+     * @param cached The month whose totals changed.
+     * @throws IOException If the save runs on this thread and fails.
+     */
+    private void scheduleTotalsSave(final String month, CachedMonth cached) throws IOException {
+        if (compactionExecutor == null) {
+            saveTotals(month, cached);
+            return;
+        }
+        if (cached.totalsPending) {
+            return;
+        }
+        cached.totalsPending = true;
+        final CachedMonth scheduled = cached;
+        compactionExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (lockFor(month)) {
+                    scheduled.totalsPending = false;
+                    if (cached(month) != scheduled) {
+                        return;
+                    }
+                    try {
+                        saveTotals(month, scheduled);
+                    } catch (IOException e) {
+                        // The saved totals are only a cache; a stale file is rebuilt on the next read.
+                        e.printStackTrace();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes a month's totals to its totals file, stamped with the file state they describe. The
+     * file is written to a temporary file and renamed, so a reader never sees half of it.
+     *
+     * @param month  The partition key, such as "2026/april", in any case.
+     * @param cached The month whose totals to save.
+     * @throws IOException If an I/O error occurs while writing the totals file.
+     */
+    private void saveTotals(String month, CachedMonth cached) throws IOException {
+        if (!getBaseFile(month).exists() && !cached.journal.getFile().exists()) {
+            // An empty month has nothing worth saving
+            return;
+        }
+        File file = getTotalsFile(month);
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(temp, false), "UTF-8");
+        try {
+            writer.write(cached.stampLine());
+            cached.ledger.getTotals().write(writer);
+        } finally {
+            writer.close();
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    /**
+     * Reads a month's saved totals if they still describe its CSV file and journal.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The saved totals, or null if there are none or they are stale.
+     * @throws IOException If an I/O error occurs while reading the totals file.
+     */
+    private MonthTotals readTotals(String month) throws IOException {
+        BufferedReader reader;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(getTotalsFile(month)), "UTF-8"));
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+        try {
+            if (!getStamp(month).equals(reader.readLine() + "\n")) {
+                return null;
+            }
+            return MonthTotals.read(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Throws if the calling thread is the guarded main thread. Other stores call it too, so every
+     * backend refuses ledger I/O on the same thread.
+     *
+     * @throws IllegalStateException If ledger I/O is attempted on the main thread.
+     */
+    public static void checkNotMainThread() {
+        if (Thread.currentThread() == mainThread) {
+            throw new IllegalStateException("Ledger I/O on the main thread; use LedgerExecutor");
+        }
+    }
+
+    /**
+     * Parses a month CSV file into a columnar ledger. Each call uses its own parser, since months
+     * under different locks are parsed at once; names are still pooled across cached months.
+     *
+     * @param file The CSV file to parse.
+     * @param pool The pool the ledger's names and categories are interned in.
+     * @return The parsed ledger. Empty if the file does not exist.
+     * @throws IOException If an I/O error occurs while reading the CSV file.
+     */
+    private MonthLedger parse(File file, NamePool pool) throws IOException {
+        final MonthLedger ledger = new MonthLedger(pool);
+        Reader reader;
+        try {
+            reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+        } catch (FileNotFoundException e) {
+            return ledger;
+        }
+        try {
+            new FinancialEntryParser(pool).parse(reader, new FinancialEntryParser.Handler() {
+                @Override
+                public void onEntry(String name, byte sign, long amount, String category, int date) {
+                    ledger.add(name, sign, amount, category, date);
+                }
+            });
+        } finally {
+            reader.close();
+        }
+        return ledger;
+    }
+
+    /**
+     * Converts a month's CSV file to the binary format and deletes the CSV file. The binary file is
+     * written under a temporary name and renamed, so a crash leaves the CSV file in place.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The new binary file.
+     * @throws IOException If an I/O error occurs while converting.
+     */
+    private File convertToBinary(String month) throws IOException {
+        File csv = getFile(month);
+        File binary = getBinaryFile(month);
+        File temp = new File(binary.getParentFile(), binary.getName() + ".tmp");
+        BinaryMonthFile.convert(csv, temp, names);
+        if (!temp.renameTo(binary)) {
+            throw new IOException("Could not replace " + binary);
+        }
+        if (!csv.delete()) {
+            throw new IOException("Could not delete " + csv);
+        }
+        return binary;
+    }
+
+    /**
+     * Writes a ledger as a month CSV file and syncs it to disk.
+     *
+     * @param ledger The ledger to write.
+     * @param file   The file to create or replace.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    private static void writeCsv(MonthLedger ledger, File file) throws IOException {
+        FileOutputStream out = new FileOutputStream(file, false);
+        try {
+            Writer writer = new OutputStreamWriter(out, "UTF-8");
+            StringBuilder line = new StringBuilder(64);
+            for (int row = 0; row < ledger.size(); ++row) {
+                line.setLength(0);
+                appendCsvLine(line, ledger, row);
+                writer.append(line);
+            }
+            writer.flush();
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Appends one row of a ledger as a line of the month CSV file. A row without a category or a
+     * date keeps the three columns of earlier versions, and an undated row leaves out the date.
+     *
+     * @param line   The builder to append to.
+     * @param ledger The ledger holding the row.
+     * @param row    The row to format.
+     */
+    private static void appendCsvLine(StringBuilder line, MonthLedger ledger, int row) {
+        CsvFields.append(line, ledger.getName(row)).append(',').append((char) ledger.getSign(row)).append(',');
+        Money.appendTo(line, ledger.getAmount(row));
+        String category = ledger.getCategory(row);
+        int date = ledger.getDate(row);
+        if (!category.isEmpty() || date != EntryDate.NO_DATE) {
+            CsvFields.append(line.append(','), category);
+        }
+        if (date != EntryDate.NO_DATE) {
+            EntryDate.append(line.append(','), date);
+        }
+        line.append('\n');
+    }
+
+    /**
+     * A parsed month together with its journal and the file state it was read from. Its fields are
+     * guarded by the month's lock, except for the published snapshot, which readers take without it.
+     */
+    private static class CachedMonth {
+
+        /** Rows of the month, in file order, with the journal applied. Only written with the lock held. */
+        final MonthLedger ledger;
+
+        /** Version stamp of the rows; every load and write takes a new one. */
+        long version;
+
+        /** Frozen copy of the rows with the file state it matches, or null until the next read. */
+        volatile Snapshot snapshot;
+
+        /** The month's write-ahead journal. */
+        final LedgerJournal journal;
+
+        /** Number of journal operations not yet compacted into the CSV file. */
+        int operations;
+
+        /** Whether a background compaction has been scheduled but not run yet. */
+        boolean compactionPending;
+
+        /** Whether a background save of the totals has been scheduled but not run yet. */
+        boolean totalsPending;
+
+        /** Last modification time of the CSV file when it was last read or written. */
+        long lastModified;
+
+        /** Length of the CSV file when it was last read or written. */
+        long length;
+
+        /** Length of the journal when it was last read or written. */
+        long journalLength;
+
+        CachedMonth(MonthLedger ledger, LedgerJournal journal) {
+            this.ledger = ledger;
+            this.journal = journal;
+        }
+
+        /**
+         * Records the current state of the files after reading or writing them.
+         *
+         * @param file The month's CSV file.
+         */
+        void stamp(File file) {
+            lastModified = file.lastModified();
+            length = file.length();
+            journalLength = journal.getFile().length();
+            if (snapshot != null) {
+                // The rows are unchanged, as after a compaction; only the files moved on
+                snapshot = new Snapshot(snapshot.ledger, lastModified, length, journalLength);
+            }
+        }
+
+        /**
+         * Gets the published snapshot, freezing a copy of the rows first if there is none. Must be
+         * called with the month's lock held.
+         *
+         * @return The frozen snapshot, carrying the current version stamp.
+         */
+        MonthLedger publish() {
+            Snapshot current = snapshot;
+            if (current == null) {
+                MonthLedger copy = ledger.snapshot();
+                copy.setVersion(version);
+                current = new Snapshot(copy.freeze(), lastModified, length, journalLength);
+                snapshot = current;
+            }
+            return current.ledger;
+        }
+
+        /**
+         * Formats the stamp as the first line of the totals file.
+         *
+         * @return The stamp line, including the trailing newline.
+         */
+        String stampLine() {
+            return stampLine(lastModified, length, journalLength);
+        }
+
+        /**
+         * Formats a file state as the first line of the totals file.
+         *
+         * @param lastModified  Last modification time of the CSV file.
+         * @param length        Length of the CSV file.
+         * @param journalLength Length of the journal.
+         * @return The stamp line, including the trailing newline.
+         */
+        static String stampLine(long lastModified, long length, long journalLength) {
+            // Version 2 totals carry category sums; version 1 files are stale and rebuilt
+            return "2," + lastModified + "," + length + "," + journalLength + "\n";
+        }
+
+        /**
+         * Checks whether the files are unchanged since they were last stamped.
+         *
+         * @param file The month's CSV file.
+         * @return True if the cached entries still match the files.
+         */
+        boolean isCurrent(File file) {
+            return file.lastModified() == lastModified && file.length() == length
+                    && journal.getFile().length() == journalLength;
+        }
+    }
+
+    /**
+     * A frozen copy of a month's rows together with the file state it matches, so a reader can
+     * check the files and use the rows without the month's lock.
+     */
+    private static class Snapshot {
+
+        /** Frozen rows of the month. */
+        final MonthLedger ledger;
+
+        /** Last modification time of the base file the rows match. */
+        final long lastModified;
+
+        /** Length of the base file the rows match. */
+        final long length;
+
+        /** Length of the journal the rows match. */
+        final long journalLength;
+
+        Snapshot(MonthLedger ledger, long lastModified, long length, long journalLength) {
+            this.ledger = ledger;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.journalLength = journalLength;
+        }
+
+        /**
+         * Checks whether the files are unchanged since the snapshot was taken.
+         *
+         * @param file    The month's base file.
+         * @param journal The month's journal file.
+         * @return True if the snapshot still matches the files.
+         */
+        boolean isCurrent(File file, File journal) {
+            return file.lastModified() == lastModified && file.length() == length
+                    && journal.length() == journalLength;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The LedgerStore interface is the ledger API the activities use, independent of how the entries
+ * are stored. LedgerRepository keeps each month in its own files; the app can also keep them in a
+ * SQLite database. Every method takes a partition key such as {@code 2026/april}, built with
+ * {@link PartitionIndex#key(int, String)}, and may block, so it must not be called on the main
+ * thread.
+ *
+ * <p>Stores are safe to use from several threads. Each month has a version stamp that changes with
+ * every write, and the ledgers a store returns carry the stamp they were read at. A writer that
+ * computes a write from what it read passes that stamp to a conditional write; if another writer
+ * changed the month in between, the write is refused and the caller reads again and retries.
+ */
+public interface LedgerStore {
+
+    /**
+     * Gets all financial entries recorded for a month, in the order they were added.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return A copy of the month's entries. Empty if the month has no entries.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    List<FinancialEntry> getEntries(String month) throws IOException;
+
+    /**
+     * Gets a copy of a month's ledger, for screens that read many rows or totals.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return A snapshot of the month's ledger, carrying the month's version stamp. It may be
+     * frozen and shared with other readers; call {@link MonthLedger#snapshot()} for a copy to
+     * change. Empty if the month has no entries.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    MonthLedger getLedger(String month) throws IOException;
+
+    /**
+     * Reads a month's ledger for a single pass, such as an export, without keeping it in the store's
+     * cache, so a pass over many months does not push the months in use out of it. A month the store
+     * already holds is served from its copy.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's ledger. It may be frozen and shared with other readers, and must not be
+     * changed. Empty if the month has no entries.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    MonthLedger readLedger(String month) throws IOException;
+
+    /**
+     * Gets the version stamp of a month, which changes with every write to it.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return The month's current version stamp, a positive number.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    long getVersion(String month) throws IOException;
+
+    /**
+     * Gets one page of a month's entries, earnings first and then expenses, each in the order
+     * they were added.
+     *
+     * @param month  The partition key, such as "2026/april", in any case.
+     * @param offset The position of the first entry of the page in that order.
+     * @param limit  The largest number of entries to return.
+     * @return A new ledger with at most limit rows. Empty past the last entry.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    MonthLedger getPage(String month, int offset, int limit) throws IOException;
+
+    /**
+     * Gets the entries of a month dated within a range, in date order. Entries recorded before
+     * dates existed count as dated on the first day of their month and are listed first. To query
+     * a range that spans months, use {@link DateRangeQuery}.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @param from  The first date of the range, in days since 1970-01-01.
+     * @param to    The last date of the range, inclusive.
+     * @return A new ledger with the matching entries. Empty if none match.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    MonthLedger getRange(String month, int from, int to) throws IOException;
+
+    /**
+     * Gets the totals, counts and per-name sums of a month.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return A copy of the month's totals.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    MonthTotals getTotals(String month) throws IOException;
+
+    /**
+     * Checks if an entry with the specified name already exists in a month.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to check.
+     * @return True if the entry exists, false otherwise.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    boolean entryExists(String month, String entryName) throws IOException;
+
+    /**
+     * Adds a new entry to a month as a row of its own, after the month's other rows. A name the
+     * month already holds is not replaced; the month then holds the name twice, and updates and
+     * deletes by name act on its first row. Callers that want one row per name check
+     * {@link #entryExists(String, String)} first.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @param entry The entry to add.
+     * @throws IOException If an I/O error occurs while writing the month.
+     */
+    void addEntry(String month, FinancialEntry entry) throws IOException;
+
+    /**
+     * Adds several entries to a month as one write: either all of them are stored or, if the
+     * write fails, none of them are. Each entry gets a row of its own, as with
+     * {@link #addEntry(String, FinancialEntry)}.
+     *
+     * @param month   The partition key, such as "2026/april", in any case.
+     * @param entries The entries to add, in order.
+     * @throws IOException If an I/O error occurs while writing the month.
+     */
+    void addEntries(String month, List<FinancialEntry> entries) throws IOException;
+
+    /**
+     * Adds several entries to a month as one write, but only if the month is still at the version
+     * stamp of the ledger the entries were chosen from.
+     *
+     * @param month   The partition key, such as "2026/april", in any case.
+     * @param entries The entries to add, in order.
+     * @param version The version stamp of the ledger the entries were chosen from.
+     * @return True if the entries were added, false if the month has changed since; nothing is
+     * added then.
+     * @throws IOException If an I/O error occurs while writing the month.
+     */
+    boolean addEntries(String month, List<FinancialEntry> entries, long version) throws IOException;
+
+    /**
+     * Updates the amount of an existing entry, the first one if the month holds the name twice.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to update.
+     * @param amount    The new amount of the entry, in cents.
+     * @return True if the entry was found and updated, false otherwise.
+     * @throws IOException If an I/O error occurs while writing the month.
+     */
+    boolean updateAmount(String month, String entryName, long amount) throws IOException;
+
+    /**
+     * Updates the amount of an existing entry, but only if the month is still at the version stamp
+     * of the ledger the amount was computed from.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to update.
+     * @param amount    The new amount of the entry, in cents.
+     * @param version   The version stamp of the ledger the amount was computed from.
+     * @return True if the entry was updated, false if the month has changed since or the entry
+     * does not exist.
+     * @throws IOException If an I/O error occurs while writing the month.
+     */
+    boolean updateAmount(String month, String entryName, long amount, long version) throws IOException;
+
+    /**
+     * Deletes an existing entry, the first one if the month holds the name twice.
+     *
+     * @param month     The partition key, such as "2026/april", in any case.
+     * @param entryName The name of the entry to delete.
+     * @return True if the entry was found and deleted, false otherwise.
+     * @throws IOException If an I/O error occurs while writing the month.
+     */
+    boolean deleteEntry(String month, String entryName) throws IOException;
+
+    /**
+     * Gets the keys of every partition that holds data, oldest first.
+     *
+     * @return A new list of partition keys, such as "2026/april".
+     * @throws IOException If an I/O error occurs while listing the partitions.
+     */
+    List<String> getPartitions() throws IOException;
+
+    /**
+     * Gets the years that hold data, oldest first.
+     *
+     * @return A new list of years.
+     * @throws IOException If an I/O error occurs while listing the partitions.
+     */
+    List<Integer> getYears() throws IOException;
+}
@@ -0,0 +1,20 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.IOException;
+
+/**
+ * The LedgerTask interface represents a unit of ledger I/O that is run on the LedgerExecutor's
+ * background thread.
+ *
+ * @param <T> The type of the task's result.
+ */
+public interface LedgerTask<T> {
+
+    /**
+     * Runs the task on the background I/O thread.
+     *
+     * @return The result handed to the task's LedgerCallback.
+     * @throws IOException If an I/O error occurs while reading or writing the ledger.
+     */
+    T run() throws IOException;
+}
@@ -0,0 +1,240 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * The MappedMonth class reads a file written by BinaryMonthFile through {@code FileChannel.map}.
+ * Amounts and signs are read straight from the mapped records, so totals need no decoding at all,
+ * and a name or category is only decoded from the dictionary the first time its id is asked for.
+ * Files of every format version are read; version 1 files have no categories, and version 1 and 2
+ * files have no dates.
+ */
+public class MappedMonth {
+
+    /** The mapped file. */
+    private final ByteBuffer buffer;
+
+    /** Number of records. */
+    private final int size;
+
+    /** Size of one record, which depends on the format version. */
+    private final int recordSize;
+
+    /** Offset of each name in the dictionary, by name id. */
+    private final int[] nameOffsets;
+
+    /** Names and categories decoded so far, by dictionary id. */
+    private final String[] names;
+
+    /**
+     * Constructs a MappedMonth over an already validated mapping.
+     *
+     * @param buffer      The mapped file.
+     * @param size        The number of records.
+     * @param recordSize  The size of one record.
+     * @param nameOffsets The offset of each name in the dictionary.
+     */
+    private MappedMonth(ByteBuffer buffer, int size, int recordSize, int[] nameOffsets) {
+        this.buffer = buffer;
+        this.size = size;
+        this.recordSize = recordSize;
+        this.nameOffsets = nameOffsets;
+        this.names = new String[nameOffsets.length];
+    }
+
+    /**
+     * Maps a binary month file and checks its header and dictionary.
+     *
+     * @param file The binary month file.
+     * @return The mapped month.
+     * @throws IOException If the file cannot be read or is not a binary month file of a known version.
+     */
+    public static MappedMonth open(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        MappedByteBuffer mapped;
+        try {
+            FileChannel channel = raf.getChannel();
+            long length = channel.size();
+            if (length < BinaryMonthFile.HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Not a binary month file: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        } finally {
+            raf.close();
+        }
+        ByteBuffer buffer = mapped.order(BinaryMonthFile.ORDER);
+
+        if (buffer.getInt(0) != BinaryMonthFile.MAGIC) {
+            throw new IOException("Not a binary month file: " + file);
+        }
+        short version = buffer.getShort(4);
+        int recordSize = version == BinaryMonthFile.VERSION
+                ? BinaryMonthFile.RECORD_SIZE : BinaryMonthFile.UNDATED_RECORD_SIZE;
+        if ((version != BinaryMonthFile.VERSION && version != BinaryMonthFile.VERSION_WITHOUT_DATES
+                && version != BinaryMonthFile.VERSION_WITHOUT_CATEGORIES)
+                || buffer.getShort(6) != recordSize) {
+            throw new IOException("Unsupported binary month file version " + buffer.getShort(4) + ": " + file);
+        }
+        int size = buffer.getInt(8);
+        int nameCount = buffer.getInt(12);
+        long dictionary = buffer.getLong(16);
+        if (size < 0 || nameCount < 0
+                || dictionary != BinaryMonthFile.HEADER_SIZE + (long) size * recordSize
+                || dictionary > buffer.limit()) {
+            throw new IOException("Corrupt binary month file: " + file);
+        }
+
+        int[] nameOffsets = new int[nameCount];
+        int offset = (int) dictionary;
+        for (int id = 0; id < nameCount; ++id) {
+            if (offset + 4 > buffer.limit()) {
+                throw new IOException("Corrupt binary month file: " + file);
+            }
+            int length = buffer.getInt(offset);
+            if (length < 0 || offset + 4 + (long) length > buffer.limit()) {
+                throw new IOException("Corrupt binary month file: " + file);
+            }
+            nameOffsets[id] = offset;
+            offset += 4 + length;
+        }
+        return new MappedMonth(buffer, size, recordSize, nameOffsets);
+    }
+
+    /**
+     * Gets the number of records.
+     *
+     * @return The number of entries in the month.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the amount of a record.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return The amount of the entry, in cents.
+     */
+    public long getAmount(int row) {
+        return buffer.getLong(recordOffset(row));
+    }
+
+    /**
+     * Gets the sign byte of a record.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     */
+    public byte getSign(int row) {
+        return buffer.get(recordOffset(row) + BinaryMonthFile.SIGN_OFFSET);
+    }
+
+    /**
+     * Gets the name of a record, decoding it from the dictionary on first use.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return The name of the entry.
+     * @throws IllegalStateException If the record points outside the dictionary.
+     */
+    public String getName(int row) {
+        return stringAt(buffer.getInt(recordOffset(row) + BinaryMonthFile.NAME_OFFSET));
+    }
+
+    /**
+     * Gets the category of a record, decoding it from the dictionary on first use.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return The category of the entry, or {@link FinancialEntry#NO_CATEGORY}.
+     * @throws IllegalStateException If the record points outside the dictionary.
+     */
+    public String getCategory(int row) {
+        int offset = recordOffset(row) + BinaryMonthFile.CATEGORY_OFFSET;
+        int id = (buffer.get(offset) & 0xFF) | (buffer.get(offset + 1) & 0xFF) << 8
+                | (buffer.get(offset + 2) & 0xFF) << 16;
+        return id == 0 ? FinancialEntry.NO_CATEGORY : stringAt(id - 1);
+    }
+
+    /**
+     * Gets the date of a record.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return The date of the entry, in days since 1970-01-01, or {@link EntryDate#NO_DATE}.
+     */
+    public int getDate(int row) {
+        if (recordSize < BinaryMonthFile.RECORD_SIZE) {
+            return EntryDate.NO_DATE;
+        }
+        return buffer.getInt(recordOffset(row) + BinaryMonthFile.DATE_OFFSET);
+    }
+
+    /**
+     * Gets a name or category from the dictionary, decoding it on first use.
+     *
+     * @param id The dictionary id.
+     * @return The decoded string.
+     * @throws IllegalStateException If the id is outside the dictionary.
+     */
+    private String stringAt(int id) {
+        if (id < 0 || id >= names.length) {
+            throw new IllegalStateException("Name id " + id + " outside the dictionary");
+        }
+        String name = names[id];
+        if (name == null) {
+            int offset = nameOffsets[id];
+            byte[] bytes = new byte[buffer.getInt(offset)];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + 4);
+            view.get(bytes);
+            name = new String(bytes, BinaryMonthFile.UTF_8);
+            names[id] = name;
+        }
+        return name;
+    }
+
+    /**
+     * Sums the amounts of every record with the given sign, straight from the mapped file.
+     *
+     * @param sign {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @return The total, in cents.
+     */
+    public long total(byte sign) {
+        long total = 0;
+        int end = recordOffset(size);
+        for (int offset = BinaryMonthFile.HEADER_SIZE; offset < end; offset += recordSize) {
+            if (buffer.get(offset + BinaryMonthFile.SIGN_OFFSET) == sign) {
+                total += buffer.getLong(offset);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Copies every record into a columnar ledger. Each distinct name is decoded and pooled once.
+     *
+     * @param pool The shared dictionary of entry names.
+     * @return A new ledger with the records in file order.
+     */
+    public MonthLedger toLedger(NamePool pool) {
+        MonthLedger ledger = new MonthLedger(pool, size);
+        for (int row = 0; row < size; ++row) {
+            ledger.add(getName(row), getSign(row), getAmount(row), getCategory(row), getDate(row));
+        }
+        return ledger;
+    }
+
+    /**
+     * Gets the byte offset of a record.
+     *
+     * @param row The row.
+     * @return The offset of the record in the file.
+     */
+    private int recordOffset(int row) {
+        return BinaryMonthFile.HEADER_SIZE + row * recordSize;
+    }
+}
@@ -0,0 +1,181 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The Money class holds the fixed-point arithmetic of the CoinControl app. Amounts are stored as a
+ * {@code long} number of cents, so sums are exact and need no allocation, and they are written to
+ * the month files with exactly two decimals. Old files written with {@code double} amounts, such as
+ * {@code 12.5} or {@code 1.2345678E7}, still parse to the same number of cents.
+ */
+public final class Money {
+
+    /** Returned by {@link #parse(char[], int, int)} when the characters are not an amount. */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /** Number of cents in one dollar. */
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    /** Largest whole-dollar amount the fast parser accumulates before handing over to BigDecimal. */
+    private static final long MAX_DOLLARS = Long.MAX_VALUE / CENTS_PER_DOLLAR - 1;
+
+    private Money() {
+    }
+
+    /**
+     * Parses an amount typed by the user or read from a month file.
+     *
+     * @param amount The amount, such as "12", "12.5" or "-3.25".
+     * @return The amount in cents.
+     * @throws NumberFormatException If the text is not an amount.
+     */
+    public static long parse(String amount) {
+        char[] chars = amount.trim().toCharArray();
+        long cents = parse(chars, 0, chars.length);
+        if (cents == INVALID) {
+            throw new NumberFormatException("Invalid amount: " + amount);
+        }
+        return cents;
+    }
+
+    /**
+     * Parses an amount straight from a char buffer, without creating a String. Digits past the
+     * cents are rounded half up. Exponent forms, which {@code Double.toString} wrote for large
+     * amounts, and amounts too large for the fast path go through BigDecimal.
+     *
+     * @param buf   The buffer holding the amount.
+     * @param start The index of the amount's first character.
+     * @param end   The index just past the amount's last character.
+     * @return The amount in cents, or {@link #INVALID} if the characters are not an amount.
+     */
+    public static long parse(char[] buf, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            ++i;
+        }
+        long dollars = 0;
+        long cents = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        boolean roundUp = false;
+        for (; i < end; ++i) {
+            char c = buf[i];
+            if (c >= '0' && c <= '9') {
+                ++digits;
+                if (fractionDigits < 0) {
+                    if (dollars > (MAX_DOLLARS - 9) / 10) {
+                        return parseSlow(buf, start, end);
+                    }
+                    dollars = dollars * 10 + (c - '0');
+                } else {
+                    ++fractionDigits;
+                    if (fractionDigits <= 2) {
+                        cents = cents * 10 + (c - '0');
+                    } else if (fractionDigits == 3) {
+                        roundUp = c >= '5';
+                    }
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseSlow(buf, start, end);
+            }
+        }
+        if (digits == 0) {
+            return INVALID;
+        }
+        if (fractionDigits == 1) {
+            cents *= 10;
+        }
+        long total = dollars * CENTS_PER_DOLLAR + cents + (roundUp ? 1 : 0);
+        return negative ? -total : total;
+    }
+
+    /**
+     * Parses the rare amount forms the fast path skips through BigDecimal.
+     *
+     * @param buf   The buffer holding the amount.
+     * @param start The index of the amount's first character.
+     * @param end   The index just past the amount's last character.
+     * @return The amount in cents, or {@link #INVALID} if the characters are not an amount.
+     */
+    private static long parseSlow(char[] buf, int start, int end) {
+        try {
+            return new BigDecimal(buf, start, end - start)
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Converts cents to a {@code double} dollar amount, for charts and other approximate uses.
+     *
+     * @param cents The amount in cents.
+     * @return The amount in dollars.
+     */
+    public static double toDouble(long cents) {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * Formats an amount with exactly two decimals, such as "12.50" or "-3.25".
+     *
+     * @param cents The amount in cents.
+     * @return The formatted amount.
+     */
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(24), cents).toString();
+    }
+
+    /**
+     * Appends an amount with exactly two decimals to a builder, without String.format.
+     *
+     * @param sb    The builder to append to.
+     * @param cents The amount in cents.
+     * @return The builder.
+     */
+    public static StringBuilder appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+        }
+        long dollars = Math.abs(cents / CENTS_PER_DOLLAR);
+        int remainder = (int) Math.abs(cents % CENTS_PER_DOLLAR);
+        sb.append(dollars).append('.');
+        if (remainder < 10) {
+            sb.append('0');
+        }
+        return sb.append(remainder);
+    }
+
+    /**
+     * Formats the share of a part in a whole as a percentage with two decimals, such as "12.34".
+     *
+     * @param part  The part, in cents.
+     * @param whole The whole, in cents.
+     * @return The formatted percentage, or "0.00" if the whole is zero.
+     */
+    public static String formatPercent(long part, long whole) {
+        return appendPercent(new StringBuilder(16), part, whole).toString();
+    }
+
+    /**
+     * Appends the share of a part in a whole as a percentage with two decimals to a builder.
+     *
+     * @param sb    The builder to append to.
+     * @param part  The part, in cents.
+     * @param whole The whole, in cents.
+     * @return The builder, with "0.00" appended if the whole is zero.
+     */
+    public static StringBuilder appendPercent(StringBuilder sb, long part, long whole) {
+        if (whole == 0) {
+            return sb.append("0.00");
+        }
+        return appendTo(sb, Math.round(part * 10000.0 / whole));
+    }
+}
@@ -0,0 +1,666 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The MonthLedger class stores the entries of one month in columns instead of FinancialEntry
+ * objects: a {@code long[]} of amounts in cents, a {@code byte[]} of signs, two {@code int[]}
+ * columns of name and category ids into a shared NamePool and an {@code int[]} of dates. A row
+ * costs 21 bytes plus its share of the dictionary. Every write also updates a MonthTotals, so
+ * totals, counts and category sums are read in constant time.
+ *
+ * <p>Rows keep file order. A NameIndex over the rows is built on the first lookup by name and kept
+ * in sync by appends; a delete drops it so the next lookup rebuilds it. Likewise, the rows sorted by
+ * date are built into an {@code int[]} on the first range query, so a range is found by binary
+ * search; an append is inserted in place, and a delete or a date change drops the order. The rows
+ * of each sign are listed in row order on the first page read, so a page is copied straight from
+ * its position; an append goes at the end of its sign's list, and a delete or a sign change drops
+ * the lists.
+ *
+ * <p>A ledger is not thread-safe while it is written. {@link #freeze()} builds these indexes and
+ * makes it read-only, so a store can publish it once and let any number of threads read it without
+ * a lock. A ledger read from a store carries the store's version stamp for the month, which
+ * conditional writes such as {@link LedgerStore#updateAmount(String, String, long, long)} compare
+ * against to detect that the month changed since.
+ */
+public class MonthLedger {
+
+    /** Initial number of rows for an empty ledger. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Shared dictionary the name ids point into. */
+    private final NamePool names;
+
+    /** Amount of each row, in cents. */
+    private long[] amounts;
+
+    /** Sign byte of each row, {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}. */
+    private byte[] signs;
+
+    /** Name id of each row. */
+    private int[] nameIds;
+
+    /** Category id of each row, pooled with the names, or -1 for {@link FinancialEntry#NO_CATEGORY}. */
+    private int[] categoryIds;
+
+    /** Date of each row, in days since 1970-01-01, or {@link EntryDate#NO_DATE}. */
+    private int[] dates;
+
+    /** Number of rows. */
+    private int size;
+
+    /** Row of each name, or null until the first lookup by name. */
+    private NameIndex index;
+
+    /** Rows in date order, undated rows first, or null until the first range query. */
+    private int[] byDate;
+
+    /** Rows of each sign in row order, earnings then expenses, or null until the first page read. */
+    private int[][] bySign;
+
+    /** Running aggregates of the rows. */
+    private MonthTotals totals = new MonthTotals();
+
+    /** Version stamp of the month in the store this ledger was read from, or 0. */
+    private long version;
+
+    /** Whether the ledger is read-only. */
+    private boolean frozen;
+
+    /**
+     * Constructs an empty MonthLedger.
+     *
+     * @param names The shared dictionary of entry names.
+     */
+    public MonthLedger(NamePool names) {
+        this(names, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty MonthLedger with room for the given number of rows.
+     *
+     * @param names    The shared dictionary of entry names.
+     * @param capacity The number of rows to allocate up front.
+     */
+    public MonthLedger(NamePool names, int capacity) {
+        this.names = names;
+        capacity = Math.max(1, capacity);
+        amounts = new long[capacity];
+        signs = new byte[capacity];
+        nameIds = new int[capacity];
+        categoryIds = new int[capacity];
+        dates = new int[capacity];
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of entries in the month.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the name of a row.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return The name of the entry.
+     */
+    public String getName(int row) {
+        return names.nameOf(nameIds[row]);
+    }
+
+    /**
+     * Gets the category of a row.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return The category of the entry, or {@link FinancialEntry#NO_CATEGORY}.
+     */
+    public String getCategory(int row) {
+        int id = categoryIds[row];
+        return id < 0 ? FinancialEntry.NO_CATEGORY : names.nameOf(id);
+    }
+
+    /**
+     * Gets the date of a row.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return The date of the entry, in days since 1970-01-01, or {@link EntryDate#NO_DATE}.
+     */
+    public int getDate(int row) {
+        return dates[row];
+    }
+
+    /**
+     * Gets the sign byte of a row.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     */
+    public byte getSign(int row) {
+        return signs[row];
+    }
+
+    /**
+     * Gets the amount of a row.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return The amount of the entry, in cents.
+     */
+    public long getAmount(int row) {
+        return amounts[row];
+    }
+
+    /**
+     * Checks if a row is an earning.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return True if it's an earning, false otherwise.
+     */
+    public boolean isEarning(int row) {
+        return signs[row] == FinancialEntry.EARNING;
+    }
+
+    /**
+     * Checks if a row is an expense.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return True if it's an expense, false otherwise.
+     */
+    public boolean isExpense(int row) {
+        return signs[row] == FinancialEntry.EXPENSE;
+    }
+
+    /**
+     * Gets a row as a FinancialEntry object.
+     *
+     * @param row The row, from 0 to size() - 1.
+     * @return A new FinancialEntry holding the row's values.
+     */
+    public FinancialEntry getEntry(int row) {
+        return new FinancialEntry(getName(row), FinancialEntry.signOf(signs[row]), amounts[row], getCategory(row),
+                dates[row]);
+    }
+
+    /**
+     * Gets every row as FinancialEntry objects, in file order.
+     *
+     * @return A new list of entries.
+     */
+    public ArrayList<FinancialEntry> toEntries() {
+        ArrayList<FinancialEntry> entries = new ArrayList<>(size);
+        for (int row = 0; row < size; ++row) {
+            entries.add(getEntry(row));
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the row of the entry with the specified name.
+     *
+     * @param name The name of the entry.
+     * @return The row, or -1 if there is none.
+     */
+    public int indexOf(String name) {
+        return index().indexOf(name);
+    }
+
+    /**
+     * Checks if an entry with the specified name exists.
+     *
+     * @param name The name of the entry.
+     * @return True if the entry exists, false otherwise.
+     */
+    public boolean contains(String name) {
+        return index().contains(name);
+    }
+
+    /**
+     * Appends a row without a category.
+     *
+     * @param name   The name of the entry.
+     * @param sign   {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount The amount of the entry, in cents.
+     * @return The new row.
+     */
+    public int add(String name, byte sign, long amount) {
+        return add(name, sign, amount, FinancialEntry.NO_CATEGORY);
+    }
+
+    /**
+     * Appends a row without a date.
+     *
+     * @param name     The name of the entry.
+     * @param sign     {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount   The amount of the entry, in cents.
+     * @param category The category of the entry, or {@link FinancialEntry#NO_CATEGORY}.
+     * @return The new row.
+     */
+    public int add(String name, byte sign, long amount, String category) {
+        return add(name, sign, amount, category, EntryDate.NO_DATE);
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param name     The name of the entry.
+     * @param sign     {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount   The amount of the entry, in cents.
+     * @param category The category of the entry, or {@link FinancialEntry#NO_CATEGORY}.
+     * @param date     The date of the entry, in days since 1970-01-01, or {@link EntryDate#NO_DATE}.
+     * @return The new row.
+     */
+    public int add(String name, byte sign, long amount, String category, int date) {
+        checkWritable();
+        if (size == amounts.length) {
+            int capacity = size + (size >> 1) + 1;
+            amounts = Arrays.copyOf(amounts, capacity);
+            signs = Arrays.copyOf(signs, capacity);
+            nameIds = Arrays.copyOf(nameIds, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+        }
+        int row = size++;
+        amounts[row] = amount;
+        signs[row] = sign;
+        nameIds[row] = names.idOf(name);
+        categoryIds[row] = categoryId(category);
+        dates[row] = date;
+        totals.add(name, sign, amount, category);
+        if (index != null && !index.contains(name)) {
+            index.put(name, row);
+        }
+        if (byDate != null) {
+            insertByDate(row);
+        }
+        if (bySign != null) {
+            appendBySign(row);
+        }
+        return row;
+    }
+
+    /**
+     * Replaces the sign and amount of a row, keeping its category.
+     *
+     * @param row    The row, from 0 to size() - 1.
+     * @param sign   {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount The new amount, in cents.
+     */
+    public void set(int row, byte sign, long amount) {
+        set(row, sign, amount, getCategory(row));
+    }
+
+    /**
+     * Replaces the sign, amount and category of a row.
+     *
+     * @param row      The row, from 0 to size() - 1.
+     * @param sign     {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount   The new amount, in cents.
+     * @param category The new category, or {@link FinancialEntry#NO_CATEGORY}.
+     */
+    public void set(int row, byte sign, long amount, String category) {
+        checkWritable();
+        String name = getName(row);
+        // Add before removing so the name keeps its place in the per-name sums
+        totals.add(name, sign, amount, category);
+        totals.remove(name, signs[row], amounts[row], getCategory(row));
+        if (signs[row] != sign) {
+            bySign = null;
+        }
+        signs[row] = sign;
+        amounts[row] = amount;
+        categoryIds[row] = categoryId(category);
+    }
+
+    /**
+     * Replaces the date of a row.
+     *
+     * @param row  The row, from 0 to size() - 1.
+     * @param date The new date, in days since 1970-01-01, or {@link EntryDate#NO_DATE}.
+     */
+    public void setDate(int row, int date) {
+        checkWritable();
+        if (dates[row] != date) {
+            dates[row] = date;
+            byDate = null;
+        }
+    }
+
+    /**
+     * Replaces the amount of a row.
+     *
+     * @param row    The row, from 0 to size() - 1.
+     * @param amount The new amount, in cents.
+     */
+    public void setAmount(int row, long amount) {
+        set(row, signs[row], amount);
+    }
+
+    /**
+     * Removes a row, shifting the rows after it up by one.
+     *
+     * @param row The row, from 0 to size() - 1.
+     */
+    public void remove(int row) {
+        checkWritable();
+        totals.remove(getName(row), signs[row], amounts[row], getCategory(row));
+        int moved = size - row - 1;
+        System.arraycopy(amounts, row + 1, amounts, row, moved);
+        System.arraycopy(signs, row + 1, signs, row, moved);
+        System.arraycopy(nameIds, row + 1, nameIds, row, moved);
+        System.arraycopy(categoryIds, row + 1, categoryIds, row, moved);
+        System.arraycopy(dates, row + 1, dates, row, moved);
+        --size;
+        // Deletes are rare; rebuild the indexes on the next lookup rather than shifting them
+        index = null;
+        byDate = null;
+        bySign = null;
+    }
+
+    /**
+     * Gets the total of every row with the given sign.
+     *
+     * @param sign {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @return The total, in cents.
+     */
+    public long total(byte sign) {
+        return totals.getTotal(sign);
+    }
+
+    /**
+     * Gets the number of rows with the given sign.
+     *
+     * @param sign {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @return The number of matching rows.
+     */
+    public int count(byte sign) {
+        return totals.getCount(sign);
+    }
+
+    /**
+     * Gets the running aggregates of the ledger. They change with every write, and must not be
+     * changed by the caller.
+     *
+     * @return The ledger's totals.
+     */
+    public MonthTotals getTotals() {
+        return totals;
+    }
+
+    /**
+     * Gets the version stamp of the month in the store this ledger was read from. Pass it to a
+     * conditional write to have the write refused if the month has changed since.
+     *
+     * @return The version stamp, or 0 if the ledger was not read from a store that versions months.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version stamp of the month this ledger was read at.
+     *
+     * @param version The store's version stamp of the month.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Makes the ledger read-only. The name index, the date order and the rows of each sign are
+     * built first, so reads never write to the ledger afterwards and a frozen ledger may be shared
+     * between threads once it is safely published. Writes to it throw.
+     *
+     * @return This ledger, for chaining.
+     */
+    public MonthLedger freeze() {
+        index();
+        byDate();
+        bySign();
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Checks whether the ledger is read-only.
+     *
+     * @return True if {@link #freeze()} was called.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Copies the ledger, for handing a consistent view to another thread. The copy shares the
+     * NamePool, keeps the version stamp, is writable even if this ledger is frozen, and builds its
+     * own NameIndex only if it is searched by name.
+     *
+     * @return A new MonthLedger with the same rows.
+     */
+    public MonthLedger snapshot() {
+        MonthLedger copy = new MonthLedger(names, 0);
+        copy.amounts = Arrays.copyOf(amounts, size);
+        copy.signs = Arrays.copyOf(signs, size);
+        copy.nameIds = Arrays.copyOf(nameIds, size);
+        copy.categoryIds = Arrays.copyOf(categoryIds, size);
+        copy.dates = Arrays.copyOf(dates, size);
+        copy.size = size;
+        copy.totals = totals.copy();
+        copy.version = version;
+        return copy;
+    }
+
+    /**
+     * Copies one page of the rows, listing earnings first and then expenses, each in row order, so
+     * a screen can show a long month a page at a time. The rows are read from the lists of each
+     * sign, so a page costs its own rows however deep into the month it starts.
+     *
+     * @param offset The position of the first row of the page in that order.
+     * @param limit  The largest number of rows to copy.
+     * @return A new MonthLedger with at most limit rows. Empty past the last row.
+     */
+    public MonthLedger page(int offset, int limit) {
+        int[][] order = bySign();
+        int earnings = totals.getCount(FinancialEntry.EARNING);
+        int start = Math.max(0, offset);
+        int count = Math.max(0, Math.min(limit, size - start));
+        MonthLedger page = new MonthLedger(names, count);
+        for (int i = start; i < start + count; ++i) {
+            page.copyRow(this, i < earnings ? order[0][i] : order[1][i - earnings]);
+        }
+        return page;
+    }
+
+    /**
+     * Copies the rows dated within a range, in date order, found by binary search over the rows
+     * sorted by date. Undated rows are listed first, and only if the date they stand for is in the
+     * range.
+     *
+     * @param from    The first date of the range, in days since 1970-01-01.
+     * @param to      The last date of the range, inclusive.
+     * @param undated The date undated rows stand for, usually the first day of the month.
+     * @return A new MonthLedger with the matching rows. Empty if none match.
+     */
+    public MonthLedger range(int from, int to, int undated) {
+        int[] order = byDate();
+        int firstDated = after(order, size, EntryDate.NO_DATE);
+        // Dated rows sort after the undated ones, so a range never starts before them
+        int start = from <= EntryDate.NO_DATE ? firstDated : Math.max(firstDated, after(order, size, from - 1));
+        int end = after(order, size, to);
+        boolean withUndated = undated >= from && undated <= to;
+        int count = (withUndated ? firstDated : 0) + Math.max(0, end - start);
+        MonthLedger range = new MonthLedger(names, count);
+        if (withUndated) {
+            for (int i = 0; i < firstDated; ++i) {
+                range.copyRow(this, order[i]);
+            }
+        }
+        for (int i = start; i < end; ++i) {
+            range.copyRow(this, order[i]);
+        }
+        return range;
+    }
+
+    /**
+     * Appends every row of another ledger, in its row order.
+     *
+     * @param other The ledger to copy from. It may use another NamePool.
+     */
+    public void addAll(MonthLedger other) {
+        for (int row = 0; row < other.size; ++row) {
+            copyRow(other, row);
+        }
+    }
+
+    /**
+     * Appends a row of another ledger.
+     *
+     * @param from The ledger to copy from.
+     * @param row  The row of that ledger.
+     */
+    private void copyRow(MonthLedger from, int row) {
+        add(from.getName(row), from.signs[row], from.amounts[row], from.getCategory(row), from.dates[row]);
+    }
+
+    /**
+     * Finds the first position in date order whose row is dated after a date.
+     *
+     * @param order The rows in date order.
+     * @param count The number of positions to search.
+     * @param date  The date to search for.
+     * @return The position, from 0 to count.
+     */
+    private int after(int[] order, int count, int date) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[order[mid]] <= date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the rows in date order, sorting them on first use. Rows with the same date keep row
+     * order.
+     *
+     * @return The rows sorted by date; only the first size() positions are used.
+     */
+    private int[] byDate() {
+        if (byDate == null) {
+            // Sort date-and-row keys, so the sort is primitive and stable
+            long[] keys = new long[size];
+            for (int row = 0; row < size; ++row) {
+                keys[row] = ((long) dates[row] << 32) | row;
+            }
+            Arrays.sort(keys);
+            int[] order = new int[Math.max(1, amounts.length)];
+            for (int i = 0; i < size; ++i) {
+                order[i] = (int) keys[i];
+            }
+            byDate = order;
+        }
+        return byDate;
+    }
+
+    /**
+     * Inserts a new last row into the date order, after every row with the same or an earlier date.
+     * Entries are usually added in date order, so the row usually goes at the end.
+     *
+     * @param row The new row, size() - 1.
+     */
+    private void insertByDate(int row) {
+        if (byDate.length <= row) {
+            byDate = Arrays.copyOf(byDate, amounts.length);
+        }
+        int position = row;
+        if (row > 0 && dates[byDate[row - 1]] > dates[row]) {
+            // Only the rows before this one are ordered so far
+            position = after(byDate, row, dates[row]);
+            System.arraycopy(byDate, position, byDate, position + 1, row - position);
+        }
+        byDate[position] = row;
+    }
+
+    /**
+     * Gets the rows of each sign in row order, listing them on first use.
+     *
+     * @return The earning rows, then the expense rows; only as many positions as each sign's count
+     * are used.
+     */
+    private int[][] bySign() {
+        if (bySign == null) {
+            int[][] order = {new int[Math.max(1, totals.getCount(FinancialEntry.EARNING))],
+                    new int[Math.max(1, totals.getCount(FinancialEntry.EXPENSE))]};
+            int[] counts = new int[2];
+            for (int row = 0; row < size; ++row) {
+                int section = signs[row] == FinancialEntry.EARNING ? 0 : 1;
+                order[section][counts[section]++] = row;
+            }
+            bySign = order;
+        }
+        return bySign;
+    }
+
+    /**
+     * Appends a new last row to the list of its sign, whose count already includes it.
+     *
+     * @param row The new row, size() - 1.
+     */
+    private void appendBySign(int row) {
+        int section = signs[row] == FinancialEntry.EARNING ? 0 : 1;
+        int position = totals.getCount(signs[row]) - 1;
+        if (bySign[section].length <= position) {
+            bySign[section] = Arrays.copyOf(bySign[section], position + (position >> 1) + 1);
+        }
+        bySign[section][position] = row;
+    }
+
+    /**
+     * Throws if the ledger has been frozen.
+     *
+     * @throws IllegalStateException If the ledger is read-only.
+     */
+    private void checkWritable() {
+        if (frozen) {
+            throw new IllegalStateException("Ledger is a read-only snapshot; write to a snapshot() copy");
+        }
+    }
+
+    /**
+     * Gets the id to store for a category. Rows without one are not pooled, so ledgers without
+     * categories leave the dictionary as it was.
+     *
+     * @param category The category, or {@link FinancialEntry#NO_CATEGORY}.
+     * @return The pooled id, or -1 for no category.
+     */
+    private int categoryId(String category) {
+        return category.isEmpty() ? -1 : names.idOf(category);
+    }
+
+    /**
+     * Gets the name index, building it on first use. If a name appears more than once, its first
+     * row wins, matching the first-match behavior of a scan.
+     *
+     * @return The name index of the rows.
+     */
+    private NameIndex index() {
+        if (index == null) {
+            NameIndex built = new NameIndex(size);
+            for (int row = 0; row < size; ++row) {
+                String name = getName(row);
+                if (!built.contains(name)) {
+                    built.put(name, row);
+                }
+            }
+            index = built;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,118 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The MonthPrefetcher class reads a month in the background while the user is still choosing it,
+ * so its screens open with the month already read. Each month the user selects gets a new
+ * MonthSession whose totals and first page of entries are loaded on the LedgerExecutor; the
+ * session is then handed over when the month is opened. Only the last month selected is kept: a
+ * load for a month the user moved past is cancelled before it starts, or stops between its steps
+ * if it already started. Recurring entries are not added while prefetching, so a month the user
+ * only scrolled past is never written; they are added once the month is opened.
+ *
+ * <p>The methods must be called on the main thread; the loads run on the executor's thread.
+ */
+public class MonthPrefetcher {
+
+    /** Store the months are read from. */
+    private final LedgerStore store;
+
+    /** Engine that adds the months' recurring entries, or null to add none. */
+    private final RecurringEngine recurring;
+
+    /** Executor that runs the loads. */
+    private final LedgerExecutor executor;
+
+    /** Session of the month selected last, or null. */
+    private MonthSession selected;
+
+    /** Load of the month selected last, or null. */
+    private Future<?> loading;
+
+    /** Flag that stops the load of the month selected last, or null. */
+    private AtomicBoolean stop;
+
+    /**
+     * Constructs a new MonthPrefetcher.
+     *
+     * @param store     The store the months are read from.
+     * @param recurring The engine that adds the months' recurring entries, or null to add none.
+     * @param executor  The executor that runs the loads.
+     */
+    public MonthPrefetcher(LedgerStore store, RecurringEngine recurring, LedgerExecutor executor) {
+        this.store = store;
+        this.recurring = recurring;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts reading a month in the background, cancelling the load of the month selected before.
+     * Selecting the same month again does nothing.
+     *
+     * @param monthName The name of the month, such as "April".
+     * @param year      The year of the month.
+     * @return The session the month is read into.
+     */
+    public MonthSession prefetch(String monthName, int year) {
+        MonthSession current = selected;
+        if (current != null && current.isMonth(monthName, year)) {
+            return current;
+        }
+        cancel();
+        final MonthSession session = new MonthSession(store, recurring, monthName, year);
+        final AtomicBoolean stopped = new AtomicBoolean();
+        selected = session;
+        stop = stopped;
+        loading = executor.submit(new LedgerTask<Void>() {
+            @Override
+            public Void run() throws IOException {
+                // Stop between steps once the user has moved on to another month
+                if (stopped.get()) {
+                    return null;
+                }
+                session.warmTotals();
+                if (stopped.get()) {
+                    return null;
+                }
+                session.warmPager();
+                return null;
+            }
+        }, null);
+        return session;
+    }
+
+    /**
+     * Takes the session of a month selected last, to open it. The prefetcher lets go of it.
+     *
+     * @param monthName The name of the month, in any case.
+     * @param year      The year of the month.
+     * @return The session, loaded or still loading, or null if that month was not selected last.
+     */
+    public MonthSession take(String monthName, int year) {
+        MonthSession current = selected;
+        if (current == null || !current.isMonth(monthName, year)) {
+            return null;
+        }
+        // The load keeps running; the session is now the open month's
+        selected = null;
+        loading = null;
+        stop = null;
+        return current;
+    }
+
+    /**
+     * Cancels the load of the month selected last and lets go of its session.
+     */
+    public void cancel() {
+        selected = null;
+        if (loading != null) {
+            stop.set(true);
+            loading.cancel(false);
+            loading = null;
+            stop = null;
+        }
+    }
+}
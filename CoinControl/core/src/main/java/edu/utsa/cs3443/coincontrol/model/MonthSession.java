@@ -0,0 +1,252 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The MonthSession class holds the month the user is working on while they move between the
+ * screens of the app. The screens share one session instead of each reading the month again: the
+ * totals and the pages of entries loaded so far are kept, tagged with the month's version, and are
+ * read from the store again only once a write has changed the month. So going from Results to
+ * Records and back reads nothing twice, and only one month is held in memory however long the
+ * app runs, since opening another month replaces the session. A session can also be warmed before
+ * its month is opened, by a MonthPrefetcher.
+ *
+ * <p>The session is thread-safe; the methods that read the store may block and must not be called
+ * on the main thread. The pagers it hands out are then used on the main thread only.
+ */
+public class MonthSession {
+
+    /** Version of a month not read yet. */
+    private static final long NOT_READ = -1;
+
+    /** Store the month is read from. */
+    private final LedgerStore store;
+
+    /** Engine that adds the month's recurring entries, or null to add none. */
+    private final RecurringEngine recurring;
+
+    /** Name of the month, such as "April". */
+    private final String monthName;
+
+    /** Year of the month. */
+    private final int year;
+
+    /** Partition key of the month, such as "2026/april". */
+    private final String key;
+
+    /** Last day the recurring entries were added through, or {@link EntryDate#NO_DATE}. */
+    private int materializedThrough = EntryDate.NO_DATE;
+
+    /** Totals of the month, or null until read. */
+    private MonthTotals totals;
+
+    /** Version of the month the totals were read at. */
+    private long totalsVersion = NOT_READ;
+
+    /** Pager of the month last handed out, or null until read. */
+    private LedgerPager pager;
+
+    /** Version of the month the pager was read at. */
+    private long pagerVersion = NOT_READ;
+
+    /**
+     * Constructs a new MonthSession. Nothing is read until a screen asks for it.
+     *
+     * @param store     The store the month is read from.
+     * @param recurring The engine that adds the month's recurring entries, or null to add none.
+     * @param monthName The name of the month, such as "April".
+     * @param year      The year of the month.
+     */
+    public MonthSession(LedgerStore store, RecurringEngine recurring, String monthName, int year) {
+        this.store = store;
+        this.recurring = recurring;
+        this.monthName = monthName;
+        this.year = year;
+        this.key = PartitionIndex.key(year, monthName);
+    }
+
+    /**
+     * Gets the name of the month.
+     *
+     * @return The name, such as "April".
+     */
+    public String getMonthName() {
+        return monthName;
+    }
+
+    /**
+     * Gets the year of the month.
+     *
+     * @return The year, such as 2026.
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Gets the partition key of the month.
+     *
+     * @return The key, such as "2026/april".
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the store the month is read from.
+     *
+     * @return The store.
+     */
+    public LedgerStore getStore() {
+        return store;
+    }
+
+    /**
+     * Checks whether the session holds a month.
+     *
+     * @param monthName The name of the month, in any case.
+     * @param year      The year of the month.
+     * @return True if the session is for that month.
+     */
+    public boolean isMonth(String monthName, int year) {
+        return this.year == year && this.monthName.equalsIgnoreCase(monthName);
+    }
+
+    /**
+     * Gets the totals of the month, reading them only if the month changed since they were last
+     * read. Recurring entries due by today are added first, once a day.
+     *
+     * @return The totals. They must not be changed.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    public synchronized MonthTotals getTotals() throws IOException {
+        materialize();
+        return totals();
+    }
+
+    /**
+     * Gets a pager over the month's entries. The pager handed out last, with the pages loaded
+     * into it since, is given again if the month has not changed; otherwise a new pager is read
+     * with its first page. Recurring entries due by today are added first, once a day.
+     *
+     * @return The pager.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    public synchronized LedgerPager getPager() throws IOException {
+        materialize();
+        return pager();
+    }
+
+    /**
+     * Reads a new pager over the month's entries with the given pages loaded, and hands it out
+     * from then on.
+     *
+     * @param pages The numbers of the pages to load, taken on the thread that uses the pager, or
+     *              null to load the first page.
+     * @return The new pager.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    public synchronized LedgerPager reload(List<Integer> pages) throws IOException {
+        materialize();
+        return newPager(pages);
+    }
+
+    /**
+     * Reads the totals of the month ahead of time, as {@link #getTotals()} does but without adding
+     * recurring entries, so a month that is never opened is never written.
+     *
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    public synchronized void warmTotals() throws IOException {
+        totals();
+    }
+
+    /**
+     * Reads the first page of the month ahead of time, as {@link #getPager()} does but without
+     * adding recurring entries.
+     *
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    public synchronized void warmPager() throws IOException {
+        pager();
+    }
+
+    /**
+     * Gets the totals of the month, reading them if the month changed since they were last read.
+     *
+     * @return The totals.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    private MonthTotals totals() throws IOException {
+        // Read the version first, so a write that lands in between only causes one more read
+        long version = store.getVersion(key);
+        if (totals == null || version != totalsVersion) {
+            totals = store.getTotals(key);
+            totalsVersion = version;
+        }
+        return totals;
+    }
+
+    /**
+     * Gets the pager handed out last if the month has not changed since, or a new one.
+     *
+     * @return The pager.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    private LedgerPager pager() throws IOException {
+        if (pager != null && store.getVersion(key) == pagerVersion) {
+            return pager;
+        }
+        // The pages of the last pager belong to the main thread, so they are not looked at here
+        return newPager(null);
+    }
+
+    /**
+     * Reads a new pager with the given pages loaded, and hands it out from then on.
+     *
+     * @param pages The numbers of the pages to load, or null to load the first page.
+     * @return The new pager.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    private LedgerPager newPager(List<Integer> pages) throws IOException {
+        LedgerPager fresh = new LedgerPager(totals());
+        if (pages == null) {
+            load(fresh, 0);
+        } else {
+            for (int page : pages) {
+                load(fresh, page);
+            }
+        }
+        pager = fresh;
+        pagerVersion = totalsVersion;
+        return fresh;
+    }
+
+    /**
+     * Loads a page into a pager, unless it lies past the end of the month.
+     *
+     * @param into The pager.
+     * @param page The page number.
+     * @throws IOException If an I/O error occurs while reading the month.
+     */
+    private void load(LedgerPager into, int page) throws IOException {
+        int start = page * into.getPageSize();
+        if (into.pageToLoad(start) >= 0) {
+            into.putPage(page, store.getPage(key, start, into.getPageSize()));
+        }
+    }
+
+    /**
+     * Adds the recurring entries due by today, unless that was already done today.
+     *
+     * @throws IOException If an I/O error occurs while writing the month.
+     */
+    private void materialize() throws IOException {
+        int today = EntryDate.today();
+        if (recurring != null && materializedThrough < today) {
+            recurring.materialize(key, today);
+            materializedThrough = today;
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The MonthTotals class holds the running aggregates of one month: the earning and expense totals,
+ * their entry counts and the sum of each entry name. MonthLedger updates it on every write, so the
+ * Results screen reads its summary in constant time instead of looping over the entries. The
+ * same writes keep a sum per category, so a category breakdown is served without a scan either.
+ * The totals are also saved next to the month file so a cold start can show them without parsing
+ * it.
+ *
+ * <p>The saved form is one line per aggregate: {@code sign,total,count} for each sign, then
+ * {@code sign,sum,count,name} for each name in first-seen order, then
+ * {@code csign,sum,count,category} for each category, such as {@code c-,12000,3,Groceries}.
+ */
+public class MonthTotals {
+
+    /** Prefix of a saved category line, before the sign. */
+    private static final char CATEGORY_PREFIX = 'c';
+
+    /** Sum of all earnings, in cents. */
+    private long earningTotal;
+
+    /** Sum of all expenses, in cents. */
+    private long expenseTotal;
+
+    /** Number of earning entries. */
+    private int earningCount;
+
+    /** Number of expense entries. */
+    private int expenseCount;
+
+    /** Sum of each earning name, in first-seen order. */
+    private final LinkedHashMap<String, NameSum> earningSums = new LinkedHashMap<>();
+
+    /** Sum of each expense name, in first-seen order. */
+    private final LinkedHashMap<String, NameSum> expenseSums = new LinkedHashMap<>();
+
+    /** Sum of each earning category, in first-seen order. */
+    private final LinkedHashMap<String, NameSum> earningCategories = new LinkedHashMap<>();
+
+    /** Sum of each expense category, in first-seen order. */
+    private final LinkedHashMap<String, NameSum> expenseCategories = new LinkedHashMap<>();
+
+    /**
+     * Gets the total of every entry with the given sign.
+     *
+     * @param sign {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @return The total, in cents.
+     */
+    public long getTotal(byte sign) {
+        if (sign == FinancialEntry.EARNING) {
+            return earningTotal;
+        }
+        return sign == FinancialEntry.EXPENSE ? expenseTotal : 0;
+    }
+
+    /**
+     * Gets the number of entries with the given sign.
+     *
+     * @param sign {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @return The number of entries.
+     */
+    public int getCount(byte sign) {
+        if (sign == FinancialEntry.EARNING) {
+            return earningCount;
+        }
+        return sign == FinancialEntry.EXPENSE ? expenseCount : 0;
+    }
+
+    /**
+     * Gets the names of the entries with the given sign, in the order they were first added.
+     *
+     * @param sign {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @return A new list of names.
+     */
+    public List<String> getNames(byte sign) {
+        Map<String, NameSum> sums = sumsOf(sign);
+        return sums == null ? new ArrayList<String>() : new ArrayList<>(sums.keySet());
+    }
+
+    /**
+     * Gets the sum of the entries with the given sign and name.
+     *
+     * @param sign {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param name The name of the entries.
+     * @return The sum, in cents, or 0 if there is no such entry.
+     */
+    public long getSum(byte sign, String name) {
+        Map<String, NameSum> sums = sumsOf(sign);
+        NameSum sum = sums == null ? null : sums.get(name);
+        return sum == null ? 0 : sum.sum;
+    }
+
+    /**
+     * Gets the categories of the entries with the given sign, in the order they were first added.
+     * Entries without a category are listed under {@link FinancialEntry#NO_CATEGORY}.
+     *
+     * @param sign {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @return A new list of categories.
+     */
+    public List<String> getCategories(byte sign) {
+        Map<String, NameSum> sums = categoriesOf(sign);
+        return sums == null ? new ArrayList<String>() : new ArrayList<>(sums.keySet());
+    }
+
+    /**
+     * Gets the sum of the entries with the given sign and category.
+     *
+     * @param sign     {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param category The category, or {@link FinancialEntry#NO_CATEGORY}.
+     * @return The sum, in cents, or 0 if there is no such entry.
+     */
+    public long getCategorySum(byte sign, String category) {
+        Map<String, NameSum> sums = categoriesOf(sign);
+        NameSum sum = sums == null ? null : sums.get(category);
+        return sum == null ? 0 : sum.sum;
+    }
+
+    /**
+     * Counts an entry without a category into the totals.
+     *
+     * @param name   The name of the entry.
+     * @param sign   {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount The amount of the entry, in cents.
+     */
+    public void add(String name, byte sign, long amount) {
+        add(name, sign, amount, FinancialEntry.NO_CATEGORY);
+    }
+
+    /**
+     * Counts an entry into the totals.
+     *
+     * @param name     The name of the entry.
+     * @param sign     {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount   The amount of the entry, in cents.
+     * @param category The category of the entry, or {@link FinancialEntry#NO_CATEGORY}.
+     */
+    public void add(String name, byte sign, long amount, String category) {
+        Map<String, NameSum> sums = sumsOf(sign);
+        if (sums == null) {
+            return;
+        }
+        if (sign == FinancialEntry.EARNING) {
+            earningTotal += amount;
+            ++earningCount;
+        } else {
+            expenseTotal += amount;
+            ++expenseCount;
+        }
+        addTo(sums, name, amount, 1);
+        addTo(categoriesOf(sign), category, amount, 1);
+    }
+
+    /**
+     * Counts a group of entries with the same sign and name into the totals at once, such as one
+     * row of a {@code GROUP BY} query.
+     *
+     * @param name  The name of the entries.
+     * @param sign  {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param sum   The sum of the entries, in cents.
+     * @param count The number of entries, at least 1.
+     */
+    public void addGroup(String name, byte sign, long sum, int count) {
+        Map<String, NameSum> sums = sumsOf(sign);
+        if (sums == null || count < 1) {
+            return;
+        }
+        if (sign == FinancialEntry.EARNING) {
+            earningTotal += sum;
+            earningCount += count;
+        } else {
+            expenseTotal += sum;
+            expenseCount += count;
+        }
+        addTo(sums, name, sum, count);
+    }
+
+    /**
+     * Counts a group of entries with the same sign and category into the category sums only, such
+     * as one row of a {@code GROUP BY} query. The sign totals are left alone; they are counted
+     * once through {@link #addGroup(String, byte, long, int)}.
+     *
+     * @param category The category of the entries, or {@link FinancialEntry#NO_CATEGORY}.
+     * @param sign     {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param sum      The sum of the entries, in cents.
+     * @param count    The number of entries, at least 1.
+     */
+    public void addCategoryGroup(String category, byte sign, long sum, int count) {
+        Map<String, NameSum> sums = categoriesOf(sign);
+        if (sums != null && count >= 1) {
+            addTo(sums, category, sum, count);
+        }
+    }
+
+    /**
+     * Takes an entry without a category back out of the totals.
+     *
+     * @param name   The name of the entry.
+     * @param sign   {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount The amount of the entry, in cents.
+     */
+    public void remove(String name, byte sign, long amount) {
+        remove(name, sign, amount, FinancialEntry.NO_CATEGORY);
+    }
+
+    /**
+     * Takes an entry back out of the totals.
+     *
+     * @param name     The name of the entry.
+     * @param sign     {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount   The amount of the entry, in cents.
+     * @param category The category of the entry, or {@link FinancialEntry#NO_CATEGORY}.
+     */
+    public void remove(String name, byte sign, long amount, String category) {
+        Map<String, NameSum> sums = sumsOf(sign);
+        if (sums == null) {
+            return;
+        }
+        if (sign == FinancialEntry.EARNING) {
+            earningTotal -= amount;
+            --earningCount;
+        } else {
+            expenseTotal -= amount;
+            --expenseCount;
+        }
+        removeFrom(sums, name, amount);
+        removeFrom(categoriesOf(sign), category, amount);
+    }
+
+    /**
+     * Gets the share of earnings that was not spent.
+     *
+     * @return (earnings - expenses) / earnings, or 0 if there are no earnings.
+     */
+    public double getSavingsRate() {
+        if (earningTotal == 0) {
+            return 0;
+        }
+        return (earningTotal - expenseTotal) / (double) earningTotal;
+    }
+
+    /**
+     * Adds the aggregates of another month or range into these totals. Names already present keep
+     * their place; new names are appended in the other totals' order.
+     *
+     * @param other The totals to add. They are not changed.
+     */
+    public void addAll(MonthTotals other) {
+        earningTotal += other.earningTotal;
+        expenseTotal += other.expenseTotal;
+        earningCount += other.earningCount;
+        expenseCount += other.expenseCount;
+        addSums(other.earningSums, earningSums);
+        addSums(other.expenseSums, expenseSums);
+        addSums(other.earningCategories, earningCategories);
+        addSums(other.expenseCategories, expenseCategories);
+    }
+
+    /**
+     * Copies the totals, for handing a consistent view to another thread.
+     *
+     * @return A new MonthTotals with the same aggregates.
+     */
+    public MonthTotals copy() {
+        MonthTotals copy = new MonthTotals();
+        copy.earningTotal = earningTotal;
+        copy.expenseTotal = expenseTotal;
+        copy.earningCount = earningCount;
+        copy.expenseCount = expenseCount;
+        addSums(earningSums, copy.earningSums);
+        addSums(expenseSums, copy.expenseSums);
+        addSums(earningCategories, copy.earningCategories);
+        addSums(expenseCategories, copy.expenseCategories);
+        return copy;
+    }
+
+    /**
+     * Writes the totals in their saved form.
+     *
+     * @param writer The writer to write to. It is neither flushed nor closed.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    public void write(Writer writer) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        line.append((char) FinancialEntry.EARNING).append(',').append(earningTotal).append(',')
+                .append(earningCount).append('\n');
+        line.append((char) FinancialEntry.EXPENSE).append(',').append(expenseTotal).append(',')
+                .append(expenseCount).append('\n');
+        writer.append(line);
+        writeSums(writer, "" + (char) FinancialEntry.EARNING, earningSums);
+        writeSums(writer, "" + (char) FinancialEntry.EXPENSE, expenseSums);
+        writeSums(writer, "" + CATEGORY_PREFIX + (char) FinancialEntry.EARNING, earningCategories);
+        writeSums(writer, "" + CATEGORY_PREFIX + (char) FinancialEntry.EXPENSE, expenseCategories);
+    }
+
+    /**
+     * Reads totals written by {@link #write(Writer)}.
+     *
+     * @param reader The reader positioned at the first totals line. It is not closed.
+     * @return The totals read, or null if the data is malformed.
+     * @throws IOException If an I/O error occurs while reading.
+     */
+    public static MonthTotals read(BufferedReader reader) throws IOException {
+        MonthTotals totals = new MonthTotals();
+        try {
+            String[] earnings = splitTotals(reader.readLine(), FinancialEntry.EARNING);
+            String[] expenses = splitTotals(reader.readLine(), FinancialEntry.EXPENSE);
+            if (earnings == null || expenses == null) {
+                return null;
+            }
+            totals.earningTotal = Long.parseLong(earnings[1]);
+            totals.earningCount = Integer.parseInt(earnings[2]);
+            totals.expenseTotal = Long.parseLong(expenses[1]);
+            totals.expenseCount = Integer.parseInt(expenses[2]);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",", 4);
+                Map<String, NameSum> sums = null;
+                if (parts.length == 4 && parts[0].length() == 1) {
+                    sums = totals.sumsOf((byte) parts[0].charAt(0));
+                } else if (parts.length == 4 && parts[0].length() == 2 && parts[0].charAt(0) == CATEGORY_PREFIX) {
+                    sums = totals.categoriesOf((byte) parts[0].charAt(1));
+                }
+                if (sums == null) {
+                    return null;
+                }
+                NameSum sum = new NameSum();
+                sum.sum = Long.parseLong(parts[1]);
+                sum.count = Integer.parseInt(parts[2]);
+                sums.put(parts[3], sum);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return totals;
+    }
+
+    /**
+     * Gets the per-name sums of a sign.
+     *
+     * @param sign The sign byte.
+     * @return The sums, or null if the sign is neither an earning nor an expense.
+     */
+    private LinkedHashMap<String, NameSum> sumsOf(byte sign) {
+        if (sign == FinancialEntry.EARNING) {
+            return earningSums;
+        }
+        return sign == FinancialEntry.EXPENSE ? expenseSums : null;
+    }
+
+    /**
+     * Gets the per-category sums of a sign.
+     *
+     * @param sign The sign byte.
+     * @return The sums, or null if the sign is neither an earning nor an expense.
+     */
+    private LinkedHashMap<String, NameSum> categoriesOf(byte sign) {
+        if (sign == FinancialEntry.EARNING) {
+            return earningCategories;
+        }
+        return sign == FinancialEntry.EXPENSE ? expenseCategories : null;
+    }
+
+    /**
+     * Splits a saved {@code sign,total,count} line.
+     *
+     * @param line The line, or null at the end of the data.
+     * @param sign The sign the line must start with.
+     * @return The three fields, or null if the line does not match.
+     */
+    private static String[] splitTotals(String line, byte sign) {
+        if (line == null) {
+            return null;
+        }
+        String[] parts = line.split(",");
+        if (parts.length != 3 || parts[0].length() != 1 || parts[0].charAt(0) != sign) {
+            return null;
+        }
+        return parts;
+    }
+
+    /**
+     * Writes the per-name or per-category sums of a sign.
+     *
+     * @param writer The writer to write to.
+     * @param prefix The first field of each line: the sign, or 'c' and the sign for categories.
+     * @param sums   The sums to write.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    private static void writeSums(Writer writer, String prefix, Map<String, NameSum> sums) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        for (Map.Entry<String, NameSum> entry : sums.entrySet()) {
+            line.setLength(0);
+            line.append(prefix).append(',').append(entry.getValue().sum).append(',')
+                    .append(entry.getValue().count).append(',').append(entry.getKey()).append('\n');
+            writer.append(line);
+        }
+    }
+
+    /**
+     * Adds entries to the sum of one key, creating it on first use.
+     *
+     * @param sums   The sums to update.
+     * @param key    The name or category.
+     * @param amount The sum of the entries, in cents.
+     * @param count  The number of entries.
+     */
+    private static void addTo(Map<String, NameSum> sums, String key, long amount, int count) {
+        NameSum sum = sums.get(key);
+        if (sum == null) {
+            sum = new NameSum();
+            sums.put(key, sum);
+        }
+        sum.sum += amount;
+        sum.count += count;
+    }
+
+    /**
+     * Takes an entry out of the sum of one key, dropping the key when its last entry goes.
+     *
+     * @param sums   The sums to update.
+     * @param key    The name or category.
+     * @param amount The amount of the entry, in cents.
+     */
+    private static void removeFrom(Map<String, NameSum> sums, String key, long amount) {
+        NameSum sum = sums.get(key);
+        if (sum != null) {
+            sum.sum -= amount;
+            if (--sum.count == 0) {
+                sums.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Adds per-name sums into another map of sums.
+     *
+     * @param from The sums to add.
+     * @param to   The map to add them into.
+     */
+    private static void addSums(Map<String, NameSum> from, Map<String, NameSum> to) {
+        for (Map.Entry<String, NameSum> entry : from.entrySet()) {
+            NameSum sum = to.get(entry.getKey());
+            if (sum == null) {
+                sum = new NameSum();
+                to.put(entry.getKey(), sum);
+            }
+            sum.sum += entry.getValue().sum;
+            sum.count += entry.getValue().count;
+        }
+    }
+
+    /**
+     * The running sum and entry count of one name or category.
+     */
+    private static class NameSum {
+
+        /** Sum of the entries with the name, in cents. */
+        long sum;
+
+        /** Number of entries with the name. */
+        int count;
+    }
+}
@@ -0,0 +1,65 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.util.HashMap;
+
+/**
+ * The NameIndex class maps entry names to their row in a month's ledger, so that duplicate checks
+ * on create and targeted updates on edit are O(1) instead of a scan of the month. MonthLedger builds
+ * it on the first lookup by name and adds each appended row to it; a delete shifts rows, so the
+ * ledger drops the index then and builds it again on the next lookup.
+ */
+public class NameIndex {
+
+    /** Position of each entry, keyed by entry name. */
+    private final HashMap<String, Integer> positions;
+
+    /**
+     * Constructs an empty NameIndex sized for the given number of entries.
+     *
+     * @param expectedSize The number of entries the index is expected to hold.
+     */
+    public NameIndex(int expectedSize) {
+        positions = new HashMap<>(Math.max(16, (int) (expectedSize / 0.75f) + 1));
+    }
+
+    /**
+     * Gets the position of the entry with the specified name.
+     *
+     * @param name The name of the entry.
+     * @return The entry's position in the month's list, or -1 if there is none.
+     */
+    public int indexOf(String name) {
+        Integer position = positions.get(name);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Checks if an entry with the specified name exists.
+     *
+     * @param name The name of the entry.
+     * @return True if the entry exists, false otherwise.
+     */
+    public boolean contains(String name) {
+        return positions.containsKey(name);
+    }
+
+    /**
+     * Records the position of an entry that was added to the month's list. A name already indexed
+     * is moved to the new position.
+     *
+     * @param name     The name of the entry.
+     * @param position The entry's position in the month's list.
+     */
+    public void put(String name, int position) {
+        positions.put(name, position);
+    }
+
+    /**
+     * Gets the number of indexed names.
+     *
+     * @return The number of indexed names.
+     */
+    public int size() {
+        return positions.size();
+    }
+}
@@ -0,0 +1,193 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+/**
+ * The NamePool class is the shared dictionary of entry names. It hands out one String and one
+ * small integer id per distinct name. Names are looked up straight from a range of a char buffer,
+ * so a name that was seen before costs no allocation at all; only the first occurrence of a name
+ * creates a String. MonthLedger stores the ids instead of name references.
+ *
+ * <p>Names are only ever added. Lookups that may add a name are synchronized, since months locked
+ * under different stripes of the LedgerRepository are parsed and written on different threads at
+ * once. {@link #nameOf(int)} takes no lock and may be called from any thread for an id it was
+ * handed.
+ */
+public class NamePool {
+
+    /** Open-addressing table of id + 1 per slot, 0 for an empty slot; its length is a power of two. */
+    private int[] table;
+
+    /** Pooled names, indexed by id. */
+    private volatile String[] byId;
+
+    /** Hash of each pooled name, indexed by id. */
+    private int[] hashById;
+
+    /** Number of pooled names. */
+    private int size;
+
+    /**
+     * Constructs an empty NamePool.
+     */
+    public NamePool() {
+        table = new int[64];
+        byId = new String[32];
+        hashById = new int[32];
+    }
+
+    /**
+     * Gets the pooled String equal to a range of characters, creating it on first use.
+     *
+     * @param buffer The buffer holding the name.
+     * @param offset The index of the name's first character.
+     * @param length The number of characters in the name.
+     * @return The shared String for the name.
+     */
+    public synchronized String get(char[] buffer, int offset, int length) {
+        int id = idOf(buffer, offset, length);
+        return byId[id];
+    }
+
+    /**
+     * Gets the id of the name equal to a range of characters, adding it on first use.
+     *
+     * @param buffer The buffer holding the name.
+     * @param offset The index of the name's first character.
+     * @param length The number of characters in the name.
+     * @return The id of the name.
+     */
+    public synchronized int idOf(char[] buffer, int offset, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; ++i) {
+            hash = 31 * hash + buffer[offset + i];
+        }
+        String[] names = byId;
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            int id = entry - 1;
+            if (hashById[id] == hash && matches(names[id], buffer, offset, length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return add(slot, new String(buffer, offset, length), hash);
+    }
+
+    /**
+     * Gets the id of a name, adding it on first use.
+     *
+     * @param name The name.
+     * @return The id of the name.
+     */
+    public synchronized int idOf(String name) {
+        int hash = name.hashCode();
+        String[] names = byId;
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            int id = entry - 1;
+            if (hashById[id] == hash && names[id].equals(name)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return add(slot, name, hash);
+    }
+
+    /**
+     * Gets the name with the given id.
+     *
+     * @param id The id handed out by {@link #idOf(String)} or {@link #idOf(char[], int, int)}.
+     * @return The pooled name.
+     */
+    public String nameOf(int id) {
+        return byId[id];
+    }
+
+    /**
+     * Gets the number of distinct pooled names.
+     *
+     * @return The number of pooled names.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Adds a new name in the given empty slot.
+     *
+     * @param slot The empty table slot found by the lookup.
+     * @param name The name to add.
+     * @param hash The String hash code of the name.
+     * @return The id of the new name.
+     */
+    private int add(int slot, String name, int hash) {
+        int id = size;
+        if (id == byId.length) {
+            String[] names = new String[id * 2];
+            System.arraycopy(byId, 0, names, 0, id);
+            int[] hashes = new int[id * 2];
+            System.arraycopy(hashById, 0, hashes, 0, id);
+            hashById = hashes;
+            names[id] = name;
+            byId = names;
+        } else {
+            byId[id] = name;
+        }
+        hashById[id] = hash;
+        table[slot] = id + 1;
+        if (++size * 2 > table.length) {
+            grow();
+        }
+        return id;
+    }
+
+    /**
+     * Checks whether a pooled name equals a range of characters.
+     *
+     * @param name   The pooled name.
+     * @param buffer The buffer holding the candidate name.
+     * @param offset The index of the candidate's first character.
+     * @param length The number of characters in the candidate.
+     * @return True if the characters match, false otherwise.
+     */
+    private static boolean matches(String name, char[] buffer, int offset, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; ++i) {
+            if (name.charAt(i) != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Spreads the bits of a String hash code so that similar names do not cluster.
+     *
+     * @param hash The String hash code.
+     * @return The mixed hash.
+     */
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Doubles the table and re-inserts every pooled id.
+     */
+    private void grow() {
+        int[] larger = new int[table.length * 2];
+        int mask = larger.length - 1;
+        for (int id = 0; id < size; ++id) {
+            int slot = mix(hashById[id]) & mask;
+            while (larger[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            larger[slot] = id + 1;
+        }
+        table = larger;
+    }
+}
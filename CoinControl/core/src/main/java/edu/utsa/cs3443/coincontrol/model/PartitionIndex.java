@@ -0,0 +1,257 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The PartitionIndex class lists the year-and-month partitions that hold ledger data. A partition
+ * is stored in its own directory per year, such as {@code 2026/april.csv}, and is named by its key,
+ * such as {@code 2026/april}. The index is a small text file with one key per line, so screens can
+ * find which years and months exist without listing directories or opening any month.
+ *
+ * <p>The index is not thread-safe; LedgerRepository only uses it while holding its own lock.
+ */
+public class PartitionIndex {
+
+    /** Orders partition keys by year, then by calendar month. */
+    public static final Comparator<String> CHRONOLOGICAL = new Comparator<String>() {
+        @Override
+        public int compare(String a, String b) {
+            int byYear = Integer.compare(yearOf(a), yearOf(b));
+            return byYear != 0 ? byYear : Integer.compare(monthOf(a), monthOf(b));
+        }
+    };
+
+    /** File holding the index. */
+    private final File file;
+
+    /** Directory that holds the year directories. */
+    private final File root;
+
+    /** Known partition keys, in chronological order, or null until first used. */
+    private TreeSet<String> keys;
+
+    /**
+     * Constructs a PartitionIndex over the year directories of a ledger directory.
+     *
+     * @param root The ledger directory (usually getFilesDir()).
+     */
+    public PartitionIndex(File root) {
+        this.root = root;
+        this.file = new File(root, "partitions.idx");
+    }
+
+    /**
+     * Builds the key of a partition.
+     *
+     * @param year  The year, such as 2026.
+     * @param month The month name, in any case.
+     * @return The partition key, such as "2026/april".
+     * @throws IllegalArgumentException If the month is not a month name.
+     */
+    public static String key(int year, String month) {
+        if (indexOfMonth(month) < 0) {
+            throw new IllegalArgumentException("Unknown month: " + month);
+        }
+        return year + "/" + month.toLowerCase();
+    }
+
+    /**
+     * Gets the current calendar year, the default for screens that were not given one.
+     *
+     * @return The current year, such as 2026.
+     */
+    public static int currentYear() {
+        return Calendar.getInstance().get(Calendar.YEAR);
+    }
+
+    /**
+     * Gets the year of a partition key.
+     *
+     * @param key The partition key.
+     * @return The year, or 0 for a flat key without a year.
+     */
+    public static int yearOf(String key) {
+        int slash = key.indexOf('/');
+        if (slash < 0) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(key.substring(0, slash));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the calendar month of a partition key.
+     *
+     * @param key The partition key.
+     * @return The month, from 0 for January to 11 for December, or -1 if it is not a month.
+     */
+    public static int monthOf(String key) {
+        return indexOfMonth(key.substring(key.indexOf('/') + 1));
+    }
+
+    /**
+     * Gets the keys of every partition that holds data, oldest first.
+     *
+     * @return A new list of keys.
+     * @throws IOException If an I/O error occurs while reading the index.
+     */
+    public List<String> getKeys() throws IOException {
+        return new ArrayList<>(keys());
+    }
+
+    /**
+     * Gets the years that hold data, oldest first.
+     *
+     * @return A new list of years.
+     * @throws IOException If an I/O error occurs while reading the index.
+     */
+    public List<Integer> getYears() throws IOException {
+        TreeSet<Integer> years = new TreeSet<>();
+        for (String key : keys()) {
+            years.add(yearOf(key));
+        }
+        return new ArrayList<>(years);
+    }
+
+    /**
+     * Records that a partition holds data. Flat keys without a year are not indexed.
+     *
+     * @param key The partition key.
+     * @return True if the partition was new to the index.
+     * @throws IOException If an I/O error occurs while writing the index.
+     */
+    public boolean add(String key) throws IOException {
+        if (yearOf(key) == 0 || monthOf(key) < 0 || !keys().add(key.toLowerCase())) {
+            return false;
+        }
+        save();
+        return true;
+    }
+
+    /**
+     * Rebuilds the index from the year directories on disk.
+     *
+     * @throws IOException If an I/O error occurs while writing the index.
+     */
+    public void rebuild() throws IOException {
+        keys = scan();
+        save();
+    }
+
+    /**
+     * Gets the in-memory key set, reading the index file or scanning the directories on first use.
+     *
+     * @return The key set.
+     * @throws IOException If an I/O error occurs while reading or rebuilding the index.
+     */
+    private TreeSet<String> keys() throws IOException {
+        if (keys != null) {
+            return keys;
+        }
+        BufferedReader reader;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        } catch (FileNotFoundException e) {
+            rebuild();
+            return keys;
+        }
+        TreeSet<String> read = new TreeSet<>(CHRONOLOGICAL);
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (yearOf(line) != 0 && monthOf(line) >= 0) {
+                    read.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        keys = read;
+        return keys;
+    }
+
+    /**
+     * Finds every partition with a month file in a year directory.
+     *
+     * @return The keys found.
+     */
+    private TreeSet<String> scan() {
+        TreeSet<String> found = new TreeSet<>(CHRONOLOGICAL);
+        File[] years = root.listFiles();
+        if (years == null) {
+            return found;
+        }
+        for (File year : years) {
+            File[] files = year.isDirectory() ? year.listFiles() : null;
+            if (files == null) {
+                continue;
+            }
+            for (File month : files) {
+                String name = month.getName();
+                int dot = name.indexOf('.');
+                if (dot > 0 && !name.endsWith(".tmp") && !name.endsWith(".totals")) {
+                    String key = year.getName() + "/" + name.substring(0, dot);
+                    if (yearOf(key) != 0 && monthOf(key) >= 0) {
+                        found.add(key);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Writes the index to a temporary file and renames it over the old one.
+     *
+     * @throws IOException If an I/O error occurs while writing the index.
+     */
+    private void save() throws IOException {
+        if (!root.isDirectory() && !root.mkdirs()) {
+            throw new IOException("Could not create " + root);
+        }
+        File temp = new File(root, file.getName() + ".tmp");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(temp, false), "UTF-8");
+        try {
+            for (String key : keys) {
+                writer.write(key);
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    /**
+     * Finds a month name in the list of months.
+     *
+     * @param month The month name, in any case.
+     * @return The month, from 0 for January to 11 for December, or -1 if it is not a month.
+     */
+    private static int indexOfMonth(String month) {
+        for (int i = 0; i < LedgerAggregator.MONTHS.size(); ++i) {
+            if (LedgerAggregator.MONTHS.get(i).equalsIgnoreCase(month)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
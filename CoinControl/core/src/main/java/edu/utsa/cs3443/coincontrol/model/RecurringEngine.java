@@ -0,0 +1,341 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * The RecurringEngine class keeps the recurring rules of the ledger and turns them into entries of
+ * a month when that month is opened. Rules are stored once, in {@code recurring.csv}; nothing is
+ * written to a month until a screen opens it or {@link #materialize(String, int)} is called, so
+ * listing a year reads no rules and writes no month files.
+ *
+ * <p>Materializing is incremental and idempotent. Every date a rule was expanded on is appended to
+ * {@code recurring.done}, so opening a month again costs a set lookup per date and writes nothing,
+ * and an entry the user deleted afterwards is not brought back. An occurrence whose name the month
+ * already holds is recorded as done without adding it, so a crash between adding the entries and
+ * recording them never adds an entry twice. The names are checked and the entries added with a
+ * conditional write, so an entry the user adds meanwhile is not overwritten.
+ *
+ * <p>The engine is thread-safe; every method may block and must not be called on the main thread.
+ */
+public class RecurringEngine {
+
+    /** Store the entries are added to. */
+    private final LedgerStore store;
+
+    /** File holding one rule per line. */
+    private final File rulesFile;
+
+    /** File holding one line per date a rule was expanded on. */
+    private final File doneFile;
+
+    /** Rules by name, in the order they were added, or null until first used. */
+    private LinkedHashMap<String, RecurringRule> rules;
+
+    /** Lines of the done file, or null until first used. */
+    private HashSet<String> done;
+
+    /**
+     * Constructs a new RecurringEngine.
+     *
+     * @param store     The store the entries are added to.
+     * @param directory The directory that holds the rule files (usually getFilesDir()).
+     */
+    public RecurringEngine(LedgerStore store, File directory) {
+        this.store = store;
+        this.rulesFile = new File(directory, "recurring.csv");
+        this.doneFile = new File(directory, "recurring.done");
+    }
+
+    /**
+     * Gets every rule, in the order they were added.
+     *
+     * @return A new list of rules.
+     * @throws IOException If an I/O error occurs while reading the rules.
+     */
+    public synchronized List<RecurringRule> getRules() throws IOException {
+        return new ArrayList<>(rules().values());
+    }
+
+    /**
+     * Adds a rule, unless a rule with the same name exists.
+     *
+     * @param rule The rule to add.
+     * @return True if the rule was added, false if its name is taken.
+     * @throws IOException If an I/O error occurs while writing the rules.
+     */
+    public synchronized boolean addRule(RecurringRule rule) throws IOException {
+        if (rules().containsKey(rule.getName())) {
+            return false;
+        }
+        rules.put(rule.getName(), rule);
+        try {
+            saveRules();
+        } catch (IOException e) {
+            rules.remove(rule.getName());
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Removes a rule. The entries it already added stay in their months.
+     *
+     * @param name The name of the rule.
+     * @return True if the rule was found and removed, false otherwise.
+     * @throws IOException If an I/O error occurs while writing the rules.
+     */
+    public synchronized boolean removeRule(String name) throws IOException {
+        RecurringRule removed = rules().remove(name);
+        if (removed == null) {
+            return false;
+        }
+        try {
+            saveRules();
+        } catch (IOException e) {
+            rules.put(name, removed);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the entries the rules would add to a month that have not been added yet, without
+     * writing anything.
+     *
+     * @param month The partition key, such as "2026/april", in any case.
+     * @return New entries, dated and in rule order.
+     * @throws IOException If an I/O error occurs while reading the rules.
+     */
+    public synchronized List<FinancialEntry> getPending(String month) throws IOException {
+        return pending(month.toLowerCase(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Adds the entries the rules fall on in a month, up to a date, that have not been added yet.
+     * They are added with one {@link LedgerStore#addEntries(String, List)} write. Calling it again
+     * adds nothing new.
+     *
+     * @param month   The partition key, such as "2026/april", in any case.
+     * @param through The last date to add entries for, usually {@link EntryDate#today()}, so
+     *                future occurrences are added once their day comes.
+     * @return The number of entries added.
+     * @throws IOException If an I/O error occurs while reading or writing the month or the rules.
+     */
+    public synchronized int materialize(String month, int through) throws IOException {
+        String key = month.toLowerCase();
+        List<FinancialEntry> pending = pending(key, through);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<FinancialEntry> added = new ArrayList<>(pending.size());
+        long version;
+        do {
+            // If the user adds one of the names meanwhile, the write is refused and the names are checked again
+            version = store.getVersion(key);
+            added.clear();
+            for (FinancialEntry entry : pending) {
+                if (!store.entryExists(key, entry.getName())) {
+                    added.add(entry);
+                }
+            }
+        } while (!store.addEntries(key, added, version));
+
+        StringBuilder lines = new StringBuilder(pending.size() * 32);
+        for (FinancialEntry entry : pending) {
+            lines.append(doneLine(entry)).append('\n');
+        }
+        appendDone(lines.toString());
+        for (FinancialEntry entry : pending) {
+            done.add(doneLine(entry));
+        }
+        return added.size();
+    }
+
+    /**
+     * Gets the occurrences of every rule in a month, up to a date, that are not done yet.
+     *
+     * @param month   The lower-case partition key.
+     * @param through The last date to include.
+     * @return New entries, in rule order.
+     * @throws IOException If an I/O error occurs while reading the rules.
+     */
+    private List<FinancialEntry> pending(String month, int through) throws IOException {
+        List<FinancialEntry> pending = new ArrayList<>();
+        for (RecurringRule rule : rules().values()) {
+            for (int date : rule.datesIn(month)) {
+                if (date > through) {
+                    break;
+                }
+                FinancialEntry entry = rule.entryOn(date);
+                if (!done().contains(doneLine(entry))) {
+                    pending.add(entry);
+                }
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Gets the line that records an occurrence as done.
+     *
+     * @param entry The entry of the occurrence.
+     * @return The date and name of the entry, such as "2026-04-01,Rent".
+     */
+    private static String doneLine(FinancialEntry entry) {
+        return EntryDate.append(new StringBuilder(entry.getName().length() + 11), entry.getDate())
+                .append(',').append(entry.getName()).toString();
+    }
+
+    /**
+     * Gets the rules, reading the rules file on first use. Lines that do not hold a rule are
+     * skipped.
+     *
+     * @return The rules by name.
+     * @throws IOException If an I/O error occurs while reading the rules.
+     */
+    private LinkedHashMap<String, RecurringRule> rules() throws IOException {
+        if (rules != null) {
+            return rules;
+        }
+        LinkedHashMap<String, RecurringRule> read = new LinkedHashMap<>();
+        BufferedReader reader;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(rulesFile), "UTF-8"));
+        } catch (FileNotFoundException e) {
+            rules = read;
+            return rules;
+        }
+        try {
+            List<String> fields = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                RecurringRule rule = parseRule(line, fields);
+                if (rule != null) {
+                    read.put(rule.getName(), rule);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        rules = read;
+        return rules;
+    }
+
+    /**
+     * Parses one line of the rules file, {@code frequency,start,end,sign,amount,category,name}.
+     *
+     * @param line   The line, without its line break.
+     * @param fields A scratch list for the line's fields.
+     * @return The rule, or null if the line does not hold one.
+     */
+    static RecurringRule parseRule(String line, List<String> fields) {
+        if (!CsvFields.split(line, fields) || fields.size() != 7) {
+            return null;
+        }
+        try {
+            RecurringRule.Frequency frequency = RecurringRule.Frequency.valueOf(fields.get(0));
+            int start = EntryDate.parse(fields.get(1));
+            int end = fields.get(2).isEmpty() ? Integer.MAX_VALUE : EntryDate.parse(fields.get(2));
+            String sign = fields.get(3);
+            long amount = Money.parse(fields.get(4));
+            if (sign.length() != 1 || FinancialEntry.signOf((byte) sign.charAt(0)) == null
+                    || fields.get(6).isEmpty()) {
+                return null;
+            }
+            return new RecurringRule(fields.get(6), (byte) sign.charAt(0), amount, fields.get(5), frequency,
+                    start, end);
+        } catch (IllegalArgumentException e) {
+            // An unknown frequency or a malformed date or amount
+            return null;
+        }
+    }
+
+    /**
+     * Writes the rules to a temporary file and renames it over the old one.
+     *
+     * @throws IOException If an I/O error occurs while writing the rules.
+     */
+    private void saveRules() throws IOException {
+        File temp = new File(rulesFile.getParentFile(), rulesFile.getName() + ".tmp");
+        StringBuilder line = new StringBuilder(64);
+        Writer writer = new OutputStreamWriter(new FileOutputStream(temp, false), "UTF-8");
+        try {
+            for (RecurringRule rule : rules.values()) {
+                line.setLength(0);
+                line.append(rule.getFrequency().name()).append(',');
+                EntryDate.append(line, rule.getStart()).append(',');
+                if (rule.getEnd() != Integer.MAX_VALUE) {
+                    EntryDate.append(line, rule.getEnd());
+                }
+                line.append(',').append((char) rule.getSign()).append(',');
+                Money.appendTo(line, rule.getAmount()).append(',');
+                CsvFields.append(line, rule.getCategory()).append(',');
+                CsvFields.append(line, rule.getName()).append('\n');
+                writer.append(line);
+            }
+        } finally {
+            writer.close();
+        }
+        if (!temp.renameTo(rulesFile)) {
+            throw new IOException("Could not replace " + rulesFile);
+        }
+    }
+
+    /**
+     * Gets the done occurrences, reading the done file on first use.
+     *
+     * @return The lines of the done file.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    private HashSet<String> done() throws IOException {
+        if (done != null) {
+            return done;
+        }
+        HashSet<String> read = new HashSet<>();
+        BufferedReader reader;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(doneFile), "UTF-8"));
+        } catch (FileNotFoundException e) {
+            done = read;
+            return done;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                read.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        done = read;
+        return done;
+    }
+
+    /**
+     * Appends lines to the done file and syncs them to disk before returning.
+     *
+     * @param lines The lines, each with its trailing newline.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    private void appendDone(String lines) throws IOException {
+        FileOutputStream out = new FileOutputStream(doneFile, true);
+        try {
+            out.write(lines.getBytes("UTF-8"));
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.util.Arrays;
+
+/**
+ * The RecurringRule class describes an entry that repeats, such as rent every month or payroll
+ * every two weeks. A rule is stored once and expanded into the dates it falls on in any month, so
+ * the entry does not have to be typed again. A monthly or yearly rule falls on the day of the month
+ * it started on, or on the last day of a shorter month. Rules are immutable.
+ */
+public class RecurringRule {
+
+    /**
+     * The Frequency enum lists how often a rule repeats.
+     */
+    public enum Frequency {
+
+        /** Every 7 days. */
+        WEEKLY("Every week", 7),
+
+        /** Every 14 days. */
+        BIWEEKLY("Every 2 weeks", 14),
+
+        /** On the same day of every month. */
+        MONTHLY("Every month", 0),
+
+        /** On the same day of the same month every year. */
+        YEARLY("Every year", 0);
+
+        /** Label shown to the user. */
+        private final String label;
+
+        /** Number of days between two dates, or 0 if the rule follows the calendar. */
+        private final int days;
+
+        Frequency(String label, int days) {
+            this.label = label;
+            this.days = days;
+        }
+
+        /**
+         * Gets the label shown to the user.
+         *
+         * @return The label, such as "Every month".
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Checks whether the rule can fall more than once in a month.
+         *
+         * @return True for weekly and bi-weekly rules.
+         */
+        public boolean isSeveralPerMonth() {
+            return days > 0;
+        }
+    }
+
+    /** Name of the entries the rule creates. */
+    private final String name;
+
+    /** Sign byte of the entries, {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}. */
+    private final byte sign;
+
+    /** Amount of the entries, in cents. */
+    private final long amount;
+
+    /** Category of the entries, or {@link FinancialEntry#NO_CATEGORY}. */
+    private final String category;
+
+    /** How often the rule repeats. */
+    private final Frequency frequency;
+
+    /** First date the rule falls on, in days since 1970-01-01. */
+    private final int start;
+
+    /** Last date the rule may fall on, inclusive, or {@link Integer#MAX_VALUE} if it never ends. */
+    private final int end;
+
+    /**
+     * Constructs a new RecurringRule.
+     *
+     * @param name      The name of the entries the rule creates.
+     * @param sign      {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     * @param amount    The amount of the entries, in cents.
+     * @param category  The category of the entries, or {@link FinancialEntry#NO_CATEGORY}.
+     * @param frequency How often the rule repeats.
+     * @param start     The first date the rule falls on, in days since 1970-01-01.
+     * @param end       The last date the rule may fall on, or {@link Integer#MAX_VALUE} if it never ends.
+     */
+    public RecurringRule(String name, byte sign, long amount, String category, Frequency frequency,
+                         int start, int end) {
+        this.name = name;
+        this.sign = sign;
+        this.amount = amount;
+        this.category = category == null ? FinancialEntry.NO_CATEGORY : category;
+        this.frequency = frequency;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Gets the name of the entries the rule creates.
+     *
+     * @return The name of the rule.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the sign byte of the entries.
+     *
+     * @return {@link FinancialEntry#EARNING} or {@link FinancialEntry#EXPENSE}.
+     */
+    public byte getSign() {
+        return sign;
+    }
+
+    /**
+     * Gets the amount of the entries.
+     *
+     * @return The amount, in cents.
+     */
+    public long getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets the category of the entries.
+     *
+     * @return The category, or {@link FinancialEntry#NO_CATEGORY}.
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Gets how often the rule repeats.
+     *
+     * @return The frequency.
+     */
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Gets the first date the rule falls on.
+     *
+     * @return The date, in days since 1970-01-01.
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the last date the rule may fall on.
+     *
+     * @return The date, inclusive, or {@link Integer#MAX_VALUE} if the rule never ends.
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the dates the rule falls on within a month.
+     *
+     * @param month The partition key, such as "2026/april".
+     * @return The dates, oldest first. Empty if the rule does not fall in the month.
+     */
+    public int[] datesIn(String month) {
+        int first = Math.max(EntryDate.firstDayOf(month), start);
+        int last = Math.min(EntryDate.lastDayOf(month), end);
+        if (EntryDate.firstDayOf(month) == EntryDate.NO_DATE || first > last) {
+            return new int[0];
+        }
+        if (frequency.isSeveralPerMonth()) {
+            // Step from the first date on or after the start of the month
+            int skipped = (first - start + frequency.days - 1) / frequency.days;
+            int[] dates = new int[(last - first) / frequency.days + 1];
+            int count = 0;
+            for (int date = start + skipped * frequency.days; date <= last; date += frequency.days) {
+                dates[count++] = date;
+            }
+            return Arrays.copyOf(dates, count);
+        }
+        int monthOfYear = PartitionIndex.monthOf(month) + 1;
+        if (frequency == Frequency.YEARLY && monthOfYear != EntryDate.monthOf(start)) {
+            return new int[0];
+        }
+        int year = PartitionIndex.yearOf(month);
+        int lastDay = EntryDate.dayOf(EntryDate.lastDayOf(month));
+        int date = EntryDate.of(year, monthOfYear, Math.min(EntryDate.dayOf(start), lastDay));
+        return date >= first && date <= last ? new int[] {date} : new int[0];
+    }
+
+    /**
+     * Gets the name of the entry the rule creates on a date. Month entries are keyed by name, so a
+     * rule that can fall more than once in a month adds the date to its name.
+     *
+     * @param date The date, in days since 1970-01-01.
+     * @return The entry name, such as "Rent" or "Gym (2026-04-07)".
+     */
+    public String nameOn(int date) {
+        if (!frequency.isSeveralPerMonth()) {
+            return name;
+        }
+        return EntryDate.append(new StringBuilder(name.length() + 13).append(name).append(" ("), date)
+                .append(')').toString();
+    }
+
+    /**
+     * Creates the entry the rule stands for on a date.
+     *
+     * @param date The date, in days since 1970-01-01.
+     * @return A new FinancialEntry dated on the date.
+     */
+    public FinancialEntry entryOn(int date) {
+        return new FinancialEntry(nameOn(date), FinancialEntry.signOf(sign), amount, category, date);
+    }
+}
@@ -0,0 +1,129 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import java.util.List;
+
+/**
+ * The ReportFormatter class renders the text of the Results and Records screens into one
+ * StringBuilder that is kept between reports. Each report sizes the builder once from the number
+ * and length of its rows, and amounts and percentages go through {@link Money#appendTo} and
+ * {@link Money#appendPercent} instead of String.format, so a report of n rows costs O(n) time and
+ * a single String copy however long the month is.
+ *
+ * <p>A formatter is not thread-safe. The text a method returns is only valid until the next call.
+ */
+public class ReportFormatter {
+
+    /** Characters reserved per row on top of the name, for the separators, amount and color. */
+    private static final int ROW_OVERHEAD = 24;
+
+    /** Spacing between an expense name and its percentage in the breakdown. */
+    private static final String COLUMN_GAP = "          ";
+
+    /** Builder the reports are written into. */
+    private final StringBuilder sb;
+
+    /**
+     * Constructs a new ReportFormatter.
+     *
+     * @param capacity The number of characters to allocate up front.
+     */
+    public ReportFormatter(int capacity) {
+        sb = new StringBuilder(Math.max(16, capacity));
+    }
+
+    /**
+     * Formats one row of the Records list, such as "Rent: $600.00".
+     *
+     * @param name   The name of the entry.
+     * @param amount The amount of the entry, in cents.
+     * @return The row, backed by the formatter's builder.
+     */
+    public CharSequence entryLine(String name, long amount) {
+        sb.setLength(0);
+        sb.append(name).append(": $");
+        Money.appendTo(sb, amount);
+        return sb;
+    }
+
+    /**
+     * Renders the legend of the Results pie chart: each expense name with the color of its slice.
+     *
+     * @param names  The expense names, in slice order.
+     * @param colors The color names, used in turn.
+     * @return The legend.
+     */
+    public String legend(List<String> names, String[] colors) {
+        start(names, 2);
+        sb.append('\n');
+        for (int i = 0; i < names.size(); ++i) {
+            sb.append(names.get(i)).append(": (").append(colors[i % colors.length]).append(")\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Renders the expense breakdown of the Results screen: the share of each expense name in the
+     * month's expenses, then the month's spending against its earnings.
+     *
+     * @param totals The totals of the month.
+     * @param names  The expense names, in slice order.
+     * @return The breakdown.
+     */
+    public String expenseBreakdown(MonthTotals totals, List<String> names) {
+        return breakdown(totals, names, false);
+    }
+
+    /**
+     * Renders the expense breakdown of the Results screen by category: the share of each category
+     * in the month's expenses, then the month's spending against its earnings.
+     *
+     * @param totals     The totals of the month.
+     * @param categories The expense categories, from {@link MonthTotals#getCategories(byte)}.
+     * @return The breakdown.
+     */
+    public String categoryBreakdown(MonthTotals totals, List<String> categories) {
+        return breakdown(totals, categories, true);
+    }
+
+    /**
+     * Renders an expense breakdown by name or by category.
+     *
+     * @param totals     The totals of the month.
+     * @param keys       The expense names or categories.
+     * @param categories True if the keys are categories.
+     * @return The breakdown.
+     */
+    private String breakdown(MonthTotals totals, List<String> keys, boolean categories) {
+        long expenseTotal = totals.getTotal(FinancialEntry.EXPENSE);
+        long earningTotal = totals.getTotal(FinancialEntry.EARNING);
+        start(keys, 120);
+        sb.append('\n');
+        for (int i = 0; i < keys.size(); ++i) {
+            String key = keys.get(i);
+            long sum = categories ? totals.getCategorySum(FinancialEntry.EXPENSE, key)
+                    : totals.getSum(FinancialEntry.EXPENSE, key);
+            sb.append(categories ? FinancialEntry.labelOf(key) : key).append(COLUMN_GAP);
+            Money.appendPercent(sb, sum, expenseTotal).append("%\n");
+        }
+        sb.append("\n You spent $");
+        Money.appendTo(sb, expenseTotal).append(" out of $");
+        Money.appendTo(sb, earningTotal).append(" total. (This is ");
+        Money.appendPercent(sb, expenseTotal, earningTotal).append("% of total earnings.");
+        return sb.toString();
+    }
+
+    /**
+     * Clears the builder and grows it once to fit a report.
+     *
+     * @param names The row names of the report.
+     * @param extra The characters needed outside the rows.
+     */
+    private void start(List<String> names, int extra) {
+        sb.setLength(0);
+        long needed = extra + (long) names.size() * ROW_OVERHEAD;
+        for (int i = 0; i < names.size(); ++i) {
+            needed += names.get(i).length();
+        }
+        sb.ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, needed));
+    }
+}
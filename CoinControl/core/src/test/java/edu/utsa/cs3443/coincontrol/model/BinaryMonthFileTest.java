@@ -0,0 +1,157 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Writing, mapping and converting the binary month format, on the plain JVM.
+ */
+public class BinaryMonthFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void convert_keepsEveryRowInOrder() throws IOException {
+        File csv = writeCsv("Pay,+,1000.5\nRent,-,600.00\nCafé,-,3.25\nRent,-,1.2345678E7\n");
+        File binary = new File(folder.getRoot(), "april.ccm");
+        assertEquals(4, BinaryMonthFile.convert(csv, binary, new NamePool()));
+
+        MappedMonth mapped = MappedMonth.open(binary);
+        assertEquals(4, mapped.size());
+        assertEquals("Pay", mapped.getName(0));
+        assertEquals(100050, mapped.getAmount(0));
+        assertEquals(FinancialEntry.EARNING, mapped.getSign(0));
+        assertEquals("Café", mapped.getName(2));
+        assertEquals("Rent", mapped.getName(3));
+        assertEquals(1234567800, mapped.getAmount(3));
+        assertEquals(60000 + 325 + 1234567800, mapped.total(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void toLedger_matchesParsingTheCsv() throws IOException {
+        File csv = writeCsv("Pay,+,1000\nRent,-,600\nFood,-,80.10\n");
+        File binary = new File(folder.getRoot(), "april.ccm");
+        NamePool names = new NamePool();
+        BinaryMonthFile.convert(csv, binary, names);
+
+        MonthLedger ledger = MappedMonth.open(binary).toLedger(names);
+        assertEquals(3, ledger.size());
+        assertEquals(8010, ledger.getAmount(ledger.indexOf("Food")));
+        assertEquals(68010, ledger.total(FinancialEntry.EXPENSE));
+    }
+
+    @Test(expected = IOException.class)
+    public void open_rejectsOtherFiles() throws IOException {
+        MappedMonth.open(writeCsv("Pay,+,1000.00\nRent,-,600.00\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void open_rejectsUnknownVersion() throws IOException {
+        File binary = new File(folder.getRoot(), "april.ccm");
+        BinaryMonthFile.write(new MonthLedger(new NamePool()), binary);
+        RandomAccessFile raf = new RandomAccessFile(binary, "rw");
+        raf.seek(4);
+        raf.writeShort(0x0900);
+        raf.close();
+        MappedMonth.open(binary);
+    }
+
+    @Test
+    public void repository_convertsCompactsAndReadsBinaryMonths() throws IOException {
+        writeCsv("Pay,+,1000.00\nRent,-,600.00\n");
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.setBinaryFormat(true);
+        assertTrue(repository.updateAmount("April", "Rent", 65000));
+        assertFalse(repository.getFile("April").exists());
+        assertTrue(repository.getBinaryFile("April").exists());
+        repository.compact("April");
+
+        LedgerRepository restarted = new LedgerRepository(folder.getRoot());
+        List<FinancialEntry> entries = restarted.getEntries("April");
+        assertEquals(2, entries.size());
+        assertEquals(65000, entries.get(1).getAmount());
+
+        // Switching back to CSV writes a CSV file on the next compaction
+        restarted.deleteEntry("April", "Pay");
+        restarted.compact("April");
+        assertTrue(restarted.getFile("April").exists());
+        assertFalse(restarted.getBinaryFile("April").exists());
+        assertEquals(1, new LedgerRepository(folder.getRoot()).getEntries("April").size());
+    }
+
+    private File writeCsv(String contents) throws IOException {
+        File file = new File(folder.getRoot(), "april.csv");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        writer.write(contents);
+        writer.close();
+        return file;
+    }
+
+    @Test
+    public void categories_roundTripAndVersionOneFilesHaveNone() throws IOException {
+        NamePool names = new NamePool();
+        MonthLedger ledger = new MonthLedger(names);
+        ledger.add("Market", FinancialEntry.EXPENSE, 8000, "Groceries");
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000);
+        File binary = new File(folder.getRoot(), "april.ccm");
+        BinaryMonthFile.write(ledger, binary);
+
+        MappedMonth mapped = MappedMonth.open(binary);
+        assertEquals("Groceries", mapped.getCategory(0));
+        assertEquals(FinancialEntry.NO_CATEGORY, mapped.getCategory(1));
+        assertEquals(8000, mapped.toLedger(names).getTotals().getCategorySum(FinancialEntry.EXPENSE, "Groceries"));
+
+        // Version 1 writers left the category bytes as zero padding, and neither 1 nor 2 wrote dates
+        for (short version = 1; version <= 2; ++version) {
+            writeUndatedRent(binary, version);
+            MappedMonth old = MappedMonth.open(binary);
+            assertEquals(FinancialEntry.NO_CATEGORY, old.getCategory(0));
+            assertEquals(EntryDate.NO_DATE, old.getDate(0));
+            assertEquals(60000, old.total(FinancialEntry.EXPENSE));
+        }
+    }
+
+    @Test
+    public void dates_roundTrip() throws IOException {
+        NamePool names = new NamePool();
+        MonthLedger ledger = new MonthLedger(names);
+        ledger.add("Market", FinancialEntry.EXPENSE, 8000, "Groceries", EntryDate.of(2026, 4, 3));
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000);
+        File binary = new File(folder.getRoot(), "april.ccm");
+        BinaryMonthFile.write(ledger, binary);
+
+        MonthLedger read = MappedMonth.open(binary).toLedger(names);
+        assertEquals(EntryDate.of(2026, 4, 3), read.getDate(0));
+        assertEquals(EntryDate.NO_DATE, read.getDate(1));
+        assertEquals("Groceries", read.getCategory(0));
+    }
+
+    /**
+     * Writes a binary month file in a format version before dates, holding one undated "Rent"
+     * expense of 600.00 without a category.
+     */
+    private static void writeUndatedRent(File file, short version) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryMonthFile.HEADER_SIZE + BinaryMonthFile.UNDATED_RECORD_SIZE + 8)
+                .order(BinaryMonthFile.ORDER);
+        buffer.putInt(BinaryMonthFile.MAGIC).putShort(version).putShort((short) BinaryMonthFile.UNDATED_RECORD_SIZE)
+                .putInt(1).putInt(1).putLong(BinaryMonthFile.HEADER_SIZE + BinaryMonthFile.UNDATED_RECORD_SIZE);
+        buffer.putLong(60000).putInt(0).put(FinancialEntry.EXPENSE).put(new byte[3]);
+        buffer.putInt(4).put("Rent".getBytes("UTF-8"));
+        FileOutputStream out = new FileOutputStream(file, false);
+        out.write(buffer.array());
+        out.close();
+    }
+}
@@ -0,0 +1,83 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Top-N pie chart slices with an "Other" slice.
+ */
+public class ChartSlicesTest {
+
+    @Test
+    public void top_keepsLargestNamesAndFoldsTheRest() {
+        MonthTotals totals = new MonthTotals();
+        totals.add("Pay", FinancialEntry.EARNING, 900000);
+        totals.add("Coffee", FinancialEntry.EXPENSE, 500);
+        totals.add("Rent", FinancialEntry.EXPENSE, 60000);
+        totals.add("Gas", FinancialEntry.EXPENSE, 4000);
+        totals.add("Food", FinancialEntry.EXPENSE, 20000);
+        totals.add("Coffee", FinancialEntry.EXPENSE, 500);
+
+        ChartSlices slices = ChartSlices.top(totals, FinancialEntry.EXPENSE, 2);
+
+        assertEquals(Arrays.asList("Rent", "Food", ChartSlices.OTHER), slices.getLabels());
+        assertEquals(60000, slices.getValue(0));
+        assertEquals(5000, slices.getValue(2));
+        assertTrue(slices.hasOther());
+    }
+
+    @Test
+    public void top_keepsFirstSeenNameOnTiesAndSkipsZeroSums() {
+        MonthTotals totals = new MonthTotals();
+        totals.add("A", FinancialEntry.EXPENSE, 100);
+        totals.add("B", FinancialEntry.EXPENSE, 100);
+        totals.add("Refund", FinancialEntry.EXPENSE, 0);
+
+        ChartSlices one = ChartSlices.top(totals, FinancialEntry.EXPENSE, 1);
+        assertEquals(Arrays.asList("A", ChartSlices.OTHER), one.getLabels());
+
+        ChartSlices all = ChartSlices.top(totals, FinancialEntry.EXPENSE, 6);
+        assertEquals(Arrays.asList("A", "B"), all.getLabels());
+        assertFalse(all.hasOther());
+        assertEquals(0, ChartSlices.top(new MonthTotals(), FinancialEntry.EXPENSE, 6).size());
+    }
+
+    @Test
+    public void top_boundsSlicesForLargeMonths() {
+        MonthTotals totals = new MonthTotals();
+        long sum = 0;
+        for (int i = 1; i <= 10000; ++i) {
+            totals.add("Item " + i, FinancialEntry.EXPENSE, i);
+            sum += i;
+        }
+        ChartSlices slices = ChartSlices.top(totals, FinancialEntry.EXPENSE, 6);
+
+        assertEquals(7, slices.size());
+        assertEquals("Item 10000", slices.getLabel(0));
+        assertEquals("Item 9995", slices.getLabel(5));
+        long shown = 0;
+        for (int i = 0; i < slices.size(); ++i) {
+            shown += slices.getValue(i);
+        }
+        assertEquals(sum, shown);
+    }
+
+    @Test
+    public void topCategories_labelsEntriesWithoutACategory() {
+        MonthTotals totals = new MonthTotals();
+        totals.add("Market", FinancialEntry.EXPENSE, 8000, "Groceries");
+        totals.add("Bakery", FinancialEntry.EXPENSE, 2000, "Groceries");
+        totals.add("Gift", FinancialEntry.EXPENSE, 5000);
+        totals.add("Rent", FinancialEntry.EXPENSE, 60000, "Housing");
+
+        ChartSlices slices = ChartSlices.topCategories(totals, FinancialEntry.EXPENSE, 2);
+        assertEquals(Arrays.asList("Housing", "Groceries", ChartSlices.OTHER), slices.getLabels());
+        assertEquals(10000, slices.getValue(1));
+        assertEquals(5000, slices.getValue(2));
+        assertEquals(FinancialEntry.UNCATEGORIZED,
+                ChartSlices.topCategories(totals, FinancialEntry.EXPENSE, 6).getLabel(2));
+    }
+}
@@ -0,0 +1,66 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Date-range queries across month partitions, on the plain JVM.
+ */
+public class DateRangeQueryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LedgerRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+        repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2026/march", new FinancialEntry("Rent", "-", 60000, "", EntryDate.of(2026, 3, 1)));
+        repository.addEntry("2026/march", new FinancialEntry("Late", "-", 900, "", EntryDate.of(2026, 3, 30)));
+        repository.addEntry("2026/april", new FinancialEntry("Pay", "+", 300000, "", EntryDate.of(2026, 4, 10)));
+        repository.addEntry("2026/april", new FinancialEntry("Market", "-", 8000, "", EntryDate.of(2026, 4, 2)));
+        repository.addEntry("2026/april", new FinancialEntry("Old", "-", 100));
+        repository.addEntry("2025/june", new FinancialEntry("Trip", "-", 40000, "", EntryDate.of(2025, 6, 5)));
+    }
+
+    @Test
+    public void between_spansMonthsInDateOrder() throws IOException {
+        MonthLedger range = new DateRangeQuery(repository).between(EntryDate.of(2026, 3, 15), EntryDate.of(2026, 4, 5));
+        assertEquals(3, range.size());
+        assertEquals("Late", range.getName(0));
+        // Undated entries stand for the first day of their month
+        assertEquals("Old", range.getName(1));
+        assertEquals("Market", range.getName(2));
+        assertEquals(8000 + 900 + 100, range.total(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void getMonths_touchesOnlyOverlappingPartitions() throws IOException {
+        DateRangeQuery query = new DateRangeQuery(repository);
+        assertEquals(Arrays.asList("2026/march", "2026/april"),
+                query.getMonths(EntryDate.of(2026, 3, 31), EntryDate.of(2026, 5, 20)));
+        assertEquals(Arrays.asList("2025/june", "2026/march", "2026/april"),
+                query.getMonths(EntryDate.of(2025, 1, 1), EntryDate.of(2026, 12, 31)));
+        assertTrue(query.getMonths(EntryDate.of(2025, 7, 1), EntryDate.of(2026, 2, 28)).isEmpty());
+        assertEquals(0, query.between(EntryDate.of(2026, 4, 5), EntryDate.of(2026, 4, 1)).size());
+    }
+
+    @Test
+    public void lastDaysAndWeek_endOnToday() throws IOException {
+        DateRangeQuery query = new DateRangeQuery(repository);
+        int today = EntryDate.of(2026, 4, 10);
+        assertEquals(5, query.lastDays(today, 41).size());
+        assertEquals(3, query.lastDays(today, 10).size());
+        MonthLedger week = query.week(today);
+        assertEquals(1, week.size());
+        assertEquals("Pay", week.getName(0));
+    }
+}
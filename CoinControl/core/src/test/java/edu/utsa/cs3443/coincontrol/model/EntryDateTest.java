@@ -0,0 +1,58 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Date arithmetic for entries: calendar fields, parsing, formatting and month bounds.
+ */
+public class EntryDateTest {
+
+    @Test
+    public void of_matchesTheCalendar() {
+        assertEquals(0, EntryDate.of(1970, 1, 1));
+        assertEquals(LocalDate.of(2026, 4, 3).toEpochDay(), EntryDate.of(2026, 4, 3));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), EntryDate.of(2024, 2, 29));
+        for (int date = EntryDate.of(1999, 12, 1); date < EntryDate.of(2031, 1, 1); ++date) {
+            LocalDate expected = LocalDate.ofEpochDay(date);
+            assertEquals(expected.getYear(), EntryDate.yearOf(date));
+            assertEquals(expected.getMonthValue(), EntryDate.monthOf(date));
+            assertEquals(expected.getDayOfMonth(), EntryDate.dayOf(date));
+            assertEquals(expected.toString(), EntryDate.format(date));
+            assertEquals(date, EntryDate.parse(expected.toString()));
+        }
+    }
+
+    @Test
+    public void parse_rejectsMalformedDates() {
+        char[] chars = "2026-02-30 2026-4-03 2026/04/03".toCharArray();
+        assertEquals(EntryDate.NO_DATE, EntryDate.parse(chars, 0, 10));
+        assertEquals(EntryDate.NO_DATE, EntryDate.parse(chars, 11, 20));
+        assertEquals(EntryDate.NO_DATE, EntryDate.parse(chars, 20, 30));
+        try {
+            EntryDate.parse("April 3");
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // A typed date that is not yyyy-MM-dd is reported
+        }
+    }
+
+    @Test
+    public void months_mapToPartitions() {
+        assertEquals("2026/april", EntryDate.monthKey(EntryDate.of(2026, 4, 30)));
+        assertEquals(EntryDate.of(2024, 2, 1), EntryDate.firstDayOf("2024/february"));
+        assertEquals(EntryDate.of(2024, 2, 29), EntryDate.lastDayOf("2024/february"));
+        assertEquals(EntryDate.of(2025, 12, 31), EntryDate.lastDayOf("2025/december"));
+        assertEquals(EntryDate.NO_DATE, EntryDate.firstDayOf("april"));
+
+        int today = EntryDate.of(2026, 4, 18);
+        assertEquals(today, EntryDate.defaultFor("2026/april", today));
+        assertEquals(EntryDate.of(2026, 3, 1), EntryDate.defaultFor("2026/march", today));
+        // 2026-04-18 is a Saturday
+        assertEquals(EntryDate.of(2026, 4, 13), EntryDate.startOfWeek(today));
+        assertEquals(EntryDate.of(2026, 4, 13), EntryDate.startOfWeek(EntryDate.of(2026, 4, 13)));
+    }
+}
@@ -0,0 +1,80 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the char-buffer parser reads month files the same way the old split path did.
+ */
+public class FinancialEntryParserTest {
+
+    @Test
+    public void parse_readsNameSignAndAmount() throws IOException {
+        List<FinancialEntry> entries = new FinancialEntryParser().parse(
+                new StringReader("Pay,+,1000.0\nRent,-,600.5\r\n Food ,-,12\nBig,-,1.2345678E7"));
+        assertEquals(4, entries.size());
+        assertEquals("Pay", entries.get(0).getName());
+        assertTrue(entries.get(0).isEarning());
+        assertEquals(60050, entries.get(1).getAmount());
+        assertEquals("Food", entries.get(2).getName());
+        assertEquals(1200, entries.get(2).getAmount());
+        assertEquals(1234567800, entries.get(3).getAmount());
+    }
+
+    @Test
+    public void parse_skipsMalformedLines() throws IOException {
+        List<FinancialEntry> entries = new FinancialEntryParser().parse(
+                new StringReader("\nNoFields\nBad,*,1.0\nBad,-,abc\nGood,-,2.5\n"));
+        assertEquals(1, entries.size());
+        assertEquals("Good", entries.get(0).getName());
+    }
+
+    @Test
+    public void parse_reusesNameStrings() throws IOException {
+        List<FinancialEntry> entries = new FinancialEntryParser().parse(
+                new StringReader("Rent,-,1.0\nRent,-,2.0\n"));
+        assertSame(entries.get(0).getName(), entries.get(1).getName());
+    }
+
+    @Test
+    public void parse_handlesLinesLongerThanTheBuffer() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 20000; ++i) {
+            name.append('x');
+        }
+        List<FinancialEntry> entries = new FinancialEntryParser().parse(
+                new StringReader("A,-,1.0\n" + name + ",+,2.0\nB,-,3.0\n"));
+        assertEquals(3, entries.size());
+        assertEquals(20000, entries.get(1).getName().length());
+        assertEquals("B", entries.get(2).getName());
+    }
+
+    @Test
+    public void parse_readsOptionalCategoryColumn() throws IOException {
+        List<FinancialEntry> entries = new FinancialEntryParser().parse(new StringReader(
+                "Rent,-,600.00\nMarket,-,80.00, Groceries \n\"Car, used\",-,10.00,\"Auto, \"\"misc\"\"\"\n"));
+        assertEquals(3, entries.size());
+        assertEquals(FinancialEntry.NO_CATEGORY, entries.get(0).getCategory());
+        assertEquals("Groceries", entries.get(1).getCategory());
+        assertEquals("Auto, \"misc\"", entries.get(2).getCategory());
+    }
+
+    @Test
+    public void parse_readsOptionalDateColumn() throws IOException {
+        List<FinancialEntry> entries = new FinancialEntryParser().parse(new StringReader(
+                "Rent,-,600.00,,2026-04-01\nMarket,-,80.00,\"Food, drink\", 2026-04-03 \nGift,-,5.00,Other\n"
+                        + "Bad,-,1.00,,2026-02-30\n"));
+        assertEquals(4, entries.size());
+        assertEquals(EntryDate.of(2026, 4, 1), entries.get(0).getDate());
+        assertEquals(FinancialEntry.NO_CATEGORY, entries.get(0).getCategory());
+        assertEquals(EntryDate.of(2026, 4, 3), entries.get(1).getDate());
+        assertEquals("Food, drink", entries.get(1).getCategory());
+        assertEquals(EntryDate.NO_DATE, entries.get(2).getDate());
+        assertEquals(EntryDate.NO_DATE, entries.get(3).getDate());
+    }
+}
@@ -0,0 +1,96 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Range aggregation and partial-aggregate caching across month files, on the plain JVM.
+ */
+public class LedgerAggregatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ForkJoinPool pool;
+    private LedgerRepository repository;
+    private LedgerAggregator aggregator;
+
+    @Before
+    public void setUp() throws IOException {
+        pool = new ForkJoinPool(4);
+        repository = new LedgerRepository(folder.getRoot());
+        aggregator = new LedgerAggregator(repository, pool);
+        repository.addEntry("2026/january", new FinancialEntry("Pay", "+", 300000));
+        repository.addEntry("2026/january", new FinancialEntry("Rent", "-", 120000));
+        repository.addEntry("2026/february", new FinancialEntry("Pay", "+", 300000));
+        repository.addEntry("2026/february", new FinancialEntry("Rent", "-", 120000));
+        repository.addEntry("2026/february", new FinancialEntry("Food", "-", 30000));
+        repository.addEntry("2026/december", new FinancialEntry("Gifts", "-", 50000));
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void aggregateYear_sumsEveryMonth() throws IOException {
+        MonthTotals year = aggregator.aggregateYear(2026);
+        assertEquals(600000, year.getTotal(FinancialEntry.EARNING));
+        assertEquals(320000, year.getTotal(FinancialEntry.EXPENSE));
+        assertEquals(240000, year.getSum(FinancialEntry.EXPENSE, "Rent"));
+        assertEquals(4, year.getCount(FinancialEntry.EXPENSE));
+        assertEquals(280000 / 600000.0, year.getSavingsRate(), 1e-9);
+    }
+
+    @Test
+    public void aggregate_onlyReloadsChangedMonths() throws IOException {
+        aggregator.aggregateYear(2026);
+        assertEquals(12, aggregator.getReloadCount());
+
+        aggregator.aggregateYear(2026);
+        assertEquals(12, aggregator.getReloadCount());
+
+        repository.updateAmount("2026/february", "Food", 45000);
+        MonthTotals year = aggregator.aggregateYear(2026);
+        assertEquals(13, aggregator.getReloadCount());
+        assertEquals(335000, year.getTotal(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void aggregate_doesNotChangeCachedPartials() throws IOException {
+        aggregator.aggregate(Arrays.asList("2026/january", "2026/february"));
+        MonthTotals january = aggregator.aggregate(Arrays.asList("2026/january"));
+        january.add("Extra", FinancialEntry.EXPENSE, 1);
+        assertEquals(120000, aggregator.aggregate(Arrays.asList("2026/january")).getTotal(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void rollingWindow_reachesIntoEarlierYears() {
+        assertEquals(Arrays.asList("2025/november", "2025/december", "2026/january"),
+                LedgerAggregator.rollingWindow(2026, "january", 3));
+        assertEquals(24, LedgerAggregator.rollingWindow(2026, "December", 24).size());
+        assertEquals("2025/january", LedgerAggregator.rollingWindow(2026, "December", 24).get(0));
+    }
+
+    @Test
+    public void rollingWindow_acrossYears_sumsBothYears() throws IOException {
+        repository.addEntry("2025/december", new FinancialEntry("Gifts", "-", 20000));
+        MonthTotals window = aggregator.aggregate(LedgerAggregator.rollingWindow(2026, "February", 3));
+        assertEquals(290000, window.getTotal(FinancialEntry.EXPENSE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rollingWindow_rejectsUnknownMonth() {
+        LedgerAggregator.rollingWindow(2026, "Smarch", 3);
+    }
+}
@@ -0,0 +1,168 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * StrictMode-style checks that ledger I/O never runs on the main thread. A single-thread executor
+ * plays the part of the main looper, exactly as the app's Handler does.
+ */
+public class LedgerExecutorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ExecutorService mainLooper;
+    private Thread mainThread;
+    private LedgerExecutor ledgerExecutor;
+    private LedgerRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        mainLooper = Executors.newSingleThreadExecutor();
+        mainThread = mainLooper.submit(new Callable<Thread>() {
+            @Override
+            public Thread call() {
+                return Thread.currentThread();
+            }
+        }).get();
+        LedgerRepository.setMainThread(mainThread);
+        ledgerExecutor = new LedgerExecutor(mainLooper);
+        repository = new LedgerRepository(folder.getRoot());
+
+        FileWriter writer = new FileWriter(new File(folder.getRoot(), "january.csv"));
+        writer.write("Pay,+,1000.0\nRent,-,600.0\n");
+        writer.close();
+    }
+
+    @After
+    public void tearDown() {
+        LedgerRepository.setMainThread(null);
+        ledgerExecutor.shutdown();
+        mainLooper.shutdown();
+    }
+
+    @Test
+    public void blockingReadOnMainThread_isRejected() throws Exception {
+        Throwable failure = mainLooper.submit(new Callable<Throwable>() {
+            @Override
+            public Throwable call() {
+                try {
+                    repository.getEntries("January");
+                    return null;
+                } catch (Throwable t) {
+                    return t;
+                }
+            }
+        }).get();
+        assertTrue(failure instanceof IllegalStateException);
+    }
+
+    @Test
+    public void submittedTasks_runOffMainThread_andCallBackOnMainThread() throws Exception {
+        final AtomicReference<Thread> ioThread = new AtomicReference<>();
+        final AtomicReference<Thread> callbackThread = new AtomicReference<>();
+        final AtomicReference<List<FinancialEntry>> loaded = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        ledgerExecutor.submit(new LedgerTask<List<FinancialEntry>>() {
+            @Override
+            public List<FinancialEntry> run() throws IOException {
+                ioThread.set(Thread.currentThread());
+                repository.addEntry("January", new FinancialEntry("Food", "-", 5000));
+                return repository.getEntries("January");
+            }
+        }, new LedgerCallback<List<FinancialEntry>>() {
+            @Override
+            public void onSuccess(List<FinancialEntry> result) {
+                callbackThread.set(Thread.currentThread());
+                loaded.set(result);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(IOException e) {
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotSame(mainThread, ioThread.get());
+        assertEquals(LedgerExecutor.THREAD_NAME, ioThread.get().getName());
+        assertSame(mainThread, callbackThread.get());
+        assertEquals(3, loaded.get().size());
+    }
+
+    @Test
+    public void ioErrors_areDeliveredToOnError() throws Exception {
+        final AtomicReference<IOException> error = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        ledgerExecutor.submit(new LedgerTask<Void>() {
+            @Override
+            public Void run() throws IOException {
+                throw new IOException("disk full");
+            }
+        }, new LedgerCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                done.countDown();
+            }
+
+            @Override
+            public void onError(IOException e) {
+                error.set(e);
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("disk full", error.get().getMessage());
+    }
+
+    @Test
+    public void runtimeErrors_areRethrownOnTheCallbackThread() throws Exception {
+        final AtomicReference<RuntimeException> thrown = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        LedgerExecutor crashing = new LedgerExecutor(new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                // Stands in for the main looper, where the exception would crash the app
+                try {
+                    runnable.run();
+                } catch (RuntimeException e) {
+                    thrown.set(e);
+                    done.countDown();
+                }
+            }
+        });
+
+        crashing.submit(new LedgerTask<Void>() {
+            @Override
+            public Void run() {
+                throw new IllegalArgumentException("bad month");
+            }
+        }, null);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("bad month", thrown.get().getMessage());
+        crashing.shutdown();
+    }
+}
@@ -0,0 +1,138 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Streaming CSV and JSON export of month ranges, plain and gzipped, on the plain JVM.
+ */
+public class LedgerExporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LedgerRepository repository;
+
+    @Before
+    public void setUp() throws IOException {
+        repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2026/january", new FinancialEntry("Pay", "+", 300000, "Salary",
+                EntryDate.of(2026, 1, 15)));
+        repository.addEntry("2026/january", new FinancialEntry("Smith, \"J\"", "-", 4250));
+        repository.addEntry("2025/december", new FinancialEntry("Gifts", "-", 50000));
+    }
+
+    @Test
+    public void csv_listsMonthsInOrderAndQuotesNames() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = new LedgerExporter(repository).export(repository.getPartitions(), LedgerExporter.Format.CSV, false, out);
+
+        assertEquals(3, rows);
+        assertEquals("name,sign,amount,category,date,month\n"
+                + "Gifts,-,500.00,,,2025/december\n"
+                + "Pay,+,3000.00,Salary,2026-01-15,2026/january\n"
+                + "\"Smith, \"\"J\"\"\",-,42.50,,,2026/january\n", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void json_escapesNames() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new LedgerExporter(repository).export(Arrays.asList("2026/january"), LedgerExporter.Format.JSON, false, out);
+
+        assertEquals("[\n"
+                + "{\"month\":\"2026/january\",\"name\":\"Pay\",\"sign\":\"+\",\"amount\":3000.00,\"category\":\"Salary\",\"date\":\"2026-01-15\"},\n"
+                + "{\"month\":\"2026/january\",\"name\":\"Smith, \\\"J\\\"\",\"sign\":\"-\",\"amount\":42.50,\"category\":\"\",\"date\":null}\n"
+                + "]\n", out.toString("UTF-8"));
+
+        out.reset();
+        new LedgerExporter(repository).export(Arrays.asList("2024/may"), LedgerExporter.Format.JSON, false, out);
+        assertEquals("[]\n", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void gzippedFile_isReadBackByTheImporter() throws IOException {
+        List<FinancialEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 20000; ++i) {
+            entries.add(new FinancialEntry("Item " + i, "-", i));
+        }
+        repository.addEntries("2026/march", entries);
+        File file = new File(folder.getRoot(), "march.csv.gz");
+        assertEquals(20000, new LedgerExporter(repository).export(
+                Arrays.asList("2026/march"), LedgerExporter.Format.CSV, true, file));
+        assertFalse(new File(folder.getRoot(), "march.csv.gz.tmp").exists());
+
+        LedgerRepository other = new LedgerRepository(folder.newFolder());
+        InputStream in = new GZIPInputStream(new FileInputStream(file));
+        Reader reader = new InputStreamReader(in, "UTF-8");
+        try {
+            LedgerImporter.Report report = new LedgerImporter(other).importCsv(reader, "2026/march");
+            assertEquals(20000, report.getImported());
+            assertEquals(1, report.getRejected());
+        } finally {
+            reader.close();
+        }
+        assertEquals(repository.getTotals("2026/march").getTotal(FinancialEntry.EXPENSE),
+                other.getTotals("2026/march").getTotal(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void exportingManyMonths_leavesTheCachedMonthsInPlace() throws IOException {
+        for (int i = 0; i < LedgerRepository.MAX_CACHED_MONTHS; ++i) {
+            repository.addEntry((2010 + i) + "/april", new FinancialEntry("Rent", "-", i));
+        }
+        LedgerRepository fresh = new LedgerRepository(folder.getRoot());
+        MonthLedger held = fresh.getLedger("2026/january");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(LedgerRepository.MAX_CACHED_MONTHS + 3, new LedgerExporter(fresh)
+                .export(fresh.getPartitions(), LedgerExporter.Format.CSV, false, out));
+        assertSame(held, fresh.getLedger("2026/january"));
+    }
+
+    @Test
+    public void failedExport_removesTheTemporaryFile() throws IOException {
+        LedgerStore failing = (LedgerStore) Proxy.newProxyInstance(LedgerStore.class.getClassLoader(),
+                new Class<?>[] {LedgerStore.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("readLedger") && args[0].equals("2026/january")) {
+                            throw new IOException("disk gone");
+                        }
+                        try {
+                            return method.invoke(repository, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+        File file = new File(folder.getRoot(), "all.csv");
+        try {
+            new LedgerExporter(failing).exportAll(LedgerExporter.Format.CSV, false, file);
+            fail("Expected the export to fail");
+        } catch (IOException expected) {
+            assertEquals("disk gone", expected.getMessage());
+        }
+        assertFalse(file.exists());
+        assertFalse(new File(folder.getRoot(), "all.csv.tmp").exists());
+    }
+}
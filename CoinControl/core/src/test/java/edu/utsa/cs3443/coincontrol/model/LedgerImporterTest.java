@@ -0,0 +1,134 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The streaming CSV import pipeline and quoted names in the month files, on the plain JVM.
+ */
+public class LedgerImporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parseRecord_readsQuotedFieldsAndBankAmounts() {
+        List<String> fields = new ArrayList<>();
+        FinancialEntry entry = LedgerImporter.parseRecord("\"Smith, John \"\"Jr\"\"\",-,\"1,250.50\"", fields);
+        assertEquals("Smith, John \"Jr\"", entry.getName());
+        assertEquals("-", entry.getSign());
+        assertEquals(125050, entry.getAmount());
+
+        entry = LedgerImporter.parseRecord("Coffee,($4.25)", fields);
+        assertEquals("-", entry.getSign());
+        assertEquals(425, entry.getAmount());
+        assertEquals("+", LedgerImporter.parseRecord("Refund,12", fields).getSign());
+        assertEquals("Groceries", LedgerImporter.parseRecord("Market,-,80.00,Groceries,2026/april", fields).getCategory());
+        assertEquals(FinancialEntry.NO_CATEGORY, LedgerImporter.parseRecord("Market,-,80.00,2026/april", fields).getCategory());
+        assertEquals(EntryDate.of(2026, 4, 3),
+                LedgerImporter.parseRecord("Market,-,80.00,Groceries,2026-04-03,2026/april", fields).getDate());
+        assertEquals(EntryDate.NO_DATE, LedgerImporter.parseRecord("Market,-,80.00,Groceries,2026/april", fields).getDate());
+
+        assertNull(LedgerImporter.parseRecord("Name,Sign,Amount", fields));
+        assertNull(LedgerImporter.parseRecord("\"Open,-,1.00", fields));
+        assertNull(LedgerImporter.parseRecord(",-,1.00", fields));
+    }
+
+    @Test
+    public void importCsv_skipsDuplicatesAndRejectsBadRows() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2026/april", new FinancialEntry("Rent", "-", 120000));
+
+        String csv = "Name,Sign,Amount\n"
+                + "Rent,-,999.00\n"
+                + "\"Groceries, HEB\",-,80.25\n"
+                + "Pay,+,3000\n"
+                + "Pay,+,3000\n"
+                + "\"Note\nacross lines\",-,1\n"
+                + "Broken,-,abc\n";
+        LedgerImporter.Report report = new LedgerImporter(repository, 2).importCsv(new StringReader(csv), "2026/april");
+
+        assertEquals(7, report.getRead());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(3, report.getRejected());
+        List<FinancialEntry> entries = repository.getEntries("2026/april");
+        assertEquals(3, entries.size());
+        assertEquals(120000, entries.get(0).getAmount());
+        assertEquals("Groceries, HEB", entries.get(1).getName());
+    }
+
+    @Test
+    public void importCsv_rejectsRowsDatedOutsideTheMonth() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        String csv = "Old,-,5.00,Food,2025-03-02\n"
+                + "Market,-,80.00,Groceries,2026-04-03\n"
+                + "Gift,-,20.00\n";
+        LedgerImporter.Report report = new LedgerImporter(repository).importCsv(new StringReader(csv), "2026/April");
+
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertFalse(repository.entryExists("2026/april", "Old"));
+        int first = EntryDate.of(2026, 4, 1);
+        assertEquals(2, repository.getRange("2026/april", first, first + 29).size());
+    }
+
+    @Test
+    public void importCsv_largeFileIsCommittedInBatches() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 25000; ++i) {
+            csv.append("Item ").append(i).append(",-,1.00\n");
+        }
+        LedgerImporter.Report report = new LedgerImporter(repository).importCsv(new StringReader(csv.toString()), "2026/may");
+
+        assertEquals(25000, report.getImported());
+        assertTrue(report.getRowsPerSecond() > 0);
+        assertEquals(2500000, new LedgerRepository(folder.getRoot()).getTotals("2026/may").getTotal(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void importCsv_reportsReadErrors() {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        Reader failing = new Reader() {
+            @Override
+            public int read(char[] buf, int off, int len) throws IOException {
+                throw new IOException("disk gone");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try {
+            new LedgerImporter(repository).importCsv(failing, "2026/may");
+            fail();
+        } catch (IOException e) {
+            assertEquals("disk gone", e.getMessage());
+        }
+    }
+
+    @Test
+    public void namesWithCommas_surviveJournalAndCompaction() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2026/june", new FinancialEntry("Smith, John", "-", 5000));
+        repository.addEntry("2026/june", new FinancialEntry("Say \"hi\"", "+", 100));
+        assertTrue(repository.updateAmount("2026/june", "Smith, John", 6000));
+        assertEquals(6000, new LedgerRepository(folder.getRoot()).getEntries("2026/june").get(0).getAmount());
+
+        repository.compact("2026/june");
+        List<FinancialEntry> entries = new LedgerRepository(folder.getRoot()).getEntries("2026/june");
+        assertEquals("Smith, John", entries.get(0).getName());
+        assertEquals("Say \"hi\"", entries.get(1).getName());
+        assertEquals(6000, entries.get(0).getAmount());
+    }
+}
@@ -0,0 +1,293 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Replay, crash recovery and compaction of the month journal, on the plain JVM.
+ */
+public class LedgerJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replay_appliesCreateUpdateDelete() throws IOException {
+        LedgerJournal journal = new LedgerJournal(folder.newFile("march.journal"));
+        journal.appendCreate(new FinancialEntry("Pay", "+", 100000));
+        journal.appendCreate(new FinancialEntry("Rent", "-", 60000));
+        journal.appendCreate(new FinancialEntry("Food", "-", 8000));
+        journal.appendUpdate("Rent", 65000);
+        journal.appendDelete("Food");
+
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        assertEquals(5, journal.replay(ledger));
+        assertEquals(2, ledger.size());
+        assertEquals("Pay", ledger.getName(0));
+        assertEquals(65000, ledger.getAmount(1));
+    }
+
+    @Test
+    public void replay_skipsOperationsFoldedIntoTheBase() throws IOException {
+        writeBase("Rent,-,650.0\n");
+        File base = new File(folder.getRoot(), "april.csv");
+        LedgerJournal journal = new LedgerJournal(folder.newFile("april.journal"));
+        journal.appendCreate(new FinancialEntry("Rent", "-", 60000));
+        journal.appendUpdate("Rent", 65000);
+        // A crash after the compacted file was put in place but before the journal was deleted
+        journal.appendFolded(base);
+        journal.appendCreate(new FinancialEntry("Food", "-", 8000));
+
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        ledger.add("Rent", (byte) '-', 65000, FinancialEntry.NO_CATEGORY, EntryDate.NO_DATE);
+        assertEquals(1, journal.replay(ledger, base));
+        assertEquals(2, ledger.size());
+        assertEquals("Food", ledger.getName(1));
+
+        // A mark for another file, as when the rename failed, leaves every operation to replay
+        ledger = new MonthLedger(new NamePool());
+        assertEquals(3, journal.replay(ledger, folder.newFile("other.csv")));
+        assertEquals(2, ledger.size());
+    }
+
+    @Test
+    public void replay_ignoresAndCutsTornLastLine() throws IOException {
+        File file = folder.newFile("march.journal");
+        LedgerJournal journal = new LedgerJournal(file);
+        journal.appendCreate(new FinancialEntry("Rent", "-", 60000));
+        FileOutputStream out = new FileOutputStream(file, true);
+        out.write("U,Rent,9".getBytes("UTF-8"));
+        out.close();
+
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        assertEquals(1, journal.replay(ledger));
+        assertEquals(60000, ledger.getAmount(0));
+
+        // The next append must start on a fresh line
+        journal.appendUpdate("Rent", 70000);
+        ledger = new MonthLedger(new NamePool());
+        assertEquals(2, journal.replay(ledger));
+        assertEquals(70000, ledger.getAmount(0));
+    }
+
+    @Test
+    public void repository_writesJournalAndRecoversAfterRestart() throws IOException {
+        writeBase("Pay,+,1000.0\nRent,-,600.0\n");
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("April", new FinancialEntry("Food", "-", 8000));
+        assertTrue(repository.updateAmount("April", "Rent", 65000));
+        assertEquals("Pay,+,1000.0\nRent,-,600.0\n", readBase());
+
+        LedgerRepository restarted = new LedgerRepository(folder.getRoot());
+        List<FinancialEntry> entries = restarted.getEntries("April");
+        assertEquals(3, entries.size());
+        assertEquals(65000, entries.get(1).getAmount());
+    }
+
+    @Test
+    public void compact_foldsJournalIntoBaseFile() throws IOException {
+        writeBase("Pay,+,1000.0\nRent,-,600.0\n");
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.updateAmount("April", "Rent", 65000);
+        repository.deleteEntry("April", "Pay");
+        repository.compact("April");
+
+        assertEquals("Rent,-,650.00\n", readBase());
+        assertFalse(repository.getJournalFile("April").exists());
+        assertEquals(1, new LedgerRepository(folder.getRoot()).getEntries("April").size());
+    }
+
+    @Test
+    public void crashAfterCompactionRename_replaysToSameEntries() throws IOException {
+        writeBase("Rent,-,650.0\nFood,-,80.0\n");
+        FileWriter writer = new FileWriter(new File(folder.getRoot(), "april.journal"));
+        writer.write("C,Food,-,80.0\nU,Rent,650.0\n");
+        writer.close();
+        // Compaction marks the journal as folded before renaming the new file into place
+        new LedgerJournal(new File(folder.getRoot(), "april.journal"))
+                .appendFolded(new File(folder.getRoot(), "april.csv"));
+
+        List<FinancialEntry> entries = new LedgerRepository(folder.getRoot()).getEntries("April");
+        assertEquals(2, entries.size());
+        assertEquals(65000, entries.get(0).getAmount());
+    }
+
+    @Test
+    public void journal_isCompactedOnceThresholdIsReached() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        for (int i = 0; i < LedgerRepository.COMPACTION_THRESHOLD; ++i) {
+            repository.addEntry("May", new FinancialEntry("Item" + i, "-", i));
+        }
+        assertFalse(repository.getJournalFile("May").exists());
+        assertEquals(LedgerRepository.COMPACTION_THRESHOLD,
+                new LedgerRepository(folder.getRoot()).getEntries("May").size());
+    }
+
+    @Test
+    public void addEntries_appendsBatchAndReplaysAfterRestart() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntries("2026/may", Arrays.asList(
+                new FinancialEntry("Pay", "+", 300000),
+                new FinancialEntry("Rent", "-", 120000),
+                new FinancialEntry("Food", "-", 30000)));
+        assertEquals(150000, repository.getTotals("2026/may").getTotal(FinancialEntry.EXPENSE));
+
+        List<FinancialEntry> entries = new LedgerRepository(folder.getRoot()).getEntries("2026/may");
+        assertEquals(3, entries.size());
+        assertEquals("Food", entries.get(2).getName());
+    }
+
+    @Test
+    public void addEntry_onExistingName_addsARowThatSurvivesReplayAndCompaction() throws IOException {
+        writeBase("Pay,+,1000.0\nRent,-,600.0\n");
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("April", new FinancialEntry("Rent", "-", 65000));
+
+        List<FinancialEntry> entries = repository.getEntries("April");
+        assertEquals(3, entries.size());
+        assertEquals(60000, entries.get(1).getAmount());
+        assertEquals(65000, entries.get(2).getAmount());
+        assertEquals(entries.size(), new LedgerRepository(folder.getRoot()).getEntries("April").size());
+
+        // Updates and deletes by name act on the first row
+        assertTrue(repository.updateAmount("April", "Rent", 61000));
+        assertTrue(repository.deleteEntry("April", "Rent"));
+        repository.addEntry("April", new FinancialEntry("Rent", "-", 70000));
+        repository.compact("April");
+        entries = new LedgerRepository(folder.getRoot()).getEntries("April");
+        assertEquals(3, entries.size());
+        assertEquals(65000, entries.get(1).getAmount());
+        assertEquals(70000, entries.get(2).getAmount());
+    }
+
+    @Test
+    public void failedAppend_dropsTheCachedMonth() throws IOException {
+        writeBase("Pay,+,1000.0\nRent,-,600.0\n");
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        assertEquals(2, repository.getEntries("April").size());
+
+        // A directory in place of the journal makes every append fail
+        File journal = repository.getJournalFile("April");
+        assertTrue(journal.mkdir());
+        try {
+            repository.updateAmount("April", "Rent", 65000);
+            fail("Expected the update to fail");
+        } catch (IOException expected) {
+            // The month is read again on next use
+        }
+        try {
+            repository.deleteEntry("April", "Pay");
+            fail("Expected the delete to fail");
+        } catch (IOException expected) {
+            // The month is read again on next use
+        }
+        try {
+            repository.addEntry("April", new FinancialEntry("Food", "-", 8000));
+            fail("Expected the add to fail");
+        } catch (IOException expected) {
+            // The month is read again on next use
+        }
+
+        // The update reached the file before its sync failed; the repository shows what is on disk
+        assertTrue(journal.delete());
+        FileWriter writer = new FileWriter(journal);
+        writer.write("U,Rent,650.0\n");
+        writer.close();
+        List<FinancialEntry> entries = repository.getEntries("April");
+        assertEquals(2, entries.size());
+        assertEquals(65000, entries.get(1).getAmount());
+    }
+
+    private void writeBase(String contents) throws IOException {
+        FileWriter writer = new FileWriter(new File(folder.getRoot(), "april.csv"));
+        writer.write(contents);
+        writer.close();
+    }
+
+    private String readBase() throws IOException {
+        StringBuilder contents = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new FileReader(new File(folder.getRoot(), "april.csv")));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            contents.append(line).append("\n");
+        }
+        reader.close();
+        return contents.toString();
+    }
+
+    @Test
+    public void replay_restoresCategories() throws IOException {
+        LedgerJournal journal = new LedgerJournal(folder.newFile("april.journal"));
+        journal.appendCreate(new FinancialEntry("Market, east", "-", 8000, "Food, drink"));
+        journal.appendCreate(new FinancialEntry("Rent", "-", 60000, "Housing"));
+        journal.appendCreate(new FinancialEntry("Gift", "-", 5000));
+        journal.appendUpdate("Rent", 65000);
+
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        assertEquals(4, journal.replay(ledger));
+        assertEquals("Market, east", ledger.getName(0));
+        assertEquals("Food, drink", ledger.getCategory(0));
+        assertEquals("Housing", ledger.getCategory(1));
+        assertEquals(FinancialEntry.NO_CATEGORY, ledger.getCategory(2));
+        assertEquals(65000, ledger.getTotals().getCategorySum(FinancialEntry.EXPENSE, "Housing"));
+    }
+
+    @Test
+    public void repository_keepsCategoriesThroughCompaction() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2026/april", new FinancialEntry("Market", "-", 8000, "Groceries"));
+        repository.addEntry("2026/april", new FinancialEntry("Rent", "-", 60000));
+        repository.compact("2026/april");
+
+        LedgerRepository restarted = new LedgerRepository(folder.getRoot());
+        List<FinancialEntry> entries = restarted.getEntries("2026/april");
+        assertEquals("Groceries", entries.get(0).getCategory());
+        assertEquals(FinancialEntry.NO_CATEGORY, entries.get(1).getCategory());
+        assertEquals(8000, restarted.getTotals("2026/april").getCategorySum(FinancialEntry.EXPENSE, "Groceries"));
+    }
+
+    @Test
+    public void replay_restoresDates() throws IOException {
+        LedgerJournal journal = new LedgerJournal(folder.newFile("april.journal"));
+        journal.appendCreate(new FinancialEntry("Market, east", "-", 8000, "Food, drink", EntryDate.of(2026, 4, 3)));
+        journal.appendCreate(new FinancialEntry("Rent", "-", 60000, FinancialEntry.NO_CATEGORY, EntryDate.of(2026, 4, 1)));
+        journal.appendCreate(new FinancialEntry("Gift", "-", 5000));
+
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        assertEquals(3, journal.replay(ledger));
+        assertEquals("Market, east", ledger.getName(0));
+        assertEquals("Food, drink", ledger.getCategory(0));
+        assertEquals(EntryDate.of(2026, 4, 3), ledger.getDate(0));
+        assertEquals(FinancialEntry.NO_CATEGORY, ledger.getCategory(1));
+        assertEquals(EntryDate.of(2026, 4, 1), ledger.getDate(1));
+        assertEquals(EntryDate.NO_DATE, ledger.getDate(2));
+        assertFalse(LedgerJournal.apply(ledger, "A,2026-13-01,,Bad,-,1.00"));
+    }
+
+    @Test
+    public void repository_keepsDatesThroughCompaction() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2026/april", new FinancialEntry("Market", "-", 8000, "Groceries", EntryDate.of(2026, 4, 3)));
+        repository.addEntry("2026/april", new FinancialEntry("Rent", "-", 60000, "", EntryDate.of(2026, 4, 1)));
+        repository.compact("2026/april");
+
+        LedgerRepository restarted = new LedgerRepository(folder.getRoot());
+        List<FinancialEntry> entries = restarted.getEntries("2026/april");
+        assertEquals(EntryDate.of(2026, 4, 3), entries.get(0).getDate());
+        assertEquals("Groceries", entries.get(0).getCategory());
+        assertEquals(EntryDate.of(2026, 4, 1), entries.get(1).getDate());
+        assertEquals("Rent", restarted.getRange("2026/april", EntryDate.of(2026, 4, 1), EntryDate.of(2026, 4, 2)).getName(0));
+    }
+}
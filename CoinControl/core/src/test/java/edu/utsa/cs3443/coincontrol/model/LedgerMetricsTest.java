@@ -0,0 +1,143 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Counts, bytes and latency percentiles of the ledger operations, and their trace sections, on the
+ * plain JVM.
+ */
+public class LedgerMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        LedgerMetrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        LedgerMetrics.setTracer(null);
+        LedgerMetrics.reset();
+    }
+
+    @Test
+    public void buckets_doubleInWidth() {
+        assertEquals(0, LedgerMetrics.bucketOf(0));
+        assertEquals(1, LedgerMetrics.bucketOf(1));
+        assertEquals(2, LedgerMetrics.bucketOf(2));
+        assertEquals(2, LedgerMetrics.bucketOf(3));
+        assertEquals(10, LedgerMetrics.bucketOf(1023));
+        assertEquals(11, LedgerMetrics.bucketOf(1024));
+        assertEquals(LedgerMetrics.BUCKETS - 1, LedgerMetrics.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentiles_areTheTopOfTheirBucket() {
+        // 99 operations that take no time and one that takes at least a millisecond
+        for (int i = 0; i < 99; ++i) {
+            LedgerMetrics.end(LedgerMetrics.Operation.EXISTS, System.nanoTime() + 3600000000000L, 0);
+        }
+        LedgerMetrics.end(LedgerMetrics.Operation.EXISTS, System.nanoTime() - 1000000, 0);
+
+        assertEquals(100, LedgerMetrics.getCount(LedgerMetrics.Operation.EXISTS));
+        assertEquals(0, LedgerMetrics.getPercentile(LedgerMetrics.Operation.EXISTS, 0.5));
+        assertEquals(0, LedgerMetrics.getPercentile(LedgerMetrics.Operation.EXISTS, 0.99));
+        long max = LedgerMetrics.getMax(LedgerMetrics.Operation.EXISTS);
+        assertTrue(max >= 1000000);
+        assertEquals(max, LedgerMetrics.getPercentile(LedgerMetrics.Operation.EXISTS, 1.0));
+        assertEquals(0, LedgerMetrics.getPercentile(LedgerMetrics.Operation.LOAD, 0.5));
+    }
+
+    @Test
+    public void repositoryOperations_areRecorded() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2025/april", new FinancialEntry("Pay", "+", 300000));
+        repository.addEntries("2025/april", Arrays.asList(new FinancialEntry("Rent", "-", 60000),
+                new FinancialEntry("Food", "-", 8000)));
+        repository.updateAmount("2025/april", "Food", 9000);
+        repository.deleteEntry("2025/april", "Rent");
+        assertTrue(repository.entryExists("2025/april", "Pay"));
+
+        assertEquals(2, LedgerMetrics.getCount(LedgerMetrics.Operation.APPEND));
+        assertTrue(LedgerMetrics.getBytes(LedgerMetrics.Operation.APPEND) > 0);
+        assertEquals(1, LedgerMetrics.getCount(LedgerMetrics.Operation.UPDATE));
+        assertTrue(LedgerMetrics.getBytes(LedgerMetrics.Operation.UPDATE) > 0);
+        assertEquals(1, LedgerMetrics.getCount(LedgerMetrics.Operation.DELETE));
+        assertEquals(1, LedgerMetrics.getCount(LedgerMetrics.Operation.EXISTS));
+
+        // The month is read from its files once, then served from the cache
+        assertEquals(1, LedgerMetrics.getCount(LedgerMetrics.Operation.LOAD));
+        repository.getTotals("2025/april");
+        assertEquals(1, LedgerMetrics.getCount(LedgerMetrics.Operation.TOTALS));
+        repository.clearCache();
+        repository.getLedger("2025/april");
+        assertEquals(2, LedgerMetrics.getCount(LedgerMetrics.Operation.LOAD));
+        assertTrue(LedgerMetrics.getBytes(LedgerMetrics.Operation.LOAD) > 0);
+
+        repository.compact("2025/april");
+        assertEquals(1, LedgerMetrics.getCount(LedgerMetrics.Operation.COMPACT));
+        assertTrue(LedgerMetrics.getBytes(LedgerMetrics.Operation.COMPACT) > 0);
+    }
+
+    @Test
+    public void report_listsOnlyOperationsThatRan() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2025/april", new FinancialEntry("Pay", "+", 300000));
+
+        String[] lines = LedgerMetrics.report().split("\\r?\\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("Operation"));
+        assertTrue(lines[0].contains("p99"));
+        assertTrue(lines[1].startsWith("Load month"));
+        assertTrue(lines[2].startsWith("Append entries"));
+
+        LedgerMetrics.reset();
+        assertEquals(1, LedgerMetrics.report().split("\\r?\\n").length);
+        assertEquals(0, LedgerMetrics.getCount(LedgerMetrics.Operation.APPEND));
+    }
+
+    @Test
+    public void units_areScaled() {
+        assertEquals("512 B", LedgerMetrics.bytes(512));
+        assertEquals("1.5 KB", LedgerMetrics.bytes(1536));
+        assertEquals("3.0 MB", LedgerMetrics.bytes(3L * 1024 * 1024));
+        assertEquals("850 ns", LedgerMetrics.duration(850));
+        assertEquals("12.5 us", LedgerMetrics.duration(12500));
+        assertEquals("3.2 ms", LedgerMetrics.duration(3200000));
+        assertEquals("1.50 s", LedgerMetrics.duration(1500000000L));
+    }
+
+    @Test
+    public void tracer_seesEachOperationOpenAndClose() {
+        final List<String> sections = new ArrayList<String>();
+        LedgerMetrics.setTracer(new LedgerMetrics.Tracer() {
+            @Override
+            public void begin(String section) {
+                sections.add(section);
+            }
+
+            @Override
+            public void end() {
+                sections.add("end");
+            }
+        });
+        long start = LedgerMetrics.begin(LedgerMetrics.Operation.CHART);
+        LedgerMetrics.end(LedgerMetrics.Operation.CHART, start, 0);
+
+        assertEquals(Arrays.asList("Build chart", "end"), sections);
+        assertEquals(1, LedgerMetrics.getCount(LedgerMetrics.Operation.CHART));
+    }
+}
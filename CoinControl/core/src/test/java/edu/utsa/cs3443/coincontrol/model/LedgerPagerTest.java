@@ -0,0 +1,97 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Paging a month for the Records list: section layout, page claims and LRU eviction.
+ */
+public class LedgerPagerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static MonthTotals totals(int earnings, int expenses) {
+        MonthTotals totals = new MonthTotals();
+        for (int i = 0; i < earnings; ++i) {
+            totals.add("E" + i, FinancialEntry.EARNING, 100);
+        }
+        for (int i = 0; i < expenses; ++i) {
+            totals.add("X" + i, FinancialEntry.EXPENSE, 100);
+        }
+        return totals;
+    }
+
+    @Test
+    public void sections_areKnownBeforePagesLoad() {
+        LedgerPager pager = new LedgerPager(totals(3, 4), 2, 2);
+
+        assertEquals(7, pager.size());
+        assertTrue(pager.isSectionStart(0));
+        assertTrue(pager.isSectionStart(3));
+        assertFalse(pager.isSectionStart(4));
+        assertEquals(FinancialEntry.EARNING, pager.getSign(2));
+        assertEquals(FinancialEntry.EXPENSE, pager.getSign(3));
+        assertNull(pager.getName(0));
+    }
+
+    @Test
+    public void pageToLoad_claimsEachPageOnce() {
+        LedgerPager pager = new LedgerPager(totals(3, 4), 2, 2);
+
+        assertEquals(1, pager.pageToLoad(3));
+        assertEquals(-1, pager.pageToLoad(2));
+        assertEquals(-1, pager.pageToLoad(7));
+        pager.abandonPage(1);
+        assertEquals(1, pager.pageToLoad(2));
+    }
+
+    @Test
+    public void putPage_evictsLeastRecentlyUsedPage() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        for (int i = 0; i < 6; ++i) {
+            ledger.add("E" + i, FinancialEntry.EARNING, i);
+        }
+        LedgerPager pager = new LedgerPager(ledger.getTotals(), 2, 2);
+        pager.putPage(0, ledger.page(0, 2));
+        pager.putPage(1, ledger.page(2, 2));
+        assertEquals("E0", pager.getName(0));
+        pager.putPage(2, ledger.page(4, 2));
+
+        assertEquals(Arrays.asList(0, 2), pager.getLoadedPages());
+        assertFalse(pager.isLoaded(2));
+        assertEquals("E5", pager.getName(5));
+        assertEquals(5, pager.getAmount(5));
+    }
+
+    @Test
+    public void repositoryPages_coverTheMonthOnce() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        List<FinancialEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 125; ++i) {
+            entries.add(new FinancialEntry("Item " + i, i % 5 == 0 ? "+" : "-", i));
+        }
+        repository.addEntries("2026/april", entries);
+        LedgerPager pager = new LedgerPager(repository.getTotals("2026/april"), 50, 3);
+
+        for (int position = 0; position < pager.size(); ++position) {
+            int page = pager.pageToLoad(position);
+            if (page >= 0) {
+                pager.putPage(page, repository.getPage("2026/april", page * 50, 50));
+            }
+        }
+        assertEquals(125, pager.size());
+        assertEquals("Item 0", pager.getName(0));
+        assertEquals("Item 120", pager.getName(24));
+        assertEquals("Item 1", pager.getName(25));
+        assertEquals("Item 124", pager.getName(124));
+    }
+}
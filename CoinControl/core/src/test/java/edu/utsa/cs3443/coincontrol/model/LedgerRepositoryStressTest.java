@@ -0,0 +1,268 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Many threads writing and reading the same months of one repository at once, with background
+ * compaction, on the plain JVM. Every test checks that no update is lost, in memory and after the
+ * month is read back from disk.
+ */
+public class LedgerRepositoryStressTest {
+
+    private static final String MONTH = "2026/april";
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 100;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ExecutorService compaction;
+    private LedgerRepository repository;
+
+    @Before
+    public void setUp() {
+        compaction = Executors.newSingleThreadExecutor();
+        repository = new LedgerRepository(folder.getRoot());
+        repository.setCompactionExecutor(compaction);
+    }
+
+    @After
+    public void tearDown() {
+        compaction.shutdownNow();
+    }
+
+    @Test
+    public void optimisticIncrements_fromManyThreads_loseNoUpdate() throws Exception {
+        repository.addEntry(MONTH, new FinancialEntry("Counter", "-", 0));
+
+        runThreads(new Work() {
+            @Override
+            public void run(int thread) throws IOException {
+                for (int i = 0; i < ROUNDS; ++i) {
+                    // Read, add one, and write back only if nobody wrote in between
+                    MonthLedger read;
+                    do {
+                        read = repository.getLedger(MONTH);
+                    } while (!repository.updateAmount(MONTH, "Counter",
+                            read.getAmount(read.indexOf("Counter")) + 1, read.getVersion()));
+                    if (i % 10 == 0) {
+                        repository.addEntry(MONTH, new FinancialEntry("T" + thread + "-" + i, "-", 1));
+                    }
+                }
+            }
+        });
+
+        int added = THREADS * (ROUNDS / 10);
+        assertMonth(THREADS * ROUNDS, 1 + added);
+        drainCompaction();
+        repository.clearCache();
+        assertMonth(THREADS * ROUNDS, 1 + added);
+    }
+
+    @Test
+    public void checkThenAdd_fromManyThreads_addsEachNameOnce() throws Exception {
+        final int[] winners = new int[ROUNDS];
+
+        runThreads(new Work() {
+            @Override
+            public void run(int thread) throws IOException {
+                for (int i = 0; i < ROUNDS; ++i) {
+                    // Every thread races to add the same name; the loser must see the winner's entry
+                    String name = "Bill" + i;
+                    long version;
+                    boolean exists;
+                    do {
+                        version = repository.getVersion(MONTH);
+                        exists = repository.entryExists(MONTH, name);
+                    } while (!exists && !repository.addEntries(MONTH,
+                            Arrays.asList(new FinancialEntry(name, "-", thread + 1)), version));
+                    if (!exists) {
+                        synchronized (winners) {
+                            ++winners[i];
+                        }
+                    }
+                }
+            }
+        });
+
+        for (int i = 0; i < ROUNDS; ++i) {
+            assertEquals("Bill" + i + " must be added by exactly one thread", 1, winners[i]);
+        }
+        drainCompaction();
+        repository.clearCache();
+        assertEquals(ROUNDS, repository.getLedger(MONTH).size());
+    }
+
+    @Test
+    public void writersToDifferentMonths_andReaders_runTogether() throws Exception {
+        final String[] months = {"2026/january", "2026/february", "2026/march", "2026/april"};
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicReference<Throwable> readFailure = new AtomicReference<>();
+
+        // Readers check that every snapshot they get agrees with itself while writers append
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 2; ++r) {
+            Thread reader = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        while (writing.get()) {
+                            for (String month : months) {
+                                MonthLedger snapshot = repository.getLedger(month);
+                                if (snapshot.total(FinancialEntry.EXPENSE) != snapshot.size()
+                                        || snapshot.count(FinancialEntry.EXPENSE) != snapshot.size()) {
+                                    throw new AssertionError("Torn snapshot of " + month);
+                                }
+                            }
+                        }
+                    } catch (Throwable t) {
+                        readFailure.compareAndSet(null, t);
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        try {
+            runThreads(new Work() {
+                @Override
+                public void run(int thread) throws IOException {
+                    String month = months[thread % months.length];
+                    for (int i = 0; i < ROUNDS; ++i) {
+                        repository.addEntry(month, new FinancialEntry("T" + thread + "-" + i, "-", 1));
+                    }
+                }
+            });
+        } finally {
+            writing.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+        if (readFailure.get() != null) {
+            throw new AssertionError(readFailure.get());
+        }
+
+        int perMonth = THREADS / months.length * ROUNDS;
+        drainCompaction();
+        repository.clearCache();
+        for (String month : months) {
+            assertEquals(perMonth, repository.getLedger(month).size());
+            assertEquals(perMonth, repository.getTotals(month).getTotal(FinancialEntry.EXPENSE));
+        }
+    }
+
+    @Test
+    public void staleVersion_isRefused_andCompactionKeepsTheVersion() throws IOException {
+        repository.setCompactionExecutor(null);
+        repository.addEntry(MONTH, new FinancialEntry("Rent", "-", 60000));
+        MonthLedger read = repository.getLedger(MONTH);
+        assertTrue(read.isFrozen());
+        assertSame(read, repository.getLedger(MONTH));
+
+        repository.addEntry(MONTH, new FinancialEntry("Food", "-", 8000));
+        assertFalse(repository.updateAmount(MONTH, "Rent", 1, read.getVersion()));
+        assertEquals(60000, repository.getLedger(MONTH).getAmount(0));
+
+        long version = repository.getVersion(MONTH);
+        repository.compact(MONTH);
+        assertEquals(version, repository.getVersion(MONTH));
+        assertTrue(repository.updateAmount(MONTH, "Rent", 65000, version));
+        assertEquals(65000, repository.getLedger(MONTH).getAmount(0));
+    }
+
+    /**
+     * Checks the counter and the number of entries of the test month.
+     *
+     * @param counter The expected amount of the Counter entry.
+     * @param size    The expected number of entries.
+     * @throws IOException If the month cannot be read.
+     */
+    private void assertMonth(long counter, int size) throws IOException {
+        MonthLedger ledger = repository.getLedger(MONTH);
+        assertEquals(counter, ledger.getAmount(ledger.indexOf("Counter")));
+        assertEquals(size, ledger.size());
+        assertEquals(counter + size - 1, repository.getTotals(MONTH).getTotal(FinancialEntry.EXPENSE));
+    }
+
+    /**
+     * Waits for the compactions and totals saves scheduled so far.
+     *
+     * @throws Exception If waiting is interrupted or a task failed.
+     */
+    private void drainCompaction() throws Exception {
+        compaction.submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).get(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Runs the same work on {@link #THREADS} threads, started together, and rethrows the first
+     * failure.
+     *
+     * @param work The work each thread runs.
+     * @throws Exception If a thread failed.
+     */
+    private void runThreads(final Work work) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; ++t) {
+            final int thread = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        work.run(thread);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.MINUTES.toMillis(2));
+            assertFalse("Worker did not finish", thread.isAlive());
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    /**
+     * The work one thread of a stress test runs.
+     */
+    private interface Work {
+
+        /**
+         * Runs the work.
+         *
+         * @param thread The index of the thread, from 0.
+         * @throws IOException If the repository fails.
+         */
+        void run(int thread) throws IOException;
+    }
+}
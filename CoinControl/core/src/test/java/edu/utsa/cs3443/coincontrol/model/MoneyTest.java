@@ -0,0 +1,60 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Fixed-point parsing and formatting of amounts.
+ */
+public class MoneyTest {
+
+    @Test
+    public void parse_readsCurrentAndOldDoubleFormats() {
+        assertEquals(0, Money.parse("0"));
+        assertEquals(10, Money.parse("0.1"));
+        assertEquals(30, Money.parse("0.30"));
+        assertEquals(1999, Money.parse("19.99"));
+        assertEquals(-475, Money.parse("-4.75"));
+        assertEquals(1250, Money.parse(" 12.5 "));
+        assertEquals(1234567800, Money.parse("1.2345678E7"));
+        assertEquals(30, Money.parse("0.30000000000000004"));
+        assertEquals(12345679, Money.parse("123456.789"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parse_rejectsText() {
+        Money.parse("ten");
+    }
+
+    @Test
+    public void parse_rejectsOverflow() {
+        char[] chars = "999999999999999999999".toCharArray();
+        assertEquals(Money.INVALID, Money.parse(chars, 0, chars.length));
+    }
+
+    @Test
+    public void format_alwaysHasTwoDecimals() {
+        assertEquals("0.00", Money.format(0));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("12.50", Money.format(1250));
+        assertEquals("-3.25", Money.format(-325));
+        assertEquals("-0.07", Money.format(-7));
+    }
+
+    @Test
+    public void sums_areExact() {
+        long total = 0;
+        for (int i = 0; i < 1000000; ++i) {
+            total += Money.parse("0.10");
+        }
+        assertEquals("100000.00", Money.format(total));
+    }
+
+    @Test
+    public void formatPercent_roundsToHundredths() {
+        assertEquals("33.33", Money.formatPercent(1, 3));
+        assertEquals("100.00", Money.formatPercent(500, 500));
+        assertEquals("0.00", Money.formatPercent(500, 0));
+    }
+}
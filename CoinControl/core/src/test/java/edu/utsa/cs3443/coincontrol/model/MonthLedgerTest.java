@@ -0,0 +1,183 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Columnar storage, lookups and totals of a month ledger, on the plain JVM.
+ */
+public class MonthLedgerTest {
+
+    @Test
+    public void add_growsPastInitialCapacity() {
+        MonthLedger ledger = new MonthLedger(new NamePool(), 1);
+        for (int i = 0; i < 1000; ++i) {
+            ledger.add("Item" + i, FinancialEntry.EXPENSE, i);
+        }
+        assertEquals(1000, ledger.size());
+        assertEquals("Item999", ledger.getName(999));
+        assertEquals(999, ledger.getAmount(999));
+        assertEquals(500, ledger.indexOf("Item500"));
+    }
+
+    @Test
+    public void total_sumsEachSignSeparately() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        ledger.add("Pay", FinancialEntry.EARNING, 100000);
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000);
+        ledger.add("Food", FinancialEntry.EXPENSE, 8050);
+
+        assertEquals(100000, ledger.total(FinancialEntry.EARNING));
+        assertEquals(68050, ledger.total(FinancialEntry.EXPENSE));
+        assertEquals(2, ledger.count(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void remove_keepsLookupsCorrect() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        ledger.add("Pay", FinancialEntry.EARNING, 100000);
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000);
+        ledger.add("Food", FinancialEntry.EXPENSE, 8000);
+        assertTrue(ledger.contains("Rent"));
+
+        ledger.remove(ledger.indexOf("Rent"));
+        assertFalse(ledger.contains("Rent"));
+        assertEquals(1, ledger.indexOf("Food"));
+        assertEquals(8000, ledger.getAmount(1));
+    }
+
+    @Test
+    public void snapshot_isNotChangedByLaterWrites() {
+        NamePool names = new NamePool();
+        MonthLedger ledger = new MonthLedger(names);
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000);
+        MonthLedger snapshot = ledger.snapshot();
+
+        ledger.setAmount(0, 65000);
+        ledger.add("Food", FinancialEntry.EXPENSE, 8000);
+        assertEquals(1, snapshot.size());
+        assertEquals(60000, snapshot.getAmount(0));
+        assertEquals("-", snapshot.getEntry(0).getSign());
+    }
+
+    @Test
+    public void freeze_makesLedgerReadOnly() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000, "", EntryDate.of(2026, 4, 1));
+        ledger.setVersion(7);
+        ledger.freeze();
+
+        assertTrue(ledger.isFrozen());
+        assertTrue(ledger.contains("Rent"));
+        assertEquals(1, ledger.range(EntryDate.of(2026, 4, 1), EntryDate.of(2026, 4, 30), 0).size());
+        try {
+            ledger.setAmount(0, 1);
+            fail("A frozen ledger must refuse writes");
+        } catch (IllegalStateException expected) {
+            assertEquals(60000, ledger.getAmount(0));
+        }
+
+        // A copy of a frozen ledger keeps its version and can be written
+        MonthLedger copy = ledger.snapshot();
+        assertFalse(copy.isFrozen());
+        assertEquals(7, copy.getVersion());
+        copy.setAmount(0, 1);
+        assertEquals(60000, ledger.getAmount(0));
+    }
+
+    @Test
+    public void names_areSharedAcrossLedgers() {
+        NamePool names = new NamePool();
+        new MonthLedger(names).add("Rent", FinancialEntry.EXPENSE, 60000);
+        new MonthLedger(names).add("Rent", FinancialEntry.EXPENSE, 61000);
+        assertEquals(1, names.size());
+    }
+
+    @Test
+    public void page_listsEarningsBeforeExpenses() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000);
+        ledger.add("Pay", FinancialEntry.EARNING, 300000);
+        ledger.add("Food", FinancialEntry.EXPENSE, 12000);
+        ledger.add("Gift", FinancialEntry.EARNING, 5000);
+
+        MonthLedger page = ledger.page(1, 2);
+        assertEquals(2, page.size());
+        assertEquals("Gift", page.getName(0));
+        assertEquals("Rent", page.getName(1));
+        assertEquals("Food", ledger.page(3, 10).getName(0));
+        assertEquals(0, ledger.page(4, 10).size());
+    }
+
+    @Test
+    public void page_deepInTheExpenseSectionFollowsWrites() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        for (int i = 0; i < 10000; ++i) {
+            ledger.add("Row" + i, i % 10 == 0 ? FinancialEntry.EARNING : FinancialEntry.EXPENSE, i);
+        }
+        // 1000 earnings come first, so position 9000 is expense row 8000 of 9000
+        assertPageMatchesScan(ledger, 9000, 25);
+
+        ledger.add("Late", FinancialEntry.EXPENSE, 1);
+        ledger.add("Bonus", FinancialEntry.EARNING, 1);
+        assertPageMatchesScan(ledger, 9990, 25);
+        assertEquals("Late", ledger.page(10001, 1).getName(0));
+        assertEquals("Bonus", ledger.page(1000, 1).getName(0));
+
+        ledger.remove(ledger.indexOf("Row9999"));
+        ledger.set(ledger.indexOf("Row10"), FinancialEntry.EXPENSE, 10);
+        assertPageMatchesScan(ledger, 8990, 25);
+        assertPageMatchesScan(ledger, 990, 25);
+        assertPageMatchesScan(ledger.snapshot().freeze(), 9975, 50);
+    }
+
+    private static void assertPageMatchesScan(MonthLedger ledger, int offset, int limit) {
+        MonthLedger page = ledger.page(offset, limit);
+        int position = 0;
+        int copied = 0;
+        for (byte sign : new byte[] {FinancialEntry.EARNING, FinancialEntry.EXPENSE}) {
+            for (int row = 0; row < ledger.size(); ++row) {
+                if (ledger.getSign(row) == sign && position++ >= offset && copied < limit) {
+                    assertEquals(ledger.getName(row), page.getName(copied));
+                    assertEquals(ledger.getAmount(row), page.getAmount(copied++));
+                }
+            }
+        }
+        assertEquals(copied, page.size());
+    }
+
+    @Test
+    public void range_findsDatedRowsInDateOrder() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        int first = EntryDate.of(2026, 4, 1);
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000, FinancialEntry.NO_CATEGORY, first + 9);
+        ledger.add("Old", FinancialEntry.EXPENSE, 100);
+        ledger.add("Pay", FinancialEntry.EARNING, 300000, FinancialEntry.NO_CATEGORY, first + 2);
+
+        MonthLedger range = ledger.range(first, first + 9, first);
+        assertEquals(3, range.size());
+        assertEquals("Old", range.getName(0));
+        assertEquals("Pay", range.getName(1));
+        assertEquals("Rent", range.getName(2));
+        assertEquals(first + 9, range.getDate(2));
+
+        // Appends keep the date order, out of order or not
+        ledger.add("Food", FinancialEntry.EXPENSE, 1200, FinancialEntry.NO_CATEGORY, first + 5);
+        ledger.add("Late", FinancialEntry.EXPENSE, 900, FinancialEntry.NO_CATEGORY, first + 20);
+        range = ledger.range(first + 1, first + 9, first);
+        assertEquals(3, range.size());
+        assertEquals("Pay", range.getName(0));
+        assertEquals("Food", range.getName(1));
+        assertEquals(300000, range.total(FinancialEntry.EARNING));
+        assertEquals(61200, range.total(FinancialEntry.EXPENSE));
+
+        // A delete or a date change drops the order, which is rebuilt
+        ledger.remove(ledger.indexOf("Pay"));
+        ledger.setDate(ledger.indexOf("Late"), first + 3);
+        range = ledger.range(first + 1, first + 9, first);
+        assertEquals(3, range.size());
+        assertEquals("Late", range.getName(0));
+        assertEquals(0, ledger.range(first + 21, first + 29, first).size());
+    }
+}
@@ -0,0 +1,141 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reading a month ahead while it is selected: the warmed session is handed over, and loads of
+ * months scrolled past are cancelled, on the plain JVM.
+ */
+public class MonthPrefetcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LedgerRepository repository;
+    private final List<String> totalsRead = Collections.synchronizedList(new ArrayList<String>());
+    private RecurringEngine engine;
+    private LedgerExecutor executor;
+    private MonthPrefetcher prefetcher;
+
+    @Before
+    public void setUp() throws IOException {
+        repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2025/april", new FinancialEntry("Food", "-", 8000));
+        engine = new RecurringEngine(repository, folder.getRoot());
+        engine.addRule(new RecurringRule("Rent", FinancialEntry.EXPENSE, 60000, "",
+                RecurringRule.Frequency.MONTHLY, EntryDate.of(2025, 1, 1), Integer.MAX_VALUE));
+        executor = new LedgerExecutor(new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                runnable.run();
+            }
+        });
+        prefetcher = new MonthPrefetcher(recording(repository), engine, executor);
+    }
+
+    /**
+     * Wraps a store so the months whose totals are read are recorded.
+     *
+     * @param store The store to wrap.
+     * @return A store that records getTotals calls and passes every call on.
+     */
+    private LedgerStore recording(final LedgerStore store) {
+        return (LedgerStore) Proxy.newProxyInstance(LedgerStore.class.getClassLoader(),
+                new Class<?>[] {LedgerStore.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getName().equals("getTotals")) {
+                            totalsRead.add((String) args[0]);
+                        }
+                        try {
+                            return method.invoke(store, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void prefetchedSession_isHandedOverOnce() throws Exception {
+        MonthSession session = prefetcher.prefetch("April", 2025);
+        assertSame(session, prefetcher.prefetch("april", 2025));
+        drain();
+
+        // Prefetching writes nothing; the recurring entry is added once the month is opened
+        assertEquals(1, repository.getLedger("2025/april").size());
+        assertNull(prefetcher.take("May", 2025));
+        assertSame(session, prefetcher.take("April", 2025));
+        assertNull(prefetcher.take("April", 2025));
+        assertEquals(68000, session.getTotals().getTotal(FinancialEntry.EXPENSE));
+        assertEquals(2, session.getPager().size());
+    }
+
+    @Test
+    public void monthsScrolledPast_areNotRead() throws Exception {
+        // Hold the I/O thread so the loads queue up behind it
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        prefetcher.prefetch("January", 2025);
+        prefetcher.prefetch("February", 2025);
+        MonthSession march = prefetcher.prefetch("March", 2025);
+        release.countDown();
+        drain();
+
+        assertEquals(Arrays.asList("2025/march"), totalsRead);
+        assertSame(march, prefetcher.take("March", 2025));
+
+        prefetcher.prefetch("April", 2025);
+        prefetcher.cancel();
+        assertNull(prefetcher.take("April", 2025));
+    }
+
+    /**
+     * Waits for the tasks submitted so far.
+     *
+     * @throws Exception If waiting is interrupted.
+     */
+    private void drain() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,84 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * The month shared by the screens: what it read is reused until a write changes the month, on the
+ * plain JVM.
+ */
+public class MonthSessionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LedgerRepository repository;
+
+    private MonthSession session;
+
+    @Before
+    public void setUp() throws IOException {
+        repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2025/april", new FinancialEntry("Pay", "+", 300000));
+        repository.addEntry("2025/april", new FinancialEntry("Food", "-", 8000));
+        session = new MonthSession(repository, null, "April", 2025);
+    }
+
+    @Test
+    public void names_theMonth() {
+        assertEquals("2025/april", session.getKey());
+        assertTrue(session.isMonth("april", 2025));
+        assertFalse(session.isMonth("April", 2026));
+        assertFalse(session.isMonth("May", 2025));
+    }
+
+    @Test
+    public void totals_areReusedUntilTheMonthChanges() throws IOException {
+        MonthTotals first = session.getTotals();
+        assertSame(first, session.getTotals());
+        assertEquals(8000, first.getTotal(FinancialEntry.EXPENSE));
+
+        repository.addEntry("2025/april", new FinancialEntry("Rent", "-", 60000));
+        MonthTotals second = session.getTotals();
+        assertNotSame(first, second);
+        assertEquals(68000, second.getTotal(FinancialEntry.EXPENSE));
+        assertEquals(8000, first.getTotal(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void pager_keepsItsPagesUntilTheMonthChanges() throws IOException {
+        LedgerPager pager = session.getPager();
+        assertEquals(2, pager.size());
+        assertEquals("Pay", pager.getName(0));
+        assertSame(pager, session.getPager());
+
+        repository.updateAmount("2025/april", "Food", 9000);
+        LedgerPager fresh = session.getPager();
+        assertNotSame(pager, fresh);
+        assertEquals(9000, fresh.getAmount(1));
+
+        // A reload reads only the pages asked for, and is handed out from then on
+        LedgerPager reloaded = session.reload(Arrays.asList(0, 5));
+        assertEquals(Arrays.asList(0), reloaded.getLoadedPages());
+        assertSame(reloaded, session.getPager());
+    }
+
+    @Test
+    public void recurringEntries_areAddedBeforeTheFirstRead() throws IOException {
+        RecurringEngine engine = new RecurringEngine(repository, folder.getRoot());
+        engine.addRule(new RecurringRule("Rent", FinancialEntry.EXPENSE, 60000, "",
+                RecurringRule.Frequency.MONTHLY, EntryDate.of(2025, 1, 1), Integer.MAX_VALUE));
+        MonthSession recurring = new MonthSession(repository, engine, "April", 2025);
+
+        assertEquals(68000, recurring.getTotals().getTotal(FinancialEntry.EXPENSE));
+        assertEquals(3, recurring.getPager().size());
+        assertEquals(3, repository.getLedger("2025/april").size());
+    }
+}
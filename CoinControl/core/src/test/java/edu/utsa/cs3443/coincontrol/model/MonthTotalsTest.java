@@ -0,0 +1,122 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Incremental upkeep and saving of a month's running totals, on the plain JVM.
+ */
+public class MonthTotalsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void ledgerWrites_keepTotalsInStep() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        ledger.add("Pay", FinancialEntry.EARNING, 100000);
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000);
+        ledger.add("Food", FinancialEntry.EXPENSE, 8000);
+        ledger.setAmount(ledger.indexOf("Rent"), 65000);
+        ledger.remove(ledger.indexOf("Food"));
+
+        MonthTotals totals = ledger.getTotals();
+        assertEquals(100000, totals.getTotal(FinancialEntry.EARNING));
+        assertEquals(65000, totals.getTotal(FinancialEntry.EXPENSE));
+        assertEquals(1, totals.getCount(FinancialEntry.EXPENSE));
+        assertEquals(65000, totals.getSum(FinancialEntry.EXPENSE, "Rent"));
+        assertEquals(0, totals.getSum(FinancialEntry.EXPENSE, "Food"));
+    }
+
+    @Test
+    public void editingAnAmount_keepsNameOrder() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000);
+        ledger.add("Food", FinancialEntry.EXPENSE, 8000);
+        ledger.setAmount(0, 65000);
+        assertEquals(Arrays.asList("Rent", "Food"), ledger.getTotals().getNames(FinancialEntry.EXPENSE));
+    }
+
+    @Test
+    public void writeThenRead_roundTrips() throws IOException {
+        MonthTotals totals = new MonthTotals();
+        totals.add("Pay", FinancialEntry.EARNING, 100000);
+        totals.add("Car, used", FinancialEntry.EXPENSE, 1234567);
+        StringWriter writer = new StringWriter();
+        totals.write(writer);
+
+        MonthTotals read = MonthTotals.read(new BufferedReader(new StringReader(writer.toString())));
+        assertNotNull(read);
+        assertEquals(1234567, read.getTotal(FinancialEntry.EXPENSE));
+        assertEquals(1, read.getCount(FinancialEntry.EARNING));
+        assertEquals(1234567, read.getSum(FinancialEntry.EXPENSE, "Car, used"));
+    }
+
+    @Test
+    public void repository_savesTotalsAndRejectsThemOnceStale() throws IOException {
+        writeBase("Pay,+,1000.00\nRent,-,600.00\n");
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.updateAmount("April", "Rent", 65000);
+        assertTrue(repository.getTotalsFile("April").exists());
+
+        MonthTotals saved = new LedgerRepository(folder.getRoot()).getTotals("April");
+        assertEquals(65000, saved.getTotal(FinancialEntry.EXPENSE));
+
+        // An edit behind the repository's back makes the saved totals stale
+        writeBase("Pay,+,1000.00\nRent,-,600.00\nFood,-,80.00\n");
+        MonthTotals fresh = new LedgerRepository(folder.getRoot()).getTotals("April");
+        assertEquals(73000, fresh.getTotal(FinancialEntry.EXPENSE));
+        assertEquals(2, fresh.getCount(FinancialEntry.EXPENSE));
+    }
+
+    private void writeBase(String contents) throws IOException {
+        FileWriter writer = new FileWriter(new File(folder.getRoot(), "april.csv"));
+        writer.write(contents);
+        writer.close();
+    }
+
+    @Test
+    public void categorySums_followInsertsEditsAndDeletes() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        ledger.add("Market", FinancialEntry.EXPENSE, 8000, "Groceries");
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000, "Housing");
+        ledger.add("Bakery", FinancialEntry.EXPENSE, 2000, "Groceries");
+        ledger.add("Gift", FinancialEntry.EXPENSE, 5000);
+        ledger.setAmount(ledger.indexOf("Market"), 9000);
+        ledger.set(ledger.indexOf("Gift"), FinancialEntry.EXPENSE, 5000, "Housing");
+        ledger.remove(ledger.indexOf("Bakery"));
+
+        MonthTotals totals = ledger.getTotals();
+        assertEquals(Arrays.asList("Groceries", "Housing"), totals.getCategories(FinancialEntry.EXPENSE));
+        assertEquals(9000, totals.getCategorySum(FinancialEntry.EXPENSE, "Groceries"));
+        assertEquals(65000, totals.getCategorySum(FinancialEntry.EXPENSE, "Housing"));
+        assertEquals(0, totals.getCategorySum(FinancialEntry.EXPENSE, FinancialEntry.NO_CATEGORY));
+    }
+
+    @Test
+    public void categorySums_roundTripThroughTheSavedForm() throws IOException {
+        MonthTotals totals = new MonthTotals();
+        totals.add("Pay", FinancialEntry.EARNING, 100000);
+        totals.add("Market", FinancialEntry.EXPENSE, 8000, "Food, drink");
+        totals.add("Gift", FinancialEntry.EXPENSE, 5000);
+        StringWriter writer = new StringWriter();
+        totals.write(writer);
+
+        MonthTotals read = MonthTotals.read(new BufferedReader(new StringReader(writer.toString())));
+        assertNotNull(read);
+        assertEquals(Arrays.asList("Food, drink", ""), read.getCategories(FinancialEntry.EXPENSE));
+        assertEquals(8000, read.getCategorySum(FinancialEntry.EXPENSE, "Food, drink"));
+        assertEquals(100000, read.getCategorySum(FinancialEntry.EARNING, FinancialEntry.NO_CATEGORY));
+    }
+}
@@ -0,0 +1,52 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Lookups by name in the index MonthLedger keeps over its rows, on the plain JVM.
+ */
+public class NameIndexTest {
+
+    @Test
+    public void indexOf_findsThePositionOfEachName() {
+        NameIndex index = new NameIndex(3);
+        index.put("Pay", 0);
+        index.put("Rent", 1);
+        index.put("Food", 2);
+
+        assertEquals(3, index.size());
+        assertEquals(1, index.indexOf("Rent"));
+        assertTrue(index.contains("Food"));
+        assertEquals(-1, index.indexOf("Gas"));
+        assertFalse(index.contains("gas"));
+    }
+
+    @Test
+    public void put_onAnIndexedName_movesIt() {
+        NameIndex index = new NameIndex(0);
+        index.put("Rent", 4);
+        index.put("Rent", 7);
+
+        assertEquals(1, index.size());
+        assertEquals(7, index.indexOf("Rent"));
+    }
+
+    @Test
+    public void monthLedger_keepsItsIndexInStepWithWrites() {
+        MonthLedger ledger = new MonthLedger(new NamePool());
+        ledger.add("Pay", FinancialEntry.EARNING, 300000);
+        ledger.add("Rent", FinancialEntry.EXPENSE, 60000);
+        assertEquals(1, ledger.indexOf("Rent"));
+
+        ledger.add("Food", FinancialEntry.EXPENSE, 8000);
+        assertEquals(2, ledger.indexOf("Food"));
+
+        // A delete shifts the rows after it
+        ledger.remove(0);
+        assertEquals(0, ledger.indexOf("Rent"));
+        assertEquals(1, ledger.indexOf("Food"));
+        assertFalse(ledger.contains("Pay"));
+    }
+}
@@ -0,0 +1,72 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Year-and-month partitions, their index and the migration of flat month files, on the plain JVM.
+ */
+public class PartitionIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void key_combinesYearAndMonth() {
+        assertEquals("2026/april", PartitionIndex.key(2026, "April"));
+        assertEquals(2026, PartitionIndex.yearOf("2026/april"));
+        assertEquals(3, PartitionIndex.monthOf("2026/april"));
+        assertEquals(0, PartitionIndex.yearOf("april"));
+    }
+
+    @Test
+    public void writes_goToYearDirectoriesAndAreIndexedInOrder() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2026/january", new FinancialEntry("Rent", "-", 120000));
+        repository.addEntry("2025/december", new FinancialEntry("Rent", "-", 110000));
+        repository.addEntry("2025/april", new FinancialEntry("Rent", "-", 100000));
+
+        assertTrue(new File(folder.getRoot(), "2026/january.journal").exists());
+        assertEquals(Arrays.asList("2025/april", "2025/december", "2026/january"), repository.getPartitions());
+        assertEquals(Arrays.asList(2025, 2026), new LedgerRepository(folder.getRoot()).getYears());
+        assertEquals(0, repository.getEntries("2024/january").size());
+    }
+
+    @Test
+    public void index_isRebuiltFromDirectoriesWhenMissing() throws IOException {
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        repository.addEntry("2025/june", new FinancialEntry("Rent", "-", 100000));
+        assertTrue(new File(folder.getRoot(), "partitions.idx").delete());
+
+        assertEquals(Arrays.asList("2025/june"), new PartitionIndex(folder.getRoot()).getKeys());
+    }
+
+    @Test
+    public void migrateFlatMonths_movesFilesIntoTheirYear() throws IOException {
+        File flat = new File(folder.getRoot(), "april.csv");
+        FileWriter writer = new FileWriter(flat);
+        writer.write("Pay,+,1000.00\nRent,-,600.00\n");
+        writer.close();
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2024, Calendar.MAY, 1);
+        assertTrue(flat.setLastModified(calendar.getTimeInMillis()));
+
+        LedgerRepository repository = new LedgerRepository(folder.getRoot());
+        assertEquals(1, repository.migrateFlatMonths());
+        assertFalse(flat.exists());
+        List<FinancialEntry> entries = repository.getEntries("2024/april");
+        assertEquals(2, entries.size());
+        assertEquals(Arrays.asList("2024/april"), repository.getPartitions());
+        assertEquals(0, repository.migrateFlatMonths());
+    }
+}
@@ -0,0 +1,93 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Lazy, incremental and idempotent expansion of recurring rules into months, on the plain JVM.
+ */
+public class RecurringEngineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LedgerRepository repository;
+
+    private RecurringEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        repository = new LedgerRepository(folder.getRoot());
+        engine = new RecurringEngine(repository, folder.getRoot());
+        assertTrue(engine.addRule(new RecurringRule("Rent, apt", FinancialEntry.EXPENSE, 120000, "Housing",
+                RecurringRule.Frequency.MONTHLY, EntryDate.of(2026, 1, 1), Integer.MAX_VALUE)));
+        assertTrue(engine.addRule(new RecurringRule("Pay", FinancialEntry.EARNING, 250000, "",
+                RecurringRule.Frequency.BIWEEKLY, EntryDate.of(2026, 1, 2), Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void pending_writesNothing() throws IOException {
+        List<FinancialEntry> pending = engine.getPending("2026/april");
+        assertEquals(3, pending.size());
+        assertEquals("Rent, apt", pending.get(0).getName());
+        assertEquals("Pay (2026-04-10)", pending.get(1).getName());
+        assertTrue(repository.getPartitions().isEmpty());
+        assertFalse(new File(folder.getRoot(), "recurring.done").exists());
+    }
+
+    @Test
+    public void materialize_isIncrementalAndIdempotent() throws IOException {
+        // Only the entries due by the given day are added
+        assertEquals(2, engine.materialize("2026/April", EntryDate.of(2026, 4, 15)));
+        assertEquals(0, engine.materialize("2026/april", EntryDate.of(2026, 4, 15)));
+        assertEquals(1, engine.materialize("2026/april", EntryDate.of(2026, 4, 30)));
+        assertEquals(0, engine.materialize("2026/april", EntryDate.of(2026, 4, 30)));
+        assertEquals(3, repository.getLedger("2026/april").size());
+        assertEquals(120000, repository.getTotals("2026/april").getCategorySum(FinancialEntry.EXPENSE, "Housing"));
+        assertEquals(EntryDate.of(2026, 4, 24), repository.getLedger("2026/april").getDate(2));
+        assertEquals(0, engine.getPending("2026/april").size());
+    }
+
+    @Test
+    public void materialize_doesNotBringBackDeletedEntries() throws IOException {
+        engine.materialize("2026/april", EntryDate.of(2026, 4, 30));
+        assertTrue(repository.deleteEntry("2026/april", "Rent, apt"));
+
+        RecurringEngine restarted = new RecurringEngine(new LedgerRepository(folder.getRoot()), folder.getRoot());
+        assertEquals(2, restarted.getRules().size());
+        assertEquals(0, restarted.materialize("2026/april", EntryDate.of(2026, 4, 30)));
+        assertFalse(repository.entryExists("2026/april", "Rent, apt"));
+    }
+
+    @Test
+    public void materialize_skipsNamesTheMonthHolds() throws IOException {
+        // As after a crash between adding the entries and recording them
+        repository.addEntry("2026/may", new FinancialEntry("Rent, apt", "-", 120000, "Housing", EntryDate.of(2026, 5, 1)));
+        assertEquals(2, engine.materialize("2026/may", EntryDate.of(2026, 5, 31)));
+        assertEquals(3, repository.getLedger("2026/may").size());
+    }
+
+    @Test
+    public void rules_roundTripAndRejectDuplicateNames() throws IOException {
+        assertFalse(engine.addRule(new RecurringRule("Pay", FinancialEntry.EARNING, 1, "",
+                RecurringRule.Frequency.WEEKLY, EntryDate.of(2026, 1, 1), Integer.MAX_VALUE)));
+        List<RecurringRule> rules = new RecurringEngine(repository, folder.getRoot()).getRules();
+        assertEquals("Rent, apt", rules.get(0).getName());
+        assertEquals("Housing", rules.get(0).getCategory());
+        assertEquals(RecurringRule.Frequency.BIWEEKLY, rules.get(1).getFrequency());
+        assertEquals(250000, rules.get(1).getAmount());
+
+        assertTrue(engine.removeRule("Pay"));
+        assertEquals(1, new RecurringEngine(repository, folder.getRoot()).getRules().size());
+        assertNull(RecurringEngine.parseRule("SOMETIMES,2026-01-01,,-,1.00,,X", new ArrayList<String>()));
+    }
+}
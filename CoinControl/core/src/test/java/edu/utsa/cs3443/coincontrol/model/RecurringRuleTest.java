@@ -0,0 +1,51 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Expanding recurring rules into the dates they fall on in a month.
+ */
+public class RecurringRuleTest {
+
+    private static RecurringRule rule(RecurringRule.Frequency frequency, int start, int end) {
+        return new RecurringRule("Rent", FinancialEntry.EXPENSE, 60000, "Housing", frequency, start, end);
+    }
+
+    @Test
+    public void monthly_fallsOnTheStartDayOrTheLastDayOfAShortMonth() {
+        RecurringRule rent = rule(RecurringRule.Frequency.MONTHLY, EntryDate.of(2026, 1, 31), Integer.MAX_VALUE);
+        assertArrayEquals(new int[] {EntryDate.of(2026, 1, 31)}, rent.datesIn("2026/january"));
+        assertArrayEquals(new int[] {EntryDate.of(2026, 2, 28)}, rent.datesIn("2026/february"));
+        assertArrayEquals(new int[] {EntryDate.of(2026, 4, 30)}, rent.datesIn("2026/april"));
+        assertEquals(0, rent.datesIn("2025/december").length);
+        assertEquals("Rent", rent.nameOn(EntryDate.of(2026, 4, 30)));
+    }
+
+    @Test
+    public void biweekly_stepsFromTheStartAcrossMonths() {
+        RecurringRule pay = rule(RecurringRule.Frequency.BIWEEKLY, EntryDate.of(2026, 3, 20), EntryDate.of(2026, 4, 30));
+        assertArrayEquals(new int[] {EntryDate.of(2026, 3, 20)}, pay.datesIn("2026/march"));
+        assertArrayEquals(new int[] {EntryDate.of(2026, 4, 3), EntryDate.of(2026, 4, 17)}, pay.datesIn("2026/april"));
+        // The rule ended in April
+        assertEquals(0, pay.datesIn("2026/may").length);
+
+        FinancialEntry entry = pay.entryOn(EntryDate.of(2026, 4, 3));
+        assertEquals("Rent (2026-04-03)", entry.getName());
+        assertEquals(EntryDate.of(2026, 4, 3), entry.getDate());
+        assertEquals("Housing", entry.getCategory());
+        assertTrue(entry.isExpense());
+    }
+
+    @Test
+    public void weeklyAndYearly_matchTheCalendar() {
+        RecurringRule gym = rule(RecurringRule.Frequency.WEEKLY, EntryDate.of(2026, 4, 6), Integer.MAX_VALUE);
+        assertEquals(4, gym.datesIn("2026/april").length);
+        assertEquals(5, gym.datesIn("2026/june").length);
+
+        RecurringRule insurance = rule(RecurringRule.Frequency.YEARLY, EntryDate.of(2024, 2, 29), Integer.MAX_VALUE);
+        assertArrayEquals(new int[] {EntryDate.of(2025, 2, 28)}, insurance.datesIn("2025/february"));
+        assertEquals(0, insurance.datesIn("2025/march").length);
+    }
+}
@@ -0,0 +1,56 @@
+package edu.utsa.cs3443.coincontrol.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Report text of the Results and Records screens.
+ */
+public class ReportFormatterTest {
+
+    private static final String[] COLORS = {"Yellow", "Green"};
+
+    @Test
+    public void expenseBreakdown_listsSharesAndSummary() {
+        MonthTotals totals = new MonthTotals();
+        totals.add("Pay", FinancialEntry.EARNING, 300000);
+        totals.add("Rent", FinancialEntry.EXPENSE, 60000);
+        totals.add("Food", FinancialEntry.EXPENSE, 20000);
+        totals.add("Food", FinancialEntry.EXPENSE, 10000);
+        List<String> names = totals.getNames(FinancialEntry.EXPENSE);
+
+        assertEquals("\nRent          66.67%\nFood          33.33%\n"
+                + "\n You spent $900.00 out of $3000.00 total. (This is 30.00% of total earnings.",
+                new ReportFormatter(0).expenseBreakdown(totals, names));
+    }
+
+    @Test
+    public void legend_cyclesColorsAndReusesTheBuilder() {
+        ReportFormatter formatter = new ReportFormatter(8);
+        assertEquals("\nA: (Yellow)\nB: (Green)\nC: (Yellow)\n", formatter.legend(Arrays.asList("A", "B", "C"), COLORS));
+        assertEquals("\n", formatter.legend(Arrays.<String>asList(), COLORS));
+        assertEquals("Rent: $-0.05", formatter.entryLine("Rent", -5).toString());
+    }
+
+    @Test
+    public void percent_isZeroForAnEmptyWhole() {
+        assertEquals("0.00", Money.formatPercent(500, 0));
+        assertEquals("12.35", Money.appendPercent(new StringBuilder(), 1235, 10000).toString());
+    }
+
+    @Test
+    public void categoryBreakdown_readsTheCategorySums() {
+        MonthTotals totals = new MonthTotals();
+        totals.add("Pay", FinancialEntry.EARNING, 100000);
+        totals.add("Market", FinancialEntry.EXPENSE, 7500, "Groceries");
+        totals.add("Gift", FinancialEntry.EXPENSE, 2500);
+
+        assertEquals("\nGroceries          75.00%\nUncategorized          25.00%\n"
+                + "\n You spent $100.00 out of $1000.00 total. (This is 10.00% of total earnings.",
+                new ReportFormatter(0).categoryBreakdown(totals, totals.getCategories(FinancialEntry.EXPENSE)));
+    }
+}
@@ -15,4 +15,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "CoinControl"
 include(":app")
+include(":core")
  
\ No newline at end of file